@@ -0,0 +1,140 @@
+package com.thanlinardos.spring_enterprise_library.benchmark;
+
+import com.thanlinardos.spring_enterprise_library.time.TimeFactory;
+import com.thanlinardos.spring_enterprise_library.time.TimeProviderImpl;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base state of the interval algebra benchmarks, generating the same input for each interval record.
+ * <p>
+ * The intervals are generated in whole units from an offset of 0 (days, minutes or seconds, depending on the record) with a
+ * fixed seed, so every record and run measures the same shapes:
+ * <ul>
+ *     <li>{@code size}: the number of intervals.</li>
+ *     <li>{@code density}: {@code SPARSE} intervals are short and mostly disjoint, {@code DENSE} intervals are long and
+ *     overlap about ten others each.</li>
+ *     <li>{@code bounds}: with {@code OPEN}, one in every 500 intervals has an open start or an open end.</li>
+ *     <li>{@code order}: the intervals are either sorted by start or shuffled.</li>
+ * </ul>
+ *
+ * @param <I> the type of the interval.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public abstract class AbstractIntervalBenchmark<I> {
+
+    private static final long SEED = 42L;
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"SPARSE", "DENSE"})
+    public Density density;
+
+    @Param({"CLOSED", "OPEN"})
+    public Bounds bounds;
+
+    @Param({"SORTED", "RANDOM"})
+    public Order order;
+
+    /**
+     * The generated intervals.
+     */
+    protected List<I> intervals;
+    /**
+     * A closed interval spanning all the bounded intervals.
+     */
+    protected I span;
+    /**
+     * A closed interval spanning the middle half of the bounded intervals.
+     */
+    protected I window;
+
+    /**
+     * The shape of the generated intervals.
+     */
+    public enum Density {
+        SPARSE(100, 50, 1, 20),
+        DENSE(10, 5, 50, 150);
+
+        private final int step;
+        private final int jitter;
+        private final int minLength;
+        private final int maxLength;
+
+        Density(int step, int jitter, int minLength, int maxLength) {
+            this.step = step;
+            this.jitter = jitter;
+            this.minLength = minLength;
+            this.maxLength = maxLength;
+        }
+    }
+
+    /**
+     * Whether some of the generated intervals have open bounds.
+     */
+    public enum Bounds {
+        CLOSED, OPEN
+    }
+
+    /**
+     * The order of the generated intervals.
+     */
+    public enum Order {
+        SORTED, RANDOM
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        new TimeFactory(new TimeProviderImpl(ZoneId.of("UTC"), TimeUnit.MILLISECONDS, LocalDate.parse("9999-12-31"), LocalDate.parse("0001-01-01"),
+                LocalDateTime.parse("9999-12-31T23:59:59.999999999"), LocalDateTime.parse("0001-01-01T00:00:00")));
+        Random random = new Random(SEED);
+        intervals = new ArrayList<>(size);
+        long lastEnd = 0;
+        for (int i = 0; i < size; i++) {
+            long start = (long) i * density.step + random.nextInt(density.jitter);
+            long end = start + density.minLength + random.nextInt(density.maxLength - density.minLength + 1);
+            lastEnd = Math.max(lastEnd, end);
+            boolean isOpenStart = bounds == Bounds.OPEN && i % 1000 == 1;
+            boolean isOpenEnd = bounds == Bounds.OPEN && i % 1000 == 501;
+            intervals.add(create(isOpenStart ? null : start, isOpenEnd ? null : end));
+        }
+        if (order == Order.RANDOM) {
+            Collections.shuffle(intervals, random);
+        }
+        span = create(0L, lastEnd);
+        window = create(lastEnd / 4, lastEnd * 3 / 4);
+    }
+
+    /**
+     * Creates an interval of the benchmarked type from the given offsets in units.
+     *
+     * @param start the start offset, or null for an open start.
+     * @param end   the end offset, or null for an open end.
+     * @return the interval.
+     */
+    protected abstract I create(Long start, Long end);
+}
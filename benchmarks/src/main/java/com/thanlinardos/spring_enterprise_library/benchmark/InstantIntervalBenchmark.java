@@ -0,0 +1,45 @@
+package com.thanlinardos.spring_enterprise_library.benchmark;
+
+import com.thanlinardos.spring_enterprise_library.time.model.InstantInterval;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Benchmarks of the interval algebra of {@link InstantInterval}.
+ */
+public class InstantIntervalBenchmark extends AbstractIntervalBenchmark<InstantInterval> {
+
+    private static final Instant ORIGIN = Instant.parse("2000-01-01T00:00:00Z");
+
+    @Override
+    protected InstantInterval create(Long start, Long end) {
+        return new InstantInterval(start == null ? null : ORIGIN.plusSeconds(start), end == null ? null : ORIGIN.plusSeconds(end));
+    }
+
+    @Benchmark
+    public List<InstantInterval> normalize() {
+        return InstantInterval.normalize(intervals);
+    }
+
+    @Benchmark
+    public List<InstantInterval> split() {
+        return InstantInterval.split(intervals);
+    }
+
+    @Benchmark
+    public List<InstantInterval> subtract() {
+        return span.subtract(intervals);
+    }
+
+    @Benchmark
+    public List<InstantInterval> getOverlaps() {
+        return window.getOverlaps(intervals);
+    }
+
+    @Benchmark
+    public boolean anyOverlaps() {
+        return InstantInterval.anyOverlaps(intervals);
+    }
+}
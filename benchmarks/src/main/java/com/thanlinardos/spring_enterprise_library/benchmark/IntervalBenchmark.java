@@ -0,0 +1,45 @@
+package com.thanlinardos.spring_enterprise_library.benchmark;
+
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Benchmarks of the interval algebra of {@link Interval}.
+ */
+public class IntervalBenchmark extends AbstractIntervalBenchmark<Interval> {
+
+    private static final LocalDate ORIGIN = LocalDate.of(2000, 1, 1);
+
+    @Override
+    protected Interval create(Long start, Long end) {
+        return new Interval(start == null ? null : ORIGIN.plusDays(start), end == null ? null : ORIGIN.plusDays(end));
+    }
+
+    @Benchmark
+    public List<Interval> normalize() {
+        return Interval.normalize(intervals);
+    }
+
+    @Benchmark
+    public List<Interval> split() {
+        return Interval.split(intervals);
+    }
+
+    @Benchmark
+    public List<Interval> subtract() {
+        return span.subtract(intervals);
+    }
+
+    @Benchmark
+    public List<Interval> getOverlaps() {
+        return window.getOverlaps(intervals);
+    }
+
+    @Benchmark
+    public boolean anyOverlaps() {
+        return Interval.anyOverlaps(intervals);
+    }
+}
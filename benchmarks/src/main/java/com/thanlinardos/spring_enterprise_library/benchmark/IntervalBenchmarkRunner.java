@@ -0,0 +1,25 @@
+package com.thanlinardos.spring_enterprise_library.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the interval algebra benchmarks with the GC profiler, which reports the allocation rate per operation
+ * ({@code gc.alloc.rate.norm}) next to the average time.
+ * <p>
+ * The optional first argument is a regular expression of the benchmarks to run, e.g. {@code "InstantIntervalBenchmark.normalize"}.
+ * The packaged {@code benchmarks.jar} can also be run directly with the JMH command line: {@code java -jar benchmarks.jar -prof gc}.
+ */
+public class IntervalBenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : IntervalBenchmarkRunner.class.getPackageName() + ".*Benchmark")
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,62 @@
+package com.thanlinardos.spring_enterprise_library.benchmark;
+
+import com.thanlinardos.spring_enterprise_library.time.TimeFactory;
+import com.thanlinardos.spring_enterprise_library.time.TimeProviderImpl;
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the sweep based {@link Interval#split(Collection)} on disjoint intervals separated by gaps, where most candidate
+ * bounds are not covered by any interval, which was the worst case of the previous quadratic implementation that tested
+ * every candidate bound against every interval. That implementation is only kept as the reference of
+ * {@code IntervalSplitSweepTest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class IntervalSplitBenchmark {
+
+    private static final LocalDate ORIGIN = LocalDate.of(2000, 1, 1);
+
+    @Param({"100", "500", "1000", "5000", "10000", "20000"})
+    public int size;
+
+    private List<Interval> intervals;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        new TimeFactory(new TimeProviderImpl(ZoneId.of("UTC"), TimeUnit.MILLISECONDS, LocalDate.parse("9999-12-31"), LocalDate.parse("0001-01-01"),
+                LocalDateTime.parse("9999-12-31T23:59:59.999999999"), LocalDateTime.parse("0001-01-01T00:00:00")));
+        intervals = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            intervals.add(new Interval(ORIGIN.plusDays(i * 3L), ORIGIN.plusDays(i * 3L + 1)));
+        }
+    }
+
+    @Benchmark
+    public List<Interval> split() {
+        return Interval.split(intervals);
+    }
+}
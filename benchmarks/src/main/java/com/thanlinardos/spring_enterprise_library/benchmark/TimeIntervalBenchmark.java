@@ -0,0 +1,45 @@
+package com.thanlinardos.spring_enterprise_library.benchmark;
+
+import com.thanlinardos.spring_enterprise_library.time.model.TimeInterval;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Benchmarks of the interval algebra of {@link TimeInterval}.
+ */
+public class TimeIntervalBenchmark extends AbstractIntervalBenchmark<TimeInterval> {
+
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    @Override
+    protected TimeInterval create(Long start, Long end) {
+        return new TimeInterval(start == null ? null : ORIGIN.plusMinutes(start), end == null ? null : ORIGIN.plusMinutes(end));
+    }
+
+    @Benchmark
+    public List<TimeInterval> normalize() {
+        return TimeInterval.normalize(intervals);
+    }
+
+    @Benchmark
+    public List<TimeInterval> split() {
+        return TimeInterval.split(intervals);
+    }
+
+    @Benchmark
+    public List<TimeInterval> subtract() {
+        return span.subtract(intervals);
+    }
+
+    @Benchmark
+    public List<TimeInterval> getOverlaps() {
+        return window.getOverlaps(intervals);
+    }
+
+    @Benchmark
+    public boolean anyOverlaps() {
+        return TimeInterval.anyOverlaps(intervals);
+    }
+}
@@ -4,6 +4,7 @@ import com.thanlinardos.spring_enterprise_library.error.errorcodes.ErrorCode;
 import com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException;
 import com.thanlinardos.spring_enterprise_library.model.entity.base.BasicIdJpa;
 import com.thanlinardos.spring_enterprise_library.time.api.DateTemporal;
+import com.thanlinardos.spring_enterprise_library.time.utils.DatePredicateUtils;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import lombok.AccessLevel;
@@ -276,7 +277,7 @@ public class PredicateUtils {
      * @return a predicate that checks the {@link DateTemporal#isInRange(LocalDate, LocalDate)} on a temporal
      */
     public static <T extends DateTemporal> Predicate<T> isInRange(LocalDate from, LocalDate to) {
-        return temporal -> temporal.isInRange(from, to);
+        return DatePredicateUtils.isContainedIn(from, to);
     }
 
     /**
@@ -303,7 +304,7 @@ public class PredicateUtils {
      * @return a predicate that checks the {@link DateTemporal#containsDate(LocalDate)} on a temporal
      */
     public static <T extends DateTemporal> Predicate<T> containsDate(LocalDate date) {
-        return temporal -> temporal.containsDate(date);
+        return DatePredicateUtils.containsDate(date);
     }
 
     /**
@@ -356,7 +357,7 @@ public class PredicateUtils {
      * @return a predicate that checks the {@link DateTemporal#overlapsInterval(LocalDate, LocalDate)} on a temporal
      */
     public static <T extends DateTemporal> Predicate<T> overlapsInterval(LocalDate from, LocalDate to) {
-        return temporal -> temporal.overlapsInterval(from, to);
+        return DatePredicateUtils.overlaps(from, to);
     }
 
     /**
@@ -384,7 +385,7 @@ public class PredicateUtils {
      * @return a predicate that checks the {@link DateTemporal#isContainedIn(LocalDate, LocalDate)} on a temporal
      */
     public static <T extends DateTemporal> Predicate<T> isContainedIn(LocalDate from, LocalDate to) {
-        return temporal -> temporal.isContainedIn(from, to);
+        return DatePredicateUtils.isContainedIn(from, to);
     }
 
     /**
@@ -411,7 +412,7 @@ public class PredicateUtils {
      * @return a predicate that checks the {@link DateTemporal#overlapsMonth(YearMonth)} on a temporal
      */
     public static <T extends DateTemporal> Predicate<T> overlapsMonth(YearMonth yearMonth) {
-        return temporal -> temporal.overlapsMonth(yearMonth);
+        return DatePredicateUtils.overlaps(yearMonth);
     }
 
     /**
@@ -437,7 +438,7 @@ public class PredicateUtils {
      * @return a predicate that checks the {@link DateTemporal#overlapsYear(Year)}} on a temporal
      */
     public static <T extends DateTemporal> Predicate<T> overlapsYear(Year year) {
-        return temporal -> temporal.overlapsYear(year);
+        return DatePredicateUtils.overlaps(year);
     }
 
     /**
@@ -463,7 +464,7 @@ public class PredicateUtils {
      * @return a predicate that checks the {@link DateTemporal#overlapsYear(LocalDate)} on a temporal
      */
     public static <T extends DateTemporal> Predicate<T> overlapsYear(LocalDate year) {
-        return temporal -> temporal.overlapsYear(year);
+        return DatePredicateUtils.overlaps(Year.from(year));
     }
 
     /**
@@ -489,7 +490,7 @@ public class PredicateUtils {
      * @return a predicate that checks the {@link DateTemporal#startsAfter(LocalDate)} on a temporal
      */
     public static <T extends DateTemporal> Predicate<T> startsAfter(LocalDate date) {
-        return temporal -> temporal.startsAfter(date);
+        return DatePredicateUtils.startsAfter(date);
     }
 
     /**
@@ -515,7 +516,7 @@ public class PredicateUtils {
      * @return a predicate that checks the {@link DateTemporal#startsBefore(LocalDate)} on a temporal
      */
     public static <T extends DateTemporal> Predicate<T> startsBefore(LocalDate date) {
-        return temporal -> temporal.startsBefore(date);
+        return DatePredicateUtils.startsBefore(date);
     }
 
     /**
@@ -541,7 +542,7 @@ public class PredicateUtils {
      * @return a predicate that checks the {@link DateTemporal#startsBeforeOrOn(LocalDate)} on a temporal
      */
     public static <T extends DateTemporal> Predicate<T> startsBeforeOrOn(LocalDate date) {
-        return temporal -> temporal.startsBeforeOrOn(date);
+        return DatePredicateUtils.startsBeforeOrOn(date);
     }
 
     /**
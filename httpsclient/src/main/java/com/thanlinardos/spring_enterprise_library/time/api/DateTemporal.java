@@ -1,6 +1,7 @@
 package com.thanlinardos.spring_enterprise_library.time.api;
 
 import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import com.thanlinardos.spring_enterprise_library.time.utils.DatePredicateUtils;
 import com.thanlinardos.spring_enterprise_library.time.utils.DateUtils;
 
 import java.time.LocalDate;
@@ -27,7 +28,7 @@ public interface DateTemporal {
      * @return true if the temporal entity is within the range, false otherwise.
      */
     default boolean isInRange(LocalDate from, LocalDate to) {
-        return new Interval(from, to).contains(getInterval());
+        return DatePredicateUtils.isContainedIn(getInterval(), from, to);
     }
 
     /**
@@ -48,7 +49,7 @@ public interface DateTemporal {
      * @return true if the temporal entity is contained within the range, false otherwise.
      */
     default boolean isContainedIn(LocalDate from, LocalDate to) {
-        return new Interval(from, to).contains(getInterval());
+        return DatePredicateUtils.isContainedIn(getInterval(), from, to);
     }
 
     /**
@@ -139,7 +140,7 @@ public interface DateTemporal {
      * @return true if the intervals overlap, false otherwise.
      */
     default boolean overlapsInterval(LocalDate start, LocalDate end) {
-        return getInterval().overlaps(new Interval(start, end));
+        return DatePredicateUtils.overlaps(getInterval(), start, end);
     }
 
     /**
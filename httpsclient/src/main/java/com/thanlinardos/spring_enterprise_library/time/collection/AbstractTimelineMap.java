@@ -0,0 +1,248 @@
+package com.thanlinardos.spring_enterprise_library.time.collection;
+
+import com.thanlinardos.spring_enterprise_library.time.model.IntervalDomain;
+import com.thanlinardos.spring_enterprise_library.time.model.TimelineChange;
+import com.thanlinardos.spring_enterprise_library.time.utils.IntervalAlgebraUtils;
+import com.thanlinardos.spring_enterprise_library.tuple.Pair;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Map from non-overlapping intervals to values, for effective-dated values such as rates, roles or addresses.
+ * <p>
+ * The segments are kept in a {@link TreeMap} keyed by their start (a null start being the minimum), so looking up the value
+ * at a point takes O(log n). Putting a value overwrites the overlapped parts of the existing segments, splitting them where
+ * needed, with the same semantics as the {@code getOverlap} and {@code subtract} methods of the interval records. Adjacent
+ * segments with equal values are always coalesced, so each value change point is a segment boundary.
+ * <p>
+ * Like {@link TreeMap}, this class is not thread-safe.
+ *
+ * @param <I> the type of the interval.
+ * @param <T> the type of the interval bounds.
+ * @param <V> the type of the values.
+ * @param <M> the type of the concrete map, returned by the range views.
+ */
+public abstract class AbstractTimelineMap<I extends Comparable<I>, T, V, M extends AbstractTimelineMap<I, T, V, M>> {
+
+    private final IntervalDomain<I, T> domain;
+    private final NavigableMap<T, Pair<I, V>> segments;
+
+    protected AbstractTimelineMap(IntervalDomain<I, T> domain) {
+        this.domain = domain;
+        this.segments = new TreeMap<>(domain.nullAsMinComparator());
+    }
+
+    /**
+     * Creates a new empty map of the same type, used by the range views.
+     *
+     * @return the new map.
+     */
+    protected abstract M newInstance();
+
+    /**
+     * Returns the number of segments in this map.
+     *
+     * @return the number of segments.
+     */
+    public int size() {
+        return segments.size();
+    }
+
+    /**
+     * Checks if this map has no segments.
+     *
+     * @return true if the map is empty, otherwise false.
+     */
+    public boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    /**
+     * Removes all segments of this map.
+     */
+    public void clear() {
+        segments.clear();
+    }
+
+    /**
+     * Returns the value at the given point.
+     *
+     * @param point the point to look up.
+     * @return the value of the segment containing the point, or null if there is none.
+     */
+    @Nullable
+    public V get(@Nonnull T point) {
+        return getEntry(point).map(Pair::second).orElse(null);
+    }
+
+    /**
+     * Returns the segment containing the given point.
+     *
+     * @param point the point to look up.
+     * @return the interval and value of the segment containing the point, or an empty Optional if there is none.
+     */
+    public Optional<Pair<I, V>> getEntry(@Nonnull T point) {
+        return Optional.ofNullable(segments.floorEntry(point))
+                .map(Map.Entry::getValue)
+                .filter(segment -> domain.contains(segment.first(), point));
+    }
+
+    /**
+     * Sets the value of the given interval, overwriting the values of the overlapped parts of the existing segments.
+     * <pre>
+     * Before:
+     *     [----A----][-----B-----]
+     * put(|---C---|):
+     *     [--A--][---C---][--B---]
+     * </pre>
+     *
+     * @param interval the interval to set the value for.
+     * @param value    the value, must not be null.
+     */
+    public void put(@Nonnull I interval, @Nonnull V value) {
+        remove(interval);
+        T start = domain.start(interval);
+        T end = domain.end(interval);
+
+        // after the removal no segment overlaps the interval, so any segment that should be merged with it is adjacent
+        Map.Entry<T, Pair<I, V>> lower = start == null ? null : segments.lowerEntry(start);
+        if (lower != null && isMergeable(domain.end(lower.getValue().first()), start, lower.getValue(), value)) {
+            segments.remove(lower.getKey());
+            start = lower.getKey();
+        }
+        Map.Entry<T, Pair<I, V>> higher = end == null ? null : segments.higherEntry(end);
+        if (higher != null && isMergeable(end, higher.getKey(), higher.getValue(), value)) {
+            segments.remove(higher.getKey());
+            end = domain.end(higher.getValue().first());
+        }
+        segments.put(start, Pair.of(domain.create(start, end), value));
+    }
+
+    /**
+     * Sets the value of each of the given elements for its interval, in iteration order, so later elements overwrite earlier ones.
+     *
+     * @param elements       the elements to put.
+     * @param intervalGetter the function returning the interval of an element.
+     * @param valueGetter    the function returning the value of an element.
+     * @param <E>            the type of the elements.
+     */
+    public <E> void putAll(Collection<E> elements, Function<E, I> intervalGetter, Function<E, V> valueGetter) {
+        elements.forEach(element -> put(intervalGetter.apply(element), valueGetter.apply(element)));
+    }
+
+    /**
+     * Removes the values of the given interval, splitting the segments partially overlapping it.
+     *
+     * @param interval the interval to clear.
+     */
+    public void remove(@Nonnull I interval) {
+        List<Pair<I, V>> overlapped = getOverlappedSegments(interval);
+        for (Pair<I, V> segment : overlapped) {
+            segments.remove(domain.start(segment.first()));
+        }
+        List<I> removed = List.of(interval);
+        for (Pair<I, V> segment : overlapped) {
+            for (I remainder : IntervalAlgebraUtils.difference(domain, List.of(segment.first()), removed)) {
+                segments.put(domain.start(remainder), Pair.of(remainder, segment.second()));
+            }
+        }
+    }
+
+    /**
+     * Returns all segments of this map, ordered by their interval.
+     *
+     * @return the intervals and values of the segments.
+     */
+    public List<Pair<I, V>> entries() {
+        return List.copyOf(segments.values());
+    }
+
+    /**
+     * Returns the segments of this map overlapping the given interval, cut to it.
+     *
+     * @param range the interval to look up.
+     * @return the intervals and values of the segments, ordered by their interval.
+     */
+    public List<Pair<I, V>> entries(@Nonnull I range) {
+        List<Pair<I, V>> result = new ArrayList<>();
+        for (Pair<I, V> segment : getOverlappedSegments(range)) {
+            IntervalAlgebraUtils.getOverlap(domain, segment.first(), range)
+                    .ifPresent(overlap -> result.add(Pair.of(overlap, segment.second())));
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new map with the segments of this map overlapping the given interval, cut to it.
+     *
+     * @param range the interval to restrict the map to.
+     * @return the restricted map, independent of this one.
+     */
+    public M subMap(@Nonnull I range) {
+        M result = newInstance();
+        AbstractTimelineMap<I, T, V, M> target = result;
+        for (Pair<I, V> entry : entries(range)) {
+            target.segments.put(domain.start(entry.first()), entry);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the minimal changes from this map to the given newer version of it, e.g. to only persist or invalidate the
+     * edited parts of a timeline. The segments of both maps are merge-walked once, see
+     * {@link IntervalAlgebraUtils#diffTimelines(IntervalDomain, List, List)}.
+     *
+     * @param newer the newer version of this map.
+     * @return the added, removed and changed intervals, in ascending order.
+     */
+    public List<TimelineChange<I, V>> diff(@Nonnull M newer) {
+        return IntervalAlgebraUtils.diffTimelines(domain, entries(), newer.entries());
+    }
+
+    private List<Pair<I, V>> getOverlappedSegments(I interval) {
+        T start = domain.start(interval);
+        T end = domain.end(interval);
+        T from = segments.floorKey(start);
+        NavigableMap<T, Pair<I, V>> candidates = from == null ? segments : segments.tailMap(from, true);
+        List<Pair<I, V>> result = new ArrayList<>();
+        for (Pair<I, V> segment : candidates.values()) {
+            I segmentInterval = segment.first();
+            if (!domain.shouldMerge(end, domain.start(segmentInterval), false)) {
+                break;
+            }
+            if (domain.shouldMerge(domain.end(segmentInterval), start, false)) {
+                result.add(segment);
+            }
+        }
+        return result;
+    }
+
+    private boolean isMergeable(@Nullable T end, @Nullable T start, Pair<I, V> segment, V value) {
+        return domain.shouldMerge(end, start, true) && segment.second().equals(value);
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        return this == o || (o instanceof AbstractTimelineMap<?, ?, ?, ?> other && domain == other.domain && entries().equals(other.entries()));
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * domain.hashCode() + entries().hashCode();
+    }
+
+    @Override
+    @Nonnull
+    public String toString() {
+        return segments.values().toString();
+    }
+}
@@ -0,0 +1,243 @@
+package com.thanlinardos.spring_enterprise_library.time.collection;
+
+import com.thanlinardos.spring_enterprise_library.time.model.InstantInterval;
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import com.thanlinardos.spring_enterprise_library.time.model.IntervalDomain;
+import com.thanlinardos.spring_enterprise_library.time.model.TimeInterval;
+import jakarta.annotation.Nonnull;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe variant of {@link MutableIntervalSet}, for sets updated by some threads while others query them.
+ * <p>
+ * The intervals are kept in a {@link ConcurrentSkipListMap}, so they can be read while they are updated. Updates are
+ * serialized by the write lock of a {@link StampedLock}, so each one is applied atomically. Queries run with an optimistic
+ * read, without taking any lock, and are only repeated under the read lock if an update started meanwhile, in which case
+ * the repeated query blocks the writers until it completes. A query interleaved with an update may see a torn view of the
+ * intervals and fail, so its result or failure is only reported once the optimistic read is validated.
+ *
+ * @param <I> the type of the interval.
+ * @param <T> the type of the interval bounds.
+ */
+public final class ConcurrentIntervalSet<I extends Comparable<I>, T> {
+
+    private final MutableIntervalSet<I, T> intervals;
+    private final StampedLock lock = new StampedLock();
+
+    private ConcurrentIntervalSet(IntervalDomain<I, T> domain) {
+        this.intervals = new MutableIntervalSet<>(domain, new ConcurrentSkipListMap<>());
+    }
+
+    /**
+     * Creates an empty set of days.
+     *
+     * @return the set.
+     */
+    public static ConcurrentIntervalSet<Interval, LocalDate> forDates() {
+        return of(IntervalDomain.DATES);
+    }
+
+    /**
+     * Creates an empty set of date times.
+     *
+     * @return the set.
+     */
+    public static ConcurrentIntervalSet<TimeInterval, LocalDateTime> forDateTimes() {
+        return of(IntervalDomain.DATE_TIMES);
+    }
+
+    /**
+     * Creates an empty set of instants.
+     *
+     * @return the set.
+     */
+    public static ConcurrentIntervalSet<InstantInterval, Instant> forInstants() {
+        return of(IntervalDomain.INSTANTS);
+    }
+
+    /**
+     * Creates an empty set of points of the given domain.
+     *
+     * @param domain the domain of the intervals.
+     * @param <I>    the type of the interval.
+     * @param <T>    the type of the interval bounds.
+     * @return the set.
+     */
+    public static <I extends Comparable<I>, T> ConcurrentIntervalSet<I, T> of(IntervalDomain<I, T> domain) {
+        return new ConcurrentIntervalSet<>(domain);
+    }
+
+    /**
+     * Returns the unit of the epoch values of this set.
+     *
+     * @return the epoch unit.
+     */
+    public TimeUnit getUnit() {
+        return intervals.getUnit();
+    }
+
+    /**
+     * Returns the number of normalized intervals in this set.
+     *
+     * @return the number of intervals.
+     */
+    public int size() {
+        return read(intervals::size);
+    }
+
+    /**
+     * Checks if this set covers no points.
+     *
+     * @return true if the set is empty, otherwise false.
+     */
+    public boolean isEmpty() {
+        return read(intervals::isEmpty);
+    }
+
+    /**
+     * Removes all points of this set.
+     */
+    public void clear() {
+        write(() -> {
+            intervals.clear();
+            return true;
+        });
+    }
+
+    /**
+     * Atomically adds the points of the given interval.
+     *
+     * @param interval the interval to add.
+     * @return true if the set changed, or false if it already contained the interval.
+     * @see MutableIntervalSet#add(Comparable)
+     */
+    public boolean add(@Nonnull I interval) {
+        return write(() -> intervals.add(interval));
+    }
+
+    /**
+     * Atomically adds the points of all the given intervals.
+     *
+     * @param intervals the intervals to add.
+     * @return true if the set changed, otherwise false.
+     */
+    public boolean addAll(Collection<I> intervals) {
+        return write(() -> this.intervals.addAll(intervals));
+    }
+
+    /**
+     * Atomically removes the points of the given interval.
+     *
+     * @param interval the interval to remove.
+     * @return true if the set changed, or false if it did not overlap the interval.
+     * @see MutableIntervalSet#remove(Comparable)
+     */
+    public boolean remove(@Nonnull I interval) {
+        return write(() -> intervals.remove(interval));
+    }
+
+    /**
+     * Checks if the given point is in this set.
+     *
+     * @param point the point to check, rounded down to the epoch unit.
+     * @return true if the point is covered, otherwise false.
+     */
+    public boolean contains(@Nonnull T point) {
+        return read(() -> intervals.contains(point));
+    }
+
+    /**
+     * Checks if all points of the given interval are in this set.
+     *
+     * @param interval the interval to check.
+     * @return true if the interval is fully covered, otherwise false.
+     */
+    public boolean containsInterval(@Nonnull I interval) {
+        return read(() -> intervals.containsInterval(interval));
+    }
+
+    /**
+     * Checks if any point of the given interval is in this set.
+     *
+     * @param interval the interval to check.
+     * @return true if the interval overlaps this set, otherwise false.
+     */
+    public boolean overlaps(@Nonnull I interval) {
+        return read(() -> intervals.overlaps(interval));
+    }
+
+    /**
+     * Returns the parts of the intervals of this set within the given range.
+     *
+     * @param range the range to look up.
+     * @return a sorted list of non-overlapping and non-adjacent intervals.
+     */
+    public List<I> getOverlaps(@Nonnull I range) {
+        return read(() -> intervals.getOverlaps(range));
+    }
+
+    /**
+     * Returns the parts of the given range not in this set.
+     *
+     * @param range the range to look up.
+     * @return a sorted list of non-overlapping and non-adjacent intervals.
+     */
+    public List<I> getGaps(@Nonnull I range) {
+        return read(() -> intervals.getGaps(range));
+    }
+
+    /**
+     * Returns a consistent snapshot of the normalized intervals of this set.
+     *
+     * @return a sorted list of non-overlapping and non-adjacent intervals.
+     */
+    public List<I> toIntervals() {
+        return read(intervals::toIntervals);
+    }
+
+    private <R> R read(Supplier<R> query) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                R result = query.get();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return query.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private <R> R write(Supplier<R> update) {
+        long stamp = lock.writeLock();
+        try {
+            return update.get();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    @Nonnull
+    public String toString() {
+        return toIntervals().toString();
+    }
+}
@@ -0,0 +1,273 @@
+package com.thanlinardos.spring_enterprise_library.time.collection;
+
+import com.thanlinardos.spring_enterprise_library.error.errorcodes.ErrorCode;
+import com.thanlinardos.spring_enterprise_library.time.model.InstantInterval;
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import com.thanlinardos.spring_enterprise_library.time.model.IntervalDomain;
+import com.thanlinardos.spring_enterprise_library.time.model.TimeInterval;
+import com.thanlinardos.spring_enterprise_library.time.utils.ParallelIntervalAlgebraUtils;
+import com.thanlinardos.spring_enterprise_library.tuple.Pair;
+import jakarta.annotation.Nonnull;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils.OPEN_END;
+import static com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils.OPEN_START;
+
+/**
+ * Immutable overlap depth profile of a collection of intervals: the number of intervals covering each point, as a step function.
+ * <p>
+ * The bounds of the intervals are converted once to primitive epoch values counting whole units of the
+ * {@link IntervalDomain#epochUnit()} of the domain (days for {@link Interval}s), so that the start and end events can be sorted
+ * as primitive arrays and swept in a single pass. For collections of at least {@link ParallelIntervalAlgebraUtils#DEFAULT_PARALLEL_THRESHOLD}
+ * intervals the events are sorted with {@link Arrays#parallelSort(long[])} and the depths are summed with {@link Arrays#parallelPrefix(int[], java.util.function.IntBinaryOperator)}.
+ * <p>
+ * Peak concurrency, the covered length and the points covered by at least k intervals are all derived from the step function
+ * in linear time.
+ *
+ * @param <I> the type of the interval.
+ * @param <T> the type of the interval bounds.
+ */
+public final class CoverageProfile<I extends Comparable<I>, T> {
+
+    private final IntervalDomain<I, T> domain;
+    private final TimeUnit unit;
+    /**
+     * The depth {@code depths[i]} applies from {@code points[i]} up to the unit before {@code points[i + 1]}, or up to the open end for the last point.
+     */
+    private final long[] points;
+    private final int[] depths;
+    private final int maxDepth;
+
+    private CoverageProfile(IntervalDomain<I, T> domain, TimeUnit unit, long[] points, int[] depths) {
+        this.domain = domain;
+        this.unit = unit;
+        this.points = points;
+        this.depths = depths;
+        this.maxDepth = Arrays.stream(depths).max().orElse(0);
+    }
+
+    /**
+     * Creates the depth profile of the given date intervals, counting in days.
+     *
+     * @param intervals the intervals.
+     * @return the depth profile.
+     */
+    public static CoverageProfile<Interval, LocalDate> forDates(Collection<Interval> intervals) {
+        return of(IntervalDomain.DATES, intervals);
+    }
+
+    /**
+     * Creates the depth profile of the given date time intervals.
+     *
+     * @param intervals the intervals.
+     * @return the depth profile.
+     */
+    public static CoverageProfile<TimeInterval, LocalDateTime> forDateTimes(Collection<TimeInterval> intervals) {
+        return of(IntervalDomain.DATE_TIMES, intervals);
+    }
+
+    /**
+     * Creates the depth profile of the given instant intervals.
+     *
+     * @param intervals the intervals.
+     * @return the depth profile.
+     */
+    public static CoverageProfile<InstantInterval, Instant> forInstants(Collection<InstantInterval> intervals) {
+        return of(IntervalDomain.INSTANTS, intervals);
+    }
+
+    /**
+     * Creates the depth profile of the given intervals of the given domain.
+     *
+     * @param domain    the domain of the intervals.
+     * @param intervals the intervals.
+     * @param <I>       the type of the interval.
+     * @param <T>       the type of the interval bounds.
+     * @return the depth profile.
+     */
+    public static <I extends Comparable<I>, T> CoverageProfile<I, T> of(IntervalDomain<I, T> domain, Collection<I> intervals) {
+        TimeUnit unit = domain.epochUnit();
+        long[] starts = new long[intervals.size()];
+        long[] ends = new long[intervals.size()];
+        int endCount = 0;
+        int i = 0;
+        for (I interval : intervals) {
+            starts[i++] = domain.toEpochStart(domain.start(interval), unit);
+            long end = domain.toEpochEnd(domain.end(interval), unit);
+            if (end != OPEN_END) {
+                // the depth drops on the unit after the inclusive end
+                ends[endCount++] = end + 1;
+            }
+        }
+        ends = Arrays.copyOf(ends, endCount);
+        boolean isParallel = intervals.size() >= ParallelIntervalAlgebraUtils.DEFAULT_PARALLEL_THRESHOLD;
+        if (isParallel) {
+            Arrays.parallelSort(starts);
+            Arrays.parallelSort(ends);
+        } else {
+            Arrays.sort(starts);
+            Arrays.sort(ends);
+        }
+        return sweep(domain, unit, starts, ends, isParallel);
+    }
+
+    private static <I extends Comparable<I>, T> CoverageProfile<I, T> sweep(IntervalDomain<I, T> domain, TimeUnit unit, long[] starts, long[] ends, boolean isParallel) {
+        long[] points = new long[starts.length + ends.length];
+        int[] deltas = new int[points.length];
+        int length = 0;
+        int i = 0;
+        int j = 0;
+        while (i < starts.length || j < ends.length) {
+            long point = j == ends.length || (i < starts.length && starts[i] <= ends[j]) ? starts[i] : ends[j];
+            int delta = 0;
+            while (i < starts.length && starts[i] == point) {
+                delta++;
+                i++;
+            }
+            while (j < ends.length && ends[j] == point) {
+                delta--;
+                j++;
+            }
+            if (delta != 0) {
+                points[length] = point;
+                deltas[length++] = delta;
+            }
+        }
+        int[] depths = Arrays.copyOf(deltas, length);
+        if (isParallel) {
+            Arrays.parallelPrefix(depths, Integer::sum);
+        } else {
+            for (int k = 1; k < depths.length; k++) {
+                depths[k] += depths[k - 1];
+            }
+        }
+        return new CoverageProfile<>(domain, unit, Arrays.copyOf(points, length), depths);
+    }
+
+    /**
+     * Returns the unit of the epoch values of this profile, which is also the unit of {@link #getCoveredUnits()}.
+     *
+     * @return the epoch unit.
+     */
+    public TimeUnit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Returns the number of intervals covering the given point.
+     *
+     * @param point the point to check, rounded down to the epoch unit.
+     * @return the depth at the point.
+     */
+    public int getDepth(@Nonnull T point) {
+        int index = Arrays.binarySearch(points, domain.toEpochFloor(point, unit));
+        int floorIndex = index >= 0 ? index : -index - 2;
+        return floorIndex < 0 ? 0 : depths[floorIndex];
+    }
+
+    /**
+     * Returns the depth step function, as the maximal intervals of constant non-zero depth.
+     *
+     * @return the sorted intervals with their depth.
+     */
+    public List<Pair<I, Integer>> getDepthSteps() {
+        List<Pair<I, Integer>> steps = new ArrayList<>();
+        for (int i = 0; i < points.length; i++) {
+            if (depths[i] > 0) {
+                steps.add(Pair.of(createInterval(points[i], getEndOfStep(i)), depths[i]));
+            }
+        }
+        return steps;
+    }
+
+    /**
+     * Returns the maximum number of intervals covering a single point, i.e. the peak concurrency.
+     *
+     * @return the maximum depth, or 0 if there are no intervals.
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Returns the intervals where the depth is the maximum depth.
+     *
+     * @return the sorted, non-adjacent intervals of maximum depth.
+     */
+    public List<I> getMaxDepthIntervals() {
+        return maxDepth == 0 ? List.of() : getCoveredAtLeast(maxDepth);
+    }
+
+    /**
+     * Returns the intervals covered by at least the given number of intervals.
+     *
+     * @param k the minimum depth, at least 1.
+     * @return the sorted, non-adjacent intervals where the depth is at least {@code k}.
+     */
+    public List<I> getCoveredAtLeast(int k) {
+        if (k < 1) {
+            throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("The minimum depth must be at least 1, but was {0}.", new Object[]{k});
+        }
+        List<I> intervals = new ArrayList<>();
+        int i = 0;
+        while (i < points.length) {
+            if (depths[i] < k) {
+                i++;
+                continue;
+            }
+            long start = points[i];
+            while (i + 1 < points.length && depths[i + 1] >= k) {
+                i++;
+            }
+            intervals.add(createInterval(start, getEndOfStep(i)));
+            i++;
+        }
+        return intervals;
+    }
+
+    /**
+     * Returns the number of units covered by at least one interval, i.e. the length of their union: days for {@link Interval}s,
+     * otherwise units of {@link #getUnit()}.
+     *
+     * @return the covered length in units.
+     */
+    public long getCoveredUnits() {
+        long covered = 0;
+        for (int i = 0; i < points.length; i++) {
+            if (depths[i] > 0) {
+                long end = getEndOfStep(i);
+                if (points[i] == OPEN_START || end == OPEN_END) {
+                    throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("The covered length of intervals with open bounds is unbounded.");
+                }
+                covered = Math.addExact(covered, end - points[i] + 1);
+            }
+        }
+        return covered;
+    }
+
+    /**
+     * Returns the length of the union of the intervals as a duration.
+     *
+     * @return the covered duration.
+     */
+    public Duration getCoveredDuration() {
+        return Duration.of(getCoveredUnits(), unit.toChronoUnit());
+    }
+
+    private long getEndOfStep(int index) {
+        return index + 1 < points.length ? points[index + 1] - 1 : OPEN_END;
+    }
+
+    private I createInterval(long start, long end) {
+        return domain.create(domain.fromEpoch(start, unit), domain.fromEpoch(end, unit));
+    }
+}
@@ -0,0 +1,198 @@
+package com.thanlinardos.spring_enterprise_library.time.collection;
+
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable set of days, stored as the normalized {@link Interval}s covering them in a flat sorted array of int epoch days.
+ * <p>
+ * Each interval takes 8 bytes instead of the two {@link LocalDate}s and the record of an {@link Interval}. An open start
+ * is stored as {@link EpochUtils#OPEN_START_DAY} and an open end as {@link EpochUtils#OPEN_END_DAY}. Adjacent intervals are
+ * always merged, so {@link #toIntervals()} returns the same list as {@link Interval#normalize(Collection)} of the input.
+ * All set operations are linear merges of the two arrays.
+ */
+public final class DateIntervalSet {
+
+    private static final DateIntervalSet EMPTY = new DateIntervalSet(IntervalArrays.EMPTY_INTS);
+
+    private final int[] bounds;
+
+    private DateIntervalSet(int[] bounds) {
+        this.bounds = bounds;
+    }
+
+    /**
+     * Returns the empty set.
+     *
+     * @return the empty set.
+     */
+    public static DateIntervalSet empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates a set of the days covered by the given intervals.
+     *
+     * @param intervals the intervals, in any order and possibly overlapping.
+     * @return the set.
+     */
+    public static DateIntervalSet of(Collection<Interval> intervals) {
+        if (intervals.isEmpty()) {
+            return EMPTY;
+        }
+        List<Interval> sortedIntervals = new ArrayList<>(intervals);
+        sortedIntervals.sort(null);
+        int[] result = new int[sortedIntervals.size() * 2];
+        int length = 0;
+        for (Interval interval : sortedIntervals) {
+            length = IntervalArrays.append(result, length, EpochUtils.toEpochDayStart(interval.start()), EpochUtils.toEpochDayEnd(interval.end()));
+        }
+        return new DateIntervalSet(length == result.length ? result : Arrays.copyOf(result, length));
+    }
+
+    /**
+     * Vararg variant of {@link #of(Collection)}.
+     *
+     * @param intervals the intervals.
+     * @return the set.
+     */
+    public static DateIntervalSet of(Interval... intervals) {
+        return of(List.of(intervals));
+    }
+
+    /**
+     * Returns the number of normalized intervals in this set.
+     *
+     * @return the number of intervals.
+     */
+    public int size() {
+        return bounds.length / 2;
+    }
+
+    /**
+     * Checks if this set covers no days.
+     *
+     * @return true if the set is empty, otherwise false.
+     */
+    public boolean isEmpty() {
+        return bounds.length == 0;
+    }
+
+    /**
+     * Returns the normalized interval at the given index.
+     *
+     * @param index the index of the interval, from 0 to {@link #size()} - 1.
+     * @return the interval.
+     */
+    public Interval getInterval(int index) {
+        return new Interval(EpochUtils.fromEpochDay(bounds[2 * index]), EpochUtils.fromEpochDay(bounds[2 * index + 1]));
+    }
+
+    /**
+     * Returns the normalized intervals of this set.
+     *
+     * @return a sorted list of non-overlapping and non-adjacent intervals.
+     */
+    public List<Interval> toIntervals() {
+        List<Interval> intervals = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            intervals.add(getInterval(i));
+        }
+        return intervals;
+    }
+
+    /**
+     * Returns the set of days in this set or in the given one.
+     *
+     * @param other the other set.
+     * @return the union of the sets.
+     */
+    public DateIntervalSet union(DateIntervalSet other) {
+        return other.isEmpty() ? this : new DateIntervalSet(IntervalArrays.union(bounds, other.bounds));
+    }
+
+    /**
+     * Returns the set of days in both this set and the given one.
+     *
+     * @param other the other set.
+     * @return the intersection of the sets.
+     */
+    public DateIntervalSet intersection(DateIntervalSet other) {
+        return new DateIntervalSet(IntervalArrays.intersection(bounds, other.bounds));
+    }
+
+    /**
+     * Returns the set of days in this set but not in the given one.
+     *
+     * @param other the set to subtract.
+     * @return the difference of the sets.
+     */
+    public DateIntervalSet subtract(DateIntervalSet other) {
+        return other.isEmpty() ? this : new DateIntervalSet(IntervalArrays.subtract(bounds, other.bounds));
+    }
+
+    /**
+     * Checks if the given date is in this set.
+     *
+     * @param date the date to check.
+     * @return true if the date is covered, otherwise false.
+     */
+    public boolean contains(@Nonnull LocalDate date) {
+        int epochDay = EpochUtils.toEpochDayStart(date);
+        return IntervalArrays.contains(bounds, epochDay, epochDay);
+    }
+
+    /**
+     * Checks if all days of the given interval are in this set.
+     *
+     * @param interval the interval to check.
+     * @return true if the interval is fully covered, otherwise false.
+     */
+    public boolean contains(@Nonnull Interval interval) {
+        return IntervalArrays.contains(bounds, EpochUtils.toEpochDayStart(interval.start()), EpochUtils.toEpochDayEnd(interval.end()));
+    }
+
+    /**
+     * Checks if any day of the given interval is in this set.
+     *
+     * @param interval the interval to check.
+     * @return true if the interval overlaps this set, otherwise false.
+     */
+    public boolean overlaps(@Nonnull Interval interval) {
+        return IntervalArrays.overlaps(bounds, EpochUtils.toEpochDayStart(interval.start()), EpochUtils.toEpochDayEnd(interval.end()));
+    }
+
+    /**
+     * Checks if this set and the given one have any day in common.
+     *
+     * @param other the other set.
+     * @return true if the sets overlap, otherwise false.
+     */
+    public boolean overlaps(DateIntervalSet other) {
+        return IntervalArrays.overlaps(bounds, other.bounds);
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        return this == o || (o instanceof DateIntervalSet other && Arrays.equals(bounds, other.bounds));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bounds);
+    }
+
+    @Override
+    @Nonnull
+    public String toString() {
+        return toIntervals().toString();
+    }
+}
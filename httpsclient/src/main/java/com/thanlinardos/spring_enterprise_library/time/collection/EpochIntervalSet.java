@@ -0,0 +1,230 @@
+package com.thanlinardos.spring_enterprise_library.time.collection;
+
+import com.thanlinardos.spring_enterprise_library.error.errorcodes.ErrorCode;
+import com.thanlinardos.spring_enterprise_library.time.model.InstantInterval;
+import com.thanlinardos.spring_enterprise_library.time.model.IntervalDomain;
+import com.thanlinardos.spring_enterprise_library.time.model.TimeInterval;
+import com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable set of points in time, stored as the normalized intervals covering them in a flat sorted array of long epoch values.
+ * <p>
+ * The values count whole units of the {@link IntervalDomain#epochUnit()} of the domain (the configured default accuracy for
+ * {@link TimeInterval}s and {@link InstantInterval}s), captured when the set is created. An open start is stored as
+ * {@link EpochUtils#OPEN_START} and an open end as {@link EpochUtils#OPEN_END}. Adjacent intervals are always merged, so
+ * {@link #toIntervals()} returns the same list as the {@code normalize} method of the interval records for the input.
+ * All set operations are linear merges of the two arrays.
+ *
+ * @param <I> the type of the interval.
+ * @param <T> the type of the interval bounds.
+ */
+public final class EpochIntervalSet<I extends Comparable<I>, T> {
+
+    private final IntervalDomain<I, T> domain;
+    private final TimeUnit unit;
+    private final long[] bounds;
+
+    private EpochIntervalSet(IntervalDomain<I, T> domain, TimeUnit unit, long[] bounds) {
+        this.domain = domain;
+        this.unit = unit;
+        this.bounds = bounds;
+    }
+
+    /**
+     * Creates a set of the points covered by the given date time intervals.
+     *
+     * @param intervals the intervals, in any order and possibly overlapping.
+     * @return the set.
+     */
+    public static EpochIntervalSet<TimeInterval, LocalDateTime> forDateTimes(Collection<TimeInterval> intervals) {
+        return of(IntervalDomain.DATE_TIMES, intervals);
+    }
+
+    /**
+     * Creates a set of the points covered by the given instant intervals.
+     *
+     * @param intervals the intervals, in any order and possibly overlapping.
+     * @return the set.
+     */
+    public static EpochIntervalSet<InstantInterval, Instant> forInstants(Collection<InstantInterval> intervals) {
+        return of(IntervalDomain.INSTANTS, intervals);
+    }
+
+    /**
+     * Creates a set of the points covered by the given intervals of the given domain.
+     *
+     * @param domain    the domain of the intervals.
+     * @param intervals the intervals, in any order and possibly overlapping.
+     * @param <I>       the type of the interval.
+     * @param <T>       the type of the interval bounds.
+     * @return the set.
+     */
+    public static <I extends Comparable<I>, T> EpochIntervalSet<I, T> of(IntervalDomain<I, T> domain, Collection<I> intervals) {
+        TimeUnit unit = domain.epochUnit();
+        List<I> sortedIntervals = new ArrayList<>(intervals);
+        sortedIntervals.sort(null);
+        long[] result = new long[sortedIntervals.size() * 2];
+        int length = 0;
+        for (I interval : sortedIntervals) {
+            length = IntervalArrays.append(result, length, domain.toEpochStart(domain.start(interval), unit), domain.toEpochEnd(domain.end(interval), unit));
+        }
+        return new EpochIntervalSet<>(domain, unit, length == result.length ? result : Arrays.copyOf(result, length));
+    }
+
+    /**
+     * Returns the unit of the epoch values of this set.
+     *
+     * @return the epoch unit.
+     */
+    public TimeUnit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Returns the number of normalized intervals in this set.
+     *
+     * @return the number of intervals.
+     */
+    public int size() {
+        return bounds.length / 2;
+    }
+
+    /**
+     * Checks if this set covers no points.
+     *
+     * @return true if the set is empty, otherwise false.
+     */
+    public boolean isEmpty() {
+        return bounds.length == 0;
+    }
+
+    /**
+     * Returns the normalized interval at the given index.
+     *
+     * @param index the index of the interval, from 0 to {@link #size()} - 1.
+     * @return the interval.
+     */
+    public I getInterval(int index) {
+        return domain.create(domain.fromEpoch(bounds[2 * index], unit), domain.fromEpoch(bounds[2 * index + 1], unit));
+    }
+
+    /**
+     * Returns the normalized intervals of this set.
+     *
+     * @return a sorted list of non-overlapping and non-adjacent intervals.
+     */
+    public List<I> toIntervals() {
+        List<I> intervals = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            intervals.add(getInterval(i));
+        }
+        return intervals;
+    }
+
+    /**
+     * Returns the set of points in this set or in the given one.
+     *
+     * @param other the other set, with the same domain and unit.
+     * @return the union of the sets.
+     */
+    public EpochIntervalSet<I, T> union(EpochIntervalSet<I, T> other) {
+        checkCompatible(other);
+        return other.isEmpty() ? this : new EpochIntervalSet<>(domain, unit, IntervalArrays.union(bounds, other.bounds));
+    }
+
+    /**
+     * Returns the set of points in both this set and the given one.
+     *
+     * @param other the other set, with the same domain and unit.
+     * @return the intersection of the sets.
+     */
+    public EpochIntervalSet<I, T> intersection(EpochIntervalSet<I, T> other) {
+        checkCompatible(other);
+        return new EpochIntervalSet<>(domain, unit, IntervalArrays.intersection(bounds, other.bounds));
+    }
+
+    /**
+     * Returns the set of points in this set but not in the given one.
+     *
+     * @param other the set to subtract, with the same domain and unit.
+     * @return the difference of the sets.
+     */
+    public EpochIntervalSet<I, T> subtract(EpochIntervalSet<I, T> other) {
+        checkCompatible(other);
+        return other.isEmpty() ? this : new EpochIntervalSet<>(domain, unit, IntervalArrays.subtract(bounds, other.bounds));
+    }
+
+    /**
+     * Checks if the given point is in this set.
+     *
+     * @param point the point to check, rounded down to the epoch unit.
+     * @return true if the point is covered, otherwise false.
+     */
+    public boolean contains(@Nonnull T point) {
+        long epochValue = domain.toEpochFloor(point, unit);
+        return IntervalArrays.contains(bounds, epochValue, epochValue);
+    }
+
+    /**
+     * Checks if all points of the given interval are in this set.
+     *
+     * @param interval the interval to check.
+     * @return true if the interval is fully covered, otherwise false.
+     */
+    public boolean containsInterval(@Nonnull I interval) {
+        return IntervalArrays.contains(bounds, domain.toEpochStart(domain.start(interval), unit), domain.toEpochEnd(domain.end(interval), unit));
+    }
+
+    /**
+     * Checks if any point of the given interval is in this set.
+     *
+     * @param interval the interval to check.
+     * @return true if the interval overlaps this set, otherwise false.
+     */
+    public boolean overlaps(@Nonnull I interval) {
+        return IntervalArrays.overlaps(bounds, domain.toEpochStart(domain.start(interval), unit), domain.toEpochEnd(domain.end(interval), unit));
+    }
+
+    /**
+     * Checks if this set and the given one have any point in common.
+     *
+     * @param other the other set, with the same domain and unit.
+     * @return true if the sets overlap, otherwise false.
+     */
+    public boolean overlaps(EpochIntervalSet<I, T> other) {
+        checkCompatible(other);
+        return IntervalArrays.overlaps(bounds, other.bounds);
+    }
+
+    private void checkCompatible(EpochIntervalSet<I, T> other) {
+        if (domain != other.domain || unit != other.unit) {
+            throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("Cannot combine interval sets of different units: {0} and {1}.", new Object[]{unit, other.unit});
+        }
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        return this == o || (o instanceof EpochIntervalSet<?, ?> other && domain == other.domain && unit == other.unit && Arrays.equals(bounds, other.bounds));
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * unit.hashCode() + Arrays.hashCode(bounds);
+    }
+
+    @Override
+    @Nonnull
+    public String toString() {
+        return toIntervals().toString();
+    }
+}
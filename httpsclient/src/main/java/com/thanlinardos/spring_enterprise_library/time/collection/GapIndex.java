@@ -0,0 +1,404 @@
+package com.thanlinardos.spring_enterprise_library.time.collection;
+
+import com.thanlinardos.spring_enterprise_library.error.errorcodes.ErrorCode;
+import com.thanlinardos.spring_enterprise_library.time.model.InstantInterval;
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import com.thanlinardos.spring_enterprise_library.time.model.IntervalDomain;
+import com.thanlinardos.spring_enterprise_library.time.model.TimeInterval;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils.OPEN_END;
+import static com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils.OPEN_START;
+
+/**
+ * Immutable index of the free windows between busy intervals, answering slot scheduling queries without materializing the
+ * free periods, as {@code getNotOverlaps} or {@code subtract} of the interval records would.
+ * <p>
+ * The busy intervals are normalized into the sorted gaps between them, including the open gaps before the first and after
+ * the last one, as epoch values in whole units of the {@link IntervalDomain#epochUnit()} of the domain, captured when the index
+ * is created. A max tree over the gap lengths finds the first gap of a given length after a point in O(log n). Best fit
+ * queries use a merge sort tree of the gap indices ordered by length, built on first use, taking O(log² n) time and
+ * O(n log n) space.
+ * <p>
+ * Lengths count whole units of the epoch unit, both bounds included, so for dates a window of 3 days is 3 dates long, and
+ * durations that are not whole units are rounded up. The open gaps are longer than any duration. The windows returned are
+ * the whole free gaps, cut to the query bounds, so the caller can place a slot of the requested length anywhere inside them.
+ *
+ * @param <I> the type of the interval.
+ * @param <T> the type of the interval bounds.
+ */
+public final class GapIndex<I extends Comparable<I>, T> {
+
+    private final IntervalDomain<I, T> domain;
+    private final TimeUnit unit;
+    private final long[] gapStarts;
+    private final long[] gapEnds;
+    private final long[] lengths;
+    /**
+     * Max tree over the gap lengths, with the gaps as leaves from index {@code leafCount}.
+     */
+    private final long[] maxLengthTree;
+    private final int leafCount;
+    /**
+     * The merge sort tree of the best fit queries: level {@code l} holds the gap indices in blocks of {@code 2^l}, each sorted by
+     * length and then index.
+     */
+    @Nullable
+    private volatile int[][] lengthOrders;
+
+    private GapIndex(IntervalDomain<I, T> domain, TimeUnit unit, long[] gapStarts, long[] gapEnds) {
+        this.domain = domain;
+        this.unit = unit;
+        this.gapStarts = gapStarts;
+        this.gapEnds = gapEnds;
+        this.lengths = new long[gapStarts.length];
+        for (int i = 0; i < lengths.length; i++) {
+            lengths[i] = length(gapStarts[i], gapEnds[i]);
+        }
+        this.leafCount = Integer.highestOneBit(Math.max(1, lengths.length - 1)) << 1;
+        this.maxLengthTree = new long[2 * leafCount];
+        Arrays.fill(maxLengthTree, -1);
+        System.arraycopy(lengths, 0, maxLengthTree, leafCount, lengths.length);
+        for (int node = leafCount - 1; node > 0; node--) {
+            maxLengthTree[node] = Math.max(maxLengthTree[2 * node], maxLengthTree[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Creates an index of the free days around the given busy intervals.
+     *
+     * @param busyIntervals the busy intervals, in any order and possibly overlapping.
+     * @return the index.
+     */
+    public static GapIndex<Interval, LocalDate> forDates(Collection<Interval> busyIntervals) {
+        return of(IntervalDomain.DATES, busyIntervals);
+    }
+
+    /**
+     * Creates an index of the free date times around the given busy intervals.
+     *
+     * @param busyIntervals the busy intervals, in any order and possibly overlapping.
+     * @return the index.
+     */
+    public static GapIndex<TimeInterval, LocalDateTime> forDateTimes(Collection<TimeInterval> busyIntervals) {
+        return of(IntervalDomain.DATE_TIMES, busyIntervals);
+    }
+
+    /**
+     * Creates an index of the free instants around the given busy intervals.
+     *
+     * @param busyIntervals the busy intervals, in any order and possibly overlapping.
+     * @return the index.
+     */
+    public static GapIndex<InstantInterval, Instant> forInstants(Collection<InstantInterval> busyIntervals) {
+        return of(IntervalDomain.INSTANTS, busyIntervals);
+    }
+
+    /**
+     * Creates an index of the free points of the given domain around the given busy intervals.
+     *
+     * @param domain        the domain of the intervals.
+     * @param busyIntervals the busy intervals, in any order and possibly overlapping.
+     * @param <I>           the type of the interval.
+     * @param <T>           the type of the interval bounds.
+     * @return the index.
+     */
+    public static <I extends Comparable<I>, T> GapIndex<I, T> of(IntervalDomain<I, T> domain, Collection<I> busyIntervals) {
+        TimeUnit unit = domain.epochUnit();
+        List<I> sortedIntervals = new ArrayList<>(busyIntervals);
+        sortedIntervals.sort(null);
+        long[] busy = new long[sortedIntervals.size() * 2];
+        int length = 0;
+        for (I interval : sortedIntervals) {
+            length = IntervalArrays.append(busy, length, domain.toEpochStart(domain.start(interval), unit), domain.toEpochEnd(domain.end(interval), unit));
+        }
+
+        long[] gapStarts = new long[length / 2 + 1];
+        long[] gapEnds = new long[length / 2 + 1];
+        int gapCount = 0;
+        long current = OPEN_START;
+        for (int i = 0; i < length; i += 2) {
+            if (busy[i] != OPEN_START) {
+                gapStarts[gapCount] = current;
+                gapEnds[gapCount++] = busy[i] - 1;
+            }
+            current = busy[i + 1] == OPEN_END ? OPEN_END : busy[i + 1] + 1;
+        }
+        if (length == 0 || busy[length - 1] != OPEN_END) {
+            gapStarts[gapCount] = current;
+            gapEnds[gapCount++] = OPEN_END;
+        }
+        return new GapIndex<>(domain, unit, Arrays.copyOf(gapStarts, gapCount), Arrays.copyOf(gapEnds, gapCount));
+    }
+
+    /**
+     * Returns the unit of the epoch values of this index.
+     *
+     * @return the epoch unit.
+     */
+    public TimeUnit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Returns the number of free gaps, including the open gaps before the first and after the last busy interval.
+     *
+     * @return the number of gaps.
+     */
+    public int size() {
+        return lengths.length;
+    }
+
+    /**
+     * Returns the free gaps.
+     *
+     * @return a sorted list of non-overlapping and non-adjacent intervals.
+     */
+    public List<I> getGaps() {
+        List<I> gaps = new ArrayList<>(lengths.length);
+        for (int i = 0; i < lengths.length; i++) {
+            gaps.add(toInterval(gapStarts[i], gapEnds[i]));
+        }
+        return gaps;
+    }
+
+    /**
+     * Returns the first free window of at least the given length starting on or after the given point.
+     * <pre>
+     * Busy:
+     *     [--A--]  [--B--]     [--C--]
+     * firstFit(|t, length 4):
+     *                     [W-]
+     * </pre>
+     *
+     * @param from   the earliest start of the window, or null for no lower bound.
+     * @param length the minimum length of the window.
+     * @return the window, from its earliest possible start to the end of its gap, or an empty Optional if there is none.
+     */
+    public Optional<I> firstFit(@Nullable T from, @Nonnull Duration length) {
+        List<I> windows = earliestFits(from, length, 1);
+        return windows.isEmpty() ? Optional.empty() : Optional.of(windows.getFirst());
+    }
+
+    /**
+     * Returns the earliest free windows of at least the given length starting on or after the given point, one per gap.
+     *
+     * @param from   the earliest start of the windows, or null for no lower bound.
+     * @param length the minimum length of the windows.
+     * @param limit  the maximum number of windows to return.
+     * @return up to {@code limit} windows, sorted, from their earliest possible start to the end of their gap.
+     */
+    public List<I> earliestFits(@Nullable T from, @Nonnull Duration length, int limit) {
+        long minLength = toUnits(length);
+        long start = domain.toEpochStart(from, unit);
+        List<I> windows = new ArrayList<>();
+        int gap = indexOfFirstEndingOnOrAfter(start);
+        if (gap < lengths.length && gapStarts[gap] < start) {
+            if (limit > 0 && length(start, gapEnds[gap]) >= minLength) {
+                windows.add(toInterval(start, gapEnds[gap]));
+            }
+            gap++;
+        }
+        while (windows.size() < limit && (gap = nextFit(1, 0, leafCount - 1, gap, minLength)) >= 0) {
+            windows.add(toInterval(gapStarts[gap], gapEnds[gap]));
+            gap++;
+        }
+        return windows;
+    }
+
+    /**
+     * Returns the shortest free window of at least the given length within the given bounds, the earliest one among equally long windows.
+     * <pre>
+     * Busy:
+     *     [-A-]        [-B-]  [-C-]     [-D-]
+     * bestFit(|--------bounds---------|, length 3):
+     *                      [W-]
+     * </pre>
+     *
+     * @param bounds the bounds of the window.
+     * @param length the minimum length of the window.
+     * @return the window, the free gap cut to the bounds, or an empty Optional if there is none.
+     */
+    public Optional<I> bestFit(@Nonnull I bounds, @Nonnull Duration length) {
+        long minLength = toUnits(length);
+        long start = domain.toEpochStart(domain.start(bounds), unit);
+        long end = domain.toEpochEnd(domain.end(bounds), unit);
+        int first = indexOfFirstEndingOnOrAfter(start);
+        int last = indexOfLastStartingOnOrBefore(end);
+        if (first > last) {
+            return Optional.empty();
+        }
+        int best = bestFit(first + 1, last - 1, minLength);
+        long bestLength = best < 0 ? Long.MAX_VALUE : lengths[best];
+        long firstLength = length(Math.max(start, gapStarts[first]), Math.min(end, gapEnds[first]));
+        if (firstLength >= minLength && (best < 0 || firstLength <= bestLength)) {
+            best = first;
+            bestLength = firstLength;
+        }
+        long lastLength = length(Math.max(start, gapStarts[last]), Math.min(end, gapEnds[last]));
+        if (last != first && lastLength >= minLength && (best < 0 || lastLength < bestLength)) {
+            best = last;
+        }
+        return best < 0 ? Optional.empty() : Optional.of(toInterval(Math.max(start, gapStarts[best]), Math.min(end, gapEnds[best])));
+    }
+
+    /**
+     * Returns the first gap from index {@code from} with a length of at least {@code minLength}, or -1 if none.
+     */
+    private int nextFit(int node, int nodeLow, int nodeHigh, int from, long minLength) {
+        if (nodeHigh < from || maxLengthTree[node] < minLength) {
+            return -1;
+        }
+        if (nodeLow == nodeHigh) {
+            return nodeLow;
+        }
+        int middle = (nodeLow + nodeHigh) >>> 1;
+        int gap = nextFit(2 * node, nodeLow, middle, from, minLength);
+        return gap >= 0 ? gap : nextFit(2 * node + 1, middle + 1, nodeHigh, from, minLength);
+    }
+
+    /**
+     * Returns the shortest and then earliest gap from index {@code from} to {@code to} with a length of at least {@code minLength},
+     * or -1 if none, by searching the O(log n) aligned blocks of the merge sort tree covering the range.
+     */
+    private int bestFit(int from, int to, long minLength) {
+        if (from > to) {
+            return -1;
+        }
+        int[][] orders = getLengthOrders();
+        int best = -1;
+        while (from <= to) {
+            int level = Math.min(Integer.numberOfTrailingZeros(from), orders.length - 1);
+            while (from + (1L << level) - 1 > to) {
+                level--;
+            }
+            int blockEnd = from + (1 << level);
+            int candidate = firstFitInBlock(orders[level], from, blockEnd, minLength);
+            if (candidate >= 0 && (best < 0 || lengths[candidate] < lengths[best])) {
+                best = candidate;
+            }
+            from = blockEnd;
+        }
+        return best;
+    }
+
+    private int firstFitInBlock(int[] order, int low, int high, long minLength) {
+        int end = high;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (lengths[order[middle]] < minLength) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low < end ? order[low] : -1;
+    }
+
+    private int[][] getLengthOrders() {
+        int[][] orders = lengthOrders;
+        if (orders == null) {
+            orders = buildLengthOrders();
+            lengthOrders = orders;
+        }
+        return orders;
+    }
+
+    private int[][] buildLengthOrders() {
+        int levelCount = 1;
+        while ((1 << (levelCount - 1)) < lengths.length) {
+            levelCount++;
+        }
+        int[][] orders = new int[levelCount][];
+        int[] previous = new int[lengths.length];
+        Arrays.setAll(previous, i -> i);
+        orders[0] = previous;
+        for (int level = 1; level < levelCount; level++) {
+            int width = 1 << (level - 1);
+            int[] current = new int[lengths.length];
+            for (int low = 0; low < lengths.length; low += 2 * width) {
+                int middle = Math.min(low + width, lengths.length);
+                int high = Math.min(low + 2 * width, lengths.length);
+                int i = low;
+                int j = middle;
+                for (int k = low; k < high; k++) {
+                    // on equal lengths the left block holds the earlier gaps, so taking it first keeps the blocks ordered by index
+                    boolean takeLeft = j >= high || (i < middle && lengths[previous[i]] <= lengths[previous[j]]);
+                    current[k] = takeLeft ? previous[i++] : previous[j++];
+                }
+            }
+            orders[level] = current;
+            previous = current;
+        }
+        return orders;
+    }
+
+    private int indexOfFirstEndingOnOrAfter(long point) {
+        int low = 0;
+        int high = gapEnds.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (gapEnds[middle] < point) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int indexOfLastStartingOnOrBefore(long point) {
+        int low = 0;
+        int high = gapStarts.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (gapStarts[middle] <= point) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low - 1;
+    }
+
+    private long toUnits(Duration length) {
+        if (length.isNegative()) {
+            throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("The length of a window cannot be negative, but was {0}.", new Object[]{length});
+        }
+        long units = unit.convert(length);
+        return Duration.of(units, unit.toChronoUnit()).compareTo(length) < 0 ? units + 1 : units;
+    }
+
+    /**
+     * Returns the number of units from the start to the end, both included, or {@link Long#MAX_VALUE} if a bound is open.
+     */
+    private static long length(long start, long end) {
+        if (start == OPEN_START || end == OPEN_END) {
+            return Long.MAX_VALUE;
+        }
+        long length = end - start + 1;
+        return length > 0 ? length : Long.MAX_VALUE;
+    }
+
+    private I toInterval(long start, long end) {
+        return domain.create(domain.fromEpoch(start, unit), domain.fromEpoch(end, unit));
+    }
+
+    @Override
+    @Nonnull
+    public String toString() {
+        return getGaps().toString();
+    }
+}
@@ -0,0 +1,44 @@
+package com.thanlinardos.spring_enterprise_library.time.collection;
+
+import com.thanlinardos.spring_enterprise_library.time.api.InstantTemporal;
+import com.thanlinardos.spring_enterprise_library.time.model.InstantInterval;
+import com.thanlinardos.spring_enterprise_library.time.model.IntervalDomain;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * {@link AbstractTimelineMap} of {@link InstantInterval} keys, e.g. the value of an effective-dated attribute at each instant.
+ *
+ * @param <V> the type of the values.
+ */
+public final class InstantTimelineMap<V> extends AbstractTimelineMap<InstantInterval, Instant, V, InstantTimelineMap<V>> {
+
+    /**
+     * Creates an empty map.
+     */
+    public InstantTimelineMap() {
+        super(IntervalDomain.INSTANTS);
+    }
+
+    /**
+     * Creates a map of the values of the given entities, where later entities overwrite earlier ones where they overlap.
+     *
+     * @param entities    the entities to put, in order.
+     * @param valueGetter the function returning the value of an entity.
+     * @param <E>         the type of the entities.
+     * @param <V>         the type of the values.
+     * @return the map.
+     */
+    public static <E extends InstantTemporal, V> InstantTimelineMap<V> of(Collection<E> entities, Function<E, V> valueGetter) {
+        InstantTimelineMap<V> map = new InstantTimelineMap<>();
+        map.putAll(entities, InstantTemporal::getInterval, valueGetter);
+        return map;
+    }
+
+    @Override
+    protected InstantTimelineMap<V> newInstance() {
+        return new InstantTimelineMap<>();
+    }
+}
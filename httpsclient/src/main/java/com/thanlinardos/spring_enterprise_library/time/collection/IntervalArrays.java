@@ -0,0 +1,288 @@
+package com.thanlinardos.spring_enterprise_library.time.collection;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.Arrays;
+
+import static com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils.OPEN_END;
+import static com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils.OPEN_END_DAY;
+
+/**
+ * Linear merge kernels over normalized primitive interval arrays.
+ * <p>
+ * A normalized array holds the inclusive bounds of its intervals interleaved ({@code start0, end0, start1, end1, ...}),
+ * sorted, with no two intervals overlapping or adjacent. Open bounds are represented by the sentinels of
+ * {@link com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils}, which are also the minimum and maximum values,
+ * so they need no special handling when comparing.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+class IntervalArrays {
+
+    static final long[] EMPTY_LONGS = new long[0];
+    static final int[] EMPTY_INTS = new int[0];
+
+    /**
+     * Appends an interval to a normalized array under construction, merging it with the last interval if they overlap or touch.
+     * The interval must not start before the last interval of the array.
+     *
+     * @return the new length of the array.
+     */
+    static int append(long[] bounds, int length, long start, long end) {
+        if (length > 0 && touches(bounds[length - 1], start)) {
+            bounds[length - 1] = Math.max(bounds[length - 1], end);
+            return length;
+        }
+        bounds[length] = start;
+        bounds[length + 1] = end;
+        return length + 2;
+    }
+
+    static long[] union(long[] first, long[] second) {
+        long[] result = new long[first.length + second.length];
+        int length = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.length || j < second.length) {
+            if (j == second.length || (i < first.length && first[i] <= second[j])) {
+                length = append(result, length, first[i], first[i + 1]);
+                i += 2;
+            } else {
+                length = append(result, length, second[j], second[j + 1]);
+                j += 2;
+            }
+        }
+        return trim(result, length);
+    }
+
+    static long[] intersection(long[] first, long[] second) {
+        long[] result = new long[first.length + second.length];
+        int length = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.length && j < second.length) {
+            long start = Math.max(first[i], second[j]);
+            long end = Math.min(first[i + 1], second[j + 1]);
+            if (start <= end) {
+                result[length++] = start;
+                result[length++] = end;
+            }
+            if (first[i + 1] < second[j + 1]) {
+                i += 2;
+            } else {
+                j += 2;
+            }
+        }
+        return trim(result, length);
+    }
+
+    static long[] subtract(long[] first, long[] second) {
+        long[] result = new long[first.length + second.length];
+        int length = 0;
+        int j = 0;
+        for (int i = 0; i < first.length; i += 2) {
+            long current = first[i];
+            long end = first[i + 1];
+            while (j < second.length && second[j + 1] < current) {
+                j += 2;
+            }
+            boolean exhausted = false;
+            for (int k = j; k < second.length && second[k] <= end; k += 2) {
+                if (second[k] > current) {
+                    result[length++] = current;
+                    result[length++] = second[k] - 1;
+                }
+                if (second[k + 1] >= end) {
+                    exhausted = true;
+                    break;
+                }
+                current = second[k + 1] + 1;
+            }
+            if (!exhausted) {
+                result[length++] = current;
+                result[length++] = end;
+            }
+        }
+        return trim(result, length);
+    }
+
+    static boolean overlaps(long[] first, long[] second) {
+        int i = 0;
+        int j = 0;
+        while (i < first.length && j < second.length) {
+            if (Math.max(first[i], second[j]) <= Math.min(first[i + 1], second[j + 1])) {
+                return true;
+            }
+            if (first[i + 1] < second[j + 1]) {
+                i += 2;
+            } else {
+                j += 2;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the index of the start of the first interval ending on or after the given point, or the array length if there is none.
+     */
+    static int indexOfFirstEndingOnOrAfter(long[] bounds, long point) {
+        int low = 0;
+        int high = bounds.length / 2;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (bounds[2 * middle + 1] < point) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return 2 * low;
+    }
+
+    static boolean contains(long[] bounds, long start, long end) {
+        int index = indexOfFirstEndingOnOrAfter(bounds, end);
+        return index < bounds.length && bounds[index] <= start;
+    }
+
+    static boolean overlaps(long[] bounds, long start, long end) {
+        int index = indexOfFirstEndingOnOrAfter(bounds, start);
+        return index < bounds.length && bounds[index] <= end;
+    }
+
+    private static boolean touches(long end, long start) {
+        return end == OPEN_END || start <= end + 1;
+    }
+
+    private static long[] trim(long[] bounds, int length) {
+        return length == bounds.length ? bounds : Arrays.copyOf(bounds, length);
+    }
+
+    /**
+     * Int epoch day variant of {@link #append(long[], int, long, long)}.
+     */
+    static int append(int[] bounds, int length, int start, int end) {
+        if (length > 0 && touches(bounds[length - 1], start)) {
+            bounds[length - 1] = Math.max(bounds[length - 1], end);
+            return length;
+        }
+        bounds[length] = start;
+        bounds[length + 1] = end;
+        return length + 2;
+    }
+
+    static int[] union(int[] first, int[] second) {
+        int[] result = new int[first.length + second.length];
+        int length = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.length || j < second.length) {
+            if (j == second.length || (i < first.length && first[i] <= second[j])) {
+                length = append(result, length, first[i], first[i + 1]);
+                i += 2;
+            } else {
+                length = append(result, length, second[j], second[j + 1]);
+                j += 2;
+            }
+        }
+        return trim(result, length);
+    }
+
+    static int[] intersection(int[] first, int[] second) {
+        int[] result = new int[first.length + second.length];
+        int length = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.length && j < second.length) {
+            int start = Math.max(first[i], second[j]);
+            int end = Math.min(first[i + 1], second[j + 1]);
+            if (start <= end) {
+                result[length++] = start;
+                result[length++] = end;
+            }
+            if (first[i + 1] < second[j + 1]) {
+                i += 2;
+            } else {
+                j += 2;
+            }
+        }
+        return trim(result, length);
+    }
+
+    static int[] subtract(int[] first, int[] second) {
+        int[] result = new int[first.length + second.length];
+        int length = 0;
+        int j = 0;
+        for (int i = 0; i < first.length; i += 2) {
+            int current = first[i];
+            int end = first[i + 1];
+            while (j < second.length && second[j + 1] < current) {
+                j += 2;
+            }
+            boolean exhausted = false;
+            for (int k = j; k < second.length && second[k] <= end; k += 2) {
+                if (second[k] > current) {
+                    result[length++] = current;
+                    result[length++] = second[k] - 1;
+                }
+                if (second[k + 1] >= end) {
+                    exhausted = true;
+                    break;
+                }
+                current = second[k + 1] + 1;
+            }
+            if (!exhausted) {
+                result[length++] = current;
+                result[length++] = end;
+            }
+        }
+        return trim(result, length);
+    }
+
+    static boolean overlaps(int[] first, int[] second) {
+        int i = 0;
+        int j = 0;
+        while (i < first.length && j < second.length) {
+            if (Math.max(first[i], second[j]) <= Math.min(first[i + 1], second[j + 1])) {
+                return true;
+            }
+            if (first[i + 1] < second[j + 1]) {
+                i += 2;
+            } else {
+                j += 2;
+            }
+        }
+        return false;
+    }
+
+    static int indexOfFirstEndingOnOrAfter(int[] bounds, int point) {
+        int low = 0;
+        int high = bounds.length / 2;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (bounds[2 * middle + 1] < point) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return 2 * low;
+    }
+
+    static boolean contains(int[] bounds, int start, int end) {
+        int index = indexOfFirstEndingOnOrAfter(bounds, end);
+        return index < bounds.length && bounds[index] <= start;
+    }
+
+    static boolean overlaps(int[] bounds, int start, int end) {
+        int index = indexOfFirstEndingOnOrAfter(bounds, start);
+        return index < bounds.length && bounds[index] <= end;
+    }
+
+    private static boolean touches(int end, int start) {
+        return end == OPEN_END_DAY || start <= end + 1;
+    }
+
+    private static int[] trim(int[] bounds, int length) {
+        return length == bounds.length ? bounds : Arrays.copyOf(bounds, length);
+    }
+}
@@ -0,0 +1,315 @@
+package com.thanlinardos.spring_enterprise_library.time.collection;
+
+import com.thanlinardos.spring_enterprise_library.time.api.DateTemporal;
+import com.thanlinardos.spring_enterprise_library.time.api.InstantTemporal;
+import com.thanlinardos.spring_enterprise_library.time.api.TimeTemporal;
+import com.thanlinardos.spring_enterprise_library.time.model.InstantInterval;
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import com.thanlinardos.spring_enterprise_library.time.model.IntervalDomain;
+import com.thanlinardos.spring_enterprise_library.time.model.TimeInterval;
+import com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils.OPEN_END;
+import static com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils.OPEN_START;
+
+/**
+ * Immutable batch of entities with the bounds of their intervals stored column-wise, for filtering many entities by time at once.
+ * <p>
+ * The starts and ends of the intervals are converted once to two parallel arrays of long epoch values, counting whole units of
+ * the {@link IntervalDomain#epochUnit()} of the domain (days for {@link Interval}s), with the open bound sentinels of
+ * {@link EpochUtils}. Each filter converts its query bounds once and evaluates every row with a branch-free loop of long
+ * comparisons over the columns, which the JIT can auto-vectorize, producing a {@link BitSet} of the matching row indices.
+ * The results are the same as the corresponding methods of the interval records on every row, except that {@link #contains}
+ * rounds a point within a unit down to that unit, like the other interval collections.
+ * <p>
+ * If the library was built with the {@code vector-api} Maven profile, the system property {@value #VECTORIZED_PROPERTY}
+ * is {@code true} and the {@code jdk.incubator.vector} module is present, the filters use explicit Java Vector API kernels
+ * instead. The default build does not compile them, so it does not depend on the incubator module.
+ *
+ * @param <E> the type of the entities.
+ * @param <I> the type of the interval.
+ * @param <T> the type of the interval bounds.
+ */
+public final class IntervalBatch<E, I extends Comparable<I>, T> {
+
+    /**
+     * The system property enabling the Vector API kernels.
+     */
+    public static final String VECTORIZED_PROPERTY = "thanlinardos.spring_enterprise_library.time.vectorized";
+    private static final String VECTOR_KERNELS_CLASS = "com.thanlinardos.spring_enterprise_library.time.collection.IntervalBatchVectorKernels";
+    @Nullable
+    private static final IntervalBatchKernels VECTOR_KERNELS = loadVectorKernels();
+
+    private final IntervalDomain<I, T> domain;
+    private final TimeUnit unit;
+    private final List<E> elements;
+    private final long[] starts;
+    private final long[] ends;
+
+    private IntervalBatch(IntervalDomain<I, T> domain, TimeUnit unit, List<E> elements, long[] starts, long[] ends) {
+        this.domain = domain;
+        this.unit = unit;
+        this.elements = elements;
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    /**
+     * Creates a batch of the given date temporals.
+     *
+     * @param elements the entities, in the order of the rows.
+     * @param <E>      the type of the entities.
+     * @return the batch.
+     */
+    public static <E extends DateTemporal> IntervalBatch<E, Interval, LocalDate> forDates(Collection<E> elements) {
+        return of(IntervalDomain.DATES, elements, DateTemporal::getInterval);
+    }
+
+    /**
+     * Creates a batch of the given date time temporals.
+     *
+     * @param elements the entities, in the order of the rows.
+     * @param <E>      the type of the entities.
+     * @return the batch.
+     */
+    public static <E extends TimeTemporal> IntervalBatch<E, TimeInterval, LocalDateTime> forDateTimes(Collection<E> elements) {
+        return of(IntervalDomain.DATE_TIMES, elements, TimeTemporal::getInterval);
+    }
+
+    /**
+     * Creates a batch of the given instant temporals.
+     *
+     * @param elements the entities, in the order of the rows.
+     * @param <E>      the type of the entities.
+     * @return the batch.
+     */
+    public static <E extends InstantTemporal> IntervalBatch<E, InstantInterval, Instant> forInstants(Collection<E> elements) {
+        return of(IntervalDomain.INSTANTS, elements, InstantTemporal::getInterval);
+    }
+
+    /**
+     * Creates a batch of the given entities with intervals of the given domain.
+     *
+     * @param domain         the domain of the intervals.
+     * @param elements       the entities, in the order of the rows.
+     * @param intervalGetter the getter of the interval of an entity.
+     * @param <E>            the type of the entities.
+     * @param <I>            the type of the interval.
+     * @param <T>            the type of the interval bounds.
+     * @return the batch.
+     */
+    public static <E, I extends Comparable<I>, T> IntervalBatch<E, I, T> of(IntervalDomain<I, T> domain, Collection<E> elements,
+                                                                           Function<? super E, I> intervalGetter) {
+        TimeUnit unit = domain.epochUnit();
+        List<E> rows = List.copyOf(elements);
+        long[] starts = new long[rows.size()];
+        long[] ends = new long[rows.size()];
+        for (int i = 0; i < starts.length; i++) {
+            I interval = intervalGetter.apply(rows.get(i));
+            starts[i] = domain.toEpochStart(domain.start(interval), unit);
+            ends[i] = domain.toEpochEnd(domain.end(interval), unit);
+        }
+        return new IntervalBatch<>(domain, unit, rows, starts, ends);
+    }
+
+    @Nullable
+    private static IntervalBatchKernels loadVectorKernels() {
+        if (!Boolean.getBoolean(VECTORIZED_PROPERTY) || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return (IntervalBatchKernels) Class.forName(VECTOR_KERNELS_CLASS).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks if the filters use the Java Vector API kernels.
+     *
+     * @return true if the kernels are enabled and were compiled, otherwise false.
+     */
+    public static boolean isVectorized() {
+        return VECTOR_KERNELS != null;
+    }
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return the number of rows.
+     */
+    public int size() {
+        return starts.length;
+    }
+
+    /**
+     * Returns the unit of the epoch values of the columns.
+     *
+     * @return the epoch unit.
+     */
+    public TimeUnit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Returns the entity of the given row.
+     *
+     * @param index the index of the row.
+     * @return the entity.
+     */
+    public E get(int index) {
+        return elements.get(index);
+    }
+
+    /**
+     * Returns the entities of the given rows.
+     *
+     * @param rows the indices of the rows, as returned by the filters.
+     * @return the entities, in the order of the rows.
+     */
+    public List<E> select(BitSet rows) {
+        List<E> result = new ArrayList<>(rows.cardinality());
+        for (int i = rows.nextSetBit(0); i >= 0; i = rows.nextSetBit(i + 1)) {
+            result.add(elements.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the indices of the given rows as an array.
+     *
+     * @param rows the indices of the rows, as returned by the filters.
+     * @return the sorted indices.
+     */
+    public static int[] toIndices(BitSet rows) {
+        int[] indices = new int[rows.cardinality()];
+        int length = 0;
+        for (int i = rows.nextSetBit(0); i >= 0; i = rows.nextSetBit(i + 1)) {
+            indices[length++] = i;
+        }
+        return indices;
+    }
+
+    /**
+     * Returns the rows whose interval contains the given point.
+     *
+     * @param point the point to check, rounded down to the epoch unit.
+     * @return the indices of the matching rows.
+     */
+    public BitSet contains(@Nonnull T point) {
+        long epochPoint = domain.toEpochFloor(point, unit);
+        return overlaps(epochPoint, epochPoint);
+    }
+
+    /**
+     * Returns the rows whose interval overlaps the given range.
+     *
+     * @param from the start of the range, or null for an open start.
+     * @param to   the end of the range, or null for an open end.
+     * @return the indices of the matching rows.
+     */
+    public BitSet overlaps(@Nullable T from, @Nullable T to) {
+        return overlaps(domain.toEpochStart(from, unit), domain.toEpochEnd(to, unit));
+    }
+
+    /**
+     * Returns the rows whose interval is contained in the given range, as the {@code contains} method of the interval records
+     * on the range, which does not check an open bound of the row against the range.
+     *
+     * @param from the start of the range, or null for an open start.
+     * @param to   the end of the range, or null for an open end.
+     * @return the indices of the matching rows.
+     */
+    public BitSet containedIn(@Nullable T from, @Nullable T to) {
+        long rangeStart = domain.toEpochStart(from, unit);
+        long rangeEnd = domain.toEpochEnd(to, unit);
+        long[] words = newWords();
+        if (VECTOR_KERNELS != null) {
+            VECTOR_KERNELS.containedIn(starts, ends, rangeStart, rangeEnd, words);
+        } else {
+            for (int i = 0; i < starts.length; i++) {
+                boolean isMatch = (starts[i] >= rangeStart | starts[i] == OPEN_START) & (ends[i] <= rangeEnd | ends[i] == OPEN_END);
+                words[i >>> 6] |= (isMatch ? 1L : 0L) << i;
+            }
+        }
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * Returns the rows whose interval starts before the given point, treating an open start as before any point.
+     *
+     * @param point the point to check, rounded up to the epoch unit, since a point within a unit is after the start of that unit.
+     * @return the indices of the matching rows.
+     */
+    public BitSet startsBefore(@Nonnull T point) {
+        return lessThan(starts, toEpochCeil(point));
+    }
+
+    /**
+     * Returns the rows whose interval ends after the given point, treating an open end as after any point.
+     *
+     * @param point the point to check, rounded down to the epoch unit.
+     * @return the indices of the matching rows.
+     */
+    public BitSet endsAfter(@Nonnull T point) {
+        return greaterThan(ends, domain.toEpochFloor(point, unit));
+    }
+
+    private long toEpochCeil(T point) {
+        long epochValue = domain.toEpochFloor(point, unit);
+        return domain.fromEpoch(epochValue, unit).equals(point) ? epochValue : epochValue + 1;
+    }
+
+    private BitSet overlaps(long rangeStart, long rangeEnd) {
+        long[] words = newWords();
+        if (VECTOR_KERNELS != null) {
+            VECTOR_KERNELS.overlaps(starts, ends, rangeStart, rangeEnd, words);
+        } else {
+            for (int i = 0; i < starts.length; i++) {
+                boolean isMatch = starts[i] <= rangeEnd & ends[i] >= rangeStart;
+                words[i >>> 6] |= (isMatch ? 1L : 0L) << i;
+            }
+        }
+        return BitSet.valueOf(words);
+    }
+
+    private BitSet lessThan(long[] column, long value) {
+        long[] words = newWords();
+        if (VECTOR_KERNELS != null) {
+            VECTOR_KERNELS.lessThan(column, value, words);
+        } else {
+            for (int i = 0; i < column.length; i++) {
+                words[i >>> 6] |= (column[i] < value ? 1L : 0L) << i;
+            }
+        }
+        return BitSet.valueOf(words);
+    }
+
+    private BitSet greaterThan(long[] column, long value) {
+        long[] words = newWords();
+        if (VECTOR_KERNELS != null) {
+            VECTOR_KERNELS.greaterThan(column, value, words);
+        } else {
+            for (int i = 0; i < column.length; i++) {
+                words[i >>> 6] |= (column[i] > value ? 1L : 0L) << i;
+            }
+        }
+        return BitSet.valueOf(words);
+    }
+
+    private long[] newWords() {
+        return new long[(starts.length + 63) >>> 6];
+    }
+}
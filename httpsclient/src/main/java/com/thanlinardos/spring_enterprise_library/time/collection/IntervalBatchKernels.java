@@ -0,0 +1,49 @@
+package com.thanlinardos.spring_enterprise_library.time.collection;
+
+/**
+ * Alternative implementations of the {@link IntervalBatch} filters over the epoch columns of a batch.
+ * <p>
+ * Each kernel sets the bits of the matching rows in the given words, which have one bit per row and are initially zero.
+ */
+interface IntervalBatchKernels {
+
+    /**
+     * Sets the rows whose interval overlaps the given range.
+     *
+     * @param starts     the starts of the intervals.
+     * @param ends       the ends of the intervals.
+     * @param rangeStart the start of the range.
+     * @param rangeEnd   the end of the range.
+     * @param words      the words of the matching rows.
+     */
+    void overlaps(long[] starts, long[] ends, long rangeStart, long rangeEnd, long[] words);
+
+    /**
+     * Sets the rows whose interval is contained in the given range, ignoring their open bounds.
+     *
+     * @param starts     the starts of the intervals.
+     * @param ends       the ends of the intervals.
+     * @param rangeStart the start of the range.
+     * @param rangeEnd   the end of the range.
+     * @param words      the words of the matching rows.
+     */
+    void containedIn(long[] starts, long[] ends, long rangeStart, long rangeEnd, long[] words);
+
+    /**
+     * Sets the rows whose value in the given column is less than the given value.
+     *
+     * @param column the column of the values.
+     * @param value  the value to compare with.
+     * @param words  the words of the matching rows.
+     */
+    void lessThan(long[] column, long value, long[] words);
+
+    /**
+     * Sets the rows whose value in the given column is greater than the given value.
+     *
+     * @param column the column of the values.
+     * @param value  the value to compare with.
+     * @param words  the words of the matching rows.
+     */
+    void greaterThan(long[] column, long value, long[] words);
+}
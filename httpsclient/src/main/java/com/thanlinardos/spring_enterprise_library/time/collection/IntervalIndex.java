@@ -0,0 +1,303 @@
+package com.thanlinardos.spring_enterprise_library.time.collection;
+
+import com.thanlinardos.spring_enterprise_library.time.api.DateTemporal;
+import com.thanlinardos.spring_enterprise_library.time.api.InstantTemporal;
+import com.thanlinardos.spring_enterprise_library.time.api.TimeTemporal;
+import com.thanlinardos.spring_enterprise_library.time.model.InstantInterval;
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import com.thanlinardos.spring_enterprise_library.time.model.IntervalDomain;
+import com.thanlinardos.spring_enterprise_library.time.model.TimeInterval;
+import jakarta.annotation.Nullable;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Immutable index of temporal entities, answering which entities cover a point, overlap an interval, contain an interval
+ * or are contained in an interval. Stabbing, overlap and containing lookups take O(log n + k) for k matches, while lookups
+ * of the entities contained in an interval only scan the entities starting within it.
+ * <p>
+ * The entities are kept sorted by their interval, and the sorted array is used as an implicit balanced binary search tree,
+ * where each node is augmented with the maximum end of its subtree. A null start is treated as the minimum and a null end
+ * as the maximum, same as in the interval records.
+ * <p>
+ * The index never changes after it is built, so it can be read concurrently by any number of threads without synchronization.
+ *
+ * @param <E> the type of the indexed entities.
+ * @param <I> the type of the interval of the entities.
+ * @param <T> the type of the interval bounds.
+ */
+public final class IntervalIndex<E, I extends Comparable<I>, T> {
+
+    private final IntervalDomain<I, T> domain;
+    private final List<E> elements;
+    private final List<T> starts;
+    private final List<T> ends;
+    private final List<T> maxEnds;
+
+    private IntervalIndex(IntervalDomain<I, T> domain, Collection<E> elements, Function<E, I> intervalGetter) {
+        this.domain = domain;
+        List<E> sortedElements = new ArrayList<>(elements);
+        sortedElements.sort(Comparator.comparing(intervalGetter));
+        this.elements = List.copyOf(sortedElements);
+
+        List<T> startList = new ArrayList<>(sortedElements.size());
+        List<T> endList = new ArrayList<>(sortedElements.size());
+        for (E element : sortedElements) {
+            I interval = intervalGetter.apply(element);
+            startList.add(domain.start(interval));
+            endList.add(domain.end(interval));
+        }
+        this.starts = startList;
+        this.ends = endList;
+        this.maxEnds = new ArrayList<>(endList);
+        buildMaxEnds(0, sortedElements.size() - 1);
+    }
+
+    /**
+     * Creates an index over the given date temporal entities.
+     *
+     * @param temporals the entities to index.
+     * @param <E>       the type of the entities.
+     * @return the index.
+     */
+    public static <E extends DateTemporal> IntervalIndex<E, Interval, LocalDate> forDates(Collection<E> temporals) {
+        return new IntervalIndex<>(IntervalDomain.DATES, temporals, DateTemporal::getInterval);
+    }
+
+    /**
+     * Creates an index over the given date time temporal entities.
+     *
+     * @param temporals the entities to index.
+     * @param <E>       the type of the entities.
+     * @return the index.
+     */
+    public static <E extends TimeTemporal> IntervalIndex<E, TimeInterval, LocalDateTime> forDateTimes(Collection<E> temporals) {
+        return new IntervalIndex<>(IntervalDomain.DATE_TIMES, temporals, TimeTemporal::getInterval);
+    }
+
+    /**
+     * Creates an index over the given instant temporal entities.
+     *
+     * @param temporals the entities to index.
+     * @param <E>       the type of the entities.
+     * @return the index.
+     */
+    public static <E extends InstantTemporal> IntervalIndex<E, InstantInterval, Instant> forInstants(Collection<E> temporals) {
+        return new IntervalIndex<>(IntervalDomain.INSTANTS, temporals, InstantTemporal::getInterval);
+    }
+
+    /**
+     * Creates an index over any entities with an interval of the given domain.
+     *
+     * @param domain         the domain of the intervals.
+     * @param elements       the entities to index.
+     * @param intervalGetter function returning the interval of an entity.
+     * @param <E>            the type of the entities.
+     * @param <I>            the type of the interval.
+     * @param <T>            the type of the interval bounds.
+     * @return the index.
+     */
+    public static <E, I extends Comparable<I>, T> IntervalIndex<E, I, T> of(IntervalDomain<I, T> domain, Collection<E> elements,
+                                                                           Function<E, I> intervalGetter) {
+        return new IntervalIndex<>(domain, elements, intervalGetter);
+    }
+
+    /**
+     * Returns the number of indexed entities.
+     *
+     * @return the size of the index.
+     */
+    public int size() {
+        return elements.size();
+    }
+
+    /**
+     * Checks if the index has no entities.
+     *
+     * @return true if the index is empty, otherwise false.
+     */
+    public boolean isEmpty() {
+        return elements.isEmpty();
+    }
+
+    /**
+     * Returns all indexed entities, sorted by their interval.
+     *
+     * @return an unmodifiable list of the entities.
+     */
+    public List<E> getElements() {
+        return elements;
+    }
+
+    /**
+     * Returns the entities whose interval contains the given point.
+     *
+     * @param point the point to look up, must not be null.
+     * @return the matching entities, sorted by their interval.
+     */
+    public List<E> stab(T point) {
+        return findOverlapping(point, point);
+    }
+
+    /**
+     * Returns the entities whose interval overlaps the given interval.
+     *
+     * @param interval the interval to look up.
+     * @return the matching entities, sorted by their interval.
+     */
+    public List<E> overlapping(I interval) {
+        return findOverlapping(domain.start(interval), domain.end(interval));
+    }
+
+    /**
+     * Checks if any entity's interval overlaps the given interval.
+     *
+     * @param interval the interval to look up.
+     * @return true if at least one entity overlaps the interval, otherwise false.
+     */
+    public boolean anyOverlapping(I interval) {
+        return anyMatch(0, elements.size() - 1, domain.start(interval), domain.end(interval));
+    }
+
+    /**
+     * Returns the entities whose interval fully contains the given interval. An open bound of the given interval
+     * is only contained by an open bound on the same side.
+     *
+     * @param interval the interval to look up.
+     * @return the matching entities, sorted by their interval.
+     */
+    public List<E> containing(I interval) {
+        List<E> result = new ArrayList<>();
+        collect(0, elements.size() - 1, domain.start(interval), domain.end(interval), true, result);
+        return result;
+    }
+
+    /**
+     * Returns the entities whose interval is fully contained in the given interval. An open bound of an entity
+     * is only contained by an open bound on the same side.
+     *
+     * @param interval the interval to look up.
+     * @return the matching entities, sorted by their interval.
+     */
+    public List<E> containedIn(I interval) {
+        List<E> result = new ArrayList<>();
+        @Nullable T end = domain.end(interval);
+        for (int i = firstStartingAtOrAfter(domain.start(interval)); i < elements.size() && !startsAfter(starts.get(i), end); i++) {
+            if (domain.compareNullAsMax(ends.get(i), end) <= 0) {
+                result.add(elements.get(i));
+            }
+        }
+        return result;
+    }
+
+    private List<E> findOverlapping(@Nullable T start, @Nullable T end) {
+        List<E> result = new ArrayList<>();
+        collect(0, elements.size() - 1, start, end, false, result);
+        return result;
+    }
+
+    /**
+     * Collects in order the entities of the subtree between {@code low} and {@code high} that overlap the given bounds,
+     * or that contain them if {@code containment} is set. Subtrees that end too early are skipped, and the right subtree
+     * is skipped as soon as the entities start too late.
+     */
+    private void collect(int low, int high, @Nullable T start, @Nullable T end, boolean containment, List<E> result) {
+        if (low > high) {
+            return;
+        }
+        int middle = middle(low, high);
+        if (isEndTooEarly(maxEnds.get(middle), start, end, containment)) {
+            return;
+        }
+        collect(low, middle - 1, start, end, containment, result);
+        if (!isStartTooLate(starts.get(middle), start, end, containment)) {
+            if (!isEndTooEarly(ends.get(middle), start, end, containment)) {
+                result.add(elements.get(middle));
+            }
+            collect(middle + 1, high, start, end, containment, result);
+        }
+    }
+
+    private boolean anyMatch(int low, int high, @Nullable T start, @Nullable T end) {
+        if (low > high) {
+            return false;
+        }
+        int middle = middle(low, high);
+        if (isEndTooEarly(maxEnds.get(middle), start, end, false)) {
+            return false;
+        }
+        if (anyMatch(low, middle - 1, start, end)) {
+            return true;
+        }
+        if (isStartTooLate(starts.get(middle), start, end, false)) {
+            return false;
+        }
+        return !isEndTooEarly(ends.get(middle), start, end, false) || anyMatch(middle + 1, high, start, end);
+    }
+
+    private boolean isEndTooEarly(@Nullable T entityEnd, @Nullable T start, @Nullable T end, boolean containment) {
+        return containment
+                ? domain.compareNullAsMax(entityEnd, end) < 0
+                : !domain.shouldMerge(entityEnd, start, false);
+    }
+
+    private boolean isStartTooLate(@Nullable T entityStart, @Nullable T start, @Nullable T end, boolean containment) {
+        return containment
+                ? domain.compareNullAsMin(entityStart, start) > 0
+                : startsAfter(entityStart, end);
+    }
+
+    /**
+     * Checks if a start bound (null as min) is after an end bound (null as max).
+     */
+    private boolean startsAfter(@Nullable T start, @Nullable T end) {
+        return !domain.shouldMerge(end, start, false);
+    }
+
+    private int firstStartingAtOrAfter(@Nullable T start) {
+        int low = 0;
+        int high = elements.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (domain.compareNullAsMin(starts.get(middle), start) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void buildMaxEnds(int low, int high) {
+        if (low > high) {
+            return;
+        }
+        int middle = middle(low, high);
+        buildMaxEnds(low, middle - 1);
+        buildMaxEnds(middle + 1, high);
+        T maxEnd = ends.get(middle);
+        if (low <= middle - 1) {
+            maxEnd = maxNullAsMax(maxEnd, maxEnds.get(middle(low, middle - 1)));
+        }
+        if (middle + 1 <= high) {
+            maxEnd = maxNullAsMax(maxEnd, maxEnds.get(middle(middle + 1, high)));
+        }
+        maxEnds.set(middle, maxEnd);
+    }
+
+    @Nullable
+    private T maxNullAsMax(@Nullable T first, @Nullable T second) {
+        return domain.compareNullAsMax(first, second) >= 0 ? first : second;
+    }
+
+    private static int middle(int low, int high) {
+        return (low + high) >>> 1;
+    }
+}
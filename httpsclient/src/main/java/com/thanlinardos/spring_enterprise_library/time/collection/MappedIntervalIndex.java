@@ -0,0 +1,628 @@
+package com.thanlinardos.spring_enterprise_library.time.collection;
+
+import com.thanlinardos.spring_enterprise_library.error.errorcodes.ErrorCode;
+import com.thanlinardos.spring_enterprise_library.time.model.IntervalDomain;
+import com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils;
+import jakarta.annotation.Nonnull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils.OPEN_END;
+import static com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils.OPEN_START;
+
+/**
+ * Immutable, file-backed index of intervals, answering which intervals cover a point or overlap an interval without keeping
+ * the intervals on the heap.
+ * <p>
+ * The file holds a header, the bounds of the intervals as pairs of long epoch values sorted by start and then end, with the
+ * open bound sentinels of {@link EpochUtils}, and a summary of the first start and maximum end of each block of
+ * {@value #BLOCK_SIZE} intervals. The bounds are memory-mapped in segments of up to 1 GiB with {@link FileChannel#map}, so
+ * opening an index only reads the header and the summary, and the operating system pages in the blocks a query touches. The
+ * summary is kept on the heap with a max tree over the block ends, so a query binary searches the last block starting
+ * before its end and only visits the blocks ending after its start.
+ * <p>
+ * Queries return a {@link Cursor} reading the matching bounds straight from the mapped file. An index is built with
+ * {@link #build(IntervalDomain, Stream, Path)} from a stream of intervals of any size, by sorting runs of intervals in memory
+ * and merging the sorted run files, and reopened with {@link #open(IntervalDomain, Path)}. The values count whole units of the
+ * {@link IntervalDomain#epochUnit()} of the domain when the index was built, which is stored in the file.
+ * <p>
+ * The index can be read concurrently by any number of threads, each with its own cursors. The mapping stays valid after the
+ * index is opened, and is released when the index is garbage collected.
+ *
+ * @param <I> the type of the interval.
+ * @param <T> the type of the interval bounds.
+ */
+public final class MappedIntervalIndex<I extends Comparable<I>, T> {
+
+    /**
+     * The number of intervals per block of the summary.
+     */
+    public static final int BLOCK_SIZE = 1024;
+    /**
+     * The default number of intervals sorted in memory at a time when building an index.
+     */
+    public static final int DEFAULT_RUN_SIZE = 1 << 20;
+
+    private static final long MAGIC = 0x49564C4944583031L;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int RECORD_BYTES = 16;
+    private static final int SEGMENT_RECORD_SHIFT = 26;
+    private static final long SEGMENT_RECORD_MASK = (1L << SEGMENT_RECORD_SHIFT) - 1;
+    private static final int IO_BUFFER_BYTES = 1 << 16;
+    private static final Comparator<RunReader> RUN_ORDER = Comparator.<RunReader>comparingLong(run -> run.start).thenComparingLong(run -> run.end);
+
+    private final IntervalDomain<I, T> domain;
+    private final TimeUnit unit;
+    private final long size;
+    private final int blockSize;
+    private final MappedByteBuffer[] segments;
+    private final long[] blockStarts;
+    /**
+     * Max tree over the maximum end of each block, with the blocks as leaves from index {@code leafCount}.
+     */
+    private final long[] maxEndTree;
+    private final int leafCount;
+
+    private MappedIntervalIndex(IntervalDomain<I, T> domain, TimeUnit unit, long size, int blockSize, MappedByteBuffer[] segments,
+                                long[] blockStarts, long[] blockMaxEnds) {
+        this.domain = domain;
+        this.unit = unit;
+        this.size = size;
+        this.blockSize = blockSize;
+        this.segments = segments;
+        this.blockStarts = blockStarts;
+        this.leafCount = Integer.highestOneBit(Math.max(1, blockMaxEnds.length - 1)) << 1;
+        this.maxEndTree = new long[2 * leafCount];
+        Arrays.fill(maxEndTree, OPEN_START);
+        System.arraycopy(blockMaxEnds, 0, maxEndTree, leafCount, blockMaxEnds.length);
+        for (int node = leafCount - 1; node > 0; node--) {
+            maxEndTree[node] = Math.max(maxEndTree[2 * node], maxEndTree[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Builds an index of the given intervals into the given file, replacing it if it exists, and opens it.
+     *
+     * @param domain    the domain of the intervals.
+     * @param intervals the intervals, in any order.
+     * @param file      the file of the index.
+     * @param <I>       the type of the interval.
+     * @param <T>       the type of the interval bounds.
+     * @return the opened index.
+     * @throws IOException if the file or the temporary run files cannot be written.
+     */
+    public static <I extends Comparable<I>, T> MappedIntervalIndex<I, T> build(IntervalDomain<I, T> domain, Stream<I> intervals, Path file) throws IOException {
+        return build(domain, intervals, file, DEFAULT_RUN_SIZE);
+    }
+
+    /**
+     * Builds an index of the given intervals into the given file, replacing it if it exists, and opens it. Runs of up to
+     * {@code runSize} intervals are sorted in memory and written to temporary files next to the index file, which are then merged.
+     *
+     * @param domain    the domain of the intervals.
+     * @param intervals the intervals, in any order.
+     * @param file      the file of the index.
+     * @param runSize   the maximum number of intervals to sort in memory at a time.
+     * @param <I>       the type of the interval.
+     * @param <T>       the type of the interval bounds.
+     * @return the opened index.
+     * @throws IOException if the file or the temporary run files cannot be written.
+     */
+    public static <I extends Comparable<I>, T> MappedIntervalIndex<I, T> build(IntervalDomain<I, T> domain, Stream<I> intervals, Path file,
+                                                                               int runSize) throws IOException {
+        if (runSize < 1) {
+            throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("The run size must be at least 1, but was {0}.", new Object[]{runSize});
+        }
+        int type = getType(domain);
+        TimeUnit unit = domain.epochUnit();
+        Path directory = file.toAbsolutePath().getParent();
+        List<Path> runs = new ArrayList<>();
+        Path target = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            long[] run = new long[2 * Math.min(runSize, BLOCK_SIZE)];
+            int length = 0;
+            Iterator<I> iterator = intervals.iterator();
+            while (iterator.hasNext()) {
+                I interval = iterator.next();
+                if (2 * length == run.length) {
+                    run = Arrays.copyOf(run, 2 * Math.min(runSize, 2 * length));
+                }
+                run[2 * length] = domain.toEpochStart(domain.start(interval), unit);
+                run[2 * length + 1] = domain.toEpochEnd(domain.end(interval), unit);
+                if (++length == runSize) {
+                    runs.add(writeRun(directory, run, length));
+                    length = 0;
+                }
+            }
+            if (!runs.isEmpty() && length > 0) {
+                runs.add(writeRun(directory, run, length));
+            }
+            long count;
+            try (IndexWriter writer = new IndexWriter(target)) {
+                if (runs.isEmpty()) {
+                    sortPairs(run, length);
+                    for (int i = 0; i < length; i++) {
+                        writer.add(run[2 * i], run[2 * i + 1]);
+                    }
+                } else {
+                    merge(runs, writer);
+                }
+                writer.writeSummary();
+                count = writer.count;
+            }
+            writeHeader(target, type, unit, count);
+            Files.move(target, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(target);
+            for (Path runFile : runs) {
+                Files.deleteIfExists(runFile);
+            }
+        }
+        return open(domain, file);
+    }
+
+    /**
+     * Opens an index built with {@link #build(IntervalDomain, Stream, Path)}.
+     *
+     * @param domain the domain of the intervals, which must be the domain the index was built with.
+     * @param file   the file of the index.
+     * @param <I>    the type of the interval.
+     * @param <T>    the type of the interval bounds.
+     * @return the opened index.
+     * @throws IOException if the file cannot be read.
+     */
+    public static <I extends Comparable<I>, T> MappedIntervalIndex<I, T> open(IntervalDomain<I, T> domain, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = readFully(channel, 0, HEADER_BYTES);
+            if (header.getLong() != MAGIC || header.getInt() != VERSION) {
+                throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("File {0} is not an interval index.", new Object[]{file});
+            }
+            int type = header.getInt();
+            int unitOrdinal = header.getInt();
+            int blockSize = header.getInt();
+            long size = header.getLong();
+            if (type != getType(domain)) {
+                throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("File {0} is an interval index of type {1}, but type {2} was expected.", new Object[]{file, type, getType(domain)});
+            }
+            long blockCount = size < 0 || blockSize < 1 ? -1 : (size + blockSize - 1) / blockSize;
+            if (unitOrdinal < 0 || unitOrdinal >= TimeUnit.values().length || blockCount < 0
+                    || channel.size() != HEADER_BYTES + size * RECORD_BYTES + blockCount * RECORD_BYTES) {
+                throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("File {0} is a corrupt interval index.", new Object[]{file});
+            }
+
+            MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((size + SEGMENT_RECORD_MASK) >>> SEGMENT_RECORD_SHIFT)];
+            for (int i = 0; i < segments.length; i++) {
+                long firstRecord = (long) i << SEGMENT_RECORD_SHIFT;
+                long records = Math.min(size - firstRecord, SEGMENT_RECORD_MASK + 1);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + firstRecord * RECORD_BYTES, records * RECORD_BYTES);
+            }
+            ByteBuffer summary = readFully(channel, HEADER_BYTES + size * RECORD_BYTES, Math.toIntExact(blockCount * RECORD_BYTES));
+            long[] blockStarts = new long[(int) blockCount];
+            long[] blockMaxEnds = new long[(int) blockCount];
+            for (int i = 0; i < blockCount; i++) {
+                blockStarts[i] = summary.getLong();
+                blockMaxEnds[i] = summary.getLong();
+            }
+            return new MappedIntervalIndex<>(domain, TimeUnit.values()[unitOrdinal], size, blockSize, segments, blockStarts, blockMaxEnds);
+        }
+    }
+
+    /**
+     * Returns the number of indexed intervals.
+     *
+     * @return the size of the index.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Checks if the index has no intervals.
+     *
+     * @return true if the index is empty, otherwise false.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the unit of the epoch values of the index.
+     *
+     * @return the epoch unit.
+     */
+    public TimeUnit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Returns a cursor over all the intervals, sorted by start and then end.
+     *
+     * @return the cursor.
+     */
+    public Cursor cursor() {
+        return new Cursor(OPEN_START, size - 1);
+    }
+
+    /**
+     * Returns a cursor over the intervals containing the given point, sorted by start and then end.
+     *
+     * @param point the point to look up, rounded down to the epoch unit.
+     * @return the cursor.
+     */
+    public Cursor stab(@Nonnull T point) {
+        long epochPoint = domain.toEpochFloor(point, unit);
+        return new Cursor(epochPoint, lastStartingAtOrBefore(epochPoint));
+    }
+
+    /**
+     * Returns a cursor over the intervals overlapping the given interval, sorted by start and then end.
+     *
+     * @param interval the interval to look up.
+     * @return the cursor.
+     */
+    public Cursor overlapping(I interval) {
+        return new Cursor(domain.toEpochStart(domain.start(interval), unit), lastStartingAtOrBefore(domain.toEpochEnd(domain.end(interval), unit)));
+    }
+
+    /**
+     * Checks if any interval overlaps the given interval.
+     *
+     * @param interval the interval to look up.
+     * @return true if at least one interval overlaps the given interval, otherwise false.
+     */
+    public boolean anyOverlapping(I interval) {
+        return overlapping(interval).next();
+    }
+
+    private long lastStartingAtOrBefore(long point) {
+        if (point == OPEN_END) {
+            return size - 1;
+        }
+        int block = upperBound(blockStarts, point) - 1;
+        if (block < 0) {
+            return -1;
+        }
+        long low = (long) block * blockSize;
+        long high = Math.min(size, low + blockSize) - 1;
+        while (low < high) {
+            long middle = (low + high + 1) >>> 1;
+            if (readStart(middle) <= point) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private static int upperBound(long[] values, long value) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the first block from {@code from} up to {@code last} whose maximum end is at least {@code start}, or -1 if none.
+     */
+    private int nextBlock(int node, int nodeLow, int nodeHigh, int from, int last, long start) {
+        if (nodeHigh < from || nodeLow > last || maxEndTree[node] < start) {
+            return -1;
+        }
+        if (nodeLow == nodeHigh) {
+            return nodeLow;
+        }
+        int middle = (nodeLow + nodeHigh) >>> 1;
+        int block = nextBlock(2 * node, nodeLow, middle, from, last, start);
+        return block >= 0 ? block : nextBlock(2 * node + 1, middle + 1, nodeHigh, from, last, start);
+    }
+
+    private long readStart(long index) {
+        return segments[(int) (index >>> SEGMENT_RECORD_SHIFT)].getLong((int) (index & SEGMENT_RECORD_MASK) * RECORD_BYTES);
+    }
+
+    private long readEnd(long index) {
+        return segments[(int) (index >>> SEGMENT_RECORD_SHIFT)].getLong((int) (index & SEGMENT_RECORD_MASK) * RECORD_BYTES + Long.BYTES);
+    }
+
+    private static int getType(IntervalDomain<?, ?> domain) {
+        if (domain == IntervalDomain.DATES) {
+            return 1;
+        } else if (domain == IntervalDomain.DATE_TIMES) {
+            return 2;
+        } else if (domain == IntervalDomain.INSTANTS) {
+            return 3;
+        }
+        throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("Only the dates, date times and instants interval domains can be indexed in a file.");
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("Unexpected end of interval index file.");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static void writeHeader(Path file, int type, TimeUnit unit, long size) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                .putLong(MAGIC).putInt(VERSION).putInt(type).putInt(unit.ordinal()).putInt(BLOCK_SIZE).putLong(size);
+        header.clear();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        }
+    }
+
+    private static Path writeRun(Path directory, long[] pairs, int length) throws IOException {
+        sortPairs(pairs, length);
+        Path file = Files.createTempFile(directory, "intervals-", ".run");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), IO_BUFFER_BYTES))) {
+            out.writeInt(length);
+            for (int i = 0; i < 2 * length; i++) {
+                out.writeLong(pairs[i]);
+            }
+        }
+        return file;
+    }
+
+    private static void merge(List<Path> runs, IndexWriter writer) throws IOException {
+        PriorityQueue<RunReader> queue = new PriorityQueue<>(runs.size(), RUN_ORDER);
+        List<RunReader> readers = new ArrayList<>(runs.size());
+        try {
+            for (Path run : runs) {
+                RunReader reader = new RunReader(run);
+                readers.add(reader);
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+            }
+            while (!queue.isEmpty()) {
+                RunReader reader = queue.poll();
+                writer.add(reader.start, reader.end);
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                reader.in.close();
+            }
+        }
+    }
+
+    /**
+     * Sorts the first {@code length} pairs of the array by their first and then their second value, with a bottom-up merge sort.
+     */
+    private static void sortPairs(long[] pairs, int length) {
+        long[] source = pairs;
+        long[] target = new long[2 * length];
+        for (int width = 1; width < length; width *= 2) {
+            for (int low = 0; low < length; low += 2 * width) {
+                int middle = Math.min(low + width, length);
+                int high = Math.min(low + 2 * width, length);
+                int i = low;
+                int j = middle;
+                for (int k = low; k < high; k++) {
+                    boolean takeLeft = j >= high || (i < middle && compare(source, i, j) <= 0);
+                    int from = takeLeft ? i++ : j++;
+                    target[2 * k] = source[2 * from];
+                    target[2 * k + 1] = source[2 * from + 1];
+                }
+            }
+            long[] swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != pairs) {
+            System.arraycopy(source, 0, pairs, 0, 2 * length);
+        }
+    }
+
+    private static int compare(long[] pairs, int first, int second) {
+        int result = Long.compare(pairs[2 * first], pairs[2 * second]);
+        return result != 0 ? result : Long.compare(pairs[2 * first + 1], pairs[2 * second + 1]);
+    }
+
+    /**
+     * A forward-only cursor over the intervals matching a query, reading their bounds from the mapped file without copying.
+     * <p>
+     * A cursor is positioned before the first match, and must be advanced with {@link #next()} before reading a match.
+     * It is not thread safe.
+     */
+    public final class Cursor {
+
+        private final long queryStart;
+        private final long last;
+        private final int lastBlock;
+        private int block = -1;
+        private long position = -1;
+        private long blockEnd = -1;
+        private long start;
+        private long end;
+
+        private Cursor(long queryStart, long last) {
+            this.queryStart = queryStart;
+            this.last = last;
+            this.lastBlock = last < 0 ? -1 : (int) (last / blockSize);
+        }
+
+        /**
+         * Advances the cursor to the next matching interval.
+         *
+         * @return true if the cursor is on a match, or false if there are no more matches.
+         */
+        public boolean next() {
+            while (true) {
+                position++;
+                if (position > blockEnd) {
+                    block = block >= lastBlock ? -1 : nextBlock(1, 0, leafCount - 1, block + 1, lastBlock, queryStart);
+                    if (block < 0) {
+                        position = blockEnd = Long.MAX_VALUE - 1;
+                        block = lastBlock;
+                        return false;
+                    }
+                    position = (long) block * blockSize;
+                    blockEnd = Math.min(last, position + blockSize - 1);
+                }
+                long currentEnd = readEnd(position);
+                if (currentEnd >= queryStart) {
+                    start = readStart(position);
+                    end = currentEnd;
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Returns the position of the current interval in the index, sorted by start and then end.
+         *
+         * @return the position of the interval.
+         */
+        public long position() {
+            return position;
+        }
+
+        /**
+         * Returns the epoch value of the start of the current interval, or {@link EpochUtils#OPEN_START} if it is open.
+         *
+         * @return the start epoch value.
+         */
+        public long start() {
+            return start;
+        }
+
+        /**
+         * Returns the epoch value of the end of the current interval, or {@link EpochUtils#OPEN_END} if it is open.
+         *
+         * @return the end epoch value.
+         */
+        public long end() {
+            return end;
+        }
+
+        /**
+         * Creates the current interval.
+         *
+         * @return the interval.
+         */
+        public I interval() {
+            return domain.create(domain.fromEpoch(start, unit), domain.fromEpoch(end, unit));
+        }
+
+        /**
+         * Reads all the remaining matches into a list of intervals.
+         *
+         * @return the remaining intervals.
+         */
+        public List<I> toList() {
+            List<I> intervals = new ArrayList<>();
+            while (next()) {
+                intervals.add(interval());
+            }
+            return intervals;
+        }
+    }
+
+    /**
+     * Writes the sorted records of an index after a blank header, collecting the summary of their blocks.
+     */
+    private static final class IndexWriter implements AutoCloseable {
+
+        private final DataOutputStream out;
+        private long count;
+        private long[] blockStarts = new long[16];
+        private long[] blockMaxEnds = new long[16];
+
+        private IndexWriter(Path file) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.TRUNCATE_EXISTING), IO_BUFFER_BYTES));
+            out.write(new byte[HEADER_BYTES]);
+        }
+
+        private void add(long start, long end) throws IOException {
+            int block = (int) (count / BLOCK_SIZE);
+            if (count % BLOCK_SIZE == 0) {
+                if (block == blockStarts.length) {
+                    blockStarts = Arrays.copyOf(blockStarts, 2 * block);
+                    blockMaxEnds = Arrays.copyOf(blockMaxEnds, 2 * block);
+                }
+                blockStarts[block] = start;
+                blockMaxEnds[block] = end;
+            } else {
+                blockMaxEnds[block] = Math.max(blockMaxEnds[block], end);
+            }
+            out.writeLong(start);
+            out.writeLong(end);
+            count++;
+        }
+
+        private void writeSummary() throws IOException {
+            int blockCount = (int) ((count + BLOCK_SIZE - 1) / BLOCK_SIZE);
+            for (int i = 0; i < blockCount; i++) {
+                out.writeLong(blockStarts[i]);
+                out.writeLong(blockMaxEnds[i]);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    /**
+     * Reads the pairs of a sorted run file one at a time.
+     */
+    private static final class RunReader {
+
+        private final DataInputStream in;
+        private long remaining;
+        private long start;
+        private long end;
+
+        private RunReader(Path file) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), IO_BUFFER_BYTES));
+            this.remaining = in.readInt();
+        }
+
+        private boolean advance() throws IOException {
+            if (remaining == 0) {
+                return false;
+            }
+            remaining--;
+            start = in.readLong();
+            end = in.readLong();
+            return true;
+        }
+    }
+}
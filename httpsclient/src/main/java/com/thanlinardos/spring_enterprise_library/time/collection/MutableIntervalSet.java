@@ -0,0 +1,345 @@
+package com.thanlinardos.spring_enterprise_library.time.collection;
+
+import com.thanlinardos.spring_enterprise_library.time.model.InstantInterval;
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import com.thanlinardos.spring_enterprise_library.time.model.IntervalDomain;
+import com.thanlinardos.spring_enterprise_library.time.model.TimeInterval;
+import com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils.OPEN_END;
+
+/**
+ * Mutable set of points in time, kept as normalized intervals that are merged on {@link #add(Comparable)} and split on
+ * {@link #remove(Comparable)}, for sets updated by a stream of events.
+ * <p>
+ * The intervals are stored as epoch values in whole units of the {@link IntervalDomain#epochUnit()} of the domain, captured
+ * when the set is created, in a {@link TreeMap} from their start to their end, with the open bound sentinels of
+ * {@link EpochUtils}. Updates and queries take O(log n + k), where k is the number of intervals they touch, instead of the
+ * O(n log n) of normalizing the whole list after each change. Adjacent intervals are always merged, so {@link #toIntervals()}
+ * returns the same list as the {@code normalize} method of the interval records for the added intervals.
+ * <p>
+ * Like {@link TreeMap}, this class is not thread-safe. See {@link ConcurrentIntervalSet} for a thread-safe variant.
+ *
+ * @param <I> the type of the interval.
+ * @param <T> the type of the interval bounds.
+ */
+public final class MutableIntervalSet<I extends Comparable<I>, T> {
+
+    private final IntervalDomain<I, T> domain;
+    private final TimeUnit unit;
+    private final NavigableMap<Long, Long> intervals;
+
+    MutableIntervalSet(IntervalDomain<I, T> domain, NavigableMap<Long, Long> intervals) {
+        this.domain = domain;
+        this.unit = domain.epochUnit();
+        this.intervals = intervals;
+    }
+
+    /**
+     * Creates an empty set of days.
+     *
+     * @return the set.
+     */
+    public static MutableIntervalSet<Interval, LocalDate> forDates() {
+        return of(IntervalDomain.DATES);
+    }
+
+    /**
+     * Creates an empty set of date times.
+     *
+     * @return the set.
+     */
+    public static MutableIntervalSet<TimeInterval, LocalDateTime> forDateTimes() {
+        return of(IntervalDomain.DATE_TIMES);
+    }
+
+    /**
+     * Creates an empty set of instants.
+     *
+     * @return the set.
+     */
+    public static MutableIntervalSet<InstantInterval, Instant> forInstants() {
+        return of(IntervalDomain.INSTANTS);
+    }
+
+    /**
+     * Creates an empty set of points of the given domain.
+     *
+     * @param domain the domain of the intervals.
+     * @param <I>    the type of the interval.
+     * @param <T>    the type of the interval bounds.
+     * @return the set.
+     */
+    public static <I extends Comparable<I>, T> MutableIntervalSet<I, T> of(IntervalDomain<I, T> domain) {
+        return new MutableIntervalSet<>(domain, new TreeMap<>());
+    }
+
+    /**
+     * Returns the unit of the epoch values of this set.
+     *
+     * @return the epoch unit.
+     */
+    public TimeUnit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Returns the number of normalized intervals in this set.
+     *
+     * @return the number of intervals.
+     */
+    public int size() {
+        return intervals.size();
+    }
+
+    /**
+     * Checks if this set covers no points.
+     *
+     * @return true if the set is empty, otherwise false.
+     */
+    public boolean isEmpty() {
+        return intervals.isEmpty();
+    }
+
+    /**
+     * Removes all points of this set.
+     */
+    public void clear() {
+        intervals.clear();
+    }
+
+    /**
+     * Adds the points of the given interval, merging it with the intervals it overlaps or touches.
+     * <pre>
+     * Before:
+     *     [--A--]    [--B--]  [--C--]
+     * add(|-----D-----|):
+     *     [-------A+D+B----]  [--C--]
+     * </pre>
+     *
+     * @param interval the interval to add.
+     * @return true if the set changed, or false if it already contained the interval.
+     */
+    public boolean add(@Nonnull I interval) {
+        long start = domain.toEpochStart(domain.start(interval), unit);
+        long end = domain.toEpochEnd(domain.end(interval), unit);
+        Map.Entry<Long, Long> floor = intervals.floorEntry(start);
+        if (floor != null && touches(floor.getValue(), start)) {
+            if (floor.getValue() >= end) {
+                return false;
+            }
+            start = floor.getKey();
+        }
+        NavigableMap<Long, Long> merged = end == OPEN_END ? intervals.tailMap(start, true) : intervals.subMap(start, true, end + 1, true);
+        Map.Entry<Long, Long> last = merged.lastEntry();
+        if (last != null) {
+            end = Math.max(end, last.getValue());
+            merged.clear();
+        }
+        intervals.put(start, end);
+        return true;
+    }
+
+    /**
+     * Adds the points of all the given intervals.
+     *
+     * @param intervals the intervals to add.
+     * @return true if the set changed, otherwise false.
+     */
+    public boolean addAll(Collection<I> intervals) {
+        boolean isChanged = false;
+        for (I interval : intervals) {
+            isChanged |= add(interval);
+        }
+        return isChanged;
+    }
+
+    /**
+     * Removes the points of the given interval, splitting the intervals partially overlapping it.
+     * <pre>
+     * Before:
+     *     [-------A-------]  [--B--]
+     * remove(|--C--|):
+     *     [-A1-]       [A2]  [--B--]
+     * </pre>
+     *
+     * @param interval the interval to remove.
+     * @return true if the set changed, or false if it did not overlap the interval.
+     */
+    public boolean remove(@Nonnull I interval) {
+        long start = domain.toEpochStart(domain.start(interval), unit);
+        long end = domain.toEpochEnd(domain.end(interval), unit);
+        boolean isChanged = false;
+        Map.Entry<Long, Long> lower = intervals.lowerEntry(start);
+        if (lower != null && lower.getValue() >= start) {
+            intervals.put(lower.getKey(), start - 1);
+            if (lower.getValue() > end) {
+                intervals.put(end + 1, lower.getValue());
+                return true;
+            }
+            isChanged = true;
+        }
+        NavigableMap<Long, Long> removed = end == OPEN_END ? intervals.tailMap(start, true) : intervals.subMap(start, true, end, true);
+        Map.Entry<Long, Long> last = removed.lastEntry();
+        if (last == null) {
+            return isChanged;
+        }
+        removed.clear();
+        if (last.getValue() > end) {
+            intervals.put(end + 1, last.getValue());
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the given point is in this set.
+     *
+     * @param point the point to check, rounded down to the epoch unit.
+     * @return true if the point is covered, otherwise false.
+     */
+    public boolean contains(@Nonnull T point) {
+        long epochValue = domain.toEpochFloor(point, unit);
+        return containsEpoch(epochValue, epochValue);
+    }
+
+    /**
+     * Checks if all points of the given interval are in this set.
+     *
+     * @param interval the interval to check.
+     * @return true if the interval is fully covered, otherwise false.
+     */
+    public boolean containsInterval(@Nonnull I interval) {
+        return containsEpoch(domain.toEpochStart(domain.start(interval), unit), domain.toEpochEnd(domain.end(interval), unit));
+    }
+
+    /**
+     * Checks if any point of the given interval is in this set.
+     *
+     * @param interval the interval to check.
+     * @return true if the interval overlaps this set, otherwise false.
+     */
+    public boolean overlaps(@Nonnull I interval) {
+        Map.Entry<Long, Long> floor = intervals.floorEntry(domain.toEpochEnd(domain.end(interval), unit));
+        return floor != null && floor.getValue() >= domain.toEpochStart(domain.start(interval), unit);
+    }
+
+    /**
+     * Returns the parts of the intervals of this set within the given range.
+     *
+     * @param range the range to look up.
+     * @return a sorted list of non-overlapping and non-adjacent intervals.
+     */
+    public List<I> getOverlaps(@Nonnull I range) {
+        long start = domain.toEpochStart(domain.start(range), unit);
+        long end = domain.toEpochEnd(domain.end(range), unit);
+        List<I> result = new ArrayList<>();
+        for (Map.Entry<Long, Long> entry : getOverlapped(start, end).entrySet()) {
+            result.add(toInterval(Math.max(start, entry.getKey()), Math.min(end, entry.getValue())));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the parts of the given range not in this set.
+     * <pre>
+     * Set:
+     *     [--A--]    [--B--]
+     * getGaps(|------R------|):
+     *            [G1]       [G2]
+     * </pre>
+     *
+     * @param range the range to look up.
+     * @return a sorted list of non-overlapping and non-adjacent intervals.
+     */
+    public List<I> getGaps(@Nonnull I range) {
+        long start = domain.toEpochStart(domain.start(range), unit);
+        long end = domain.toEpochEnd(domain.end(range), unit);
+        List<I> result = new ArrayList<>();
+        long current = start;
+        for (Map.Entry<Long, Long> entry : getOverlapped(start, end).entrySet()) {
+            if (entry.getKey() > current) {
+                result.add(toInterval(current, entry.getKey() - 1));
+            }
+            if (entry.getValue() >= end) {
+                return result;
+            }
+            current = entry.getValue() + 1;
+        }
+        result.add(toInterval(current, end));
+        return result;
+    }
+
+    /**
+     * Returns the normalized intervals of this set.
+     *
+     * @return a sorted list of non-overlapping and non-adjacent intervals.
+     */
+    public List<I> toIntervals() {
+        List<I> result = new ArrayList<>(intervals.size());
+        intervals.forEach((start, end) -> result.add(toInterval(start, end)));
+        return result;
+    }
+
+    /**
+     * Removes and returns the leading intervals ending before the given epoch value.
+     *
+     * @param epochValue the exclusive bound of the ends of the removed intervals.
+     * @return the removed intervals, in ascending order.
+     */
+    List<I> pollEndingBefore(long epochValue) {
+        List<I> result = new ArrayList<>();
+        for (Map.Entry<Long, Long> first = intervals.firstEntry(); first != null && first.getValue() < epochValue; first = intervals.firstEntry()) {
+            intervals.pollFirstEntry();
+            result.add(toInterval(first.getKey(), first.getValue()));
+        }
+        return result;
+    }
+
+    private boolean containsEpoch(long start, long end) {
+        Map.Entry<Long, Long> floor = intervals.floorEntry(start);
+        return floor != null && floor.getValue() >= end;
+    }
+
+    private NavigableMap<Long, Long> getOverlapped(long start, long end) {
+        Map.Entry<Long, Long> floor = intervals.floorEntry(start);
+        long from = floor != null && floor.getValue() >= start ? floor.getKey() : start;
+        return end == OPEN_END ? intervals.tailMap(from, true) : intervals.subMap(from, true, end, true);
+    }
+
+    private I toInterval(long start, long end) {
+        return domain.create(domain.fromEpoch(start, unit), domain.fromEpoch(end, unit));
+    }
+
+    private static boolean touches(long end, long start) {
+        return end == OPEN_END || start <= end + 1;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        return this == o || (o instanceof MutableIntervalSet<?, ?> other && domain == other.domain && unit == other.unit && intervals.equals(other.intervals));
+    }
+
+    @Override
+    public int hashCode() {
+        return intervals.hashCode();
+    }
+
+    @Override
+    @Nonnull
+    public String toString() {
+        return toIntervals().toString();
+    }
+}
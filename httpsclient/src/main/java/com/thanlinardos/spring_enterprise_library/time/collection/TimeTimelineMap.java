@@ -0,0 +1,44 @@
+package com.thanlinardos.spring_enterprise_library.time.collection;
+
+import com.thanlinardos.spring_enterprise_library.time.api.TimeTemporal;
+import com.thanlinardos.spring_enterprise_library.time.model.TimeInterval;
+import com.thanlinardos.spring_enterprise_library.time.model.IntervalDomain;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * {@link AbstractTimelineMap} of {@link TimeInterval} keys, e.g. the value of an effective-dated attribute at each date time.
+ *
+ * @param <V> the type of the values.
+ */
+public final class TimeTimelineMap<V> extends AbstractTimelineMap<TimeInterval, LocalDateTime, V, TimeTimelineMap<V>> {
+
+    /**
+     * Creates an empty map.
+     */
+    public TimeTimelineMap() {
+        super(IntervalDomain.DATE_TIMES);
+    }
+
+    /**
+     * Creates a map of the values of the given entities, where later entities overwrite earlier ones where they overlap.
+     *
+     * @param entities    the entities to put, in order.
+     * @param valueGetter the function returning the value of an entity.
+     * @param <E>         the type of the entities.
+     * @param <V>         the type of the values.
+     * @return the map.
+     */
+    public static <E extends TimeTemporal, V> TimeTimelineMap<V> of(Collection<E> entities, Function<E, V> valueGetter) {
+        TimeTimelineMap<V> map = new TimeTimelineMap<>();
+        map.putAll(entities, TimeTemporal::getInterval, valueGetter);
+        return map;
+    }
+
+    @Override
+    protected TimeTimelineMap<V> newInstance() {
+        return new TimeTimelineMap<>();
+    }
+}
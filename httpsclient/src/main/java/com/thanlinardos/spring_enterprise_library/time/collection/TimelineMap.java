@@ -0,0 +1,44 @@
+package com.thanlinardos.spring_enterprise_library.time.collection;
+
+import com.thanlinardos.spring_enterprise_library.time.api.DateTemporal;
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import com.thanlinardos.spring_enterprise_library.time.model.IntervalDomain;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * {@link AbstractTimelineMap} of {@link Interval} keys, e.g. the value of an effective-dated attribute at each day.
+ *
+ * @param <V> the type of the values.
+ */
+public final class TimelineMap<V> extends AbstractTimelineMap<Interval, LocalDate, V, TimelineMap<V>> {
+
+    /**
+     * Creates an empty map.
+     */
+    public TimelineMap() {
+        super(IntervalDomain.DATES);
+    }
+
+    /**
+     * Creates a map of the values of the given entities, where later entities overwrite earlier ones where they overlap.
+     *
+     * @param entities    the entities to put, in order.
+     * @param valueGetter the function returning the value of an entity.
+     * @param <E>         the type of the entities.
+     * @param <V>         the type of the values.
+     * @return the map.
+     */
+    public static <E extends DateTemporal, V> TimelineMap<V> of(Collection<E> entities, Function<E, V> valueGetter) {
+        TimelineMap<V> map = new TimelineMap<>();
+        map.putAll(entities, DateTemporal::getInterval, valueGetter);
+        return map;
+    }
+
+    @Override
+    protected TimelineMap<V> newInstance() {
+        return new TimelineMap<>();
+    }
+}
@@ -0,0 +1,174 @@
+package com.thanlinardos.spring_enterprise_library.time.collection;
+
+import com.thanlinardos.spring_enterprise_library.time.model.InstantInterval;
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import com.thanlinardos.spring_enterprise_library.time.model.IntervalDomain;
+import com.thanlinardos.spring_enterprise_library.time.model.TimeInterval;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils.OPEN_START;
+
+/**
+ * Streaming coalescer of intervals arriving slightly out of order, such as the sessions consumed from a message broker,
+ * which merges the intervals on arrival and emits them once finalized by a watermark.
+ * <p>
+ * A watermark promises that no interval starting before it will arrive anymore. The pending intervals ending at least one
+ * unit before the watermark can then no longer be merged with a new interval, so {@link #advanceWatermark(Object)} emits
+ * them, normalized and in ascending order. Only the open frontier of intervals not yet finalized is kept, in a
+ * {@link MutableIntervalSet}, so the memory is bounded by the out-of-orderness of the stream instead of the size of its window.
+ * Intervals starting before the current watermark are late and dropped, since they could overlap already emitted intervals.
+ * <p>
+ * The concatenation of all emitted lists, followed by {@link #flush()}, equals the normalized list of all the intervals
+ * that were not late. This class is not thread-safe, and is meant to be used by the single consumer of a partition.
+ *
+ * @param <I> the type of the interval.
+ * @param <T> the type of the interval bounds.
+ */
+public final class WatermarkCoalescer<I extends Comparable<I>, T> {
+
+    private final IntervalDomain<I, T> domain;
+    private final MutableIntervalSet<I, T> frontier;
+    private final TimeUnit unit;
+    @Nullable
+    private T watermark;
+    private long epochWatermark = OPEN_START;
+    private long lateCount;
+
+    private WatermarkCoalescer(IntervalDomain<I, T> domain) {
+        this.domain = domain;
+        this.frontier = MutableIntervalSet.of(domain);
+        this.unit = frontier.getUnit();
+    }
+
+    /**
+     * Creates a coalescer of days.
+     *
+     * @return the coalescer.
+     */
+    public static WatermarkCoalescer<Interval, LocalDate> forDates() {
+        return of(IntervalDomain.DATES);
+    }
+
+    /**
+     * Creates a coalescer of date times.
+     *
+     * @return the coalescer.
+     */
+    public static WatermarkCoalescer<TimeInterval, LocalDateTime> forDateTimes() {
+        return of(IntervalDomain.DATE_TIMES);
+    }
+
+    /**
+     * Creates a coalescer of instants.
+     *
+     * @return the coalescer.
+     */
+    public static WatermarkCoalescer<InstantInterval, Instant> forInstants() {
+        return of(IntervalDomain.INSTANTS);
+    }
+
+    /**
+     * Creates a coalescer of intervals of the given domain.
+     *
+     * @param domain the domain of the intervals.
+     * @param <I>    the type of the interval.
+     * @param <T>    the type of the interval bounds.
+     * @return the coalescer.
+     */
+    public static <I extends Comparable<I>, T> WatermarkCoalescer<I, T> of(IntervalDomain<I, T> domain) {
+        return new WatermarkCoalescer<>(domain);
+    }
+
+    /**
+     * Merges the given interval into the pending intervals, unless it is late.
+     *
+     * @param interval the interval to add.
+     * @return true if the interval was accepted, or false if it starts before the current watermark and was dropped.
+     */
+    public boolean add(@Nonnull I interval) {
+        if (domain.toEpochStart(domain.start(interval), unit) < epochWatermark) {
+            lateCount++;
+            return false;
+        }
+        frontier.add(interval);
+        return true;
+    }
+
+    /**
+     * Advances the watermark to the given point and emits the pending intervals it finalizes.
+     * <pre>
+     * Pending:
+     *     [--A--]  [---B---]     [--C--]
+     * advanceWatermark(W):
+     *                  W
+     * Emitted:
+     *     [--A--]
+     * </pre>
+     * B is kept, since it may still be extended by an interval starting at W, and C is kept since it has not been reached.
+     * A watermark before the current one is ignored.
+     *
+     * @param watermark the point before which no more intervals will start, rounded down to the epoch unit.
+     * @return the finalized intervals, normalized and in ascending order.
+     */
+    public List<I> advanceWatermark(@Nonnull T watermark) {
+        long epochValue = domain.toEpochFloor(watermark, unit);
+        if (epochValue <= epochWatermark) {
+            return List.of();
+        }
+        this.watermark = watermark;
+        this.epochWatermark = epochValue;
+        return frontier.pollEndingBefore(epochValue - 1);
+    }
+
+    /**
+     * Emits all the pending intervals, for example at the end of the stream, keeping the current watermark.
+     *
+     * @return the pending intervals, normalized and in ascending order.
+     */
+    public List<I> flush() {
+        List<I> pending = frontier.toIntervals();
+        frontier.clear();
+        return pending;
+    }
+
+    /**
+     * Returns the current watermark.
+     *
+     * @return the watermark, or null if it was never advanced.
+     */
+    @Nullable
+    public T getWatermark() {
+        return watermark;
+    }
+
+    /**
+     * Returns the number of normalized intervals pending finalization.
+     *
+     * @return the number of pending intervals.
+     */
+    public int getPendingCount() {
+        return frontier.size();
+    }
+
+    /**
+     * Returns the number of late intervals dropped so far.
+     *
+     * @return the number of late intervals.
+     */
+    public long getLateCount() {
+        return lateCount;
+    }
+
+    @Override
+    @Nonnull
+    public String toString() {
+        return "WatermarkCoalescer[watermark=" + watermark + ", pending=" + frontier + "]";
+    }
+}
@@ -0,0 +1,238 @@
+package com.thanlinardos.spring_enterprise_library.time.collection;
+
+import com.thanlinardos.spring_enterprise_library.error.errorcodes.ErrorCode;
+import com.thanlinardos.spring_enterprise_library.time.api.InstantTemporal;
+import com.thanlinardos.spring_enterprise_library.time.model.InstantInterval;
+import com.thanlinardos.spring_enterprise_library.time.model.IntervalDomain;
+import com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collector;
+
+import static com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils.OPEN_END;
+import static com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils.OPEN_START;
+
+/**
+ * Assigns {@link InstantInterval}s to fixed-size time windows, for rollups of time series such as per minute or per hour metrics.
+ * <p>
+ * Window {@code w} starts {@code w} slides after the alignment instant and lasts the window size, so tumbling windows
+ * have a slide equal to their size, sliding windows overlap when the slide is shorter and hopping windows leave gaps when it
+ * is longer. The windows are never materialized: an interval is converted once to epoch values in whole units of the
+ * {@link IntervalDomain#epochUnit()} of the instants, captured when the assigner is created, with the open bound sentinels
+ * of {@link EpochUtils}, from which the indices of the windows it touches and its clipped duration in each of them are
+ * derived by integer arithmetic, instead of creating each window and computing its overlap. Raw timestamps, such as those
+ * of metrics, need not be whole units: each instant is rounded down to the unit containing it.
+ */
+public final class WindowAssigner {
+
+    private final TimeUnit unit;
+    private final long size;
+    private final long slide;
+    private final long offset;
+
+    private WindowAssigner(TimeUnit unit, long size, long slide, long offset) {
+        this.unit = unit;
+        this.size = size;
+        this.slide = slide;
+        this.offset = offset;
+    }
+
+    /**
+     * Creates an assigner of consecutive, non-overlapping windows of the given size, aligned to the epoch.
+     *
+     * @param size the size of the windows, at least one unit.
+     * @return the assigner.
+     */
+    public static WindowAssigner tumbling(@Nonnull Duration size) {
+        return of(size, size, Instant.EPOCH);
+    }
+
+    /**
+     * Creates an assigner of windows of the given size starting every slide, aligned to the epoch.
+     *
+     * @param size  the size of the windows, at least one unit.
+     * @param slide the distance between the starts of consecutive windows, at least one unit.
+     * @return the assigner.
+     */
+    public static WindowAssigner sliding(@Nonnull Duration size, @Nonnull Duration slide) {
+        return of(size, slide, Instant.EPOCH);
+    }
+
+    /**
+     * Creates an assigner of windows of the given size starting every slide, with window 0 starting at the given alignment.
+     *
+     * @param size      the size of the windows, at least one unit.
+     * @param slide     the distance between the starts of consecutive windows, at least one unit.
+     * @param alignment the start of window 0, rounded down to the unit.
+     * @return the assigner.
+     * @throws com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException if the size or the slide is shorter than one unit.
+     */
+    public static WindowAssigner of(@Nonnull Duration size, @Nonnull Duration slide, @Nonnull Instant alignment) {
+        TimeUnit unit = IntervalDomain.INSTANTS.epochUnit();
+        long sizeUnits = unit.convert(size);
+        long slideUnits = unit.convert(slide);
+        if (sizeUnits < 1 || slideUnits < 1) {
+            throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("The size {0} and the slide {1} of the windows must be at least one {2}.",
+                    new Object[]{size, slide, unit});
+        }
+        return new WindowAssigner(unit, sizeUnits, slideUnits, EpochUtils.toEpochFloor(alignment, unit));
+    }
+
+    /**
+     * Returns the unit of the epoch values and of the durations reported by this assigner.
+     *
+     * @return the epoch unit.
+     */
+    public TimeUnit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Returns the given window.
+     *
+     * @param window the index of the window.
+     * @return the interval of the window.
+     */
+    public InstantInterval getWindow(long window) {
+        long start = offset + window * slide;
+        return new InstantInterval(EpochUtils.toInstant(start, unit), EpochUtils.toInstant(start + size - 1, unit));
+    }
+
+    /**
+     * Returns the first window containing the given instant.
+     *
+     * @param instant the instant to look up, rounded down to the unit.
+     * @return the index of the first window, which does not contain the instant if it falls in a gap between hopping windows.
+     */
+    public long getFirstWindow(@Nonnull Instant instant) {
+        return getFirstWindow(EpochUtils.toEpochFloor(instant, unit));
+    }
+
+    /**
+     * Returns the last window containing the given instant.
+     *
+     * @param instant the instant to look up, rounded down to the unit.
+     * @return the index of the last window, which does not contain the instant if it falls in a gap between hopping windows.
+     */
+    public long getLastWindow(@Nonnull Instant instant) {
+        return getLastWindow(EpochUtils.toEpochFloor(instant, unit));
+    }
+
+    /**
+     * Passes each window the given interval touches, in ascending order, with the duration of the interval within it.
+     * <pre>
+     * Windows of size 4 sliding by 2:
+     *     0 1 2 3 4 5 6 7 8 9
+     *     [--0--]
+     *         [--1--]
+     *             [--2--]
+     *                 [--3--]
+     * assign:
+     *           [-------]
+     * Accepted:
+     *     (0, 1) (1, 3) (2, 4) (3, 2)
+     * </pre>
+     *
+     * @param interval the interval to assign, with a start and an end.
+     * @param consumer the consumer of the windows and durations, in units of {@link #getUnit()}.
+     * @return the number of windows the interval touches.
+     * @throws com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException if the interval has an open bound.
+     */
+    public int assign(@Nonnull InstantInterval interval, @Nonnull WindowConsumer consumer) {
+        long start = toEpochStart(interval.start());
+        long end = toEpochEnd(interval.end());
+        if (start == OPEN_START || end == OPEN_END) {
+            throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("Cannot assign the open interval {0} to windows.", new Object[]{interval});
+        }
+        return assign(start, end, getFirstWindow(start), getLastWindow(end), consumer);
+    }
+
+    /**
+     * Returns a collector summing the durations of the intervals of the collected elements per window, into an array whose
+     * index {@code i} holds the total of window {@code getFirstWindow(range.start()) + i}, up to the last window of the
+     * range. Only the windows touching the range are counted, but the durations are not clipped to the range.
+     *
+     * @param range the range of the windows, with a start and an end.
+     * @param <E>   the type of the elements.
+     * @return the collector of the total durations per window, in units of {@link #getUnit()}.
+     * @throws com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException if the range is open or has too many windows.
+     */
+    public <E extends InstantTemporal> Collector<E, long[], long[]> toWindowDurations(@Nonnull InstantInterval range) {
+        long start = toEpochStart(range.start());
+        long end = toEpochEnd(range.end());
+        if (start == OPEN_START || end == OPEN_END) {
+            throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("Cannot aggregate the windows of the open range {0}.", new Object[]{range});
+        }
+        long firstWindow = getFirstWindow(start);
+        long lastWindow = getLastWindow(end);
+        if (lastWindow - firstWindow >= Integer.MAX_VALUE) {
+            throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("The range {0} has too many windows to aggregate.", new Object[]{range});
+        }
+        int windowCount = (int) Math.max(0, lastWindow - firstWindow + 1);
+        return Collector.of(
+                () -> new long[windowCount],
+                (totals, element) -> {
+                    InstantInterval interval = element.getInterval();
+                    assign(toEpochStart(interval.start()), toEpochEnd(interval.end()), firstWindow, lastWindow,
+                            (window, duration) -> totals[(int) (window - firstWindow)] += duration);
+                },
+                (first, second) -> {
+                    for (int i = 0; i < first.length; i++) {
+                        first[i] += second[i];
+                    }
+                    return first;
+                },
+                Collector.Characteristics.IDENTITY_FINISH, Collector.Characteristics.UNORDERED);
+    }
+
+    private int assign(long start, long end, long fromWindow, long toWindow, WindowConsumer consumer) {
+        long first = start == OPEN_START ? fromWindow : Math.max(fromWindow, getFirstWindow(start));
+        long last = end == OPEN_END ? toWindow : Math.min(toWindow, getLastWindow(end));
+        for (long window = first; window <= last; window++) {
+            long windowStart = offset + window * slide;
+            consumer.accept(window, Math.min(end, windowStart + size - 1) - Math.max(start, windowStart) + 1);
+        }
+        return (int) Math.max(0, last - first + 1);
+    }
+
+    private long toEpochStart(@Nullable Instant start) {
+        return start == null ? OPEN_START : EpochUtils.toEpochFloor(start, unit);
+    }
+
+    private long toEpochEnd(@Nullable Instant end) {
+        return end == null ? OPEN_END : EpochUtils.toEpochFloor(end, unit);
+    }
+
+    private long getFirstWindow(long epochValue) {
+        return Math.floorDiv(epochValue - offset - size, slide) + 1;
+    }
+
+    private long getLastWindow(long epochValue) {
+        return Math.floorDiv(epochValue - offset, slide);
+    }
+
+    /**
+     * Consumer of the windows touched by an interval, without boxing.
+     */
+    @FunctionalInterface
+    public interface WindowConsumer {
+
+        /**
+         * Accepts a window touched by an interval.
+         *
+         * @param window   the index of the window.
+         * @param duration the duration of the interval within the window, in units of {@link WindowAssigner#getUnit()}.
+         */
+        void accept(long window, long duration);
+    }
+
+    @Override
+    @Nonnull
+    public String toString() {
+        return "WindowAssigner[size=" + size + ", slide=" + slide + ", offset=" + offset + ", unit=" + unit + "]";
+    }
+}
@@ -6,16 +6,21 @@ import com.thanlinardos.spring_enterprise_library.time.api.InstantTemporal;
 import com.thanlinardos.spring_enterprise_library.time.constants.TimeConstants;
 import com.thanlinardos.spring_enterprise_library.time.utils.DateUtils;
 import com.thanlinardos.spring_enterprise_library.time.utils.InstantUtils;
+import com.thanlinardos.spring_enterprise_library.time.utils.IntervalAlgebraUtils;
+import com.thanlinardos.spring_enterprise_library.time.utils.IntervalInternUtils;
+import com.thanlinardos.spring_enterprise_library.time.utils.LazyIntervalAlgebraUtils;
+import com.thanlinardos.spring_enterprise_library.time.utils.ParallelIntervalAlgebraUtils;
+import com.thanlinardos.spring_enterprise_library.tuple.Pair;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
-import java.util.function.BiPredicate;
-import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collector;
 import java.util.stream.Stream;
 
 import static com.thanlinardos.spring_enterprise_library.time.utils.DateUtils.parseLocalDate;
@@ -91,7 +96,7 @@ public record InstantInterval(@Nullable Instant start, @Nullable Instant end) im
      * @param yearMonth the {@link YearMonth} to create the InstantInterval for.
      */
     public InstantInterval(YearMonth yearMonth) {
-        this(toStartOfDate(yearMonth.atDay(1)), toStartOfDate(yearMonth.atEndOfMonth()));
+        this(IntervalInternUtils.internInstant(toStartOfDate(yearMonth.atDay(1))), IntervalInternUtils.internInstant(toStartOfDate(yearMonth.atEndOfMonth())));
     }
 
     /**
@@ -100,7 +105,7 @@ public record InstantInterval(@Nullable Instant start, @Nullable Instant end) im
      * @param year the {@link Year} to create the InstantInterval for.
      */
     public InstantInterval(Year year) {
-        this(toStartOfDate(year.atDay(1)), toStartOfDate(DateUtils.getLastDayOfYear(year)));
+        this(IntervalInternUtils.internInstant(toStartOfDate(year.atDay(1))), IntervalInternUtils.internInstant(toStartOfDate(DateUtils.getLastDayOfYear(year))));
     }
 
     /**
@@ -144,7 +149,7 @@ public record InstantInterval(@Nullable Instant start, @Nullable Instant end) im
      * @return an {@link InstantInterval} based on the given Instants.
      */
     public static InstantInterval forIsoInstants(@Nullable String start, @Nullable String end) {
-        return new InstantInterval(parseInstant(start), parseInstant(end));
+        return IntervalInternUtils.intern(new InstantInterval(parseInstant(start), parseInstant(end)));
     }
 
     /**
@@ -156,7 +161,7 @@ public record InstantInterval(@Nullable Instant start, @Nullable Instant end) im
      * @return an {@link InstantInterval} based on the given dates.
      */
     public static InstantInterval forIsoDates(@Nullable String startDate, @Nullable String endDate) {
-        return new InstantInterval(parseLocalDate(startDate), parseLocalDate(endDate));
+        return IntervalInternUtils.intern(new InstantInterval(parseLocalDate(startDate), parseLocalDate(endDate)));
     }
 
     /**
@@ -171,7 +176,7 @@ public record InstantInterval(@Nullable Instant start, @Nullable Instant end) im
      * @return an {@link InstantInterval} based on the given dates.
      */
     public static InstantInterval forIsoDates(@Nullable String startDate, @Nullable String endDate, TimeUnit accuracy, ZoneOffset zoneOffset) {
-        return new InstantInterval(parseLocalDate(startDate), parseLocalDate(endDate), accuracy, zoneOffset);
+        return IntervalInternUtils.intern(new InstantInterval(parseLocalDate(startDate), parseLocalDate(endDate), accuracy, zoneOffset));
     }
 
     /**
@@ -204,7 +209,7 @@ public record InstantInterval(@Nullable Instant start, @Nullable Instant end) im
      * @return an {@link InstantInterval} based on the given month
      */
     public static InstantInterval forIsoMonth(@Nonnull String month) {
-        return new InstantInterval(YearMonth.parse(month));
+        return IntervalInternUtils.intern(new InstantInterval(YearMonth.parse(month)));
     }
 
     /**
@@ -214,7 +219,7 @@ public record InstantInterval(@Nullable Instant start, @Nullable Instant end) im
      * @return an {@link InstantInterval} based on the given year
      */
     public static InstantInterval forIsoYear(int year) {
-        return new InstantInterval(Year.of(year));
+        return IntervalInternUtils.intern(new InstantInterval(Year.of(year)));
     }
 
     /**
@@ -249,45 +254,18 @@ public record InstantInterval(@Nullable Instant start, @Nullable Instant end) im
      * @return split list of intervals
      */
     public static List<InstantInterval> split(Collection<InstantInterval> intervals) {
-        if (intervals.size() <= 1) {
-            return new ArrayList<>(intervals);
-        }
-
-        // generate start instants from end instants, and vice versa, selecting only those that overlap with the given intervals, with start/end-specific sorting
-        List<Instant> startInstants = getSortedDatesWithFunctionsPredicateAndComparator(intervals, InstantInterval::start, i -> addSingle(i.end()),
-                TimeConstants.NULL_AS_MIN_INSTANT_COMPARATOR, InstantInterval::containsNullAsMin);
-        List<Instant> endInstants = getSortedDatesWithFunctionsPredicateAndComparator(intervals, InstantInterval::end, i -> subtractSingle(i.start()),
-                TimeConstants.NULL_AS_MAX_INSTANT_COMPARATOR, InstantInterval::containsNullAsMax);
-
-        if (startInstants.size() != endInstants.size()) {
-            throw new IllegalStateException(String.format("Unable to split collection of intervals: %s", intervals));
-        }
-
-        List<InstantInterval> splittedIntervals = new ArrayList<>();
-        for (int i = 0; i < startInstants.size(); i++) {
-            splittedIntervals.add(new InstantInterval(startInstants.get(i), endInstants.get(i)));
-        }
-        return splittedIntervals;
+        return IntervalAlgebraUtils.split(IntervalDomain.INSTANTS, intervals);
     }
 
-    private static List<Instant> getSortedDatesWithFunctionsPredicateAndComparator(Collection<InstantInterval> intervals,
-                                                                                   Function<InstantInterval, Instant> keepNull,
-                                                                                   Function<InstantInterval, Instant> discardNull,
-                                                                                   Comparator<Instant> comparator,
-                                                                                   BiPredicate<InstantInterval, Instant> predicate) {
-        return intervals.stream()
-                .flatMap(interval -> Stream.concat(
-                        Stream.of(keepNull.apply(interval)),
-                        Stream.ofNullable(discardNull.apply(interval))))
-                .filter(date -> isAnyMatchForPredicateOnDate(intervals, predicate, date))
-                .distinct()
-                .sorted(comparator)
-                .toList();
-    }
-
-    private static boolean isAnyMatchForPredicateOnDate(Collection<InstantInterval> intervals, BiPredicate<InstantInterval, Instant> predicate, Instant instant) {
-        return intervals.stream()
-                .anyMatch(interval -> predicate.test(interval, instant));
+    /**
+     * Same as {@link InstantInterval#split(Collection)}, split on the common {@link ForkJoinPool} for collections of at least
+     * {@link ParallelIntervalAlgebraUtils#DEFAULT_PARALLEL_THRESHOLD} intervals.
+     *
+     * @param intervals collection of intervals to split
+     * @return split list of intervals
+     */
+    public static List<InstantInterval> splitParallel(Collection<InstantInterval> intervals) {
+        return ParallelIntervalAlgebraUtils.split(IntervalDomain.INSTANTS, intervals, ParallelIntervalAlgebraUtils.DEFAULT_PARALLEL_THRESHOLD, ForkJoinPool.commonPool());
     }
 
     private boolean hasNullStart() {
@@ -420,8 +398,19 @@ public record InstantInterval(@Nullable Instant start, @Nullable Instant end) im
      * @return true if any of the given intervals overlap with each other
      */
     public static boolean anyOverlaps(Collection<InstantInterval> intervals) {
-        return intervals.stream()
-                .anyMatch(interval -> interval.overlaps(interval.relativeComplement(intervals)));
+        return IntervalAlgebraUtils.anyOverlaps(IntervalDomain.INSTANTS, intervals);
+    }
+
+    /**
+     * Returns all pairs of the given temporal entities whose intervals overlap with each other.
+     * Same as {@link #anyOverlaps(Collection)}, entities with equal intervals are not considered overlapping.
+     *
+     * @param temporals a collection of temporal entities
+     * @param <E>       the type of the temporal entities
+     * @return the overlapping pairs, with the entity whose interval comes first as the first element of each pair
+     */
+    public static <E extends InstantTemporal> List<Pair<E, E>> getOverlappingPairs(Collection<E> temporals) {
+        return IntervalAlgebraUtils.findOverlappingPairs(IntervalDomain.INSTANTS, temporals, InstantTemporal::getInterval);
     }
 
     /**
@@ -560,6 +549,19 @@ public record InstantInterval(@Nullable Instant start, @Nullable Instant end) im
         return normalize(overlaps, mergeAdjacentIntervals);
     }
 
+    /**
+     * Same as {@link InstantInterval#getOverlaps(Collection, boolean)}, computed on the common {@link ForkJoinPool} for collections of at least
+     * {@link ParallelIntervalAlgebraUtils#DEFAULT_PARALLEL_THRESHOLD} intervals.
+     *
+     * @param intervals              intervals to determine overlaps for
+     * @param mergeAdjacentIntervals whether to merge adjacent overlaps
+     * @return a normalized list of overlaps between the given intervals and this interval.
+     */
+    public List<InstantInterval> getOverlapsParallel(Collection<InstantInterval> intervals, boolean mergeAdjacentIntervals) {
+        return ParallelIntervalAlgebraUtils.getOverlaps(IntervalDomain.INSTANTS, this, intervals, mergeAdjacentIntervals,
+                ParallelIntervalAlgebraUtils.DEFAULT_PARALLEL_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
     /**
      * Returns a normalized list of the portions of {@code intervals} that do not overlap with this InstantInterval
      * <pre>
@@ -576,12 +578,7 @@ public record InstantInterval(@Nullable Instant start, @Nullable Instant end) im
      * @return the portions of {@code intervals} that do not overlap with this InstantInterval
      */
     public List<InstantInterval> getNotOverlaps(Collection<InstantInterval> intervals) {
-        List<InstantInterval> overlaps = this.getOverlaps(intervals);
-        List<InstantInterval> notOverlaps = intervals.stream()
-                .map(interval -> interval.subtract(overlaps))
-                .flatMap(Collection::stream)
-                .toList();
-        return normalize(notOverlaps);
+        return difference(intervals, List.of(this));
     }
 
     /**
@@ -594,6 +591,107 @@ public record InstantInterval(@Nullable Instant start, @Nullable Instant end) im
         return getNotOverlaps(List.of(intervals));
     }
 
+    /**
+     * Returns a normalized list of the portions of {@code first} that are not covered by any of {@code second}.
+     * Each side is normalized once and the two are merged in a single pass.
+     * <pre>
+     * First:
+     *        |---------|         |------|
+     *             |---------|
+     * Second:
+     *                |---------------|
+     * Output:
+     *        |------|                 |-|
+     * </pre>
+     *
+     * @param first  intervals to subtract from
+     * @param second intervals to subtract
+     * @return the normalized difference of {@code first} and {@code second}.
+     */
+    public static List<InstantInterval> difference(Collection<InstantInterval> first, Collection<InstantInterval> second) {
+        return IntervalAlgebraUtils.difference(IntervalDomain.INSTANTS, first, second);
+    }
+
+    /**
+     * Returns a normalized list of the portions covered by exactly one of {@code first} and {@code second}.
+     * <pre>
+     * First:
+     *        |---------|         |------|
+     * Second:
+     *                |---------------|
+     * Output:
+     *        |------|   |-------|     |-|
+     * </pre>
+     *
+     * @param first  the first intervals
+     * @param second the second intervals
+     * @return the normalized symmetric difference of {@code first} and {@code second}.
+     */
+    public static List<InstantInterval> symmetricDifference(Collection<InstantInterval> first, Collection<InstantInterval> second) {
+        return IntervalAlgebraUtils.symmetricDifference(IntervalDomain.INSTANTS, first, second);
+    }
+
+    /**
+     * Returns a normalized list of the portions covered by all the given sides, e.g. the periods meeting every eligibility condition.
+     * The sides are merged together with a heap in a single pass, see {@link IntervalAlgebraUtils#atLeastK(IntervalDomain, Collection, int)}.
+     * <pre>
+     * Sides:
+     *        |---------|         |------|
+     *             |--------------------|
+     *           |-------------------|
+     * Output:
+     *             |---|         |---|
+     * </pre>
+     *
+     * @param sides the intervals of each side
+     * @return the normalized intersection of the sides, or an empty list if there are no sides.
+     */
+    public static List<InstantInterval> intersectAll(Collection<? extends Collection<InstantInterval>> sides) {
+        return IntervalAlgebraUtils.intersectAll(IntervalDomain.INSTANTS, sides);
+    }
+
+    /**
+     * Returns a normalized list of the portions covered by any of the given sides.
+     * The sides are merged together with a heap in a single pass, see {@link IntervalAlgebraUtils#atLeastK(IntervalDomain, Collection, int)}.
+     *
+     * @param sides the intervals of each side
+     * @return the normalized union of the sides.
+     */
+    public static List<InstantInterval> unionAll(Collection<? extends Collection<InstantInterval>> sides) {
+        return IntervalAlgebraUtils.unionAll(IntervalDomain.INSTANTS, sides);
+    }
+
+    /**
+     * Returns a normalized list of the portions covered by at least {@code k} of the given sides.
+     * <pre>
+     * Sides:
+     *        |---------|         |------|
+     *             |--------------------|
+     *           |-------------------|
+     * Output (k = 2):
+     *           |----------------------|
+     * </pre>
+     *
+     * @param sides the intervals of each side
+     * @param k     the minimum number of sides covering the output, at least 1
+     * @return the normalized portions covered by at least {@code k} sides.
+     */
+    public static List<InstantInterval> atLeastK(Collection<? extends Collection<InstantInterval>> sides, int k) {
+        return IntervalAlgebraUtils.atLeastK(IntervalDomain.INSTANTS, sides, k);
+    }
+
+    /**
+     * Returns the minimal changes between two versions of a normalized timeline, e.g. to only persist the edited parts of a schedule.
+     * Both lists are merge-walked once, see {@link IntervalAlgebraUtils#diff(IntervalDomain, List, List)}.
+     *
+     * @param oldIntervals the old version, sorted and without overlaps
+     * @param newIntervals the new version, sorted and without overlaps
+     * @return the normalized portions added and removed by the new version.
+     */
+    public static IntervalDiff<InstantInterval> diff(List<InstantInterval> oldIntervals, List<InstantInterval> newIntervals) {
+        return IntervalAlgebraUtils.diff(IntervalDomain.INSTANTS, oldIntervals, newIntervals);
+    }
+
     /**
      * Returns a sorted list of intervals, covering the same days as the input, but without any intervals overlapping.
      * intervals that start just after the previous one ends will also be merged.
@@ -629,38 +727,88 @@ public record InstantInterval(@Nullable Instant start, @Nullable Instant end) im
      * @return normalized list of intervals
      */
     public static List<InstantInterval> normalize(Collection<InstantInterval> intervals, boolean mergeAdjacentIntervals) {
-        if (intervals.size() <= 1) {
-            return new ArrayList<>(intervals);
-        }
+        return IntervalAlgebraUtils.normalize(IntervalDomain.INSTANTS, intervals, mergeAdjacentIntervals);
+    }
 
-        List<InstantInterval> sortedIntervals = sort(intervals);
-        List<InstantInterval> result = new ArrayList<>();
-        InstantInterval current = sortedIntervals.getFirst();
-
-        for (InstantInterval interval : sortedIntervals) {
-            if (shouldMergeCurrentInstantIntervalWithNextInstantInterval(current, interval, mergeAdjacentIntervals)) {
-                current = new InstantInterval(current.start(), InstantUtils.maxNullAsMax(current.end(), interval.end()));
-            } else {
-                result.add(current);
-                current = interval;
-            }
-        }
-        result.add(current);
+    /**
+     * Same as {@link InstantInterval#normalize(Collection, boolean)}, normalized on the common {@link ForkJoinPool} for collections of at least
+     * {@link ParallelIntervalAlgebraUtils#DEFAULT_PARALLEL_THRESHOLD} intervals.
+     *
+     * @param intervals              collection of intervals to normalize
+     * @param mergeAdjacentIntervals whether to merge adjacent intervals
+     * @return normalized list of intervals.
+     */
+    public static List<InstantInterval> normalizeParallel(Collection<InstantInterval> intervals, boolean mergeAdjacentIntervals) {
+        return ParallelIntervalAlgebraUtils.normalize(IntervalDomain.INSTANTS, intervals, mergeAdjacentIntervals,
+                ParallelIntervalAlgebraUtils.DEFAULT_PARALLEL_THRESHOLD, ForkJoinPool.commonPool());
+    }
 
-        return result.stream()
-                .distinct()
-                .toList();
+    /**
+     * Same as {@link InstantInterval#normalize(Collection)}, for intervals that are already sorted by their start, e.g. when loaded ordered by it.
+     * The intervals are merged in a single pass without sorting, falling back to {@link InstantInterval#normalize(Collection)}
+     * if an interval starts before the previous one.
+     *
+     * @param intervals intervals sorted by their start
+     * @return normalized list of intervals.
+     */
+    public static List<InstantInterval> normalizePresorted(Iterable<InstantInterval> intervals) {
+        return normalizePresorted(intervals, true);
     }
 
-    private static boolean shouldMergeCurrentInstantIntervalWithNextInstantInterval(InstantInterval current, InstantInterval next, boolean mergeAdjacentIntervals) {
-        Instant adjustedEnd = mergeAdjacentIntervals ? addSingle(current.end()) : current.end();
-        return !InstantUtils.isAfterNullAsMax(next.start(), adjustedEnd);
+    /**
+     * Same as {@link InstantInterval#normalize(Collection, boolean)}, for intervals that are already sorted by their start, e.g. when loaded ordered by it.
+     * The intervals are merged in a single pass without sorting, falling back to {@link InstantInterval#normalize(Collection, boolean)}
+     * if an interval starts before the previous one.
+     *
+     * @param intervals              intervals sorted by their start
+     * @param mergeAdjacentIntervals whether to merge adjacent intervals
+     * @return normalized list of intervals.
+     */
+    public static List<InstantInterval> normalizePresorted(Iterable<InstantInterval> intervals, boolean mergeAdjacentIntervals) {
+        return IntervalAlgebraUtils.normalizePresorted(IntervalDomain.INSTANTS, intervals, mergeAdjacentIntervals);
     }
 
-    private static List<InstantInterval> sort(Collection<InstantInterval> intervals) {
-        return intervals.stream()
-                .sorted()
-                .toList();
+    /**
+     * Returns a {@link Collector} normalizing a stream of intervals, see {@link InstantInterval#normalize(Collection)}.
+     * A stream sorted by start is merged as it is consumed, otherwise the collected intervals are sorted at the end.
+     *
+     * @return the normalizing collector.
+     */
+    public static Collector<InstantInterval, ?, List<InstantInterval>> toNormalized() {
+        return toNormalized(true);
+    }
+
+    /**
+     * Returns a {@link Collector} normalizing a stream of intervals, see {@link InstantInterval#normalize(Collection, boolean)}.
+     * A stream sorted by start is merged as it is consumed, otherwise the collected intervals are sorted at the end.
+     *
+     * @param mergeAdjacentIntervals whether to merge adjacent intervals
+     * @return the normalizing collector.
+     */
+    public static Collector<InstantInterval, ?, List<InstantInterval>> toNormalized(boolean mergeAdjacentIntervals) {
+        return IntervalAlgebraUtils.toNormalized(IntervalDomain.INSTANTS, mergeAdjacentIntervals);
+    }
+
+    /**
+     * Lazy variant of {@link InstantInterval#normalize(Collection, boolean)} for intervals that are already sorted, merging each interval
+     * of the returned stream only when it is consumed, see {@link LazyIntervalAlgebraUtils}.
+     *
+     * @param sortedIntervals        intervals sorted by their natural order
+     * @param mergeAdjacentIntervals whether to merge adjacent intervals
+     * @return the stream of normalized intervals.
+     */
+    public static Stream<InstantInterval> streamNormalized(Iterable<InstantInterval> sortedIntervals, boolean mergeAdjacentIntervals) {
+        return LazyIntervalAlgebraUtils.normalize(IntervalDomain.INSTANTS, sortedIntervals, mergeAdjacentIntervals);
+    }
+
+    /**
+     * Lazy variant of {@link InstantInterval#split(Collection)} for intervals that are already sorted, see {@link LazyIntervalAlgebraUtils}.
+     *
+     * @param sortedIntervals intervals sorted by their natural order
+     * @return the stream of split intervals.
+     */
+    public static Stream<InstantInterval> streamSplit(Iterable<InstantInterval> sortedIntervals) {
+        return LazyIntervalAlgebraUtils.split(IntervalDomain.INSTANTS, sortedIntervals);
     }
 
     /**
@@ -707,29 +855,40 @@ public record InstantInterval(@Nullable Instant start, @Nullable Instant end) im
      * @return list of intervals after subtracting the given {@code intervals} from this {@link InstantInterval}
      */
     public List<InstantInterval> subtract(Collection<InstantInterval> intervals) {
-        @Nullable Instant nextPossibleStart = this.start();
-        boolean endCrossed = false;
-        List<InstantInterval> resultIntervals = new ArrayList<>();
-        for (InstantInterval overlap : this.getOverlaps(intervals)) {
-            if (InstantUtils.isBeforeNullAsMin(nextPossibleStart, overlap.start())) {
-                resultIntervals.add(new InstantInterval(
-                        nextPossibleStart,
-                        InstantUtils.minNullAsMax(this.end(), subtractSingle(overlap.start())))
-                );
-            }
-            if (InstantUtils.isAfterOrEqual(overlap.end(), this.end())) {
-                endCrossed = true;
-                break;
-            }
-            if (InstantUtils.isBeforeOrEqual(nextPossibleStart, overlap.end())) {
-                nextPossibleStart = addSingle(overlap.end());
-            }
-        }
-        if (!endCrossed) {
-            resultIntervals.add(new InstantInterval(nextPossibleStart, end()));
-        }
+        return difference(List.of(this), intervals);
+    }
+
+    /**
+     * Lazy variant of {@link InstantInterval#getOverlaps(Collection, boolean)} for intervals that are already sorted, which stops reading
+     * them at the first one starting after this interval, see {@link LazyIntervalAlgebraUtils}.
+     *
+     * @param sortedIntervals        intervals sorted by their natural order
+     * @param mergeAdjacentIntervals whether to merge adjacent overlaps
+     * @return the stream of normalized overlaps between the given intervals and this interval.
+     */
+    public Stream<InstantInterval> streamOverlaps(Iterable<InstantInterval> sortedIntervals, boolean mergeAdjacentIntervals) {
+        return LazyIntervalAlgebraUtils.getOverlaps(IntervalDomain.INSTANTS, this, sortedIntervals, mergeAdjacentIntervals);
+    }
 
-        return resultIntervals;
+    /**
+     * Lazy variant of {@link InstantInterval#getNotOverlaps(Collection)} for intervals that are already sorted, see {@link LazyIntervalAlgebraUtils}.
+     *
+     * @param sortedIntervals intervals sorted by their natural order
+     * @return the stream of the portions of the given intervals that do not overlap with this interval.
+     */
+    public Stream<InstantInterval> streamNotOverlaps(Iterable<InstantInterval> sortedIntervals) {
+        return LazyIntervalAlgebraUtils.getNotOverlaps(IntervalDomain.INSTANTS, this, sortedIntervals);
+    }
+
+    /**
+     * Lazy variant of {@link InstantInterval#subtract(Collection)} for intervals that are already sorted, which stops reading them at the
+     * first one starting after this interval, see {@link LazyIntervalAlgebraUtils}.
+     *
+     * @param sortedIntervals intervals to subtract with, sorted by their natural order
+     * @return the stream of the remainders of this interval.
+     */
+    public Stream<InstantInterval> streamSubtract(Iterable<InstantInterval> sortedIntervals) {
+        return LazyIntervalAlgebraUtils.subtract(IntervalDomain.INSTANTS, this, sortedIntervals);
     }
 
     @Override
@@ -6,6 +6,11 @@ import com.thanlinardos.spring_enterprise_library.time.TimeFactory;
 import com.thanlinardos.spring_enterprise_library.time.api.DateTemporal;
 import com.thanlinardos.spring_enterprise_library.time.constants.TimeConstants;
 import com.thanlinardos.spring_enterprise_library.time.utils.DateUtils;
+import com.thanlinardos.spring_enterprise_library.time.utils.IntervalAlgebraUtils;
+import com.thanlinardos.spring_enterprise_library.time.utils.IntervalInternUtils;
+import com.thanlinardos.spring_enterprise_library.time.utils.LazyIntervalAlgebraUtils;
+import com.thanlinardos.spring_enterprise_library.time.utils.ParallelIntervalAlgebraUtils;
+import com.thanlinardos.spring_enterprise_library.tuple.Pair;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 
@@ -13,9 +18,9 @@ import java.time.LocalDate;
 import java.time.Year;
 import java.time.YearMonth;
 import java.util.*;
-import java.util.function.BiPredicate;
-import java.util.function.Function;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
+import java.util.stream.Collector;
 import java.util.stream.Stream;
 
 import static com.thanlinardos.spring_enterprise_library.time.utils.DateUtils.*;
@@ -49,7 +54,7 @@ public record Interval(@Nullable LocalDate start, @Nullable LocalDate end) imple
      * @param yearMonth the {@link YearMonth} to create the interval for.
      */
     public Interval(YearMonth yearMonth) {
-        this(yearMonth.atDay(1), yearMonth.atEndOfMonth());
+        this(IntervalInternUtils.internDate(yearMonth.atDay(1)), IntervalInternUtils.internDate(yearMonth.atEndOfMonth()));
     }
 
     /**
@@ -58,7 +63,7 @@ public record Interval(@Nullable LocalDate start, @Nullable LocalDate end) imple
      * @param year the {@link Year} to create the interval for.
      */
     public Interval(Year year) {
-        this(year.atDay(1), DateUtils.getLastDayOfYear(year));
+        this(IntervalInternUtils.internDate(year.atDay(1)), IntervalInternUtils.internDate(DateUtils.getLastDayOfYear(year)));
     }
 
     public Interval getInterval() {
@@ -95,7 +100,7 @@ public record Interval(@Nullable LocalDate start, @Nullable LocalDate end) imple
      * @return an {@link Interval} based on the given dates.
      */
     public static Interval forIsoDates(@Nullable String startDate, @Nullable String endDate) {
-        return new Interval(parseLocalDate(startDate), parseLocalDate(endDate));
+        return IntervalInternUtils.intern(new Interval(parseLocalDate(startDate), parseLocalDate(endDate)));
     }
 
     /**
@@ -105,7 +110,7 @@ public record Interval(@Nullable LocalDate start, @Nullable LocalDate end) imple
      * @return an {@link Interval} based on the given month
      */
     public static Interval forIsoMonth(@Nonnull String month) {
-        return new Interval(YearMonth.parse(month));
+        return IntervalInternUtils.intern(new Interval(YearMonth.parse(month)));
     }
 
     /**
@@ -115,7 +120,7 @@ public record Interval(@Nullable LocalDate start, @Nullable LocalDate end) imple
      * @return an {@link Interval} based on the given year
      */
     public static Interval forIsoYear(int year) {
-        return new Interval(Year.of(year));
+        return IntervalInternUtils.intern(new Interval(Year.of(year)));
     }
 
     /**
@@ -150,45 +155,18 @@ public record Interval(@Nullable LocalDate start, @Nullable LocalDate end) imple
      * @return split list of intervals
      */
     public static List<Interval> split(Collection<Interval> intervals) {
-        if (intervals.size() <= 1) {
-            return new ArrayList<>(intervals);
-        }
-
-        // generate start dates from end dates, and vice versa, selecting only those that overlap with the given intervals, with start/end-specific sorting
-        List<LocalDate> startDates = getSortedDatesWithFunctionsPredicateAndComparator(intervals, Interval::start, i -> addDay(i.end()),
-                TimeConstants.NULL_AS_MIN_COMPARATOR, Interval::containsNullAsMin);
-        List<LocalDate> endDates = getSortedDatesWithFunctionsPredicateAndComparator(intervals, Interval::end, i -> subtractDay(i.start()),
-                TimeConstants.NULL_AS_MAX_COMPARATOR, Interval::containsNullAsMax);
-
-        if (startDates.size() != endDates.size()) {
-            throw new IllegalStateException(String.format("Unable to split collection of intervals: %s", intervals));
-        }
-
-        List<Interval> splittedIntervals = new ArrayList<>();
-        for (int i = 0; i < startDates.size(); i++) {
-            splittedIntervals.add(new Interval(startDates.get(i), endDates.get(i)));
-        }
-        return splittedIntervals;
-    }
-
-    private static List<LocalDate> getSortedDatesWithFunctionsPredicateAndComparator(Collection<Interval> intervals,
-                                                                                     Function<Interval, LocalDate> keepNull,
-                                                                                     Function<Interval, LocalDate> discardNull,
-                                                                                     Comparator<LocalDate> comparator,
-                                                                                     BiPredicate<Interval, LocalDate> predicate) {
-        return intervals.stream()
-                .flatMap(interval -> Stream.concat(
-                        Stream.of(keepNull.apply(interval)),
-                        Stream.ofNullable(discardNull.apply(interval))))
-                .filter(date -> isAnyMatchForPredicateOnDate(intervals, predicate, date))
-                .distinct()
-                .sorted(comparator)
-                .toList();
+        return IntervalAlgebraUtils.split(IntervalDomain.DATES, intervals);
     }
 
-    private static boolean isAnyMatchForPredicateOnDate(Collection<Interval> intervals, BiPredicate<Interval, LocalDate> predicate, LocalDate date) {
-        return intervals.stream()
-                .anyMatch(interval -> predicate.test(interval, date));
+    /**
+     * Same as {@link Interval#split(Collection)}, split on the common {@link ForkJoinPool} for collections of at least
+     * {@link ParallelIntervalAlgebraUtils#DEFAULT_PARALLEL_THRESHOLD} intervals.
+     *
+     * @param intervals collection of intervals to split
+     * @return split list of intervals
+     */
+    public static List<Interval> splitParallel(Collection<Interval> intervals) {
+        return ParallelIntervalAlgebraUtils.split(IntervalDomain.DATES, intervals, ParallelIntervalAlgebraUtils.DEFAULT_PARALLEL_THRESHOLD, ForkJoinPool.commonPool());
     }
 
     private boolean hasNullStart() {
@@ -301,8 +279,19 @@ public record Interval(@Nullable LocalDate start, @Nullable LocalDate end) imple
      * @return true if any of the given intervals overlap with each other.
      */
     public static boolean anyOverlaps(Collection<Interval> intervals) {
-        return intervals.stream()
-                .anyMatch(interval -> interval.overlaps(interval.relativeComplement(intervals)));
+        return IntervalAlgebraUtils.anyOverlaps(IntervalDomain.DATES, intervals);
+    }
+
+    /**
+     * Returns all pairs of the given temporal entities whose intervals overlap with each other.
+     * Same as {@link #anyOverlaps(Collection)}, entities with equal intervals are not considered overlapping.
+     *
+     * @param temporals a collection of temporal entities
+     * @param <E>       the type of the temporal entities
+     * @return the overlapping pairs, with the entity whose interval comes first as the first element of each pair
+     */
+    public static <E extends DateTemporal> List<Pair<E, E>> getOverlappingPairs(Collection<E> temporals) {
+        return IntervalAlgebraUtils.findOverlappingPairs(IntervalDomain.DATES, temporals, DateTemporal::getInterval);
     }
 
     /**
@@ -448,6 +437,19 @@ public record Interval(@Nullable LocalDate start, @Nullable LocalDate end) imple
         return normalize(overlaps, mergeAdjacentIntervals);
     }
 
+    /**
+     * Same as {@link Interval#getOverlaps(Collection, boolean)}, computed on the common {@link ForkJoinPool} for collections of at least
+     * {@link ParallelIntervalAlgebraUtils#DEFAULT_PARALLEL_THRESHOLD} intervals.
+     *
+     * @param intervals              intervals to determine overlaps for
+     * @param mergeAdjacentIntervals whether to merge adjacent overlaps
+     * @return a normalized list of overlaps between the given intervals and this interval.
+     */
+    public List<Interval> getOverlapsParallel(Collection<Interval> intervals, boolean mergeAdjacentIntervals) {
+        return ParallelIntervalAlgebraUtils.getOverlaps(IntervalDomain.DATES, this, intervals, mergeAdjacentIntervals,
+                ParallelIntervalAlgebraUtils.DEFAULT_PARALLEL_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
     /**
      * Returns a normalized list of the portions of {@code intervals} that do not overlap with this interval.
      * <pre>
@@ -464,12 +466,7 @@ public record Interval(@Nullable LocalDate start, @Nullable LocalDate end) imple
      * @return the portions of {@code intervals} that do not overlap with this interval.
      */
     public List<Interval> getNotOverlaps(Collection<Interval> intervals) {
-        List<Interval> overlaps = this.getOverlaps(intervals);
-        List<Interval> notOverlaps = intervals.stream()
-                .map(interval -> interval.subtract(overlaps))
-                .flatMap(Collection::stream)
-                .toList();
-        return normalize(notOverlaps);
+        return difference(intervals, List.of(this));
     }
 
     /**
@@ -482,6 +479,107 @@ public record Interval(@Nullable LocalDate start, @Nullable LocalDate end) imple
         return getNotOverlaps(List.of(intervals));
     }
 
+    /**
+     * Returns a normalized list of the portions of {@code first} that are not covered by any of {@code second}.
+     * Each side is normalized once and the two are merged in a single pass.
+     * <pre>
+     * First:
+     *        |---------|         |------|
+     *             |---------|
+     * Second:
+     *                |---------------|
+     * Output:
+     *        |------|                 |-|
+     * </pre>
+     *
+     * @param first  intervals to subtract from
+     * @param second intervals to subtract
+     * @return the normalized difference of {@code first} and {@code second}.
+     */
+    public static List<Interval> difference(Collection<Interval> first, Collection<Interval> second) {
+        return IntervalAlgebraUtils.difference(IntervalDomain.DATES, first, second);
+    }
+
+    /**
+     * Returns a normalized list of the portions covered by exactly one of {@code first} and {@code second}.
+     * <pre>
+     * First:
+     *        |---------|         |------|
+     * Second:
+     *                |---------------|
+     * Output:
+     *        |------|   |-------|     |-|
+     * </pre>
+     *
+     * @param first  the first intervals
+     * @param second the second intervals
+     * @return the normalized symmetric difference of {@code first} and {@code second}.
+     */
+    public static List<Interval> symmetricDifference(Collection<Interval> first, Collection<Interval> second) {
+        return IntervalAlgebraUtils.symmetricDifference(IntervalDomain.DATES, first, second);
+    }
+
+    /**
+     * Returns a normalized list of the portions covered by all the given sides, e.g. the periods meeting every eligibility condition.
+     * The sides are merged together with a heap in a single pass, see {@link IntervalAlgebraUtils#atLeastK(IntervalDomain, Collection, int)}.
+     * <pre>
+     * Sides:
+     *        |---------|         |------|
+     *             |--------------------|
+     *           |-------------------|
+     * Output:
+     *             |---|         |---|
+     * </pre>
+     *
+     * @param sides the intervals of each side
+     * @return the normalized intersection of the sides, or an empty list if there are no sides.
+     */
+    public static List<Interval> intersectAll(Collection<? extends Collection<Interval>> sides) {
+        return IntervalAlgebraUtils.intersectAll(IntervalDomain.DATES, sides);
+    }
+
+    /**
+     * Returns a normalized list of the portions covered by any of the given sides.
+     * The sides are merged together with a heap in a single pass, see {@link IntervalAlgebraUtils#atLeastK(IntervalDomain, Collection, int)}.
+     *
+     * @param sides the intervals of each side
+     * @return the normalized union of the sides.
+     */
+    public static List<Interval> unionAll(Collection<? extends Collection<Interval>> sides) {
+        return IntervalAlgebraUtils.unionAll(IntervalDomain.DATES, sides);
+    }
+
+    /**
+     * Returns a normalized list of the portions covered by at least {@code k} of the given sides.
+     * <pre>
+     * Sides:
+     *        |---------|         |------|
+     *             |--------------------|
+     *           |-------------------|
+     * Output (k = 2):
+     *           |----------------------|
+     * </pre>
+     *
+     * @param sides the intervals of each side
+     * @param k     the minimum number of sides covering the output, at least 1
+     * @return the normalized portions covered by at least {@code k} sides.
+     */
+    public static List<Interval> atLeastK(Collection<? extends Collection<Interval>> sides, int k) {
+        return IntervalAlgebraUtils.atLeastK(IntervalDomain.DATES, sides, k);
+    }
+
+    /**
+     * Returns the minimal changes between two versions of a normalized timeline, e.g. to only persist the edited parts of a schedule.
+     * Both lists are merge-walked once, see {@link IntervalAlgebraUtils#diff(IntervalDomain, List, List)}.
+     *
+     * @param oldIntervals the old version, sorted and without overlaps
+     * @param newIntervals the new version, sorted and without overlaps
+     * @return the normalized portions added and removed by the new version.
+     */
+    public static IntervalDiff<Interval> diff(List<Interval> oldIntervals, List<Interval> newIntervals) {
+        return IntervalAlgebraUtils.diff(IntervalDomain.DATES, oldIntervals, newIntervals);
+    }
+
     /**
      * Returns a sorted list of intervals, covering the same days as the input, but without any intervals overlapping.
      * Intervals that start just after the previous one ends will also be merged.
@@ -517,38 +615,88 @@ public record Interval(@Nullable LocalDate start, @Nullable LocalDate end) imple
      * @return normalized list of intervals.
      */
     public static List<Interval> normalize(Collection<Interval> intervals, boolean mergeAdjacentIntervals) {
-        if (intervals.size() <= 1) {
-            return new ArrayList<>(intervals);
-        }
+        return IntervalAlgebraUtils.normalize(IntervalDomain.DATES, intervals, mergeAdjacentIntervals);
+    }
 
-        List<Interval> sortedIntervals = sort(intervals);
-        List<Interval> result = new ArrayList<>();
-        Interval current = sortedIntervals.getFirst();
-
-        for (Interval interval : sortedIntervals) {
-            if (shouldMergeCurrentIntervalWithNextInterval(current, interval, mergeAdjacentIntervals)) {
-                current = new Interval(current.start(), DateUtils.maxNullAsMax(current.end(), interval.end()));
-            } else {
-                result.add(current);
-                current = interval;
-            }
-        }
-        result.add(current);
+    /**
+     * Same as {@link Interval#normalize(Collection, boolean)}, normalized on the common {@link ForkJoinPool} for collections of at least
+     * {@link ParallelIntervalAlgebraUtils#DEFAULT_PARALLEL_THRESHOLD} intervals.
+     *
+     * @param intervals              collection of intervals to normalize
+     * @param mergeAdjacentIntervals whether to merge adjacent intervals
+     * @return normalized list of intervals.
+     */
+    public static List<Interval> normalizeParallel(Collection<Interval> intervals, boolean mergeAdjacentIntervals) {
+        return ParallelIntervalAlgebraUtils.normalize(IntervalDomain.DATES, intervals, mergeAdjacentIntervals,
+                ParallelIntervalAlgebraUtils.DEFAULT_PARALLEL_THRESHOLD, ForkJoinPool.commonPool());
+    }
 
-        return result.stream()
-                .distinct()
-                .toList();
+    /**
+     * Same as {@link Interval#normalize(Collection)}, for intervals that are already sorted by their start, e.g. when loaded ordered by it.
+     * The intervals are merged in a single pass without sorting, falling back to {@link Interval#normalize(Collection)}
+     * if an interval starts before the previous one.
+     *
+     * @param intervals intervals sorted by their start
+     * @return normalized list of intervals.
+     */
+    public static List<Interval> normalizePresorted(Iterable<Interval> intervals) {
+        return normalizePresorted(intervals, true);
     }
 
-    private static boolean shouldMergeCurrentIntervalWithNextInterval(Interval current, Interval next, boolean mergeAdjacentIntervals) {
-        LocalDate adjustedEndDate = mergeAdjacentIntervals ? addDay(current.end()) : current.end();
-        return !DateUtils.isAfterNullAsMax(next.start(), adjustedEndDate);
+    /**
+     * Same as {@link Interval#normalize(Collection, boolean)}, for intervals that are already sorted by their start, e.g. when loaded ordered by it.
+     * The intervals are merged in a single pass without sorting, falling back to {@link Interval#normalize(Collection, boolean)}
+     * if an interval starts before the previous one.
+     *
+     * @param intervals              intervals sorted by their start
+     * @param mergeAdjacentIntervals whether to merge adjacent intervals
+     * @return normalized list of intervals.
+     */
+    public static List<Interval> normalizePresorted(Iterable<Interval> intervals, boolean mergeAdjacentIntervals) {
+        return IntervalAlgebraUtils.normalizePresorted(IntervalDomain.DATES, intervals, mergeAdjacentIntervals);
     }
 
-    private static List<Interval> sort(Collection<Interval> intervals) {
-        return intervals.stream()
-                .sorted()
-                .toList();
+    /**
+     * Returns a {@link Collector} normalizing a stream of intervals, see {@link Interval#normalize(Collection)}.
+     * A stream sorted by start is merged as it is consumed, otherwise the collected intervals are sorted at the end.
+     *
+     * @return the normalizing collector.
+     */
+    public static Collector<Interval, ?, List<Interval>> toNormalized() {
+        return toNormalized(true);
+    }
+
+    /**
+     * Returns a {@link Collector} normalizing a stream of intervals, see {@link Interval#normalize(Collection, boolean)}.
+     * A stream sorted by start is merged as it is consumed, otherwise the collected intervals are sorted at the end.
+     *
+     * @param mergeAdjacentIntervals whether to merge adjacent intervals
+     * @return the normalizing collector.
+     */
+    public static Collector<Interval, ?, List<Interval>> toNormalized(boolean mergeAdjacentIntervals) {
+        return IntervalAlgebraUtils.toNormalized(IntervalDomain.DATES, mergeAdjacentIntervals);
+    }
+
+    /**
+     * Lazy variant of {@link Interval#normalize(Collection, boolean)} for intervals that are already sorted, merging each interval
+     * of the returned stream only when it is consumed, see {@link LazyIntervalAlgebraUtils}.
+     *
+     * @param sortedIntervals        intervals sorted by their natural order
+     * @param mergeAdjacentIntervals whether to merge adjacent intervals
+     * @return the stream of normalized intervals.
+     */
+    public static Stream<Interval> streamNormalized(Iterable<Interval> sortedIntervals, boolean mergeAdjacentIntervals) {
+        return LazyIntervalAlgebraUtils.normalize(IntervalDomain.DATES, sortedIntervals, mergeAdjacentIntervals);
+    }
+
+    /**
+     * Lazy variant of {@link Interval#split(Collection)} for intervals that are already sorted, see {@link LazyIntervalAlgebraUtils}.
+     *
+     * @param sortedIntervals intervals sorted by their natural order
+     * @return the stream of split intervals.
+     */
+    public static Stream<Interval> streamSplit(Iterable<Interval> sortedIntervals) {
+        return LazyIntervalAlgebraUtils.split(IntervalDomain.DATES, sortedIntervals);
     }
 
     /**
@@ -596,29 +744,40 @@ public record Interval(@Nullable LocalDate start, @Nullable LocalDate end) imple
      * @return list of intervals after subtracting the given {@code intervals} from this {@link Interval}.
      */
     public List<Interval> subtract(Collection<Interval> intervals) {
-        @Nullable LocalDate nextPossibleStartDate = this.start();
-        boolean endCrossed = false;
-        List<Interval> resultIntervals = new ArrayList<>();
-        for (Interval overlap : this.getOverlaps(intervals)) {
-            if (DateUtils.isBeforeNullAsMin(nextPossibleStartDate, overlap.start())) {
-                resultIntervals.add(new Interval(
-                        nextPossibleStartDate,
-                        DateUtils.minNullAsMax(this.end(), subtractDay(overlap.start())))
-                );
-            }
-            if (DateUtils.isAfterOrEqual(overlap.end(), this.end())) {
-                endCrossed = true;
-                break;
-            }
-            if (DateUtils.isBeforeOrEqual(nextPossibleStartDate, overlap.end())) {
-                nextPossibleStartDate = addDay(overlap.end());
-            }
-        }
-        if (!endCrossed) {
-            resultIntervals.add(new Interval(nextPossibleStartDate, end()));
-        }
+        return difference(List.of(this), intervals);
+    }
+
+    /**
+     * Lazy variant of {@link Interval#getOverlaps(Collection, boolean)} for intervals that are already sorted, which stops reading
+     * them at the first one starting after this interval, see {@link LazyIntervalAlgebraUtils}.
+     *
+     * @param sortedIntervals        intervals sorted by their natural order
+     * @param mergeAdjacentIntervals whether to merge adjacent overlaps
+     * @return the stream of normalized overlaps between the given intervals and this interval.
+     */
+    public Stream<Interval> streamOverlaps(Iterable<Interval> sortedIntervals, boolean mergeAdjacentIntervals) {
+        return LazyIntervalAlgebraUtils.getOverlaps(IntervalDomain.DATES, this, sortedIntervals, mergeAdjacentIntervals);
+    }
 
-        return resultIntervals;
+    /**
+     * Lazy variant of {@link Interval#getNotOverlaps(Collection)} for intervals that are already sorted, see {@link LazyIntervalAlgebraUtils}.
+     *
+     * @param sortedIntervals intervals sorted by their natural order
+     * @return the stream of the portions of the given intervals that do not overlap with this interval.
+     */
+    public Stream<Interval> streamNotOverlaps(Iterable<Interval> sortedIntervals) {
+        return LazyIntervalAlgebraUtils.getNotOverlaps(IntervalDomain.DATES, this, sortedIntervals);
+    }
+
+    /**
+     * Lazy variant of {@link Interval#subtract(Collection)} for intervals that are already sorted, which stops reading them at the
+     * first one starting after this interval, see {@link LazyIntervalAlgebraUtils}.
+     *
+     * @param sortedIntervals intervals to subtract with, sorted by their natural order
+     * @return the stream of the remainders of this interval.
+     */
+    public Stream<Interval> streamSubtract(Iterable<Interval> sortedIntervals) {
+        return LazyIntervalAlgebraUtils.subtract(IntervalDomain.DATES, this, sortedIntervals);
     }
 
     @Override
@@ -0,0 +1,22 @@
+package com.thanlinardos.spring_enterprise_library.time.model;
+
+import java.util.List;
+
+/**
+ * The changes between two versions of a normalized timeline.
+ *
+ * @param added   the normalized portions covered by the new version only.
+ * @param removed the normalized portions covered by the old version only.
+ * @param <I>     the type of the interval.
+ */
+public record IntervalDiff<I>(List<I> added, List<I> removed) {
+
+    /**
+     * Checks if the two versions cover the same points.
+     *
+     * @return true if nothing was added or removed, otherwise false.
+     */
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty();
+    }
+}
@@ -0,0 +1,280 @@
+package com.thanlinardos.spring_enterprise_library.time.model;
+
+import com.thanlinardos.spring_enterprise_library.time.TimeFactory;
+import com.thanlinardos.spring_enterprise_library.time.constants.TimeConstants;
+import com.thanlinardos.spring_enterprise_library.time.utils.DateTimeUtils;
+import com.thanlinardos.spring_enterprise_library.time.utils.DateUtils;
+import com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils;
+import com.thanlinardos.spring_enterprise_library.time.utils.InstantUtils;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongBiFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Describes how the generic interval algorithms access, compare and build one of the interval records
+ * ({@link Interval}, {@link TimeInterval} or {@link InstantInterval}).
+ * <p>
+ * A null start is treated as the minimum and a null end as the maximum of the domain, same as in the records themselves.
+ *
+ * @param <I> the type of the interval.
+ * @param <T> the type of the interval bounds.
+ */
+public final class IntervalDomain<I extends Comparable<I>, T> {
+
+    /**
+     * The domain of {@link Interval}s, where a single unit is one day.
+     */
+    public static final IntervalDomain<Interval, LocalDate> DATES = new IntervalDomain<>(
+            Interval::start, Interval::end, Interval::new, DateUtils::addDay, DateUtils::subtractDay,
+            TimeConstants.NULL_AS_MIN_COMPARATOR, TimeConstants.NULL_AS_MAX_COMPARATOR,
+            () -> TimeUnit.DAYS, (date, unit) -> EpochUtils.toEpochStart(date), (date, unit) -> EpochUtils.toEpochEnd(date),
+            (date, unit) -> date.toEpochDay(), (epochDay, unit) -> EpochUtils.toLocalDate(epochDay));
+    /**
+     * The domain of {@link TimeInterval}s, where a single unit is the configured default accuracy.
+     */
+    public static final IntervalDomain<TimeInterval, LocalDateTime> DATE_TIMES = new IntervalDomain<>(
+            TimeInterval::start, TimeInterval::end, TimeInterval::new, DateTimeUtils::addSingle, DateTimeUtils::subtractSingle,
+            TimeConstants.NULL_AS_MIN_DATE_TIME_COMPARATOR, TimeConstants.NULL_AS_MAX_DATE_TIME_COMPARATOR,
+            TimeFactory::getAccuracy, EpochUtils::toEpochStart, EpochUtils::toEpochEnd, EpochUtils::toEpochFloor, EpochUtils::toLocalDateTime);
+    /**
+     * The domain of {@link InstantInterval}s, where a single unit is the configured default accuracy.
+     */
+    public static final IntervalDomain<InstantInterval, Instant> INSTANTS = new IntervalDomain<>(
+            InstantInterval::start, InstantInterval::end, InstantInterval::new, InstantUtils::addSingle, InstantUtils::subtractSingle,
+            TimeConstants.NULL_AS_MIN_INSTANT_COMPARATOR, TimeConstants.NULL_AS_MAX_INSTANT_COMPARATOR,
+            TimeFactory::getAccuracy, EpochUtils::toEpochStart, EpochUtils::toEpochEnd, EpochUtils::toEpochFloor, EpochUtils::toInstant);
+
+    private final Function<I, T> startGetter;
+    private final Function<I, T> endGetter;
+    private final BiFunction<T, T, I> factory;
+    private final UnaryOperator<T> nextFunction;
+    private final UnaryOperator<T> previousFunction;
+    private final Comparator<T> nullAsMinComparator;
+    private final Comparator<T> nullAsMaxComparator;
+    private final Supplier<TimeUnit> epochUnitSupplier;
+    private final ToLongBiFunction<T, TimeUnit> toEpochStartFunction;
+    private final ToLongBiFunction<T, TimeUnit> toEpochEndFunction;
+    private final ToLongBiFunction<T, TimeUnit> toEpochFloorFunction;
+    private final FromEpochFunction<T> fromEpochFunction;
+
+    private IntervalDomain(Function<I, T> startGetter,
+                           Function<I, T> endGetter,
+                           BiFunction<T, T, I> factory,
+                           UnaryOperator<T> nextFunction,
+                           UnaryOperator<T> previousFunction,
+                           Comparator<T> nullAsMinComparator,
+                           Comparator<T> nullAsMaxComparator,
+                           Supplier<TimeUnit> epochUnitSupplier,
+                           ToLongBiFunction<T, TimeUnit> toEpochStartFunction,
+                           ToLongBiFunction<T, TimeUnit> toEpochEndFunction,
+                           ToLongBiFunction<T, TimeUnit> toEpochFloorFunction,
+                           FromEpochFunction<T> fromEpochFunction) {
+        this.startGetter = startGetter;
+        this.endGetter = endGetter;
+        this.factory = factory;
+        this.nextFunction = nextFunction;
+        this.previousFunction = previousFunction;
+        this.nullAsMinComparator = nullAsMinComparator;
+        this.nullAsMaxComparator = nullAsMaxComparator;
+        this.epochUnitSupplier = epochUnitSupplier;
+        this.toEpochStartFunction = toEpochStartFunction;
+        this.toEpochEndFunction = toEpochEndFunction;
+        this.toEpochFloorFunction = toEpochFloorFunction;
+        this.fromEpochFunction = fromEpochFunction;
+    }
+
+    /**
+     * Returns the start of the given interval.
+     *
+     * @param interval the interval.
+     * @return the start of the interval, or null if it is open.
+     */
+    @Nullable
+    public T start(I interval) {
+        return startGetter.apply(interval);
+    }
+
+    /**
+     * Returns the end of the given interval.
+     *
+     * @param interval the interval.
+     * @return the end of the interval, or null if it is open.
+     */
+    @Nullable
+    public T end(I interval) {
+        return endGetter.apply(interval);
+    }
+
+    /**
+     * Creates a new interval with the given bounds.
+     *
+     * @param start the start of the interval (nullable).
+     * @param end   the end of the interval (nullable).
+     * @return the new interval.
+     */
+    public I create(@Nullable T start, @Nullable T end) {
+        return factory.apply(start, end);
+    }
+
+    /**
+     * Returns the given bound moved forward by a single unit of the domain.
+     *
+     * @param value the bound to move.
+     * @return the adjusted bound, or null if the given bound is null.
+     */
+    @Nullable
+    public T next(@Nullable T value) {
+        return nextFunction.apply(value);
+    }
+
+    /**
+     * Returns the given bound moved backward by a single unit of the domain.
+     *
+     * @param value the bound to move.
+     * @return the adjusted bound, or null if the given bound is null.
+     */
+    @Nullable
+    public T previous(@Nullable T value) {
+        return previousFunction.apply(value);
+    }
+
+    /**
+     * Compares two bounds, treating null as the minimum.
+     *
+     * @param first  the first bound.
+     * @param second the second bound.
+     * @return a negative integer, zero, or a positive integer as the first bound is less than, equal to, or greater than the second.
+     */
+    public int compareNullAsMin(@Nullable T first, @Nullable T second) {
+        return nullAsMinComparator.compare(first, second);
+    }
+
+    /**
+     * Compares two bounds, treating null as the maximum.
+     *
+     * @param first  the first bound.
+     * @param second the second bound.
+     * @return a negative integer, zero, or a positive integer as the first bound is less than, equal to, or greater than the second.
+     */
+    public int compareNullAsMax(@Nullable T first, @Nullable T second) {
+        return nullAsMaxComparator.compare(first, second);
+    }
+
+    /**
+     * Returns the comparator of bounds treating null as the minimum.
+     *
+     * @return the null as min comparator.
+     */
+    public Comparator<T> nullAsMinComparator() {
+        return nullAsMinComparator;
+    }
+
+    /**
+     * Returns the comparator of bounds treating null as the maximum.
+     *
+     * @return the null as max comparator.
+     */
+    public Comparator<T> nullAsMaxComparator() {
+        return nullAsMaxComparator;
+    }
+
+    /**
+     * Checks if the given point is contained in the given interval. A null point is never contained.
+     *
+     * @param interval the interval.
+     * @param point    the point to check.
+     * @return true if the point lies within the bounds of the interval, otherwise false.
+     */
+    public boolean contains(I interval, @Nullable T point) {
+        return point != null
+                && compareNullAsMin(start(interval), point) <= 0
+                && compareNullAsMax(point, end(interval)) <= 0;
+    }
+
+    /**
+     * Checks if an interval ending in {@code end} and an interval starting in {@code start} (at or after the start of the first)
+     * should be merged, following the same rule as the {@code normalize} method of the interval records.
+     *
+     * @param end                    the end of the current interval.
+     * @param start                  the start of the next interval.
+     * @param mergeAdjacentIntervals whether intervals starting a single unit after the current one ends should be merged.
+     * @return true if the next interval overlaps, or touches when {@code mergeAdjacentIntervals} is set, the current one.
+     */
+    public boolean shouldMerge(@Nullable T end, @Nullable T start, boolean mergeAdjacentIntervals) {
+        if (end == null || start == null) {
+            return true;
+        }
+        T adjustedEnd = mergeAdjacentIntervals ? next(end) : end;
+        return compareNullAsMax(start, adjustedEnd) <= 0;
+    }
+
+    /**
+     * Returns the unit of the primitive epoch values of this domain: days for dates, otherwise the configured default accuracy.
+     *
+     * @return the epoch unit.
+     */
+    public TimeUnit epochUnit() {
+        return epochUnitSupplier.get();
+    }
+
+    /**
+     * Converts a start bound to the number of whole units since the epoch, see {@link EpochUtils}.
+     *
+     * @param start the start bound (nullable).
+     * @param unit  the unit to count in, ignored for dates.
+     * @return the epoch value, or {@link EpochUtils#OPEN_START} if the bound is null.
+     */
+    public long toEpochStart(@Nullable T start, TimeUnit unit) {
+        return toEpochStartFunction.applyAsLong(start, unit);
+    }
+
+    /**
+     * Converts an end bound to the number of whole units since the epoch, see {@link EpochUtils}.
+     *
+     * @param end  the end bound (nullable).
+     * @param unit the unit to count in, ignored for dates.
+     * @return the epoch value, or {@link EpochUtils#OPEN_END} if the bound is null.
+     */
+    public long toEpochEnd(@Nullable T end, TimeUnit unit) {
+        return toEpochEndFunction.applyAsLong(end, unit);
+    }
+
+    /**
+     * Converts a point to the number of whole units since the epoch of the unit containing it, for looking up points that
+     * are not a whole number of units, see {@link EpochUtils}.
+     *
+     * @param point the point to convert.
+     * @param unit  the unit to count in, ignored for dates.
+     * @return the epoch value, rounded down.
+     */
+    public long toEpochFloor(@Nonnull T point, TimeUnit unit) {
+        return toEpochFloorFunction.applyAsLong(point, unit);
+    }
+
+    /**
+     * Converts an epoch value back to a bound, see {@link EpochUtils}.
+     *
+     * @param epochValue the number of units since the epoch.
+     * @param unit       the unit of the value, ignored for dates.
+     * @return the bound, or null if the value is one of the open bound sentinels.
+     */
+    @Nullable
+    public T fromEpoch(long epochValue, TimeUnit unit) {
+        return fromEpochFunction.apply(epochValue, unit);
+    }
+
+    @FunctionalInterface
+    private interface FromEpochFunction<T> {
+        T apply(long epochValue, TimeUnit unit);
+    }
+}
@@ -0,0 +1,276 @@
+package com.thanlinardos.spring_enterprise_library.time.model;
+
+import com.thanlinardos.spring_enterprise_library.error.errorcodes.ErrorCode;
+import com.thanlinardos.spring_enterprise_library.time.TimeFactory;
+import com.thanlinardos.spring_enterprise_library.time.utils.DateTimeUtils;
+import com.thanlinardos.spring_enterprise_library.time.utils.InstantUtils;
+import com.thanlinardos.spring_enterprise_library.time.utils.IntervalAlgebraUtils;
+import com.thanlinardos.spring_enterprise_library.time.utils.LazyIntervalAlgebraUtils;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Recurring time window, such as "every weekday 09:00-17:00" or "the last business day of the month", that is expanded
+ * lazily into its occurrences within given bounds.
+ * <p>
+ * A recurrence occurs on the days matching its rule, from its start time until its end time, which is exclusive and on the
+ * next day if it is not after the start time, so that {@code (22:00, 06:00)} spans the night and {@code (00:00, 00:00)} the
+ * whole day. The occurrences are represented with the inclusive end of the interval records, i.e. one unit of the default
+ * accuracy before the end time.
+ * <p>
+ * The expanded streams compute each occurrence only when it is requested, in ascending order and cut to the bounds, so
+ * that they can be passed to the lazy interval algebra of {@link LazyIntervalAlgebraUtils}, e.g. as {@code stream::iterator}
+ * sides of {@link LazyIntervalAlgebraUtils#atLeastK(IntervalDomain, java.util.Collection, int)}, without materializing
+ * years of occurrences. With an open end, the streams end at the {@link TimeFactory#getMaxDate()} of the
+ * {@link com.thanlinardos.spring_enterprise_library.time.api.TimeProvider}, or once {@value #MAX_LOOK_AHEAD_DAYS} consecutive
+ * days without an occurrence were scanned, so that a rule that never matches again, e.g. because of
+ * {@link #except(Predicate)}, does not scan forever.
+ */
+public final class Recurrence {
+
+    /**
+     * The number of consecutive days without an occurrence after which the streams with an open end stop, i.e. about a century.
+     */
+    public static final int MAX_LOOK_AHEAD_DAYS = 36_525;
+    private static final Set<DayOfWeek> WEEKDAYS = EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY);
+    private static final int CHARACTERISTICS = Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL;
+
+    private final Predicate<LocalDate> days;
+    private final LocalTime startTime;
+    private final LocalTime endTime;
+
+    private Recurrence(Predicate<LocalDate> days, LocalTime startTime, LocalTime endTime) {
+        this.days = days;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    /**
+     * Creates a recurrence occurring on the days matching the given rule.
+     *
+     * @param days      the rule of the days of the occurrences.
+     * @param startTime the start time of the occurrences (inclusive).
+     * @param endTime   the end time of the occurrences (exclusive), on the next day if not after the start time.
+     * @return the recurrence.
+     */
+    public static Recurrence onDays(@Nonnull Predicate<LocalDate> days, @Nonnull LocalTime startTime, @Nonnull LocalTime endTime) {
+        return new Recurrence(days, startTime, endTime);
+    }
+
+    /**
+     * Creates a recurrence occurring every day.
+     *
+     * @param startTime the start time of the occurrences (inclusive).
+     * @param endTime   the end time of the occurrences (exclusive), on the next day if not after the start time.
+     * @return the recurrence.
+     */
+    public static Recurrence daily(@Nonnull LocalTime startTime, @Nonnull LocalTime endTime) {
+        return onDays(date -> true, startTime, endTime);
+    }
+
+    /**
+     * Creates a recurrence occurring on the given days of the week.
+     *
+     * @param daysOfWeek the days of the week of the occurrences.
+     * @param startTime  the start time of the occurrences (inclusive).
+     * @param endTime    the end time of the occurrences (exclusive), on the next day if not after the start time.
+     * @return the recurrence.
+     */
+    public static Recurrence weekly(@Nonnull Set<DayOfWeek> daysOfWeek, @Nonnull LocalTime startTime, @Nonnull LocalTime endTime) {
+        Set<DayOfWeek> copy = EnumSet.copyOf(daysOfWeek);
+        return onDays(date -> copy.contains(date.getDayOfWeek()), startTime, endTime);
+    }
+
+    /**
+     * Creates a recurrence occurring from Monday to Friday.
+     *
+     * @param startTime the start time of the occurrences (inclusive).
+     * @param endTime   the end time of the occurrences (exclusive), on the next day if not after the start time.
+     * @return the recurrence.
+     */
+    public static Recurrence weekdays(@Nonnull LocalTime startTime, @Nonnull LocalTime endTime) {
+        return weekly(WEEKDAYS, startTime, endTime);
+    }
+
+    /**
+     * Creates a recurrence occurring on the given day of each month, or on the last day of the shorter months.
+     *
+     * @param dayOfMonth the day of the month of the occurrences, from 1 to 31.
+     * @param startTime  the start time of the occurrences (inclusive).
+     * @param endTime    the end time of the occurrences (exclusive), on the next day if not after the start time.
+     * @return the recurrence.
+     * @throws com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException if the day of the month is not valid.
+     */
+    public static Recurrence monthly(int dayOfMonth, @Nonnull LocalTime startTime, @Nonnull LocalTime endTime) {
+        if (dayOfMonth < 1 || dayOfMonth > 31) {
+            throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("The day of the month must be between 1 and 31, but was {0}.", new Object[]{dayOfMonth});
+        }
+        return onDays(date -> date.getDayOfMonth() == Math.min(dayOfMonth, date.lengthOfMonth()), startTime, endTime);
+    }
+
+    /**
+     * Creates a recurrence occurring on the last weekday, from Monday to Friday, of each month.
+     *
+     * @param startTime the start time of the occurrences (inclusive).
+     * @param endTime   the end time of the occurrences (exclusive), on the next day if not after the start time.
+     * @return the recurrence.
+     */
+    public static Recurrence lastBusinessDayOfMonth(@Nonnull LocalTime startTime, @Nonnull LocalTime endTime) {
+        return onDays(date -> date.equals(getLastWeekdayOfMonth(date)), startTime, endTime);
+    }
+
+    private static LocalDate getLastWeekdayOfMonth(LocalDate date) {
+        LocalDate lastDay = date.with(TemporalAdjusters.lastDayOfMonth());
+        return WEEKDAYS.contains(lastDay.getDayOfWeek()) ? lastDay : lastDay.with(TemporalAdjusters.previous(DayOfWeek.FRIDAY));
+    }
+
+    /**
+     * Returns a recurrence skipping the days matching the given rule, such as holidays.
+     *
+     * @param excludedDays the rule of the days to skip.
+     * @return the restricted recurrence.
+     */
+    public Recurrence except(@Nonnull Predicate<LocalDate> excludedDays) {
+        return new Recurrence(days.and(excludedDays.negate()), startTime, endTime);
+    }
+
+    /**
+     * Checks if an occurrence starts on the given day.
+     *
+     * @param date the day to check.
+     * @return true if the recurrence occurs on the day, otherwise false.
+     */
+    public boolean occursOn(@Nonnull LocalDate date) {
+        return days.test(date);
+    }
+
+    /**
+     * Returns the occurrences overlapping the given bounds as wall-clock date times, cut to the bounds.
+     *
+     * @param bounds the bounds of the occurrences, with a start.
+     * @return the lazy stream of the occurrences, in ascending order.
+     * @throws com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException if the bounds have an open start.
+     */
+    public Stream<TimeInterval> streamTimeIntervals(@Nonnull TimeInterval bounds) {
+        return stream(IntervalDomain.DATE_TIMES, bounds, LocalDateTime::toLocalDate,
+                date -> new TimeInterval(date.atTime(startTime), DateTimeUtils.subtractSingle(getEndDate(date).atTime(endTime))));
+    }
+
+    /**
+     * Returns the occurrences overlapping the given bounds, cut to the bounds, with the times of the zone of the
+     * {@link com.thanlinardos.spring_enterprise_library.time.api.TimeProvider}, see {@link #streamInstantIntervals(InstantInterval, ZoneId)}.
+     *
+     * @param bounds the bounds of the occurrences, with a start.
+     * @return the lazy stream of the occurrences, in ascending order.
+     * @throws com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException if the bounds have an open start.
+     */
+    public Stream<InstantInterval> streamInstantIntervals(@Nonnull InstantInterval bounds) {
+        return streamInstantIntervals(bounds, TimeFactory.getDefaultZoneId());
+    }
+
+    /**
+     * Returns the occurrences overlapping the given bounds, cut to the bounds, with the times of the given zone.
+     * <p>
+     * The start and end times are resolved with the rules of the zone on each day, so an occurrence lasts an hour more or
+     * less on the days of the daylight saving time transitions. A time in a gap is moved forward by the length of the gap,
+     * and a time in an overlap takes the earlier offset, see {@link ZonedDateTime#of(LocalDate, LocalTime, ZoneId)}.
+     *
+     * @param bounds the bounds of the occurrences, with a start.
+     * @param zone   the zone of the start and end times.
+     * @return the lazy stream of the occurrences, in ascending order.
+     * @throws com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException if the bounds have an open start.
+     */
+    public Stream<InstantInterval> streamInstantIntervals(@Nonnull InstantInterval bounds, @Nonnull ZoneId zone) {
+        return stream(IntervalDomain.INSTANTS, bounds, instant -> instant.atZone(zone).toLocalDate(), date -> {
+            Instant start = ZonedDateTime.of(date, startTime, zone).toInstant();
+            Instant end = InstantUtils.subtractSingle(ZonedDateTime.of(getEndDate(date), endTime, zone).toInstant());
+            return InstantInterval.isValid(start, end) ? new InstantInterval(start, end) : null;
+        });
+    }
+
+    private LocalDate getEndDate(LocalDate date) {
+        return endTime.isAfter(startTime) ? date : date.plusDays(1);
+    }
+
+    private <I extends Comparable<I>, T> Stream<I> stream(IntervalDomain<I, T> domain, I bounds, Function<T, LocalDate> dateGetter,
+                                                           Function<LocalDate, I> occurrenceGetter) {
+        T start = domain.start(bounds);
+        if (start == null) {
+            throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("The bounds of the occurrences of a recurrence must have a start, but were {0}.", new Object[]{bounds});
+        }
+        // an occurrence of the previous day may span the night into the bounds
+        LocalDate firstDate = dateGetter.apply(start).minusDays(1);
+        @Nullable T end = domain.end(bounds);
+        LocalDate lastDate = end == null ? TimeFactory.getMaxDate() : dateGetter.apply(end);
+        int maxSkippedDays = end == null ? MAX_LOOK_AHEAD_DAYS : Integer.MAX_VALUE;
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, CHARACTERISTICS) {
+
+            private LocalDate date = firstDate;
+            private int skippedDays;
+            private boolean isExhausted;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super I> action) {
+                while (!isExhausted) {
+                    LocalDate current = date;
+                    if (current.isAfter(lastDate) || skippedDays >= maxSkippedDays) {
+                        isExhausted = true;
+                        return false;
+                    }
+                    if (current.equals(LocalDate.MAX)) {
+                        isExhausted = true;
+                    } else {
+                        date = current.plusDays(1);
+                    }
+                    if (!days.test(current)) {
+                        skippedDays++;
+                        continue;
+                    }
+                    skippedDays = 0;
+                    @Nullable I occurrence = occurrenceGetter.apply(current);
+                    if (occurrence == null) {
+                        continue;
+                    }
+                    Optional<I> overlap = IntervalAlgebraUtils.getOverlap(domain, occurrence, bounds);
+                    if (overlap.isPresent()) {
+                        action.accept(overlap.get());
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            @Nullable
+            public Comparator<? super I> getComparator() {
+                return null;
+            }
+        }, false);
+    }
+
+    @Override
+    @Nonnull
+    public String toString() {
+        return "Recurrence[" + startTime + "-" + endTime + "]";
+    }
+}
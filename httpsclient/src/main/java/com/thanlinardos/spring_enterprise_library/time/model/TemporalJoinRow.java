@@ -0,0 +1,26 @@
+package com.thanlinardos.spring_enterprise_library.time.model;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * A row of a temporal join between two collections of temporal entities.
+ *
+ * @param left    the element of the left side.
+ * @param right   the matched element of the right side, or null if the left element has no match in a left or as-of join.
+ * @param overlap the overlap of the intervals of the two elements, the interval of the left element if it has no match in a
+ *                left join, or null for as-of joins.
+ * @param <L>     the type of the left elements.
+ * @param <R>     the type of the right elements.
+ * @param <I>     the type of the interval.
+ */
+public record TemporalJoinRow<L, R, I>(L left, @Nullable R right, @Nullable I overlap) {
+
+    /**
+     * Checks if the left element has a matching right element.
+     *
+     * @return true if the right element is not null, otherwise false.
+     */
+    public boolean isMatched() {
+        return right != null;
+    }
+}
@@ -6,16 +6,21 @@ import com.thanlinardos.spring_enterprise_library.time.api.TimeTemporal;
 import com.thanlinardos.spring_enterprise_library.time.constants.TimeConstants;
 import com.thanlinardos.spring_enterprise_library.time.utils.DateUtils;
 import com.thanlinardos.spring_enterprise_library.time.utils.DateTimeUtils;
+import com.thanlinardos.spring_enterprise_library.time.utils.IntervalAlgebraUtils;
+import com.thanlinardos.spring_enterprise_library.time.utils.IntervalInternUtils;
+import com.thanlinardos.spring_enterprise_library.time.utils.LazyIntervalAlgebraUtils;
+import com.thanlinardos.spring_enterprise_library.time.utils.ParallelIntervalAlgebraUtils;
+import com.thanlinardos.spring_enterprise_library.tuple.Pair;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
-import java.util.function.BiPredicate;
-import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collector;
 import java.util.stream.Stream;
 
 import static com.thanlinardos.spring_enterprise_library.time.utils.DateUtils.parseLocalDate;
@@ -91,7 +96,7 @@ public record TimeInterval(@Nullable LocalDateTime start,
      * @param yearMonth the {@link YearMonth} to create the interval for.
      */
     public TimeInterval(YearMonth yearMonth) {
-        this(toStartOfDate(yearMonth.atDay(1)), toStartOfDate(yearMonth.atEndOfMonth()));
+        this(IntervalInternUtils.internDateTime(toStartOfDate(yearMonth.atDay(1))), IntervalInternUtils.internDateTime(toStartOfDate(yearMonth.atEndOfMonth())));
     }
 
     /**
@@ -100,7 +105,7 @@ public record TimeInterval(@Nullable LocalDateTime start,
      * @param year the {@link Year} to create the interval for.
      */
     public TimeInterval(Year year) {
-        this(toStartOfDate(year.atDay(1)), toStartOfDate(DateUtils.getLastDayOfYear(year)));
+        this(IntervalInternUtils.internDateTime(toStartOfDate(year.atDay(1))), IntervalInternUtils.internDateTime(toStartOfDate(DateUtils.getLastDayOfYear(year))));
     }
 
     /**
@@ -165,7 +170,7 @@ public record TimeInterval(@Nullable LocalDateTime start,
      * @return an {@link TimeInterval} based on the given dateTimes.
      */
     public static TimeInterval forIsoDateTimes(@Nullable String start, @Nullable String end) {
-        return new TimeInterval(parseDateTime(start), parseDateTime(end));
+        return IntervalInternUtils.intern(new TimeInterval(parseDateTime(start), parseDateTime(end)));
     }
 
     /**
@@ -176,7 +181,7 @@ public record TimeInterval(@Nullable LocalDateTime start,
      * @return an {@link TimeInterval} based on the given dates.
      */
     public static TimeInterval forIsoDates(@Nullable String startDate, @Nullable String endDate) {
-        return new TimeInterval(parseLocalDate(startDate), parseLocalDate(endDate));
+        return IntervalInternUtils.intern(new TimeInterval(parseLocalDate(startDate), parseLocalDate(endDate)));
     }
 
     /**
@@ -189,7 +194,7 @@ public record TimeInterval(@Nullable LocalDateTime start,
      * @return an {@link TimeInterval} based on the given dates.
      */
     public static TimeInterval forIsoDates(@Nullable String startDate, @Nullable String endDate, TimeUnit accuracy) {
-        return new TimeInterval(parseLocalDate(startDate), parseLocalDate(endDate), accuracy);
+        return IntervalInternUtils.intern(new TimeInterval(parseLocalDate(startDate), parseLocalDate(endDate), accuracy));
     }
 
     /**
@@ -211,7 +216,7 @@ public record TimeInterval(@Nullable LocalDateTime start,
      * @return an {@link TimeInterval} based on the given month
      */
     public static TimeInterval forIsoMonth(@Nonnull String month) {
-        return new TimeInterval(YearMonth.parse(month));
+        return IntervalInternUtils.intern(new TimeInterval(YearMonth.parse(month)));
     }
 
     /**
@@ -221,7 +226,7 @@ public record TimeInterval(@Nullable LocalDateTime start,
      * @return an {@link TimeInterval} based on the given year
      */
     public static TimeInterval forIsoYear(int year) {
-        return new TimeInterval(Year.of(year));
+        return IntervalInternUtils.intern(new TimeInterval(Year.of(year)));
     }
 
     /**
@@ -256,45 +261,18 @@ public record TimeInterval(@Nullable LocalDateTime start,
      * @return split list of intervals
      */
     public static List<TimeInterval> split(Collection<TimeInterval> intervals) {
-        if (intervals.size() <= 1) {
-            return new ArrayList<>(intervals);
-        }
-
-        // generate start dateTimes from end dateTimes, and vice versa, selecting only those that overlap with the given intervals, with start/end-specific sorting
-        List<LocalDateTime> startDateTimes = getSortedDatesWithFunctionsPredicateAndComparator(intervals, TimeInterval::start, i -> addSingle(i.end()),
-                TimeConstants.NULL_AS_MIN_DATE_TIME_COMPARATOR, TimeInterval::containsNullAsMin);
-        List<LocalDateTime> endDateTimes = getSortedDatesWithFunctionsPredicateAndComparator(intervals, TimeInterval::end, i -> subtractSingle(i.start()),
-                TimeConstants.NULL_AS_MAX_DATE_TIME_COMPARATOR, TimeInterval::containsNullAsMax);
-
-        if (startDateTimes.size() != endDateTimes.size()) {
-            throw new IllegalStateException(String.format("Unable to split collection of intervals: %s", intervals));
-        }
-
-        List<TimeInterval> splittedIntervals = new ArrayList<>();
-        for (int i = 0; i < startDateTimes.size(); i++) {
-            splittedIntervals.add(new TimeInterval(startDateTimes.get(i), endDateTimes.get(i)));
-        }
-        return splittedIntervals;
+        return IntervalAlgebraUtils.split(IntervalDomain.DATE_TIMES, intervals);
     }
 
-    private static List<LocalDateTime> getSortedDatesWithFunctionsPredicateAndComparator(Collection<TimeInterval> intervals,
-                                                                                         Function<TimeInterval, LocalDateTime> keepNull,
-                                                                                         Function<TimeInterval, LocalDateTime> discardNull,
-                                                                                         Comparator<LocalDateTime> comparator,
-                                                                                         BiPredicate<TimeInterval, LocalDateTime> predicate) {
-        return intervals.stream()
-                .flatMap(interval -> Stream.concat(
-                        Stream.of(keepNull.apply(interval)),
-                        Stream.ofNullable(discardNull.apply(interval))))
-                .filter(date -> isAnyMatchForPredicateOnDate(intervals, predicate, date))
-                .distinct()
-                .sorted(comparator)
-                .toList();
-    }
-
-    private static boolean isAnyMatchForPredicateOnDate(Collection<TimeInterval> intervals, BiPredicate<TimeInterval, LocalDateTime> predicate, LocalDateTime dateTime) {
-        return intervals.stream()
-                .anyMatch(interval -> predicate.test(interval, dateTime));
+    /**
+     * Same as {@link TimeInterval#split(Collection)}, split on the common {@link ForkJoinPool} for collections of at least
+     * {@link ParallelIntervalAlgebraUtils#DEFAULT_PARALLEL_THRESHOLD} intervals.
+     *
+     * @param intervals collection of intervals to split
+     * @return split list of intervals
+     */
+    public static List<TimeInterval> splitParallel(Collection<TimeInterval> intervals) {
+        return ParallelIntervalAlgebraUtils.split(IntervalDomain.DATE_TIMES, intervals, ParallelIntervalAlgebraUtils.DEFAULT_PARALLEL_THRESHOLD, ForkJoinPool.commonPool());
     }
 
     private boolean hasNullStart() {
@@ -418,8 +396,19 @@ public record TimeInterval(@Nullable LocalDateTime start,
      * @return true if any of the given intervals overlap with each other
      */
     public static boolean anyOverlaps(Collection<TimeInterval> intervals) {
-        return intervals.stream()
-                .anyMatch(interval -> interval.overlaps(interval.relativeComplement(intervals)));
+        return IntervalAlgebraUtils.anyOverlaps(IntervalDomain.DATE_TIMES, intervals);
+    }
+
+    /**
+     * Returns all pairs of the given temporal entities whose intervals overlap with each other.
+     * Same as {@link #anyOverlaps(Collection)}, entities with equal intervals are not considered overlapping.
+     *
+     * @param temporals a collection of temporal entities
+     * @param <E>       the type of the temporal entities
+     * @return the overlapping pairs, with the entity whose interval comes first as the first element of each pair
+     */
+    public static <E extends TimeTemporal> List<Pair<E, E>> getOverlappingPairs(Collection<E> temporals) {
+        return IntervalAlgebraUtils.findOverlappingPairs(IntervalDomain.DATE_TIMES, temporals, TimeTemporal::getInterval);
     }
 
     /**
@@ -558,6 +547,19 @@ public record TimeInterval(@Nullable LocalDateTime start,
         return normalize(overlaps, mergeAdjacentIntervals);
     }
 
+    /**
+     * Same as {@link TimeInterval#getOverlaps(Collection, boolean)}, computed on the common {@link ForkJoinPool} for collections of at least
+     * {@link ParallelIntervalAlgebraUtils#DEFAULT_PARALLEL_THRESHOLD} intervals.
+     *
+     * @param intervals              intervals to determine overlaps for
+     * @param mergeAdjacentIntervals whether to merge adjacent overlaps
+     * @return a normalized list of overlaps between the given intervals and this interval.
+     */
+    public List<TimeInterval> getOverlapsParallel(Collection<TimeInterval> intervals, boolean mergeAdjacentIntervals) {
+        return ParallelIntervalAlgebraUtils.getOverlaps(IntervalDomain.DATE_TIMES, this, intervals, mergeAdjacentIntervals,
+                ParallelIntervalAlgebraUtils.DEFAULT_PARALLEL_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
     /**
      * Returns a normalized list of the portions of {@code intervals} that do not overlap with this interval
      * <pre>
@@ -574,12 +576,7 @@ public record TimeInterval(@Nullable LocalDateTime start,
      * @return the portions of {@code intervals} that do not overlap with this interval
      */
     public List<TimeInterval> getNotOverlaps(Collection<TimeInterval> intervals) {
-        List<TimeInterval> overlaps = this.getOverlaps(intervals);
-        List<TimeInterval> notOverlaps = intervals.stream()
-                .map(interval -> interval.subtract(overlaps))
-                .flatMap(Collection::stream)
-                .toList();
-        return normalize(notOverlaps);
+        return difference(intervals, List.of(this));
     }
 
     /**
@@ -592,6 +589,107 @@ public record TimeInterval(@Nullable LocalDateTime start,
         return getNotOverlaps(List.of(intervals));
     }
 
+    /**
+     * Returns a normalized list of the portions of {@code first} that are not covered by any of {@code second}.
+     * Each side is normalized once and the two are merged in a single pass.
+     * <pre>
+     * First:
+     *        |---------|         |------|
+     *             |---------|
+     * Second:
+     *                |---------------|
+     * Output:
+     *        |------|                 |-|
+     * </pre>
+     *
+     * @param first  intervals to subtract from
+     * @param second intervals to subtract
+     * @return the normalized difference of {@code first} and {@code second}.
+     */
+    public static List<TimeInterval> difference(Collection<TimeInterval> first, Collection<TimeInterval> second) {
+        return IntervalAlgebraUtils.difference(IntervalDomain.DATE_TIMES, first, second);
+    }
+
+    /**
+     * Returns a normalized list of the portions covered by exactly one of {@code first} and {@code second}.
+     * <pre>
+     * First:
+     *        |---------|         |------|
+     * Second:
+     *                |---------------|
+     * Output:
+     *        |------|   |-------|     |-|
+     * </pre>
+     *
+     * @param first  the first intervals
+     * @param second the second intervals
+     * @return the normalized symmetric difference of {@code first} and {@code second}.
+     */
+    public static List<TimeInterval> symmetricDifference(Collection<TimeInterval> first, Collection<TimeInterval> second) {
+        return IntervalAlgebraUtils.symmetricDifference(IntervalDomain.DATE_TIMES, first, second);
+    }
+
+    /**
+     * Returns a normalized list of the portions covered by all the given sides, e.g. the periods meeting every eligibility condition.
+     * The sides are merged together with a heap in a single pass, see {@link IntervalAlgebraUtils#atLeastK(IntervalDomain, Collection, int)}.
+     * <pre>
+     * Sides:
+     *        |---------|         |------|
+     *             |--------------------|
+     *           |-------------------|
+     * Output:
+     *             |---|         |---|
+     * </pre>
+     *
+     * @param sides the intervals of each side
+     * @return the normalized intersection of the sides, or an empty list if there are no sides.
+     */
+    public static List<TimeInterval> intersectAll(Collection<? extends Collection<TimeInterval>> sides) {
+        return IntervalAlgebraUtils.intersectAll(IntervalDomain.DATE_TIMES, sides);
+    }
+
+    /**
+     * Returns a normalized list of the portions covered by any of the given sides.
+     * The sides are merged together with a heap in a single pass, see {@link IntervalAlgebraUtils#atLeastK(IntervalDomain, Collection, int)}.
+     *
+     * @param sides the intervals of each side
+     * @return the normalized union of the sides.
+     */
+    public static List<TimeInterval> unionAll(Collection<? extends Collection<TimeInterval>> sides) {
+        return IntervalAlgebraUtils.unionAll(IntervalDomain.DATE_TIMES, sides);
+    }
+
+    /**
+     * Returns a normalized list of the portions covered by at least {@code k} of the given sides.
+     * <pre>
+     * Sides:
+     *        |---------|         |------|
+     *             |--------------------|
+     *           |-------------------|
+     * Output (k = 2):
+     *           |----------------------|
+     * </pre>
+     *
+     * @param sides the intervals of each side
+     * @param k     the minimum number of sides covering the output, at least 1
+     * @return the normalized portions covered by at least {@code k} sides.
+     */
+    public static List<TimeInterval> atLeastK(Collection<? extends Collection<TimeInterval>> sides, int k) {
+        return IntervalAlgebraUtils.atLeastK(IntervalDomain.DATE_TIMES, sides, k);
+    }
+
+    /**
+     * Returns the minimal changes between two versions of a normalized timeline, e.g. to only persist the edited parts of a schedule.
+     * Both lists are merge-walked once, see {@link IntervalAlgebraUtils#diff(IntervalDomain, List, List)}.
+     *
+     * @param oldIntervals the old version, sorted and without overlaps
+     * @param newIntervals the new version, sorted and without overlaps
+     * @return the normalized portions added and removed by the new version.
+     */
+    public static IntervalDiff<TimeInterval> diff(List<TimeInterval> oldIntervals, List<TimeInterval> newIntervals) {
+        return IntervalAlgebraUtils.diff(IntervalDomain.DATE_TIMES, oldIntervals, newIntervals);
+    }
+
     /**
      * Returns a sorted list of intervals, covering the same days as the input, but without any intervals overlapping.
      * intervals that start just after the previous one ends will also be merged.
@@ -627,38 +725,88 @@ public record TimeInterval(@Nullable LocalDateTime start,
      * @return normalized list of intervals
      */
     public static List<TimeInterval> normalize(Collection<TimeInterval> intervals, boolean mergeAdjacentIntervals) {
-        if (intervals.size() <= 1) {
-            return new ArrayList<>(intervals);
-        }
+        return IntervalAlgebraUtils.normalize(IntervalDomain.DATE_TIMES, intervals, mergeAdjacentIntervals);
+    }
 
-        List<TimeInterval> sortedIntervals = sort(intervals);
-        List<TimeInterval> result = new ArrayList<>();
-        TimeInterval current = sortedIntervals.getFirst();
-
-        for (TimeInterval interval : sortedIntervals) {
-            if (shouldMergeCurrentIntervalWithNextInterval(current, interval, mergeAdjacentIntervals)) {
-                current = new TimeInterval(current.start(), DateTimeUtils.maxNullAsMax(current.end(), interval.end()));
-            } else {
-                result.add(current);
-                current = interval;
-            }
-        }
-        result.add(current);
+    /**
+     * Same as {@link TimeInterval#normalize(Collection, boolean)}, normalized on the common {@link ForkJoinPool} for collections of at least
+     * {@link ParallelIntervalAlgebraUtils#DEFAULT_PARALLEL_THRESHOLD} intervals.
+     *
+     * @param intervals              collection of intervals to normalize
+     * @param mergeAdjacentIntervals whether to merge adjacent intervals
+     * @return normalized list of intervals.
+     */
+    public static List<TimeInterval> normalizeParallel(Collection<TimeInterval> intervals, boolean mergeAdjacentIntervals) {
+        return ParallelIntervalAlgebraUtils.normalize(IntervalDomain.DATE_TIMES, intervals, mergeAdjacentIntervals,
+                ParallelIntervalAlgebraUtils.DEFAULT_PARALLEL_THRESHOLD, ForkJoinPool.commonPool());
+    }
 
-        return result.stream()
-                .distinct()
-                .toList();
+    /**
+     * Same as {@link TimeInterval#normalize(Collection)}, for intervals that are already sorted by their start, e.g. when loaded ordered by it.
+     * The intervals are merged in a single pass without sorting, falling back to {@link TimeInterval#normalize(Collection)}
+     * if an interval starts before the previous one.
+     *
+     * @param intervals intervals sorted by their start
+     * @return normalized list of intervals.
+     */
+    public static List<TimeInterval> normalizePresorted(Iterable<TimeInterval> intervals) {
+        return normalizePresorted(intervals, true);
     }
 
-    private static boolean shouldMergeCurrentIntervalWithNextInterval(TimeInterval current, TimeInterval next, boolean mergeAdjacentIntervals) {
-        LocalDateTime adjustedEnd = mergeAdjacentIntervals ? addSingle(current.end()) : current.end();
-        return !DateTimeUtils.isAfterNullAsMax(next.start(), adjustedEnd);
+    /**
+     * Same as {@link TimeInterval#normalize(Collection, boolean)}, for intervals that are already sorted by their start, e.g. when loaded ordered by it.
+     * The intervals are merged in a single pass without sorting, falling back to {@link TimeInterval#normalize(Collection, boolean)}
+     * if an interval starts before the previous one.
+     *
+     * @param intervals              intervals sorted by their start
+     * @param mergeAdjacentIntervals whether to merge adjacent intervals
+     * @return normalized list of intervals.
+     */
+    public static List<TimeInterval> normalizePresorted(Iterable<TimeInterval> intervals, boolean mergeAdjacentIntervals) {
+        return IntervalAlgebraUtils.normalizePresorted(IntervalDomain.DATE_TIMES, intervals, mergeAdjacentIntervals);
     }
 
-    private static List<TimeInterval> sort(Collection<TimeInterval> intervals) {
-        return intervals.stream()
-                .sorted()
-                .toList();
+    /**
+     * Returns a {@link Collector} normalizing a stream of intervals, see {@link TimeInterval#normalize(Collection)}.
+     * A stream sorted by start is merged as it is consumed, otherwise the collected intervals are sorted at the end.
+     *
+     * @return the normalizing collector.
+     */
+    public static Collector<TimeInterval, ?, List<TimeInterval>> toNormalized() {
+        return toNormalized(true);
+    }
+
+    /**
+     * Returns a {@link Collector} normalizing a stream of intervals, see {@link TimeInterval#normalize(Collection, boolean)}.
+     * A stream sorted by start is merged as it is consumed, otherwise the collected intervals are sorted at the end.
+     *
+     * @param mergeAdjacentIntervals whether to merge adjacent intervals
+     * @return the normalizing collector.
+     */
+    public static Collector<TimeInterval, ?, List<TimeInterval>> toNormalized(boolean mergeAdjacentIntervals) {
+        return IntervalAlgebraUtils.toNormalized(IntervalDomain.DATE_TIMES, mergeAdjacentIntervals);
+    }
+
+    /**
+     * Lazy variant of {@link TimeInterval#normalize(Collection, boolean)} for intervals that are already sorted, merging each interval
+     * of the returned stream only when it is consumed, see {@link LazyIntervalAlgebraUtils}.
+     *
+     * @param sortedIntervals        intervals sorted by their natural order
+     * @param mergeAdjacentIntervals whether to merge adjacent intervals
+     * @return the stream of normalized intervals.
+     */
+    public static Stream<TimeInterval> streamNormalized(Iterable<TimeInterval> sortedIntervals, boolean mergeAdjacentIntervals) {
+        return LazyIntervalAlgebraUtils.normalize(IntervalDomain.DATE_TIMES, sortedIntervals, mergeAdjacentIntervals);
+    }
+
+    /**
+     * Lazy variant of {@link TimeInterval#split(Collection)} for intervals that are already sorted, see {@link LazyIntervalAlgebraUtils}.
+     *
+     * @param sortedIntervals intervals sorted by their natural order
+     * @return the stream of split intervals.
+     */
+    public static Stream<TimeInterval> streamSplit(Iterable<TimeInterval> sortedIntervals) {
+        return LazyIntervalAlgebraUtils.split(IntervalDomain.DATE_TIMES, sortedIntervals);
     }
 
     /**
@@ -705,29 +853,40 @@ public record TimeInterval(@Nullable LocalDateTime start,
      * @return list of intervals after subtracting the given {@code intervals} from this {@link TimeInterval}
      */
     public List<TimeInterval> subtract(Collection<TimeInterval> intervals) {
-        @Nullable LocalDateTime nextPossibleStart = this.start();
-        boolean endCrossed = false;
-        List<TimeInterval> resultIntervals = new ArrayList<>();
-        for (TimeInterval overlap : this.getOverlaps(intervals)) {
-            if (DateTimeUtils.isBeforeNullAsMin(nextPossibleStart, overlap.start())) {
-                resultIntervals.add(new TimeInterval(
-                        nextPossibleStart,
-                        DateTimeUtils.minNullAsMax(this.end(), subtractSingle(overlap.start())))
-                );
-            }
-            if (DateTimeUtils.isAfterOrEqual(overlap.end(), this.end())) {
-                endCrossed = true;
-                break;
-            }
-            if (DateTimeUtils.isBeforeOrEqual(nextPossibleStart, overlap.end())) {
-                nextPossibleStart = addSingle(overlap.end());
-            }
-        }
-        if (!endCrossed) {
-            resultIntervals.add(new TimeInterval(nextPossibleStart, end()));
-        }
+        return difference(List.of(this), intervals);
+    }
+
+    /**
+     * Lazy variant of {@link TimeInterval#getOverlaps(Collection, boolean)} for intervals that are already sorted, which stops reading
+     * them at the first one starting after this interval, see {@link LazyIntervalAlgebraUtils}.
+     *
+     * @param sortedIntervals        intervals sorted by their natural order
+     * @param mergeAdjacentIntervals whether to merge adjacent overlaps
+     * @return the stream of normalized overlaps between the given intervals and this interval.
+     */
+    public Stream<TimeInterval> streamOverlaps(Iterable<TimeInterval> sortedIntervals, boolean mergeAdjacentIntervals) {
+        return LazyIntervalAlgebraUtils.getOverlaps(IntervalDomain.DATE_TIMES, this, sortedIntervals, mergeAdjacentIntervals);
+    }
 
-        return resultIntervals;
+    /**
+     * Lazy variant of {@link TimeInterval#getNotOverlaps(Collection)} for intervals that are already sorted, see {@link LazyIntervalAlgebraUtils}.
+     *
+     * @param sortedIntervals intervals sorted by their natural order
+     * @return the stream of the portions of the given intervals that do not overlap with this interval.
+     */
+    public Stream<TimeInterval> streamNotOverlaps(Iterable<TimeInterval> sortedIntervals) {
+        return LazyIntervalAlgebraUtils.getNotOverlaps(IntervalDomain.DATE_TIMES, this, sortedIntervals);
+    }
+
+    /**
+     * Lazy variant of {@link TimeInterval#subtract(Collection)} for intervals that are already sorted, which stops reading them at the
+     * first one starting after this interval, see {@link LazyIntervalAlgebraUtils}.
+     *
+     * @param sortedIntervals intervals to subtract with, sorted by their natural order
+     * @return the stream of the remainders of this interval.
+     */
+    public Stream<TimeInterval> streamSubtract(Iterable<TimeInterval> sortedIntervals) {
+        return LazyIntervalAlgebraUtils.subtract(IntervalDomain.DATE_TIMES, this, sortedIntervals);
     }
 
     @Override
@@ -0,0 +1,34 @@
+package com.thanlinardos.spring_enterprise_library.time.model;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * A change of the value of a timeline over an interval, between two versions of the timeline.
+ *
+ * @param type     the type of the change.
+ * @param interval the interval over which the value changed.
+ * @param oldValue the value of the old version, or null if the interval was added.
+ * @param newValue the value of the new version, or null if the interval was removed.
+ * @param <I>      the type of the interval.
+ * @param <V>      the type of the values.
+ */
+public record TimelineChange<I, V>(Type type, I interval, @Nullable V oldValue, @Nullable V newValue) {
+
+    /**
+     * The type of change.
+     */
+    public enum Type {
+        /**
+         * The interval has a value in the new version only.
+         */
+        ADDED,
+        /**
+         * The interval has a value in the old version only.
+         */
+        REMOVED,
+        /**
+         * The interval has different values in the two versions.
+         */
+        CHANGED
+    }
+}
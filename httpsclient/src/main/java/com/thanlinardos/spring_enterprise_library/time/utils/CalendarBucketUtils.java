@@ -0,0 +1,179 @@
+package com.thanlinardos.spring_enterprise_library.time.utils;
+
+import com.thanlinardos.spring_enterprise_library.error.errorcodes.ErrorCode;
+import com.thanlinardos.spring_enterprise_library.time.api.DateTemporal;
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import com.thanlinardos.spring_enterprise_library.tuple.Pair;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Utility class for partitioning collections of {@link DateTemporal} entities into calendar month, quarter or year buckets in a single pass.
+ * <p>
+ * The epoch days of the bucket boundaries within the requested range are computed once into a table. The interval of each
+ * entity is then converted to epoch days once, its first and last bucket are found by binary search in the table, and it is
+ * added to every bucket in between, instead of testing every entity against every period with {@code overlaps(YearMonth)}.
+ * <p>
+ * The buckets are all the periods overlapping the range, in chronological order and including the empty ones. The first and
+ * last bucket are cut to the range, so an entity is only assigned to a bucket if it overlaps the range within that period.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CalendarBucketUtils {
+
+    private static final Period<YearMonth> MONTHS = new Period<>(date -> date.withDayOfMonth(1), date -> date.plusMonths(1), YearMonth::from);
+    private static final Period<Interval> QUARTERS = new Period<>(CalendarBucketUtils::getStartOfQuarter, date -> date.plusMonths(3),
+            start -> new Interval(start, start.plusMonths(3).minusDays(1)));
+    private static final Period<Year> YEARS = new Period<>(date -> date.withDayOfYear(1), date -> date.plusYears(1), Year::from);
+
+    /**
+     * Returns the entities overlapping each month of the given range.
+     *
+     * @param entities the entities to partition.
+     * @param range    the range to partition, with both bounds set.
+     * @param <E>      the type of the entities.
+     * @return the entities per month, in chronological order.
+     */
+    public static <E extends DateTemporal> Map<YearMonth, List<E>> byMonth(Collection<E> entities, Interval range) {
+        return bucket(entities, range, MONTHS, (entity, start, end) -> entity);
+    }
+
+    /**
+     * Returns the entities overlapping each month of the given range, each with the part of its interval within the month.
+     *
+     * @param entities the entities to partition.
+     * @param range    the range to partition, with both bounds set.
+     * @param <E>      the type of the entities.
+     * @return the entities with their clipped interval per month, in chronological order.
+     */
+    public static <E extends DateTemporal> Map<YearMonth, List<Pair<E, Interval>>> byMonthClipped(Collection<E> entities, Interval range) {
+        return bucket(entities, range, MONTHS, CalendarBucketUtils::clip);
+    }
+
+    /**
+     * Returns the entities overlapping each quarter of the given range.
+     *
+     * @param entities the entities to partition.
+     * @param range    the range to partition, with both bounds set.
+     * @param <E>      the type of the entities.
+     * @return the entities per quarter, keyed by the interval of the quarter, in chronological order.
+     */
+    public static <E extends DateTemporal> Map<Interval, List<E>> byQuarter(Collection<E> entities, Interval range) {
+        return bucket(entities, range, QUARTERS, (entity, start, end) -> entity);
+    }
+
+    /**
+     * Returns the entities overlapping each quarter of the given range, each with the part of its interval within the quarter.
+     *
+     * @param entities the entities to partition.
+     * @param range    the range to partition, with both bounds set.
+     * @param <E>      the type of the entities.
+     * @return the entities with their clipped interval per quarter, keyed by the interval of the quarter, in chronological order.
+     */
+    public static <E extends DateTemporal> Map<Interval, List<Pair<E, Interval>>> byQuarterClipped(Collection<E> entities, Interval range) {
+        return bucket(entities, range, QUARTERS, CalendarBucketUtils::clip);
+    }
+
+    /**
+     * Returns the entities overlapping each year of the given range.
+     *
+     * @param entities the entities to partition.
+     * @param range    the range to partition, with both bounds set.
+     * @param <E>      the type of the entities.
+     * @return the entities per year, in chronological order.
+     */
+    public static <E extends DateTemporal> Map<Year, List<E>> byYear(Collection<E> entities, Interval range) {
+        return bucket(entities, range, YEARS, (entity, start, end) -> entity);
+    }
+
+    /**
+     * Returns the entities overlapping each year of the given range, each with the part of its interval within the year.
+     *
+     * @param entities the entities to partition.
+     * @param range    the range to partition, with both bounds set.
+     * @param <E>      the type of the entities.
+     * @return the entities with their clipped interval per year, in chronological order.
+     */
+    public static <E extends DateTemporal> Map<Year, List<Pair<E, Interval>>> byYearClipped(Collection<E> entities, Interval range) {
+        return bucket(entities, range, YEARS, CalendarBucketUtils::clip);
+    }
+
+    private static LocalDate getStartOfQuarter(LocalDate date) {
+        return LocalDate.of(date.getYear(), (date.getMonthValue() - 1) / 3 * 3 + 1, 1);
+    }
+
+    private static <E extends DateTemporal, K, V> Map<K, List<V>> bucket(Collection<E> entities, Interval range, Period<K> period,
+                                                                          EntryFactory<E, V> entryFactory) {
+        if (range.start() == null || range.end() == null) {
+            throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("The range to partition must have both bounds set, but was {0}.", new Object[]{range});
+        }
+        // boundaries[i] is the first epoch day of bucket i, and boundaries[bucketCount] the day after the range
+        List<LocalDate> periodStarts = new ArrayList<>();
+        for (LocalDate start = period.startOf().apply(range.start()); !start.isAfter(range.end()); start = period.next().apply(start)) {
+            periodStarts.add(start);
+        }
+        int bucketCount = periodStarts.size();
+        long rangeStart = range.start().toEpochDay();
+        long rangeEnd = range.end().toEpochDay();
+        long[] boundaries = new long[bucketCount + 1];
+        for (int i = 0; i < bucketCount; i++) {
+            boundaries[i] = Math.max(periodStarts.get(i).toEpochDay(), rangeStart);
+        }
+        boundaries[bucketCount] = rangeEnd + 1;
+
+        List<List<V>> buckets = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (E entity : entities) {
+            Interval interval = entity.getInterval();
+            long start = Math.max(EpochUtils.toEpochStart(interval.start()), rangeStart);
+            long end = Math.min(EpochUtils.toEpochEnd(interval.end()), rangeEnd);
+            if (start > end) {
+                continue;
+            }
+            int first = getBucketIndex(boundaries, start);
+            int last = getBucketIndex(boundaries, end);
+            for (int i = first; i <= last; i++) {
+                buckets.get(i).add(entryFactory.create(entity, Math.max(start, boundaries[i]), Math.min(end, boundaries[i + 1] - 1)));
+            }
+        }
+
+        Map<K, List<V>> result = LinkedHashMap.newLinkedHashMap(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            result.put(period.key().apply(periodStarts.get(i)), buckets.get(i));
+        }
+        return result;
+    }
+
+    private static int getBucketIndex(long[] boundaries, long epochDay) {
+        int index = Arrays.binarySearch(boundaries, 0, boundaries.length - 1, epochDay);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    private static <E extends DateTemporal> Pair<E, Interval> clip(E entity, long start, long end) {
+        return Pair.of(entity, new Interval(LocalDate.ofEpochDay(start), LocalDate.ofEpochDay(end)));
+    }
+
+    /**
+     * A calendar period, defined by the start of the period containing a date, the start of the next period and the bucket key of a period start.
+     */
+    private record Period<K>(UnaryOperator<LocalDate> startOf, UnaryOperator<LocalDate> next, Function<LocalDate, K> key) {
+    }
+
+    @FunctionalInterface
+    private interface EntryFactory<E, V> {
+        V create(E entity, long startEpochDay, long endEpochDay);
+    }
+}
@@ -0,0 +1,189 @@
+package com.thanlinardos.spring_enterprise_library.time.utils;
+
+import com.thanlinardos.spring_enterprise_library.error.errorcodes.ErrorCode;
+import com.thanlinardos.spring_enterprise_library.time.api.DateTemporal;
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.util.function.Predicate;
+
+import static com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils.OPEN_END;
+import static com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils.OPEN_START;
+import static com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils.toEpochEnd;
+import static com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils.toEpochStart;
+
+/**
+ * Utility class for compiled predicates on {@link DateTemporal} entities.
+ * <p>
+ * The bounds of a predicate are validated and converted to primitive epoch days once, when the predicate is created, with the
+ * open bound sentinels of {@link EpochUtils}. Testing an entity then only converts the bounds of its interval and compares
+ * longs, without creating intervals or going through the null as min/max helpers. The results are the same as the
+ * corresponding {@link DateTemporal} methods.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class DatePredicateUtils {
+
+    /**
+     * Returns a predicate that checks if the interval of a temporal is contained in the given date range, as {@link Interval#contains(Interval)}.
+     *
+     * @param from the start date of the range.
+     * @param to   the end date of the range.
+     * @param <T>  the type of the temporal.
+     * @return the compiled predicate.
+     * @throws com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException if the start date is after the end date.
+     */
+    public static <T extends DateTemporal> Predicate<T> isContainedIn(@Nullable LocalDate from, @Nullable LocalDate to) {
+        checkRange(from, to);
+        long rangeStart = toEpochStart(from);
+        long rangeEnd = toEpochEnd(to);
+        return temporal -> isContainedIn(temporal.getInterval(), rangeStart, rangeEnd);
+    }
+
+    /**
+     * Returns a predicate that checks if the interval of a temporal overlaps the given date range.
+     *
+     * @param from the start date of the range.
+     * @param to   the end date of the range.
+     * @param <T>  the type of the temporal.
+     * @return the compiled predicate.
+     * @throws com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException if the start date is after the end date.
+     */
+    public static <T extends DateTemporal> Predicate<T> overlaps(@Nullable LocalDate from, @Nullable LocalDate to) {
+        checkRange(from, to);
+        long rangeStart = toEpochStart(from);
+        long rangeEnd = toEpochEnd(to);
+        return temporal -> overlaps(temporal.getInterval(), rangeStart, rangeEnd);
+    }
+
+    /**
+     * Returns a predicate that checks if the interval of a temporal overlaps the given month.
+     *
+     * @param yearMonth the month.
+     * @param <T>       the type of the temporal.
+     * @return the compiled predicate.
+     */
+    public static <T extends DateTemporal> Predicate<T> overlaps(@Nonnull YearMonth yearMonth) {
+        return overlaps(yearMonth.atDay(1), yearMonth.atEndOfMonth());
+    }
+
+    /**
+     * Returns a predicate that checks if the interval of a temporal overlaps the given year.
+     *
+     * @param year the year.
+     * @param <T>  the type of the temporal.
+     * @return the compiled predicate.
+     */
+    public static <T extends DateTemporal> Predicate<T> overlaps(@Nonnull Year year) {
+        return overlaps(year.atDay(1), DateUtils.getLastDayOfYear(year));
+    }
+
+    /**
+     * Returns a predicate that checks if the interval of a temporal contains the given date.
+     *
+     * @param date the date.
+     * @param <T>  the type of the temporal.
+     * @return the compiled predicate.
+     */
+    public static <T extends DateTemporal> Predicate<T> containsDate(@Nonnull LocalDate date) {
+        long epochDay = date.toEpochDay();
+        return temporal -> containsDate(temporal.getInterval(), epochDay);
+    }
+
+    /**
+     * Returns a predicate that checks if the interval of a temporal starts after the given date, treating a null start as
+     * {@link com.thanlinardos.spring_enterprise_library.time.TimeFactory#getMaxDate()}, as {@link DateTemporal#startsAfter(LocalDate)}.
+     *
+     * @param date the date.
+     * @param <T>  the type of the temporal.
+     * @return the compiled predicate.
+     */
+    public static <T extends DateTemporal> Predicate<T> startsAfter(@Nullable LocalDate date) {
+        long epochDay = toEpochEnd(date);
+        return temporal -> {
+            long start = toEpochStart(temporal.getInterval().start());
+            return start == OPEN_START || start > epochDay;
+        };
+    }
+
+    /**
+     * Returns a predicate that checks if the interval of a temporal starts before the given date, as {@link DateTemporal#startsBefore(LocalDate)}.
+     *
+     * @param date the date.
+     * @param <T>  the type of the temporal.
+     * @return the compiled predicate.
+     */
+    public static <T extends DateTemporal> Predicate<T> startsBefore(@Nullable LocalDate date) {
+        long epochDay = toEpochStart(date);
+        return temporal -> {
+            long start = toEpochStart(temporal.getInterval().start());
+            return start == OPEN_START || start < epochDay;
+        };
+    }
+
+    /**
+     * Returns a predicate that checks if the interval of a temporal starts before or on the given date, as {@link DateTemporal#startsBeforeOrOn(LocalDate)}.
+     *
+     * @param date the date.
+     * @param <T>  the type of the temporal.
+     * @return the compiled predicate.
+     */
+    public static <T extends DateTemporal> Predicate<T> startsBeforeOrOn(@Nullable LocalDate date) {
+        long epochDay = toEpochStart(date);
+        return temporal -> toEpochStart(temporal.getInterval().start()) <= epochDay;
+    }
+
+    /**
+     * Checks if the interval is contained in the given date range, as {@link Interval#contains(Interval)} on the range.
+     *
+     * @param interval the interval to check.
+     * @param from     the start date of the range.
+     * @param to       the end date of the range.
+     * @return true if the interval is contained in the range, false otherwise.
+     * @throws com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException if the start date is after the end date.
+     */
+    public static boolean isContainedIn(@Nonnull Interval interval, @Nullable LocalDate from, @Nullable LocalDate to) {
+        checkRange(from, to);
+        return isContainedIn(interval, toEpochStart(from), toEpochEnd(to));
+    }
+
+    /**
+     * Checks if the interval overlaps the given date range.
+     *
+     * @param interval the interval to check.
+     * @param from     the start date of the range.
+     * @param to       the end date of the range.
+     * @return true if the interval overlaps the range, false otherwise.
+     * @throws com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException if the start date is after the end date.
+     */
+    public static boolean overlaps(@Nonnull Interval interval, @Nullable LocalDate from, @Nullable LocalDate to) {
+        checkRange(from, to);
+        return overlaps(interval, toEpochStart(from), toEpochEnd(to));
+    }
+
+    private static boolean isContainedIn(Interval interval, long rangeStart, long rangeEnd) {
+        // an open bound of the interval is not checked against the range, as in Interval#contains
+        long start = toEpochStart(interval.start());
+        long end = toEpochEnd(interval.end());
+        return (start == OPEN_START || start >= rangeStart) && (end == OPEN_END || end <= rangeEnd);
+    }
+
+    private static boolean overlaps(Interval interval, long rangeStart, long rangeEnd) {
+        return toEpochStart(interval.start()) <= rangeEnd && toEpochEnd(interval.end()) >= rangeStart;
+    }
+
+    private static boolean containsDate(Interval interval, long epochDay) {
+        return toEpochStart(interval.start()) <= epochDay && epochDay <= toEpochEnd(interval.end());
+    }
+
+    private static void checkRange(@Nullable LocalDate from, @Nullable LocalDate to) {
+        if (Interval.isNotValid(from, to)) {
+            throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("Found start date {0} to be after end date {1} when constructing Interval.", new Object[]{from, to});
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.thanlinardos.spring_enterprise_library.time.utils;
+
+import com.thanlinardos.spring_enterprise_library.error.errorcodes.ErrorCode;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Utility class for converting dates, date times and instants to and from primitive epoch based values, as used by the
+ * primitive interval structures.
+ * <p>
+ * Open bounds are represented by sentinels: the minimum value for a null start and the maximum value for a null end.
+ * A {@link LocalDateTime} is converted through its wall clock time in UTC, since only its ordering matters.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class EpochUtils {
+
+    /**
+     * Sentinel of an open (null) start for int epoch days.
+     */
+    public static final int OPEN_START_DAY = Integer.MIN_VALUE;
+    /**
+     * Sentinel of an open (null) end for int epoch days.
+     */
+    public static final int OPEN_END_DAY = Integer.MAX_VALUE;
+    /**
+     * Sentinel of an open (null) start for long epoch values.
+     */
+    public static final long OPEN_START = Long.MIN_VALUE;
+    /**
+     * Sentinel of an open (null) end for long epoch values.
+     */
+    public static final long OPEN_END = Long.MAX_VALUE;
+
+    /**
+     * Converts a start date to its epoch day.
+     *
+     * @param date the date to convert.
+     * @return the epoch day, or {@link #OPEN_START_DAY} if the date is null.
+     */
+    public static int toEpochDayStart(@Nullable LocalDate date) {
+        return date == null ? OPEN_START_DAY : toEpochDay(date);
+    }
+
+    /**
+     * Converts an end date to its epoch day.
+     *
+     * @param date the date to convert.
+     * @return the epoch day, or {@link #OPEN_END_DAY} if the date is null.
+     */
+    public static int toEpochDayEnd(@Nullable LocalDate date) {
+        return date == null ? OPEN_END_DAY : toEpochDay(date);
+    }
+
+    /**
+     * Converts an epoch day back to a date.
+     *
+     * @param epochDay the epoch day to convert.
+     * @return the date, or null if the epoch day is one of the open bound sentinels.
+     */
+    @Nullable
+    public static LocalDate fromEpochDay(int epochDay) {
+        return epochDay == OPEN_START_DAY || epochDay == OPEN_END_DAY ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    private static int toEpochDay(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        if (epochDay <= OPEN_START_DAY || epochDay >= OPEN_END_DAY) {
+            throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("Date {0} is out of range of an int epoch day.", new Object[]{date});
+        }
+        return (int) epochDay;
+    }
+
+    /**
+     * Converts a start date to its epoch day as a long.
+     *
+     * @param date the date to convert.
+     * @return the epoch day, or {@link #OPEN_START} if the date is null.
+     */
+    public static long toEpochStart(@Nullable LocalDate date) {
+        return date == null ? OPEN_START : date.toEpochDay();
+    }
+
+    /**
+     * Converts an end date to its epoch day as a long.
+     *
+     * @param date the date to convert.
+     * @return the epoch day, or {@link #OPEN_END} if the date is null.
+     */
+    public static long toEpochEnd(@Nullable LocalDate date) {
+        return date == null ? OPEN_END : date.toEpochDay();
+    }
+
+    /**
+     * Converts a long epoch day back to a date.
+     *
+     * @param epochDay the epoch day to convert.
+     * @return the date, or null if the epoch day is one of the open bound sentinels.
+     */
+    @Nullable
+    public static LocalDate toLocalDate(long epochDay) {
+        return epochDay == OPEN_START || epochDay == OPEN_END ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * Converts a start instant to the number of whole units since the epoch.
+     *
+     * @param instant the instant to convert.
+     * @param unit    the unit to count in.
+     * @return the number of units since the epoch, or {@link #OPEN_START} if the instant is null.
+     */
+    public static long toEpochStart(@Nullable Instant instant, TimeUnit unit) {
+        return instant == null ? OPEN_START : toEpochUnits(instant.getEpochSecond(), instant.getNano(), unit, instant);
+    }
+
+    /**
+     * Converts an end instant to the number of whole units since the epoch.
+     *
+     * @param instant the instant to convert.
+     * @param unit    the unit to count in.
+     * @return the number of units since the epoch, or {@link #OPEN_END} if the instant is null.
+     */
+    public static long toEpochEnd(@Nullable Instant instant, TimeUnit unit) {
+        return instant == null ? OPEN_END : toEpochUnits(instant.getEpochSecond(), instant.getNano(), unit, instant);
+    }
+
+    /**
+     * Converts a start date time (wall clock in UTC) to the number of whole units since the epoch.
+     *
+     * @param dateTime the date time to convert.
+     * @param unit     the unit to count in.
+     * @return the number of units since the epoch, or {@link #OPEN_START} if the date time is null.
+     */
+    public static long toEpochStart(@Nullable LocalDateTime dateTime, TimeUnit unit) {
+        return dateTime == null ? OPEN_START : toEpochUnits(dateTime.toEpochSecond(ZoneOffset.UTC), dateTime.getNano(), unit, dateTime);
+    }
+
+    /**
+     * Converts an end date time (wall clock in UTC) to the number of whole units since the epoch.
+     *
+     * @param dateTime the date time to convert.
+     * @param unit     the unit to count in.
+     * @return the number of units since the epoch, or {@link #OPEN_END} if the date time is null.
+     */
+    public static long toEpochEnd(@Nullable LocalDateTime dateTime, TimeUnit unit) {
+        return dateTime == null ? OPEN_END : toEpochUnits(dateTime.toEpochSecond(ZoneOffset.UTC), dateTime.getNano(), unit, dateTime);
+    }
+
+    /**
+     * Converts an instant to the number of whole units since the epoch, rounded down, for looking up points such as raw
+     * timestamps that are not a whole number of units.
+     *
+     * @param instant the instant to convert.
+     * @param unit    the unit to count in.
+     * @return the number of units since the epoch of the unit containing the instant.
+     */
+    public static long toEpochFloor(@Nonnull Instant instant, TimeUnit unit) {
+        return floorEpochUnits(instant.getEpochSecond(), instant.getNano(), unit);
+    }
+
+    /**
+     * Converts a date time (wall clock in UTC) to the number of whole units since the epoch, rounded down, for looking up
+     * points that are not a whole number of units.
+     *
+     * @param dateTime the date time to convert.
+     * @param unit     the unit to count in.
+     * @return the number of units since the epoch of the unit containing the date time.
+     */
+    public static long toEpochFloor(@Nonnull LocalDateTime dateTime, TimeUnit unit) {
+        return floorEpochUnits(dateTime.toEpochSecond(ZoneOffset.UTC), dateTime.getNano(), unit);
+    }
+
+    /**
+     * Converts a number of units since the epoch back to an instant.
+     *
+     * @param epochUnits the number of units since the epoch.
+     * @param unit       the unit of the value.
+     * @return the instant, or null if the value is one of the open bound sentinels.
+     */
+    @Nullable
+    public static Instant toInstant(long epochUnits, TimeUnit unit) {
+        if (epochUnits == OPEN_START || epochUnits == OPEN_END) {
+            return null;
+        }
+        long unitsPerSecond = unitsPerSecond(unit);
+        if (unitsPerSecond > 0) {
+            return Instant.ofEpochSecond(Math.floorDiv(epochUnits, unitsPerSecond), Math.floorMod(epochUnits, unitsPerSecond) * unit.toNanos(1));
+        }
+        return Instant.ofEpochSecond(Math.multiplyExact(epochUnits, unit.toSeconds(1)));
+    }
+
+    /**
+     * Converts a number of units since the epoch back to a date time (wall clock in UTC).
+     *
+     * @param epochUnits the number of units since the epoch.
+     * @param unit       the unit of the value.
+     * @return the date time, or null if the value is one of the open bound sentinels.
+     */
+    @Nullable
+    public static LocalDateTime toLocalDateTime(long epochUnits, TimeUnit unit) {
+        Instant instant = toInstant(epochUnits, unit);
+        return instant == null ? null : LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    /**
+     * Converts a number of seconds and nanoseconds since the epoch to the number of whole units since the epoch.
+     *
+     * @param epochSecond the number of seconds since the epoch.
+     * @param nanos       the nanosecond of the second.
+     * @param unit        the unit to count in.
+     * @return the number of units since the epoch.
+     */
+    public static long toEpochUnits(long epochSecond, int nanos, TimeUnit unit) {
+        return toEpochUnits(epochSecond, nanos, unit, null);
+    }
+
+    /**
+     * Converts a number of seconds and nanoseconds since the epoch to the number of whole units since the epoch, rounded
+     * down instead of rejecting a value that is not a whole number of units.
+     *
+     * @param epochSecond the number of seconds since the epoch.
+     * @param nanos       the nanosecond of the second.
+     * @param unit        the unit to count in.
+     * @return the number of units since the epoch of the unit containing the value.
+     */
+    public static long floorEpochUnits(long epochSecond, int nanos, TimeUnit unit) {
+        return toEpochUnits(epochSecond, nanos, unit, null, true);
+    }
+
+    private static long toEpochUnits(long epochSecond, int nanos, TimeUnit unit, @Nullable Object value) {
+        return toEpochUnits(epochSecond, nanos, unit, value, false);
+    }
+
+    private static long toEpochUnits(long epochSecond, int nanos, TimeUnit unit, @Nullable Object value, boolean isFloor) {
+        long unitsPerSecond = unitsPerSecond(unit);
+        boolean isWholeUnits = unitsPerSecond > 0
+                ? nanos % unit.toNanos(1) == 0
+                : nanos == 0 && epochSecond % unit.toSeconds(1) == 0;
+        if (!isWholeUnits && !isFloor) {
+            throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("Value {0} is not a whole number of {1}.", new Object[]{describe(epochSecond, nanos, value), unit});
+        }
+        long epochUnits;
+        try {
+            epochUnits = unitsPerSecond > 0
+                    ? Math.addExact(Math.multiplyExact(epochSecond, unitsPerSecond), nanos / unit.toNanos(1))
+                    : Math.floorDiv(epochSecond, unit.toSeconds(1));
+        } catch (ArithmeticException e) {
+            throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("Value {0} is out of range of a long number of {1}.", e, new Object[]{describe(epochSecond, nanos, value), unit});
+        }
+        if (epochUnits == OPEN_START || epochUnits == OPEN_END) {
+            throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("Value {0} is out of range of a long number of {1}.", new Object[]{describe(epochSecond, nanos, value), unit});
+        }
+        return epochUnits;
+    }
+
+    private static Object describe(long epochSecond, int nanos, @Nullable Object value) {
+        return value != null ? value : Instant.ofEpochSecond(epochSecond, nanos);
+    }
+
+    private static long unitsPerSecond(TimeUnit unit) {
+        return unit.compareTo(TimeUnit.SECONDS) <= 0 ? TimeUnit.SECONDS.toNanos(1) / unit.toNanos(1) : 0;
+    }
+}
@@ -0,0 +1,275 @@
+package com.thanlinardos.spring_enterprise_library.time.utils;
+
+import com.thanlinardos.spring_enterprise_library.error.errorcodes.ErrorCode;
+import jakarta.annotation.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Pool of canonical instances of immutable values, so that equal values loaded many times, such as the same month or the
+ * same contract period of millions of entities, can share a single instance.
+ * <p>
+ * Three modes are available:
+ * <ul>
+ *     <li>{@link #none()} returns every value as is.</li>
+ *     <li>{@link #weak(ToLongFunction)} keeps the canonical instances only as long as they are referenced elsewhere.</li>
+ *     <li>{@link #bounded(int, ToLongFunction)} keeps at most the given number of recently used canonical instances in two
+ *     generations of {@link ConcurrentHashMap}s, evicting the older one as a whole when the newer one fills up.</li>
+ * </ul>
+ * Each interner counts its hits and misses, and estimates the memory saved by the duplicates it replaced with the given
+ * size estimator of a value.
+ *
+ * @param <V> the type of the values.
+ */
+public abstract class Interner<V> {
+
+    private final ToLongFunction<V> sizeEstimator;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    private Interner(ToLongFunction<V> sizeEstimator) {
+        this.sizeEstimator = sizeEstimator;
+    }
+
+    /**
+     * Creates an interner returning every value as is.
+     *
+     * @param <V> the type of the values.
+     * @return the interner.
+     */
+    public static <V> Interner<V> none() {
+        return new NoOpInterner<>();
+    }
+
+    /**
+     * Creates an interner weakly referencing its canonical instances, so that they are garbage collected once no longer
+     * used elsewhere.
+     *
+     * @param sizeEstimator the estimated size in bytes of a value, including the objects only it references.
+     * @param <V>           the type of the values.
+     * @return the interner.
+     */
+    public static <V> Interner<V> weak(ToLongFunction<V> sizeEstimator) {
+        return new WeakInterner<>(sizeEstimator);
+    }
+
+    /**
+     * Creates a concurrent interner strongly referencing at most the given number of recently used canonical instances.
+     *
+     * @param maxSize       the maximum number of canonical instances to keep.
+     * @param sizeEstimator the estimated size in bytes of a value, including the objects only it references.
+     * @param <V>           the type of the values.
+     * @return the interner.
+     */
+    public static <V> Interner<V> bounded(int maxSize, ToLongFunction<V> sizeEstimator) {
+        if (maxSize < 2) {
+            throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("The maximum size of an interner must be at least 2, but was {0}.", new Object[]{maxSize});
+        }
+        return new BoundedInterner<>(maxSize, sizeEstimator);
+    }
+
+    /**
+     * Returns the canonical instance equal to the given value, adding the value itself if there is none.
+     *
+     * @param value the value to intern.
+     * @return the canonical instance, or null if the value is null.
+     */
+    @Nullable
+    public V intern(@Nullable V value) {
+        return intern(value, UnaryOperator.identity());
+    }
+
+    /**
+     * Returns the canonical instance equal to the given value, adding the result of the given canonicalizer for the value
+     * if there is none, for example a copy of the value referencing interned components.
+     *
+     * @param value         the value to intern.
+     * @param canonicalizer the function creating the canonical instance of a value, only called on a miss.
+     * @return the canonical instance, or null if the value is null.
+     */
+    @Nullable
+    public V intern(@Nullable V value, UnaryOperator<V> canonicalizer) {
+        return value == null ? null : lookup(value, canonicalizer);
+    }
+
+    /**
+     * Returns the number of canonical instances currently kept.
+     *
+     * @return the approximate number of canonical instances.
+     */
+    public abstract int size();
+
+    /**
+     * Removes all canonical instances, keeping the counters.
+     */
+    public abstract void clear();
+
+    /**
+     * Returns the number of interned values for which a canonical instance already existed.
+     *
+     * @return the hit count.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of interned values for which a canonical instance had to be added.
+     *
+     * @return the miss count.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the ratio of hits to interned values.
+     *
+     * @return the hit rate between 0 and 1, or 0 if no value was interned.
+     */
+    public double getHitRate() {
+        long hitCount = getHitCount();
+        long total = hitCount + getMissCount();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * Returns the estimated memory of the duplicates replaced by a distinct canonical instance.
+     *
+     * @return the estimated saved bytes.
+     */
+    public long getEstimatedBytesSaved() {
+        return bytesSaved.sum();
+    }
+
+    protected abstract V lookup(V value, UnaryOperator<V> canonicalizer);
+
+    protected V recordHit(V value, V canonical) {
+        hits.increment();
+        if (canonical != value) {
+            bytesSaved.add(sizeEstimator.applyAsLong(value));
+        }
+        return canonical;
+    }
+
+    protected V recordMiss(V canonical) {
+        misses.increment();
+        return canonical;
+    }
+
+    private static final class NoOpInterner<V> extends Interner<V> {
+
+        private NoOpInterner() {
+            super(value -> 0);
+        }
+
+        @Override
+        protected V lookup(V value, UnaryOperator<V> canonicalizer) {
+            return value;
+        }
+
+        @Override
+        public int size() {
+            return 0;
+        }
+
+        @Override
+        public void clear() {
+            // nothing is kept
+        }
+    }
+
+    private static final class WeakInterner<V> extends Interner<V> {
+
+        private final Map<V, WeakReference<V>> canonicals = new WeakHashMap<>();
+
+        private WeakInterner(ToLongFunction<V> sizeEstimator) {
+            super(sizeEstimator);
+        }
+
+        @Override
+        protected synchronized V lookup(V value, UnaryOperator<V> canonicalizer) {
+            WeakReference<V> reference = canonicals.get(value);
+            V canonical = reference == null ? null : reference.get();
+            if (canonical != null) {
+                return recordHit(value, canonical);
+            }
+            canonical = canonicalizer.apply(value);
+            canonicals.put(canonical, new WeakReference<>(canonical));
+            return recordMiss(canonical);
+        }
+
+        @Override
+        public synchronized int size() {
+            return canonicals.size();
+        }
+
+        @Override
+        public synchronized void clear() {
+            canonicals.clear();
+        }
+    }
+
+    private static final class BoundedInterner<V> extends Interner<V> {
+
+        private final int generationSize;
+        private volatile ConcurrentHashMap<V, V> current = new ConcurrentHashMap<>();
+        private volatile ConcurrentHashMap<V, V> previous = new ConcurrentHashMap<>();
+
+        private BoundedInterner(int maxSize, ToLongFunction<V> sizeEstimator) {
+            super(sizeEstimator);
+            this.generationSize = maxSize / 2;
+        }
+
+        @Override
+        protected V lookup(V value, UnaryOperator<V> canonicalizer) {
+            V canonical = current.get(value);
+            if (canonical != null) {
+                return recordHit(value, canonical);
+            }
+            canonical = previous.get(value);
+            if (canonical != null) {
+                V promoted = add(canonical);
+                return recordHit(value, promoted == null ? canonical : promoted);
+            }
+            canonical = canonicalizer.apply(value);
+            V raced = add(canonical);
+            return raced == null ? recordMiss(canonical) : recordHit(value, raced);
+        }
+
+        @Nullable
+        private V add(V canonical) {
+            ConcurrentHashMap<V, V> generation = current;
+            V existing = generation.putIfAbsent(canonical, canonical);
+            if (existing == null && generation.size() >= generationSize) {
+                rotate(generation);
+            }
+            return existing;
+        }
+
+        private synchronized void rotate(ConcurrentHashMap<V, V> full) {
+            if (current == full) {
+                previous = full;
+                current = new ConcurrentHashMap<>();
+            }
+        }
+
+        @Override
+        public int size() {
+            return current.size() + previous.size();
+        }
+
+        @Override
+        public synchronized void clear() {
+            previous = new ConcurrentHashMap<>();
+            current = new ConcurrentHashMap<>();
+        }
+    }
+}
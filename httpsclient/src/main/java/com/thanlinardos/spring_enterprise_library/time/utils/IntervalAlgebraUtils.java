@@ -0,0 +1,772 @@
+package com.thanlinardos.spring_enterprise_library.time.utils;
+
+import com.thanlinardos.spring_enterprise_library.error.errorcodes.ErrorCode;
+import com.thanlinardos.spring_enterprise_library.time.model.IntervalDiff;
+import com.thanlinardos.spring_enterprise_library.time.model.IntervalDomain;
+import com.thanlinardos.spring_enterprise_library.time.model.TimelineChange;
+import com.thanlinardos.spring_enterprise_library.tuple.Pair;
+import jakarta.annotation.Nullable;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/**
+ * Sort-once sweep implementations of the interval algebra, shared by {@link com.thanlinardos.spring_enterprise_library.time.model.Interval},
+ * {@link com.thanlinardos.spring_enterprise_library.time.model.TimeInterval} and {@link com.thanlinardos.spring_enterprise_library.time.model.InstantInterval}
+ * through their {@link IntervalDomain}.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class IntervalAlgebraUtils {
+
+    /**
+     * Splits the given intervals into the elementary segments between all their bounds, see {@code Interval#split(Collection)}.
+     * <p>
+     * The start (and end) candidates are sorted once, and then matched against the sorted coverage of the input in a single sweep,
+     * which makes this O(n log n) instead of testing each candidate against every interval.
+     *
+     * @param domain    the domain of the intervals.
+     * @param intervals collection of intervals to split.
+     * @param <I>       the type of the interval.
+     * @param <T>       the type of the interval bounds.
+     * @return split list of intervals.
+     */
+    public static <I extends Comparable<I>, T> List<I> split(IntervalDomain<I, T> domain, Collection<I> intervals) {
+        if (intervals.size() <= 1) {
+            return new ArrayList<>(intervals);
+        }
+
+        List<I> coverage = mergeSorted(domain, sortedCopy(intervals), false);
+        // generate start bounds from end bounds, and vice versa, selecting only those that are covered by the given intervals
+        List<T> starts = getCoveredCandidates(domain, coverage, intervals, true);
+        List<T> ends = getCoveredCandidates(domain, coverage, intervals, false);
+
+        if (starts.size() != ends.size()) {
+            throw new IllegalStateException(String.format("Unable to split collection of intervals: %s", intervals));
+        }
+
+        List<I> splittedIntervals = new ArrayList<>(starts.size());
+        for (int i = 0; i < starts.size(); i++) {
+            splittedIntervals.add(domain.create(starts.get(i), ends.get(i)));
+        }
+        return splittedIntervals;
+    }
+
+    /**
+     * Normalizes the given intervals, see {@code Interval#normalize(Collection, boolean)}: sorts them once and merges them in a single pass.
+     * A null start is treated as the minimum, so all intervals with an open start are merged together.
+     *
+     * @param domain                 the domain of the intervals.
+     * @param intervals              collection of intervals to normalize.
+     * @param mergeAdjacentIntervals whether to merge adjacent intervals.
+     * @param <I>                    the type of the interval.
+     * @param <T>                    the type of the interval bounds.
+     * @return normalized list of intervals.
+     */
+    public static <I extends Comparable<I>, T> List<I> normalize(IntervalDomain<I, T> domain, Collection<I> intervals, boolean mergeAdjacentIntervals) {
+        return mergeSorted(domain, sortedCopy(intervals), mergeAdjacentIntervals);
+    }
+
+    /**
+     * Normalizes intervals that are expected to be sorted by their start already, merging them in a single pass without sorting.
+     * If an interval is found to start before the previous one, the rest of the input is normalized by sorting instead.
+     *
+     * @param domain                 the domain of the intervals.
+     * @param intervals              intervals sorted by their start (null first).
+     * @param mergeAdjacentIntervals whether to merge adjacent intervals.
+     * @param <I>                    the type of the interval.
+     * @param <T>                    the type of the interval bounds.
+     * @return normalized list of intervals.
+     */
+    public static <I extends Comparable<I>, T> List<I> normalizePresorted(IntervalDomain<I, T> domain, Iterable<I> intervals,
+                                                                          boolean mergeAdjacentIntervals) {
+        NormalizingAccumulator<I, T> accumulator = new NormalizingAccumulator<>(domain, mergeAdjacentIntervals);
+        for (I interval : intervals) {
+            accumulator.add(interval);
+        }
+        return accumulator.finish();
+    }
+
+    /**
+     * Returns a {@link Collector} normalizing the intervals of a stream, same as {@link #normalizePresorted(IntervalDomain, Iterable, boolean)}.
+     * Sorted streams are merged as they are consumed, while unsorted (or parallel) streams fall back to sorting at the end.
+     *
+     * @param domain                 the domain of the intervals.
+     * @param mergeAdjacentIntervals whether to merge adjacent intervals.
+     * @param <I>                    the type of the interval.
+     * @param <T>                    the type of the interval bounds.
+     * @return the normalizing collector.
+     */
+    public static <I extends Comparable<I>, T> Collector<I, ?, List<I>> toNormalized(IntervalDomain<I, T> domain, boolean mergeAdjacentIntervals) {
+        return Collector.of(
+                () -> new NormalizingAccumulator<>(domain, mergeAdjacentIntervals),
+                NormalizingAccumulator::add,
+                NormalizingAccumulator::combine,
+                NormalizingAccumulator::finish);
+    }
+
+    /**
+     * Checks if any of the given intervals overlap with each other, see {@code Interval#anyOverlaps(Collection)}.
+     * Intervals that are equal to each other are not considered overlapping.
+     * <p>
+     * The intervals are sorted once, after which it is enough to check each interval against the next distinct one,
+     * stopping at the first overlapping pair.
+     *
+     * @param domain    the domain of the intervals.
+     * @param intervals collection of intervals to check.
+     * @param <I>       the type of the interval.
+     * @param <T>       the type of the interval bounds.
+     * @return true if any two distinct intervals overlap, otherwise false.
+     */
+    public static <I extends Comparable<I>, T> boolean anyOverlaps(IntervalDomain<I, T> domain, Collection<I> intervals) {
+        if (intervals.size() <= 1) {
+            return false;
+        }
+        List<I> sortedIntervals = sortedCopy(intervals);
+        I previous = sortedIntervals.getFirst();
+        for (int i = 1; i < sortedIntervals.size(); i++) {
+            I current = sortedIntervals.get(i);
+            if (current.equals(previous)) {
+                continue;
+            }
+            if (domain.shouldMerge(domain.end(previous), domain.start(current), false)) {
+                return true;
+            }
+            previous = current;
+        }
+        return false;
+    }
+
+    /**
+     * Finds all pairs of the given elements whose intervals overlap with each other. Same as {@link #anyOverlaps(IntervalDomain, Collection)},
+     * elements with equal intervals are not considered overlapping.
+     * <p>
+     * The elements are sorted by their interval once and swept keeping only the elements that have not ended yet, grouped
+     * by equal intervals. Each step drops the ended groups, skips the group equal to the current interval and pairs the
+     * current element with every element of the other groups, so apart from the sort, all work is either dropping an
+     * element or producing a pair, which makes this O(n log n + k) for k overlapping pairs, even with many equal intervals.
+     *
+     * @param domain          the domain of the intervals.
+     * @param elements        collection of elements to check.
+     * @param intervalGetter  function returning the interval of an element.
+     * @param <E>             the type of the elements.
+     * @param <I>             the type of the interval.
+     * @param <T>             the type of the interval bounds.
+     * @return the overlapping pairs, each with the element whose interval comes first as the {@link Pair#first()}, ordered by their second element.
+     */
+    public static <E, I extends Comparable<I>, T> List<Pair<E, E>> findOverlappingPairs(IntervalDomain<I, T> domain, Collection<E> elements,
+                                                                                        Function<E, I> intervalGetter) {
+        List<E> sortedElements = new ArrayList<>(elements);
+        sortedElements.sort(Comparator.comparing(intervalGetter));
+
+        List<Pair<E, E>> overlappingPairs = new ArrayList<>();
+        List<EqualIntervalGroup<E, I>> active = new ArrayList<>();
+        for (E element : sortedElements) {
+            I interval = intervalGetter.apply(element);
+            @Nullable T start = domain.start(interval);
+            int kept = 0;
+            for (EqualIntervalGroup<E, I> group : active) {
+                if (domain.shouldMerge(domain.end(group.interval), start, false)) {
+                    active.set(kept++, group);
+                    if (!group.interval.equals(interval)) {
+                        group.elements.forEach(activeElement -> overlappingPairs.add(Pair.of(activeElement, element)));
+                    }
+                }
+            }
+            active.subList(kept, active.size()).clear();
+            // equal intervals are adjacent once sorted, so only the last group can be equal to the current interval
+            if (!active.isEmpty() && active.getLast().interval.equals(interval)) {
+                active.getLast().elements.add(element);
+            } else {
+                active.add(new EqualIntervalGroup<>(interval, element));
+            }
+        }
+        return overlappingPairs;
+    }
+
+    /**
+     * Returns the overlap of the given intervals, see {@code Interval#getOverlap(Interval)}.
+     *
+     * @param domain the domain of the intervals.
+     * @param first  the first interval.
+     * @param second the second interval.
+     * @param <I>    the type of the interval.
+     * @param <T>    the type of the interval bounds.
+     * @return the overlap of the intervals, or an empty Optional if they do not overlap.
+     */
+    public static <I extends Comparable<I>, T> Optional<I> getOverlap(IntervalDomain<I, T> domain, I first, I second) {
+        T start = domain.compareNullAsMin(domain.start(first), domain.start(second)) >= 0 ? domain.start(first) : domain.start(second);
+        T end = domain.compareNullAsMax(domain.end(first), domain.end(second)) <= 0 ? domain.end(first) : domain.end(second);
+        return domain.shouldMerge(end, start, false) ? Optional.of(domain.create(start, end)) : Optional.empty();
+    }
+
+    /**
+     * Returns the normalized portions of the first intervals that are not covered by the second intervals.
+     * <p>
+     * Each side is normalized once, after which the two sorted lists are merge-walked in O(n + m).
+     *
+     * @param domain the domain of the intervals.
+     * @param first  the intervals to subtract from.
+     * @param second the intervals to subtract.
+     * @param <I>    the type of the interval.
+     * @param <T>    the type of the interval bounds.
+     * @return the normalized difference, with adjacent intervals merged.
+     */
+    public static <I extends Comparable<I>, T> List<I> difference(IntervalDomain<I, T> domain, Collection<I> first, Collection<I> second) {
+        List<I> normalizedFirst = mergeSorted(domain, sortedCopy(first), true);
+        if (second.isEmpty()) {
+            return normalizedFirst;
+        }
+        return subtractNormalized(domain, normalizedFirst, mergeSorted(domain, sortedCopy(second), true));
+    }
+
+    /**
+     * Returns the normalized portions covered by exactly one of the given sides.
+     *
+     * @param domain the domain of the intervals.
+     * @param first  the first intervals.
+     * @param second the second intervals.
+     * @param <I>    the type of the interval.
+     * @param <T>    the type of the interval bounds.
+     * @return the normalized symmetric difference, with adjacent intervals merged.
+     */
+    public static <I extends Comparable<I>, T> List<I> symmetricDifference(IntervalDomain<I, T> domain, Collection<I> first, Collection<I> second) {
+        List<I> normalizedFirst = mergeSorted(domain, sortedCopy(first), true);
+        List<I> normalizedSecond = mergeSorted(domain, sortedCopy(second), true);
+        return unionNormalized(domain,
+                subtractNormalized(domain, normalizedFirst, normalizedSecond),
+                subtractNormalized(domain, normalizedSecond, normalizedFirst));
+    }
+
+    /**
+     * Returns the normalized portions covered by all the given sides, see {@link #atLeastK(IntervalDomain, Collection, int)}.
+     *
+     * @param domain the domain of the intervals.
+     * @param sides  the intervals of each side.
+     * @param <I>    the type of the interval.
+     * @param <T>    the type of the interval bounds.
+     * @return the normalized intersection of the sides, or an empty list if there are no sides.
+     */
+    public static <I extends Comparable<I>, T> List<I> intersectAll(IntervalDomain<I, T> domain, Collection<? extends Collection<I>> sides) {
+        return sides.isEmpty() ? new ArrayList<>() : atLeastK(domain, sides, sides.size());
+    }
+
+    /**
+     * Returns the normalized portions covered by any of the given sides, see {@link #atLeastK(IntervalDomain, Collection, int)}.
+     *
+     * @param domain the domain of the intervals.
+     * @param sides  the intervals of each side.
+     * @param <I>    the type of the interval.
+     * @param <T>    the type of the interval bounds.
+     * @return the normalized union of the sides.
+     */
+    public static <I extends Comparable<I>, T> List<I> unionAll(IntervalDomain<I, T> domain, Collection<? extends Collection<I>> sides) {
+        return atLeastK(domain, sides, 1);
+    }
+
+    /**
+     * Returns the normalized portions covered by at least {@code k} of the given sides.
+     * <p>
+     * Each side is normalized on its own, in a single pass if it is sorted already, see {@link #normalizePresorted(IntervalDomain, Iterable, boolean)}.
+     * The sides are then swept together with a heap of their next intervals and a heap of the active ones by their end, both
+     * holding at most one interval per side, which takes O(N log k) for N intervals in k sides instead of chaining pairwise
+     * operations that re-normalize the result at every step.
+     *
+     * @param domain the domain of the intervals.
+     * @param sides  the intervals of each side.
+     * @param k      the minimum number of sides covering the result, at least 1.
+     * @param <I>    the type of the interval.
+     * @param <T>    the type of the interval bounds.
+     * @return the normalized portions covered by at least {@code k} sides, with adjacent intervals merged.
+     */
+    public static <I extends Comparable<I>, T> List<I> atLeastK(IntervalDomain<I, T> domain, Collection<? extends Collection<I>> sides, int k) {
+        if (k < 1) {
+            throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("The minimum number of covering sides must be at least 1, but was {0}.", new Object[]{k});
+        }
+        List<I> result = new ArrayList<>();
+        if (k > sides.size()) {
+            return result;
+        }
+        PriorityQueue<SideCursor<I>> nextIntervals = new PriorityQueue<>(sides.size(),
+                (first, second) -> domain.compareNullAsMin(domain.start(first.current), domain.start(second.current)));
+        for (Collection<I> side : sides) {
+            SideCursor<I> cursor = new SideCursor<>(normalizePresorted(domain, side, true).iterator());
+            if (cursor.advance()) {
+                nextIntervals.add(cursor);
+            }
+        }
+
+        PriorityQueue<I> active = new PriorityQueue<>(sides.size(), (first, second) -> domain.compareNullAsMax(domain.end(first), domain.end(second)));
+        @Nullable T start = null;
+        while (!nextIntervals.isEmpty() || !active.isEmpty()) {
+            SideCursor<I> next = nextIntervals.peek();
+            if (next != null && (active.isEmpty() || domain.shouldMerge(domain.end(active.peek()), domain.start(next.current), false))) {
+                // the coverage increases from the start of the next interval, which is not after the first active end
+                if (active.size() + 1 == k) {
+                    start = domain.start(next.current);
+                }
+                active.add(next.current);
+                nextIntervals.poll();
+                if (next.advance()) {
+                    nextIntervals.add(next);
+                }
+            } else {
+                @Nullable T end = domain.end(active.poll());
+                if (active.size() + 1 == k) {
+                    appendMerged(domain, result, start, end);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the minimal changes between two versions of a normalized timeline, as the portions only covered by one of them.
+     * <pre>
+     * Old:
+     *     [------A------]      [--B--]
+     * New:
+     *         [------C------]  [--B--]  [-D-]
+     * Added:
+     *                    [--]           [-D-]
+     * Removed:
+     *     [--]
+     * </pre>
+     * Both lists are merge-walked once, in O(n + m), instead of replacing the whole timeline.
+     *
+     * @param domain       the domain of the intervals.
+     * @param oldIntervals the old version, sorted and without overlaps.
+     * @param newIntervals the new version, sorted and without overlaps.
+     * @param <I>          the type of the interval.
+     * @param <T>          the type of the interval bounds.
+     * @return the added and removed portions, normalized with adjacent intervals merged.
+     * @throws com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException if one of the versions is not normalized.
+     */
+    public static <I extends Comparable<I>, T> IntervalDiff<I> diff(IntervalDomain<I, T> domain, List<I> oldIntervals, List<I> newIntervals) {
+        checkNormalized(domain, oldIntervals, Function.identity());
+        checkNormalized(domain, newIntervals, Function.identity());
+        List<I> added = new ArrayList<>();
+        List<I> removed = new ArrayList<>();
+        mergeWalk(domain, oldIntervals, newIntervals, Function.identity(), new DiffVisitor<>() {
+            @Override
+            public void added(I element, @Nullable T start, @Nullable T end) {
+                appendMerged(domain, added, start, end);
+            }
+
+            @Override
+            public void removed(I element, @Nullable T start, @Nullable T end) {
+                appendMerged(domain, removed, start, end);
+            }
+
+            @Override
+            public void common(I oldElement, I newElement, @Nullable T start, @Nullable T end) {
+                // unchanged
+            }
+        });
+        return new IntervalDiff<>(added, removed);
+    }
+
+    /**
+     * Returns the minimal changes between two versions of a timeline of values, such as the entries of a
+     * {@link com.thanlinardos.spring_enterprise_library.time.collection.AbstractTimelineMap}, cut at the bounds of the
+     * segments of both versions. Adjacent changes of the same type and values are merged.
+     * <pre>
+     * Old:
+     *     [---x---][---y---]
+     * New:
+     *     [---x---][-z-]     [-x-]
+     * Changes:
+     *              [CHG][RM] [ADD]
+     * </pre>
+     * Here y is changed to z, the rest of y is removed and x is added.
+     * Both lists are merge-walked once, in O(n + m).
+     *
+     * @param domain     the domain of the intervals.
+     * @param oldEntries the segments of the old version, sorted and without overlaps.
+     * @param newEntries the segments of the new version, sorted and without overlaps.
+     * @param <I>        the type of the interval.
+     * @param <T>        the type of the interval bounds.
+     * @param <V>        the type of the values.
+     * @return the added, removed and changed intervals, in ascending order.
+     * @throws com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException if one of the versions has overlapping segments.
+     */
+    public static <I extends Comparable<I>, T, V> List<TimelineChange<I, V>> diffTimelines(IntervalDomain<I, T> domain, List<Pair<I, V>> oldEntries,
+                                                                                      List<Pair<I, V>> newEntries) {
+        checkNormalized(domain, oldEntries, Pair::first);
+        checkNormalized(domain, newEntries, Pair::first);
+        List<TimelineChange<I, V>> changes = new ArrayList<>();
+        mergeWalk(domain, oldEntries, newEntries, Pair::first, new DiffVisitor<>() {
+            @Override
+            public void added(Pair<I, V> element, @Nullable T start, @Nullable T end) {
+                appendChange(domain, changes, TimelineChange.Type.ADDED, start, end, null, element.second());
+            }
+
+            @Override
+            public void removed(Pair<I, V> element, @Nullable T start, @Nullable T end) {
+                appendChange(domain, changes, TimelineChange.Type.REMOVED, start, end, element.second(), null);
+            }
+
+            @Override
+            public void common(Pair<I, V> oldElement, Pair<I, V> newElement, @Nullable T start, @Nullable T end) {
+                if (!Objects.equals(oldElement.second(), newElement.second())) {
+                    appendChange(domain, changes, TimelineChange.Type.CHANGED, start, end, oldElement.second(), newElement.second());
+                }
+            }
+        });
+        return changes;
+    }
+
+    private static <E, I extends Comparable<I>, T> void checkNormalized(IntervalDomain<I, T> domain, List<E> elements, Function<E, I> intervalGetter) {
+        for (int i = 1; i < elements.size(); i++) {
+            I previous = intervalGetter.apply(elements.get(i - 1));
+            I next = intervalGetter.apply(elements.get(i));
+            if (domain.shouldMerge(domain.end(previous), domain.start(next), false)) {
+                throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("The intervals must be sorted and not overlap, but {0} is followed by {1}.",
+                        new Object[]{previous, next});
+            }
+        }
+    }
+
+    /**
+     * Walks two sorted lists of non-overlapping elements together, reporting each maximal portion covered by the old
+     * elements only, by the new elements only, or by both.
+     */
+    private static <E, I extends Comparable<I>, T> void mergeWalk(IntervalDomain<I, T> domain, List<E> oldElements, List<E> newElements,
+                                                                  Function<E, I> intervalGetter, DiffVisitor<E, T> visitor) {
+        int i = 0;
+        int j = 0;
+        @Nullable T oldStart = oldElements.isEmpty() ? null : domain.start(intervalGetter.apply(oldElements.getFirst()));
+        @Nullable T newStart = newElements.isEmpty() ? null : domain.start(intervalGetter.apply(newElements.getFirst()));
+        while (i < oldElements.size() && j < newElements.size()) {
+            E oldElement = oldElements.get(i);
+            E newElement = newElements.get(j);
+            @Nullable T oldEnd = domain.end(intervalGetter.apply(oldElement));
+            @Nullable T newEnd = domain.end(intervalGetter.apply(newElement));
+            if (!domain.shouldMerge(oldEnd, newStart, false)) {
+                visitor.removed(oldElement, oldStart, oldEnd);
+                oldStart = ++i < oldElements.size() ? domain.start(intervalGetter.apply(oldElements.get(i))) : null;
+            } else if (!domain.shouldMerge(newEnd, oldStart, false)) {
+                visitor.added(newElement, newStart, newEnd);
+                newStart = ++j < newElements.size() ? domain.start(intervalGetter.apply(newElements.get(j))) : null;
+            } else if (domain.compareNullAsMin(oldStart, newStart) < 0) {
+                visitor.removed(oldElement, oldStart, domain.previous(newStart));
+                oldStart = newStart;
+            } else if (domain.compareNullAsMin(oldStart, newStart) > 0) {
+                visitor.added(newElement, newStart, domain.previous(oldStart));
+                newStart = oldStart;
+            } else {
+                int endComparison = domain.compareNullAsMax(oldEnd, newEnd);
+                visitor.common(oldElement, newElement, oldStart, endComparison <= 0 ? oldEnd : newEnd);
+                if (endComparison <= 0) {
+                    oldStart = ++i < oldElements.size() ? domain.start(intervalGetter.apply(oldElements.get(i))) : null;
+                } else {
+                    oldStart = domain.next(newEnd);
+                }
+                if (endComparison >= 0) {
+                    newStart = ++j < newElements.size() ? domain.start(intervalGetter.apply(newElements.get(j))) : null;
+                } else {
+                    newStart = domain.next(oldEnd);
+                }
+            }
+        }
+        for (; i < oldElements.size(); i++, oldStart = i < oldElements.size() ? domain.start(intervalGetter.apply(oldElements.get(i))) : null) {
+            visitor.removed(oldElements.get(i), oldStart, domain.end(intervalGetter.apply(oldElements.get(i))));
+        }
+        for (; j < newElements.size(); j++, newStart = j < newElements.size() ? domain.start(intervalGetter.apply(newElements.get(j))) : null) {
+            visitor.added(newElements.get(j), newStart, domain.end(intervalGetter.apply(newElements.get(j))));
+        }
+    }
+
+    private static <I extends Comparable<I>, T, V> void appendChange(IntervalDomain<I, T> domain, List<TimelineChange<I, V>> changes, TimelineChange.Type type,
+                                                                     @Nullable T start, @Nullable T end, @Nullable V oldValue, @Nullable V newValue) {
+        if (!changes.isEmpty()) {
+            TimelineChange<I, V> last = changes.getLast();
+            if (last.type() == type && Objects.equals(last.oldValue(), oldValue) && Objects.equals(last.newValue(), newValue)
+                    && domain.shouldMerge(domain.end(last.interval()), start, true)) {
+                changes.set(changes.size() - 1, new TimelineChange<>(type, domain.create(domain.start(last.interval()), end), oldValue, newValue));
+                return;
+            }
+        }
+        changes.add(new TimelineChange<>(type, domain.create(start, end), oldValue, newValue));
+    }
+
+    private static <I extends Comparable<I>, T> void appendMerged(IntervalDomain<I, T> domain, List<I> result, @Nullable T start, @Nullable T end) {
+        if (!result.isEmpty() && domain.shouldMerge(domain.end(result.getLast()), start, true)) {
+            result.set(result.size() - 1, domain.create(domain.start(result.getLast()), end));
+        } else {
+            result.add(domain.create(start, end));
+        }
+    }
+
+    private static <I extends Comparable<I>, T> List<I> subtractNormalized(IntervalDomain<I, T> domain, List<I> first, List<I> second) {
+        List<I> result = new ArrayList<>();
+        int j = 0;
+        for (I interval : first) {
+            @Nullable T current = domain.start(interval);
+            @Nullable T end = domain.end(interval);
+            while (j < second.size() && !domain.shouldMerge(domain.end(second.get(j)), current, false)) {
+                j++;
+            }
+            boolean exhausted = false;
+            boolean modified = false;
+            for (int k = j; k < second.size() && domain.shouldMerge(end, domain.start(second.get(k)), false); k++) {
+                I subtracted = second.get(k);
+                if (domain.compareNullAsMin(domain.start(subtracted), current) > 0) {
+                    result.add(domain.create(current, domain.previous(domain.start(subtracted))));
+                }
+                modified = true;
+                if (domain.compareNullAsMax(domain.end(subtracted), end) >= 0) {
+                    exhausted = true;
+                    break;
+                }
+                current = domain.next(domain.end(subtracted));
+            }
+            if (!exhausted) {
+                result.add(modified ? domain.create(current, end) : interval);
+            }
+        }
+        return result;
+    }
+
+    private static <I extends Comparable<I>, T> List<I> unionNormalized(IntervalDomain<I, T> domain, List<I> first, List<I> second) {
+        List<I> merged = new ArrayList<>(first.size() + second.size());
+        int i = 0;
+        int j = 0;
+        while (i < first.size() || j < second.size()) {
+            if (j == second.size() || (i < first.size() && first.get(i).compareTo(second.get(j)) <= 0)) {
+                merged.add(first.get(i++));
+            } else {
+                merged.add(second.get(j++));
+            }
+        }
+        return mergeSorted(domain, merged, true);
+    }
+
+    private static <I extends Comparable<I>, T> List<T> getCoveredCandidates(IntervalDomain<I, T> domain, List<I> coverage,
+                                                                             Collection<I> intervals, boolean forStarts) {
+        List<T> candidates = new ArrayList<>(intervals.size() * 2);
+        for (I interval : intervals) {
+            if (forStarts) {
+                candidates.add(domain.start(interval));
+                addIfNotNull(candidates, domain.next(domain.end(interval)));
+            } else {
+                candidates.add(domain.end(interval));
+                addIfNotNull(candidates, domain.previous(domain.start(interval)));
+            }
+        }
+        candidates.sort(forStarts ? domain.nullAsMinComparator() : domain.nullAsMaxComparator());
+
+        List<T> covered = new ArrayList<>(candidates.size());
+        int segment = 0;
+        @Nullable T previous = null;
+        boolean first = true;
+        for (T candidate : candidates) {
+            if (!first && Objects.equals(previous, candidate)) {
+                continue;
+            }
+            first = false;
+            previous = candidate;
+            if (candidate == null) {
+                // an open bound is covered only by an open bound on the same side
+                I openSegment = forStarts ? coverage.getFirst() : coverage.getLast();
+                if ((forStarts ? domain.start(openSegment) : domain.end(openSegment)) == null) {
+                    covered.add(null);
+                }
+                continue;
+            }
+            while (segment < coverage.size() - 1 && domain.compareNullAsMax(domain.end(coverage.get(segment)), candidate) < 0) {
+                segment++;
+            }
+            if (domain.contains(coverage.get(segment), candidate)) {
+                covered.add(candidate);
+            }
+        }
+        return covered;
+    }
+
+    private static <T> void addIfNotNull(List<T> list, @Nullable T value) {
+        if (value != null) {
+            list.add(value);
+        }
+    }
+
+    /**
+     * Merges the given sorted intervals in a single pass, see {@link IntervalDomain#shouldMerge(Object, Object, boolean)}.
+     *
+     * @param domain                 the domain of the intervals.
+     * @param sortedIntervals        intervals sorted by their natural order.
+     * @param mergeAdjacentIntervals whether to merge adjacent intervals.
+     * @param <I>                    the type of the interval.
+     * @param <T>                    the type of the interval bounds.
+     * @return the merged list of intervals.
+     */
+    static <I extends Comparable<I>, T> List<I> mergeSorted(IntervalDomain<I, T> domain, List<I> sortedIntervals, boolean mergeAdjacentIntervals) {
+        List<I> result = new ArrayList<>();
+        if (sortedIntervals.isEmpty()) {
+            return result;
+        }
+        I current = sortedIntervals.getFirst();
+        @Nullable T start = domain.start(current);
+        @Nullable T end = domain.end(current);
+        boolean modified = false;
+        for (int i = 1; i < sortedIntervals.size(); i++) {
+            I next = sortedIntervals.get(i);
+            if (domain.shouldMerge(end, domain.start(next), mergeAdjacentIntervals)) {
+                if (domain.compareNullAsMax(domain.end(next), end) > 0) {
+                    end = domain.end(next);
+                    modified = true;
+                }
+            } else {
+                result.add(modified ? domain.create(start, end) : current);
+                current = next;
+                start = domain.start(next);
+                end = domain.end(next);
+                modified = false;
+            }
+        }
+        result.add(modified ? domain.create(start, end) : current);
+        return result;
+    }
+
+    static <I extends Comparable<I>> List<I> sortedCopy(Collection<I> intervals) {
+        List<I> sortedIntervals = new ArrayList<>(intervals);
+        sortedIntervals.sort(null);
+        return sortedIntervals;
+    }
+
+    /**
+     * Receives the portions reported by a merge walk of two versions of a timeline.
+     */
+    private interface DiffVisitor<E, T> {
+
+        void added(E element, @Nullable T start, @Nullable T end);
+
+        void removed(E element, @Nullable T start, @Nullable T end);
+
+        void common(E oldElement, E newElement, @Nullable T start, @Nullable T end);
+    }
+
+    /**
+     * The elements with equal intervals that have not ended yet in the sweep of {@link #findOverlappingPairs(IntervalDomain, Collection, Function)}.
+     */
+    private static final class EqualIntervalGroup<E, I> {
+
+        private final I interval;
+        private final List<E> elements = new ArrayList<>();
+
+        private EqualIntervalGroup(I interval, E element) {
+            this.interval = interval;
+            this.elements.add(element);
+        }
+    }
+
+    /**
+     * The position of a k-way sweep in the normalized intervals of one side.
+     */
+    private static final class SideCursor<I> {
+
+        private final Iterator<I> intervals;
+        private I current;
+
+        private SideCursor(Iterator<I> intervals) {
+            this.intervals = intervals;
+        }
+
+        private boolean advance() {
+            if (!intervals.hasNext()) {
+                return false;
+            }
+            current = intervals.next();
+            return true;
+        }
+    }
+
+    /**
+     * Merges intervals as they are added while they arrive sorted by their start. Once an interval arrives out of order,
+     * the merged intervals so far and all following intervals are only collected, to be sorted and merged when finishing.
+     */
+    private static final class NormalizingAccumulator<I extends Comparable<I>, T> {
+
+        private final IntervalDomain<I, T> domain;
+        private final boolean mergeAdjacentIntervals;
+        private final List<I> result = new ArrayList<>();
+        private boolean sorted = true;
+        @Nullable
+        private I current;
+        @Nullable
+        private T start;
+        @Nullable
+        private T end;
+        private boolean modified;
+
+        private NormalizingAccumulator(IntervalDomain<I, T> domain, boolean mergeAdjacentIntervals) {
+            this.domain = domain;
+            this.mergeAdjacentIntervals = mergeAdjacentIntervals;
+        }
+
+        private void add(I interval) {
+            if (!sorted) {
+                result.add(interval);
+            } else if (current == null) {
+                setCurrent(interval);
+            } else if (domain.compareNullAsMin(domain.start(interval), start) < 0) {
+                switchToUnsorted();
+                result.add(interval);
+            } else if (domain.shouldMerge(end, domain.start(interval), mergeAdjacentIntervals)) {
+                if (domain.compareNullAsMax(domain.end(interval), end) > 0) {
+                    end = domain.end(interval);
+                    modified = true;
+                }
+            } else {
+                result.add(getMergedCurrent());
+                setCurrent(interval);
+            }
+        }
+
+        private NormalizingAccumulator<I, T> combine(NormalizingAccumulator<I, T> other) {
+            switchToUnsorted();
+            other.switchToUnsorted();
+            result.addAll(other.result);
+            return this;
+        }
+
+        private List<I> finish() {
+            if (!sorted) {
+                return normalize(domain, result, mergeAdjacentIntervals);
+            }
+            if (current != null) {
+                result.add(getMergedCurrent());
+                current = null;
+            }
+            return result;
+        }
+
+        private void setCurrent(I interval) {
+            current = interval;
+            start = domain.start(interval);
+            end = domain.end(interval);
+            modified = false;
+        }
+
+        private I getMergedCurrent() {
+            return modified ? domain.create(start, end) : current;
+        }
+
+        private void switchToUnsorted() {
+            if (current != null) {
+                result.add(getMergedCurrent());
+                current = null;
+            }
+            sorted = false;
+        }
+    }
+}
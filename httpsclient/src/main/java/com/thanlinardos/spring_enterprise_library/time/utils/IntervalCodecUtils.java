@@ -0,0 +1,450 @@
+package com.thanlinardos.spring_enterprise_library.time.utils;
+
+import com.thanlinardos.spring_enterprise_library.error.errorcodes.ErrorCode;
+import com.thanlinardos.spring_enterprise_library.time.model.InstantInterval;
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import com.thanlinardos.spring_enterprise_library.time.model.IntervalDomain;
+import com.thanlinardos.spring_enterprise_library.time.model.TimeInterval;
+import jakarta.annotation.Nullable;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import static com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils.OPEN_END;
+import static com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils.OPEN_START;
+
+/**
+ * Utility class for encoding lists of intervals in a compact binary format, and decoding them either to intervals or to
+ * primitive epoch values.
+ * <p>
+ * The format starts with a type byte ({@code 1} for {@link Interval}s, {@code 2} for {@link TimeInterval}s and {@code 3} for
+ * {@link InstantInterval}s) and the number of intervals as a varint. Each interval is then written as the zigzag varint of the
+ * difference of its start to the previously written bound, shifted left by two bits to hold the open start (bit 0) and open end
+ * (bit 1) flags, followed by the zigzag varint of the difference of its end to its start. Open bounds are not written. Dates are
+ * written as epoch days. Date times (as wall clock in UTC) and instants are written as epoch seconds, each followed by the varint
+ * of its nanosecond of the second.
+ * <p>
+ * The deltas of sorted and normalized lists are small and non-negative, so most bounds take one or two bytes. Any list can be
+ * encoded, in any order, and decodes to an equal list. Encoding and decoding stream over a {@link ByteBuffer}, from its
+ * position, or over an {@link OutputStream} or {@link InputStream}, and decoding to epoch values creates no date or time objects.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class IntervalCodecUtils {
+
+    private static final int OPEN_START_FLAG = 1;
+    private static final int OPEN_END_FLAG = 2;
+    private static final int FLAG_BITS = 2;
+    private static final int MAX_VARINT_BYTES = 10;
+    private static final String UNEXPECTED_END_MESSAGE = "Unexpected end of encoded intervals.";
+
+    private static final Format<Interval, LocalDate> DATES = new Format<>(1, IntervalDomain.DATES, LocalDate::toEpochDay, null,
+            (epochDay, nanos) -> LocalDate.ofEpochDay(epochDay));
+    private static final Format<TimeInterval, LocalDateTime> DATE_TIMES = new Format<>(2, IntervalDomain.DATE_TIMES,
+            dateTime -> dateTime.toEpochSecond(ZoneOffset.UTC), LocalDateTime::getNano,
+            (epochSecond, nanos) -> LocalDateTime.ofEpochSecond(epochSecond, nanos, ZoneOffset.UTC));
+    private static final Format<InstantInterval, Instant> INSTANTS = new Format<>(3, IntervalDomain.INSTANTS,
+            Instant::getEpochSecond, Instant::getNano, Instant::ofEpochSecond);
+
+    /**
+     * Encodes the given date intervals.
+     *
+     * @param intervals the intervals, preferably sorted.
+     * @return the encoded bytes.
+     */
+    public static byte[] encodeDates(Collection<Interval> intervals) {
+        return encode(DATES, intervals);
+    }
+
+    /**
+     * Encodes the given date intervals into the buffer, from its position.
+     *
+     * @param intervals the intervals, preferably sorted.
+     * @param buffer    the buffer to write to.
+     * @throws java.nio.BufferOverflowException if the buffer is too small.
+     */
+    public static void encodeDates(Collection<Interval> intervals, ByteBuffer buffer) {
+        encode(DATES, intervals, buffer);
+    }
+
+    /**
+     * Encodes the given date intervals into the stream.
+     *
+     * @param intervals the intervals, preferably sorted.
+     * @param out       the stream to write to.
+     * @throws IOException if the stream fails.
+     */
+    public static void encodeDates(Collection<Interval> intervals, OutputStream out) throws IOException {
+        write(DATES, intervals, out::write);
+    }
+
+    /**
+     * Encodes the given date time intervals.
+     *
+     * @param intervals the intervals, preferably sorted.
+     * @return the encoded bytes.
+     */
+    public static byte[] encodeDateTimes(Collection<TimeInterval> intervals) {
+        return encode(DATE_TIMES, intervals);
+    }
+
+    /**
+     * Encodes the given date time intervals into the buffer, from its position.
+     *
+     * @param intervals the intervals, preferably sorted.
+     * @param buffer    the buffer to write to.
+     * @throws java.nio.BufferOverflowException if the buffer is too small.
+     */
+    public static void encodeDateTimes(Collection<TimeInterval> intervals, ByteBuffer buffer) {
+        encode(DATE_TIMES, intervals, buffer);
+    }
+
+    /**
+     * Encodes the given date time intervals into the stream.
+     *
+     * @param intervals the intervals, preferably sorted.
+     * @param out       the stream to write to.
+     * @throws IOException if the stream fails.
+     */
+    public static void encodeDateTimes(Collection<TimeInterval> intervals, OutputStream out) throws IOException {
+        write(DATE_TIMES, intervals, out::write);
+    }
+
+    /**
+     * Encodes the given instant intervals.
+     *
+     * @param intervals the intervals, preferably sorted.
+     * @return the encoded bytes.
+     */
+    public static byte[] encodeInstants(Collection<InstantInterval> intervals) {
+        return encode(INSTANTS, intervals);
+    }
+
+    /**
+     * Encodes the given instant intervals into the buffer, from its position.
+     *
+     * @param intervals the intervals, preferably sorted.
+     * @param buffer    the buffer to write to.
+     * @throws java.nio.BufferOverflowException if the buffer is too small.
+     */
+    public static void encodeInstants(Collection<InstantInterval> intervals, ByteBuffer buffer) {
+        encode(INSTANTS, intervals, buffer);
+    }
+
+    /**
+     * Encodes the given instant intervals into the stream.
+     *
+     * @param intervals the intervals, preferably sorted.
+     * @param out       the stream to write to.
+     * @throws IOException if the stream fails.
+     */
+    public static void encodeInstants(Collection<InstantInterval> intervals, OutputStream out) throws IOException {
+        write(INSTANTS, intervals, out::write);
+    }
+
+    /**
+     * Decodes date intervals from the buffer, from its position.
+     *
+     * @param buffer the buffer to read from.
+     * @return the decoded intervals.
+     * @throws com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException if the data is not encoded date intervals or is truncated.
+     */
+    public static List<Interval> decodeDates(ByteBuffer buffer) {
+        return decode(DATES, buffer);
+    }
+
+    /**
+     * Decodes date intervals from the stream.
+     *
+     * @param in the stream to read from.
+     * @return the decoded intervals.
+     * @throws IOException if the stream fails or the data is truncated.
+     * @throws com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException if the data is not encoded date intervals.
+     */
+    public static List<Interval> decodeDates(InputStream in) throws IOException {
+        return decode(DATES, in);
+    }
+
+    /**
+     * Decodes date time intervals from the buffer, from its position.
+     *
+     * @param buffer the buffer to read from.
+     * @return the decoded intervals.
+     * @throws com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException if the data is not encoded date time intervals or is truncated.
+     */
+    public static List<TimeInterval> decodeDateTimes(ByteBuffer buffer) {
+        return decode(DATE_TIMES, buffer);
+    }
+
+    /**
+     * Decodes date time intervals from the stream.
+     *
+     * @param in the stream to read from.
+     * @return the decoded intervals.
+     * @throws IOException if the stream fails or the data is truncated.
+     * @throws com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException if the data is not encoded date time intervals.
+     */
+    public static List<TimeInterval> decodeDateTimes(InputStream in) throws IOException {
+        return decode(DATE_TIMES, in);
+    }
+
+    /**
+     * Decodes instant intervals from the buffer, from its position.
+     *
+     * @param buffer the buffer to read from.
+     * @return the decoded intervals.
+     * @throws com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException if the data is not encoded instant intervals or is truncated.
+     */
+    public static List<InstantInterval> decodeInstants(ByteBuffer buffer) {
+        return decode(INSTANTS, buffer);
+    }
+
+    /**
+     * Decodes instant intervals from the stream.
+     *
+     * @param in the stream to read from.
+     * @return the decoded intervals.
+     * @throws IOException if the stream fails or the data is truncated.
+     * @throws com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException if the data is not encoded instant intervals.
+     */
+    public static List<InstantInterval> decodeInstants(InputStream in) throws IOException {
+        return decode(INSTANTS, in);
+    }
+
+    /**
+     * Decodes date intervals from the buffer, from its position, to a flat array of epoch days, without creating dates.
+     *
+     * @param buffer the buffer to read from.
+     * @return the start and end epoch day of each interval in turn, with {@link EpochUtils#OPEN_START} and
+     * {@link EpochUtils#OPEN_END} for open bounds.
+     * @throws com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException if the data is not encoded date intervals or is truncated.
+     */
+    public static long[] decodeEpochDays(ByteBuffer buffer) {
+        return decodeEpochValues(buffer, DATES.type(), DATES.type(), false, TimeUnit.DAYS);
+    }
+
+    /**
+     * Decodes date time or instant intervals from the buffer, from its position, to a flat array of epoch values in the given
+     * unit, without creating date times or instants.
+     *
+     * @param buffer the buffer to read from.
+     * @param unit   the unit to count in, which all the bounds must be whole numbers of.
+     * @return the start and end value of each interval in turn, with {@link EpochUtils#OPEN_START} and
+     * {@link EpochUtils#OPEN_END} for open bounds.
+     * @throws com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException if the data is not encoded date time
+     *                                                                                    or instant intervals, is truncated, or a bound is not a whole number of the unit.
+     */
+    public static long[] decodeEpochValues(ByteBuffer buffer, TimeUnit unit) {
+        return decodeEpochValues(buffer, DATE_TIMES.type(), INSTANTS.type(), true, unit);
+    }
+
+    private static <I extends Comparable<I>, T> byte[] encode(Format<I, T> format, Collection<I> intervals) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8 + intervals.size() * 4);
+        try {
+            write(format, intervals, out::write);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static <I extends Comparable<I>, T> void encode(Format<I, T> format, Collection<I> intervals, ByteBuffer buffer) {
+        try {
+            write(format, intervals, b -> buffer.put((byte) b));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <I extends Comparable<I>, T> void write(Format<I, T> format, Collection<I> intervals, ByteSink sink) throws IOException {
+        sink.write(format.type());
+        writeVarint(sink, intervals.size());
+        long previous = 0;
+        for (I interval : intervals) {
+            T start = format.domain().start(interval);
+            T end = format.domain().end(interval);
+            long startValue = start == null ? previous : format.major().applyAsLong(start);
+            int flags = (start == null ? OPEN_START_FLAG : 0) | (end == null ? OPEN_END_FLAG : 0);
+            writeVarint(sink, zigzag(startValue - previous) << FLAG_BITS | flags);
+            if (start != null && format.hasNanos()) {
+                writeVarint(sink, format.nanos().applyAsInt(start));
+            }
+            previous = startValue;
+            if (end != null) {
+                long endValue = format.major().applyAsLong(end);
+                writeVarint(sink, zigzag(endValue - previous));
+                if (format.hasNanos()) {
+                    writeVarint(sink, format.nanos().applyAsInt(end));
+                }
+                previous = endValue;
+            }
+        }
+    }
+
+    private static <I extends Comparable<I>, T> List<I> decode(Format<I, T> format, ByteBuffer buffer) {
+        try {
+            return decode(format, () -> buffer.get() & 0xFF, buffer.remaining());
+        } catch (BufferUnderflowException e) {
+            throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException(UNEXPECTED_END_MESSAGE, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <I extends Comparable<I>, T> List<I> decode(Format<I, T> format, InputStream in) throws IOException {
+        return decode(format, () -> {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException(UNEXPECTED_END_MESSAGE);
+            }
+            return b;
+        }, Integer.MAX_VALUE);
+    }
+
+    private static <I extends Comparable<I>, T> List<I> decode(Format<I, T> format, ByteSource source, int available) throws IOException {
+        int count = readHeader(source, format.type(), format.type(), available);
+        List<I> intervals = new ArrayList<>(Math.min(count, 1024));
+        readBounds(source, format.hasNanos(), count, (index, flags, startValue, startNanos, endValue, endNanos) -> intervals.add(format.domain().create(
+                (flags & OPEN_START_FLAG) != 0 ? null : format.factory().create(startValue, startNanos),
+                (flags & OPEN_END_FLAG) != 0 ? null : format.factory().create(endValue, endNanos))));
+        return intervals;
+    }
+
+    private static long[] decodeEpochValues(ByteBuffer buffer, int type, int alternativeType, boolean hasNanos, TimeUnit unit) {
+        ByteSource source = () -> buffer.get() & 0xFF;
+        try {
+            int count = readHeader(source, type, alternativeType, buffer.remaining());
+            long[] bounds = new long[count * 2];
+            readBounds(source, hasNanos, count, (index, flags, startValue, startNanos, endValue, endNanos) -> {
+                bounds[2 * index] = (flags & OPEN_START_FLAG) != 0 ? OPEN_START : toEpochValue(startValue, startNanos, hasNanos, unit);
+                bounds[2 * index + 1] = (flags & OPEN_END_FLAG) != 0 ? OPEN_END : toEpochValue(endValue, endNanos, hasNanos, unit);
+            });
+            return bounds;
+        } catch (BufferUnderflowException e) {
+            throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException(UNEXPECTED_END_MESSAGE, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long toEpochValue(long value, int nanos, boolean hasNanos, TimeUnit unit) {
+        return hasNanos ? EpochUtils.toEpochUnits(value, nanos, unit) : value;
+    }
+
+    private static int readHeader(ByteSource source, int type, int alternativeType, int available) throws IOException {
+        int actualType = source.read();
+        if (actualType != type && actualType != alternativeType) {
+            throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("Found encoded intervals of type {0} when expecting type {1}.", new Object[]{actualType, type});
+        }
+        long count = readVarint(source);
+        // every interval takes at least one byte
+        if (count < 0 || count > available) {
+            throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("Found invalid number of encoded intervals {0}.", new Object[]{count});
+        }
+        return (int) count;
+    }
+
+    private static void readBounds(ByteSource source, boolean hasNanos, int count, BoundsConsumer consumer) throws IOException {
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            long header = readVarint(source);
+            int flags = (int) (header & (OPEN_START_FLAG | OPEN_END_FLAG));
+            long startValue = previous + unzigzag(header >>> FLAG_BITS);
+            int startNanos = (flags & OPEN_START_FLAG) == 0 && hasNanos ? readNanos(source) : 0;
+            previous = startValue;
+            long endValue = 0;
+            int endNanos = 0;
+            if ((flags & OPEN_END_FLAG) == 0) {
+                endValue = previous + unzigzag(readVarint(source));
+                endNanos = hasNanos ? readNanos(source) : 0;
+                previous = endValue;
+            }
+            consumer.accept(i, flags, startValue, startNanos, endValue, endNanos);
+        }
+    }
+
+    private static int readNanos(ByteSource source) throws IOException {
+        long nanos = readVarint(source);
+        if (nanos < 0 || nanos >= TimeUnit.SECONDS.toNanos(1)) {
+            throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("Found invalid encoded nanosecond {0}.", new Object[]{nanos});
+        }
+        return (int) nanos;
+    }
+
+    private static void writeVarint(ByteSink sink, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            sink.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        sink.write((int) value);
+    }
+
+    private static long readVarint(ByteSource source) throws IOException {
+        long value = 0;
+        for (int i = 0; i < MAX_VARINT_BYTES; i++) {
+            int b = source.read();
+            value |= (long) (b & 0x7F) << (7 * i);
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("Found malformed varint in encoded intervals.");
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * The encoding of an interval type: its type byte, the major value of a bound (epoch day or second) and, for time types, its
+     * nanosecond of the second, with the factory of a bound from these values.
+     */
+    private record Format<I extends Comparable<I>, T>(int type, IntervalDomain<I, T> domain, ToLongFunction<T> major,
+                                                      @Nullable ToIntFunction<T> nanos, BoundFactory<T> factory) {
+
+        boolean hasNanos() {
+            return nanos != null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface BoundFactory<T> {
+        T create(long value, int nanos);
+    }
+
+    @FunctionalInterface
+    private interface ByteSink {
+        void write(int b) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ByteSource {
+        int read() throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface BoundsConsumer {
+        void accept(int index, int flags, long startValue, int startNanos, long endValue, int endNanos);
+    }
+}
@@ -0,0 +1,219 @@
+package com.thanlinardos.spring_enterprise_library.time.utils;
+
+import com.thanlinardos.spring_enterprise_library.time.model.InstantInterval;
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import com.thanlinardos.spring_enterprise_library.time.model.TimeInterval;
+import jakarta.annotation.Nullable;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.ToLongFunction;
+
+/**
+ * Utility class holding the application wide {@link Interner}s of the interval records and of their bounds, used by the
+ * factory methods of the records, such as {@link Interval#forIsoDates(String, String)} or {@link Interval#forIsoMonth(String)},
+ * so that the many equal intervals of large entity graphs share a single instance.
+ * <p>
+ * Interning is disabled by default, and can be enabled in weak or bounded mode with {@link #enableWeakInterning()} or
+ * {@link #enableBoundedInterning(int)}. When an interval is added to its interner, its bounds are interned as well.
+ * The sizes used to estimate the saved memory assume compressed object pointers.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class IntervalInternUtils {
+
+    /**
+     * Estimated size in bytes of a {@link LocalDate}, a {@link java.time.LocalTime} or an {@link Instant}.
+     */
+    public static final long TEMPORAL_SIZE = 24;
+    /**
+     * Estimated size in bytes of an interval record, without its bounds.
+     */
+    public static final long RECORD_SIZE = 24;
+
+    private static final InternerFactory NO_OP_FACTORY = new InternerFactory() {
+        @Override
+        public <V> Interner<V> create(ToLongFunction<V> sizeEstimator) {
+            return Interner.none();
+        }
+    };
+
+    private static volatile Interners interners = Interners.create(NO_OP_FACTORY);
+
+    /**
+     * Enables interning with weakly referenced canonical instances, replacing the current interners.
+     */
+    public static void enableWeakInterning() {
+        interners = Interners.create(Interner::weak);
+    }
+
+    /**
+     * Enables interning with at most the given number of recently used canonical instances of each type, replacing the
+     * current interners.
+     *
+     * @param maxSize the maximum number of canonical instances of each type.
+     */
+    public static void enableBoundedInterning(int maxSize) {
+        interners = Interners.create(new InternerFactory() {
+            @Override
+            public <V> Interner<V> create(ToLongFunction<V> sizeEstimator) {
+                return Interner.bounded(maxSize, sizeEstimator);
+            }
+        });
+    }
+
+    /**
+     * Disables interning, releasing the current canonical instances.
+     */
+    public static void disableInterning() {
+        interners = Interners.create(NO_OP_FACTORY);
+    }
+
+    /**
+     * Returns the current interner of {@link Interval}s.
+     *
+     * @return the interner.
+     */
+    public static Interner<Interval> getIntervalInterner() {
+        return interners.intervals();
+    }
+
+    /**
+     * Returns the current interner of {@link TimeInterval}s.
+     *
+     * @return the interner.
+     */
+    public static Interner<TimeInterval> getTimeIntervalInterner() {
+        return interners.timeIntervals();
+    }
+
+    /**
+     * Returns the current interner of {@link InstantInterval}s.
+     *
+     * @return the interner.
+     */
+    public static Interner<InstantInterval> getInstantIntervalInterner() {
+        return interners.instantIntervals();
+    }
+
+    /**
+     * Returns the current interner of {@link LocalDate}s.
+     *
+     * @return the interner.
+     */
+    public static Interner<LocalDate> getDateInterner() {
+        return interners.dates();
+    }
+
+    /**
+     * Returns the current interner of {@link LocalDateTime}s.
+     *
+     * @return the interner.
+     */
+    public static Interner<LocalDateTime> getDateTimeInterner() {
+        return interners.dateTimes();
+    }
+
+    /**
+     * Returns the current interner of {@link Instant}s.
+     *
+     * @return the interner.
+     */
+    public static Interner<Instant> getInstantInterner() {
+        return interners.instants();
+    }
+
+    /**
+     * Returns the canonical instance of the given interval, with interned bounds.
+     *
+     * @param interval the interval to intern.
+     * @return the canonical interval, or the given one if interning is disabled.
+     */
+    @Nullable
+    public static Interval intern(@Nullable Interval interval) {
+        Interners current = interners;
+        return current.intervals().intern(interval, value -> new Interval(current.dates().intern(value.start()), current.dates().intern(value.end())));
+    }
+
+    /**
+     * Returns the canonical instance of the given interval, with interned bounds.
+     *
+     * @param interval the interval to intern.
+     * @return the canonical interval, or the given one if interning is disabled.
+     */
+    @Nullable
+    public static TimeInterval intern(@Nullable TimeInterval interval) {
+        Interners current = interners;
+        return current.timeIntervals().intern(interval, value -> new TimeInterval(current.dateTimes().intern(value.start()), current.dateTimes().intern(value.end())));
+    }
+
+    /**
+     * Returns the canonical instance of the given interval, with interned bounds.
+     *
+     * @param interval the interval to intern.
+     * @return the canonical interval, or the given one if interning is disabled.
+     */
+    @Nullable
+    public static InstantInterval intern(@Nullable InstantInterval interval) {
+        Interners current = interners;
+        return current.instantIntervals().intern(interval, value -> new InstantInterval(current.instants().intern(value.start()), current.instants().intern(value.end())));
+    }
+
+    /**
+     * Returns the canonical instance of the given date.
+     *
+     * @param date the date to intern.
+     * @return the canonical date, or the given one if interning is disabled.
+     */
+    @Nullable
+    public static LocalDate internDate(@Nullable LocalDate date) {
+        return interners.dates().intern(date);
+    }
+
+    /**
+     * Returns the canonical instance of the given date time.
+     *
+     * @param dateTime the date time to intern.
+     * @return the canonical date time, or the given one if interning is disabled.
+     */
+    @Nullable
+    public static LocalDateTime internDateTime(@Nullable LocalDateTime dateTime) {
+        return interners.dateTimes().intern(dateTime);
+    }
+
+    /**
+     * Returns the canonical instance of the given instant.
+     *
+     * @param instant the instant to intern.
+     * @return the canonical instant, or the given one if interning is disabled.
+     */
+    @Nullable
+    public static Instant internInstant(@Nullable Instant instant) {
+        return interners.instants().intern(instant);
+    }
+
+    private static long sizeOf(@Nullable Object bound, long boundSize) {
+        return bound == null ? 0 : boundSize;
+    }
+
+    private interface InternerFactory {
+
+        <V> Interner<V> create(ToLongFunction<V> sizeEstimator);
+    }
+
+    private record Interners(Interner<Interval> intervals, Interner<TimeInterval> timeIntervals, Interner<InstantInterval> instantIntervals,
+                             Interner<LocalDate> dates, Interner<LocalDateTime> dateTimes, Interner<Instant> instants) {
+
+        private static Interners create(InternerFactory factory) {
+            return new Interners(
+                    factory.create(interval -> RECORD_SIZE + sizeOf(interval.start(), TEMPORAL_SIZE) + sizeOf(interval.end(), TEMPORAL_SIZE)),
+                    factory.create(interval -> RECORD_SIZE + sizeOf(interval.start(), 3 * TEMPORAL_SIZE) + sizeOf(interval.end(), 3 * TEMPORAL_SIZE)),
+                    factory.create(interval -> RECORD_SIZE + sizeOf(interval.start(), TEMPORAL_SIZE) + sizeOf(interval.end(), TEMPORAL_SIZE)),
+                    factory.create(date -> TEMPORAL_SIZE),
+                    factory.create(dateTime -> 3 * TEMPORAL_SIZE),
+                    factory.create(instant -> TEMPORAL_SIZE));
+        }
+    }
+}
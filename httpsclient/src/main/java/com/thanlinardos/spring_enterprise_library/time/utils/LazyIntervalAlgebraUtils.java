@@ -0,0 +1,445 @@
+package com.thanlinardos.spring_enterprise_library.time.utils;
+
+import com.thanlinardos.spring_enterprise_library.error.errorcodes.ErrorCode;
+import com.thanlinardos.spring_enterprise_library.time.model.IntervalDomain;
+import jakarta.annotation.Nullable;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy variants of the interval algebra in {@link IntervalAlgebraUtils}, over intervals that are sorted by their natural order already.
+ * <p>
+ * Each operation returns a sequential {@link Stream}, whose {@link Stream#iterator()} can also be used directly, that reads the
+ * input and computes each result only when it is requested. A consumer that only needs the first result, a count or a sum does
+ * not build any intermediate or result list, and short-circuiting operations such as {@link Stream#findFirst()} or
+ * {@link Stream#anyMatch(java.util.function.Predicate)} stop reading the input early. The results are the same as the list
+ * variants for the same input. As the input cannot be sorted without reading it all, an interval that comes before the previous
+ * one fails the stream with an exception when it is reached.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class LazyIntervalAlgebraUtils {
+
+    private static final int CHARACTERISTICS = Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL;
+
+    /**
+     * Lazy variant of {@link IntervalAlgebraUtils#normalize(IntervalDomain, Collection, boolean)}.
+     *
+     * @param domain                 the domain of the intervals.
+     * @param sortedIntervals        intervals sorted by their natural order.
+     * @param mergeAdjacentIntervals whether to merge adjacent intervals.
+     * @param <I>                    the type of the interval.
+     * @param <T>                    the type of the interval bounds.
+     * @return the stream of normalized intervals.
+     */
+    public static <I extends Comparable<I>, T> Stream<I> normalize(IntervalDomain<I, T> domain, Iterable<I> sortedIntervals, boolean mergeAdjacentIntervals) {
+        return stream(new NormalizingIterator<>(domain, checkSorted(domain, sortedIntervals.iterator()), mergeAdjacentIntervals));
+    }
+
+    /**
+     * Lazy variant of {@link IntervalAlgebraUtils#split(IntervalDomain, Collection)}.
+     * <p>
+     * The intervals are swept in order keeping a heap of the ends of the intervals covering the current segment, so each segment
+     * ends just before the next start or at the first active end, whichever comes first.
+     *
+     * @param domain          the domain of the intervals.
+     * @param sortedIntervals intervals sorted by their natural order.
+     * @param <I>             the type of the interval.
+     * @param <T>             the type of the interval bounds.
+     * @return the stream of split intervals.
+     */
+    public static <I extends Comparable<I>, T> Stream<I> split(IntervalDomain<I, T> domain, Iterable<I> sortedIntervals) {
+        return stream(new SplittingIterator<>(domain, checkSorted(domain, sortedIntervals.iterator())));
+    }
+
+    /**
+     * Lazy variant of the {@code getOverlaps} method of the interval records, returning the normalized overlaps of the given
+     * intervals with the given one. The input is only read up to the first interval starting after the given one.
+     *
+     * @param domain                 the domain of the intervals.
+     * @param interval               the interval to overlap with.
+     * @param sortedIntervals        intervals sorted by their natural order.
+     * @param mergeAdjacentIntervals whether to merge adjacent overlaps.
+     * @param <I>                    the type of the interval.
+     * @param <T>                    the type of the interval bounds.
+     * @return the stream of normalized overlaps.
+     */
+    public static <I extends Comparable<I>, T> Stream<I> getOverlaps(IntervalDomain<I, T> domain, I interval, Iterable<I> sortedIntervals,
+                                                                     boolean mergeAdjacentIntervals) {
+        Iterator<I> intervals = checkSorted(domain, sortedIntervals.iterator());
+        Iterator<I> overlaps = new LookaheadIterator<>() {
+            @Override
+            @Nullable
+            protected I computeNext() {
+                while (intervals.hasNext()) {
+                    I next = intervals.next();
+                    if (!domain.shouldMerge(domain.end(interval), domain.start(next), false)) {
+                        return null;
+                    }
+                    Optional<I> overlap = IntervalAlgebraUtils.getOverlap(domain, interval, next);
+                    if (overlap.isPresent()) {
+                        return overlap.get();
+                    }
+                }
+                return null;
+            }
+        };
+        return stream(new NormalizingIterator<>(domain, overlaps, mergeAdjacentIntervals));
+    }
+
+    /**
+     * Lazy variant of the {@code getNotOverlaps} method of the interval records, returning the normalized portions of the given
+     * intervals that do not overlap with the given one, see {@link IntervalAlgebraUtils#difference(IntervalDomain, Collection, Collection)}.
+     *
+     * @param domain          the domain of the intervals.
+     * @param interval        the interval to subtract.
+     * @param sortedIntervals intervals sorted by their natural order.
+     * @param <I>             the type of the interval.
+     * @param <T>             the type of the interval bounds.
+     * @return the stream of the normalized remaining portions.
+     */
+    public static <I extends Comparable<I>, T> Stream<I> getNotOverlaps(IntervalDomain<I, T> domain, I interval, Iterable<I> sortedIntervals) {
+        Iterator<I> normalized = new NormalizingIterator<>(domain, checkSorted(domain, sortedIntervals.iterator()), true);
+        Queue<I> pending = new ArrayDeque<>(2);
+        return stream(new LookaheadIterator<>() {
+            @Override
+            @Nullable
+            protected I computeNext() {
+                while (pending.isEmpty() && normalized.hasNext()) {
+                    I next = normalized.next();
+                    if (!domain.shouldMerge(domain.end(next), domain.start(interval), false)
+                            || !domain.shouldMerge(domain.end(interval), domain.start(next), false)) {
+                        return next;
+                    }
+                    if (domain.compareNullAsMin(domain.start(interval), domain.start(next)) > 0) {
+                        pending.add(domain.create(domain.start(next), domain.previous(domain.start(interval))));
+                    }
+                    if (domain.compareNullAsMax(domain.end(interval), domain.end(next)) < 0) {
+                        pending.add(domain.create(domain.next(domain.end(interval)), domain.end(next)));
+                    }
+                }
+                return pending.poll();
+            }
+        });
+    }
+
+    /**
+     * Lazy variant of the {@code subtract} method of the interval records, returning the remainder of the given interval after
+     * subtracting the given intervals. The input is only read up to the first interval starting after the given one.
+     *
+     * @param domain          the domain of the intervals.
+     * @param interval        the interval to subtract from.
+     * @param sortedIntervals intervals to subtract, sorted by their natural order.
+     * @param <I>             the type of the interval.
+     * @param <T>             the type of the interval bounds.
+     * @return the stream of the normalized remainders.
+     */
+    public static <I extends Comparable<I>, T> Stream<I> subtract(IntervalDomain<I, T> domain, I interval, Iterable<I> sortedIntervals) {
+        Iterator<I> subtracted = new NormalizingIterator<>(domain, checkSorted(domain, sortedIntervals.iterator()), true);
+        @Nullable T end = domain.end(interval);
+        return stream(new LookaheadIterator<>() {
+
+            @Nullable
+            private T current = domain.start(interval);
+            private boolean isModified;
+            private boolean isExhausted;
+
+            @Override
+            @Nullable
+            protected I computeNext() {
+                while (!isExhausted && subtracted.hasNext()) {
+                    I next = subtracted.next();
+                    if (!domain.shouldMerge(domain.end(next), current, false)) {
+                        continue;
+                    }
+                    if (!domain.shouldMerge(end, domain.start(next), false)) {
+                        break;
+                    }
+                    @Nullable T remainderStart = current;
+                    isModified = true;
+                    if (domain.compareNullAsMax(domain.end(next), end) >= 0) {
+                        isExhausted = true;
+                    } else {
+                        current = domain.next(domain.end(next));
+                    }
+                    if (domain.compareNullAsMin(domain.start(next), remainderStart) > 0) {
+                        return domain.create(remainderStart, domain.previous(domain.start(next)));
+                    }
+                }
+                if (isExhausted) {
+                    return null;
+                }
+                isExhausted = true;
+                return isModified ? domain.create(current, end) : interval;
+            }
+        });
+    }
+
+    /**
+     * Lazy variant of {@link IntervalAlgebraUtils#intersectAll(IntervalDomain, Collection)}.
+     *
+     * @param domain      the domain of the intervals.
+     * @param sortedSides the intervals of each side, sorted by their natural order.
+     * @param <I>         the type of the interval.
+     * @param <T>         the type of the interval bounds.
+     * @return the stream of the normalized intersection of the sides, empty if there are no sides.
+     */
+    public static <I extends Comparable<I>, T> Stream<I> intersectAll(IntervalDomain<I, T> domain, Collection<? extends Iterable<I>> sortedSides) {
+        return sortedSides.isEmpty() ? Stream.empty() : atLeastK(domain, sortedSides, sortedSides.size());
+    }
+
+    /**
+     * Lazy variant of {@link IntervalAlgebraUtils#unionAll(IntervalDomain, Collection)}.
+     *
+     * @param domain      the domain of the intervals.
+     * @param sortedSides the intervals of each side, sorted by their natural order.
+     * @param <I>         the type of the interval.
+     * @param <T>         the type of the interval bounds.
+     * @return the stream of the normalized union of the sides.
+     */
+    public static <I extends Comparable<I>, T> Stream<I> unionAll(IntervalDomain<I, T> domain, Collection<? extends Iterable<I>> sortedSides) {
+        return atLeastK(domain, sortedSides, 1);
+    }
+
+    /**
+     * Lazy variant of {@link IntervalAlgebraUtils#atLeastK(IntervalDomain, Collection, int)}, which only holds the next and the
+     * active interval of each side, so that unbounded sides such as the occurrences of a
+     * {@link com.thanlinardos.spring_enterprise_library.time.model.Recurrence} can be combined without materializing them.
+     *
+     * @param domain      the domain of the intervals.
+     * @param sortedSides the intervals of each side, sorted by their natural order.
+     * @param k           the minimum number of sides covering the result, at least 1.
+     * @param <I>         the type of the interval.
+     * @param <T>         the type of the interval bounds.
+     * @return the stream of the normalized portions covered by at least {@code k} sides.
+     */
+    public static <I extends Comparable<I>, T> Stream<I> atLeastK(IntervalDomain<I, T> domain, Collection<? extends Iterable<I>> sortedSides, int k) {
+        if (k < 1) {
+            throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("The minimum number of covering sides must be at least 1, but was {0}.", new Object[]{k});
+        }
+        if (k > sortedSides.size()) {
+            return Stream.empty();
+        }
+        List<LookaheadIterator<I>> sides = new ArrayList<>(sortedSides.size());
+        for (Iterable<I> side : sortedSides) {
+            sides.add(new NormalizingIterator<>(domain, checkSorted(domain, side.iterator()), true));
+        }
+        return stream(new NormalizingIterator<>(domain, new CoverageIterator<>(domain, sides, k), true));
+    }
+
+    private static <I> Stream<I> stream(Iterator<I> iterator) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, CHARACTERISTICS), false);
+    }
+
+    private static <I extends Comparable<I>, T> Iterator<I> checkSorted(IntervalDomain<I, T> domain, Iterator<I> intervals) {
+        return new LookaheadIterator<>() {
+
+            @Nullable
+            private I previous;
+
+            @Override
+            @Nullable
+            protected I computeNext() {
+                if (!intervals.hasNext()) {
+                    return null;
+                }
+                I next = intervals.next();
+                if (previous != null && domain.compareNullAsMin(domain.start(next), domain.start(previous)) < 0) {
+                    throw ErrorCode.ILLEGAL_ARGUMENT.createCoreException("The intervals must be sorted, but {0} comes after {1}.", new Object[]{next, previous});
+                }
+                previous = next;
+                return next;
+            }
+        };
+    }
+
+    /**
+     * Iterator computing its next element when it is first needed, with null marking the end.
+     */
+    private abstract static class LookaheadIterator<I> implements Iterator<I> {
+
+        @Nullable
+        private I next;
+        private boolean isComputed;
+
+        @Nullable
+        protected abstract I computeNext();
+
+        @Override
+        public boolean hasNext() {
+            if (!isComputed) {
+                next = computeNext();
+                isComputed = true;
+            }
+            return next != null;
+        }
+
+        @Override
+        public I next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            isComputed = false;
+            return next;
+        }
+
+        @Nullable
+        protected I peek() {
+            return hasNext() ? next : null;
+        }
+    }
+
+    /**
+     * Merges sorted intervals one result at a time, same as {@link IntervalAlgebraUtils#mergeSorted(IntervalDomain, java.util.List, boolean)}.
+     */
+    private static final class NormalizingIterator<I extends Comparable<I>, T> extends LookaheadIterator<I> {
+
+        private final IntervalDomain<I, T> domain;
+        private final LookaheadIterator<I> intervals;
+        private final boolean mergeAdjacentIntervals;
+
+        private NormalizingIterator(IntervalDomain<I, T> domain, Iterator<I> source, boolean mergeAdjacentIntervals) {
+            this.domain = domain;
+            this.intervals = new LookaheadIterator<>() {
+                @Override
+                @Nullable
+                protected I computeNext() {
+                    return source.hasNext() ? source.next() : null;
+                }
+            };
+            this.mergeAdjacentIntervals = mergeAdjacentIntervals;
+        }
+
+        @Override
+        @Nullable
+        protected I computeNext() {
+            if (!intervals.hasNext()) {
+                return null;
+            }
+            I current = intervals.next();
+            @Nullable T end = domain.end(current);
+            boolean isModified = false;
+            for (I next = intervals.peek(); next != null && domain.shouldMerge(end, domain.start(next), mergeAdjacentIntervals); next = intervals.peek()) {
+                intervals.next();
+                if (domain.compareNullAsMax(domain.end(next), end) > 0) {
+                    end = domain.end(next);
+                    isModified = true;
+                }
+            }
+            return isModified ? domain.create(domain.start(current), end) : current;
+        }
+    }
+
+    /**
+     * Sweeps sorted intervals into the elementary segments between all their bounds, one segment at a time.
+     */
+    private static final class SplittingIterator<I extends Comparable<I>, T> extends LookaheadIterator<I> {
+
+        private final IntervalDomain<I, T> domain;
+        private final LookaheadIterator<I> intervals;
+        private final PriorityQueue<I> active;
+        @Nullable
+        private T start;
+
+        private SplittingIterator(IntervalDomain<I, T> domain, Iterator<I> source) {
+            this.domain = domain;
+            this.intervals = new LookaheadIterator<>() {
+                @Override
+                @Nullable
+                protected I computeNext() {
+                    return source.hasNext() ? source.next() : null;
+                }
+            };
+            this.active = new PriorityQueue<>((first, second) -> domain.compareNullAsMax(domain.end(first), domain.end(second)));
+        }
+
+        @Override
+        @Nullable
+        protected I computeNext() {
+            if (active.isEmpty()) {
+                if (!intervals.hasNext()) {
+                    return null;
+                }
+                start = domain.start(intervals.peek());
+            }
+            // activate all the intervals starting at the start of the segment
+            for (I next = intervals.peek(); next != null && domain.compareNullAsMin(domain.start(next), start) <= 0; next = intervals.peek()) {
+                active.add(intervals.next());
+            }
+            @Nullable T end = domain.end(active.peek());
+            I next = intervals.peek();
+            if (next != null && domain.shouldMerge(end, domain.start(next), false)) {
+                end = domain.previous(domain.start(next));
+            }
+            while (!active.isEmpty() && domain.compareNullAsMax(domain.end(active.peek()), end) <= 0) {
+                active.poll();
+            }
+            I segment = domain.create(start, end);
+            start = end == null ? null : domain.next(end);
+            return segment;
+        }
+    }
+
+    /**
+     * Sweeps the normalized intervals of several sides together, one portion covered by at least k sides at a time, same as
+     * {@link IntervalAlgebraUtils#atLeastK(IntervalDomain, Collection, int)} but before merging adjacent portions.
+     */
+    private static final class CoverageIterator<I extends Comparable<I>, T> extends LookaheadIterator<I> {
+
+        private final IntervalDomain<I, T> domain;
+        private final int k;
+        private final PriorityQueue<LookaheadIterator<I>> nextIntervals;
+        private final PriorityQueue<I> active;
+        @Nullable
+        private T start;
+
+        private CoverageIterator(IntervalDomain<I, T> domain, List<LookaheadIterator<I>> sides, int k) {
+            this.domain = domain;
+            this.k = k;
+            this.nextIntervals = new PriorityQueue<>(sides.size(), (first, second) -> domain.compareNullAsMin(domain.start(first.peek()), domain.start(second.peek())));
+            this.active = new PriorityQueue<>(sides.size(), (first, second) -> domain.compareNullAsMax(domain.end(first), domain.end(second)));
+            for (LookaheadIterator<I> side : sides) {
+                if (side.hasNext()) {
+                    nextIntervals.add(side);
+                }
+            }
+        }
+
+        @Override
+        @Nullable
+        protected I computeNext() {
+            while (!nextIntervals.isEmpty() || !active.isEmpty()) {
+                LookaheadIterator<I> next = nextIntervals.peek();
+                if (next != null && (active.isEmpty() || domain.shouldMerge(domain.end(active.peek()), domain.start(next.peek()), false))) {
+                    if (active.size() + 1 == k) {
+                        start = domain.start(next.peek());
+                    }
+                    nextIntervals.poll();
+                    active.add(next.next());
+                    if (next.hasNext()) {
+                        nextIntervals.add(next);
+                    }
+                } else {
+                    @Nullable T end = domain.end(active.poll());
+                    if (active.size() + 1 == k) {
+                        return domain.create(start, end);
+                    }
+                }
+            }
+            return null;
+        }
+    }
+}
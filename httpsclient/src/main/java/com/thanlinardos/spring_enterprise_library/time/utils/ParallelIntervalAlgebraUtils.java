@@ -0,0 +1,240 @@
+package com.thanlinardos.spring_enterprise_library.time.utils;
+
+import com.thanlinardos.spring_enterprise_library.time.model.IntervalDomain;
+import jakarta.annotation.Nullable;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+/**
+ * Fork/join variants of the interval algebra in {@link IntervalAlgebraUtils}, for collections of millions of intervals.
+ * <p>
+ * The input is sorted with {@link Arrays#parallelSort(Object[])}, split into chunks that are processed on a {@link ForkJoinPool},
+ * and the chunk results are stitched together at the chunk boundaries. Below the given threshold the sequential
+ * implementation is used, so that small calls don't pay the overhead.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ParallelIntervalAlgebraUtils {
+
+    /**
+     * The default number of intervals below which the sequential implementation is used.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 10_000;
+
+    private static final int MIN_CHUNK_SIZE = 2_048;
+
+    /**
+     * Parallel variant of {@link IntervalAlgebraUtils#normalize(IntervalDomain, Collection, boolean)}.
+     * <p>
+     * Each chunk of the sorted input is normalized on its own, and when stitching two neighboring chunks the last interval of the
+     * left one is merged with as many intervals of the right one as the rule of {@link IntervalDomain#shouldMerge(Object, Object, boolean)} allows.
+     *
+     * @param domain                 the domain of the intervals.
+     * @param intervals              collection of intervals to normalize.
+     * @param mergeAdjacentIntervals whether to merge adjacent intervals.
+     * @param threshold              the number of intervals below which the sequential implementation is used.
+     * @param pool                   the pool to run on.
+     * @param <I>                    the type of the interval.
+     * @param <T>                    the type of the interval bounds.
+     * @return normalized list of intervals.
+     */
+    public static <I extends Comparable<I>, T> List<I> normalize(IntervalDomain<I, T> domain, Collection<I> intervals, boolean mergeAdjacentIntervals,
+                                                                 int threshold, ForkJoinPool pool) {
+        if (intervals.size() < threshold) {
+            return IntervalAlgebraUtils.normalize(domain, intervals, mergeAdjacentIntervals);
+        }
+        List<I> sortedIntervals = parallelSortedCopy(intervals);
+        int chunkSize = getChunkSize(sortedIntervals.size(), pool);
+        return pool.invoke(new NormalizeTask<>(domain, sortedIntervals, 0, sortedIntervals.size(), mergeAdjacentIntervals, chunkSize));
+    }
+
+    /**
+     * Parallel variant of {@link IntervalAlgebraUtils#split(IntervalDomain, Collection)}.
+     * <p>
+     * The sorted input is partitioned at the boundaries of its connected components (groups of intervals overlapping each other),
+     * since the split of one component does not depend on the others. Chunks of whole components are split in parallel and
+     * concatenated in order, so a single huge component is split sequentially.
+     *
+     * @param domain    the domain of the intervals.
+     * @param intervals collection of intervals to split.
+     * @param threshold the number of intervals below which the sequential implementation is used.
+     * @param pool      the pool to run on.
+     * @param <I>       the type of the interval.
+     * @param <T>       the type of the interval bounds.
+     * @return split list of intervals.
+     */
+    public static <I extends Comparable<I>, T> List<I> split(IntervalDomain<I, T> domain, Collection<I> intervals, int threshold, ForkJoinPool pool) {
+        if (intervals.size() < threshold) {
+            return IntervalAlgebraUtils.split(domain, intervals);
+        }
+        List<I> sortedIntervals = parallelSortedCopy(intervals);
+        List<Integer> chunkBounds = getComponentChunkBounds(domain, sortedIntervals, getChunkSize(sortedIntervals.size(), pool));
+        return pool.invoke(new SplitTask<>(domain, sortedIntervals, chunkBounds, 0, chunkBounds.size() - 1));
+    }
+
+    /**
+     * Parallel variant of the {@code getOverlaps} method of the interval records: returns the normalized overlaps of the given
+     * intervals with the given interval.
+     *
+     * @param domain                 the domain of the intervals.
+     * @param interval               the interval to determine overlaps with.
+     * @param intervals              intervals to determine overlaps for.
+     * @param mergeAdjacentIntervals whether to merge adjacent overlaps.
+     * @param threshold              the number of intervals below which the sequential implementation is used.
+     * @param pool                   the pool to run on.
+     * @param <I>                    the type of the interval.
+     * @param <T>                    the type of the interval bounds.
+     * @return a normalized list of overlaps between the given intervals and the given interval.
+     */
+    public static <I extends Comparable<I>, T> List<I> getOverlaps(IntervalDomain<I, T> domain, I interval, Collection<I> intervals,
+                                                                   boolean mergeAdjacentIntervals, int threshold, ForkJoinPool pool) {
+        if (intervals.size() < threshold) {
+            return IntervalAlgebraUtils.normalize(domain, getOverlaps(domain, interval, intervals.stream()), mergeAdjacentIntervals);
+        }
+        List<I> overlaps = pool.submit(() -> getOverlaps(domain, interval, intervals.parallelStream())).join();
+        return normalize(domain, overlaps, mergeAdjacentIntervals, threshold, pool);
+    }
+
+    private static <I extends Comparable<I>, T> List<I> getOverlaps(IntervalDomain<I, T> domain, I interval, Stream<I> intervals) {
+        return intervals.map(other -> IntervalAlgebraUtils.getOverlap(domain, interval, other))
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <I extends Comparable<I>> List<I> parallelSortedCopy(Collection<I> intervals) {
+        Object[] array = intervals.toArray();
+        Arrays.parallelSort(array, null);
+        return (List<I>) (List<?>) Arrays.asList(array);
+    }
+
+    private static int getChunkSize(int size, ForkJoinPool pool) {
+        return Math.max(MIN_CHUNK_SIZE, size / (pool.getParallelism() * 4));
+    }
+
+    /**
+     * Returns the indexes at which the sorted intervals are partitioned into chunks of whole connected components,
+     * each chunk holding at least {@code chunkSize} intervals except the last one.
+     */
+    private static <I extends Comparable<I>, T> List<Integer> getComponentChunkBounds(IntervalDomain<I, T> domain, List<I> sortedIntervals, int chunkSize) {
+        List<Integer> bounds = new ArrayList<>();
+        bounds.add(0);
+        @Nullable T maxEnd = domain.end(sortedIntervals.getFirst());
+        for (int i = 1; i < sortedIntervals.size(); i++) {
+            I interval = sortedIntervals.get(i);
+            if (i - bounds.getLast() >= chunkSize && !domain.shouldMerge(maxEnd, domain.start(interval), false)) {
+                bounds.add(i);
+            }
+            if (domain.compareNullAsMax(domain.end(interval), maxEnd) > 0) {
+                maxEnd = domain.end(interval);
+            }
+        }
+        bounds.add(sortedIntervals.size());
+        return bounds;
+    }
+
+    /**
+     * Appends the normalized right list to the normalized left list, merging the last interval of the left list with the leading
+     * intervals of the right list for as long as they should be merged.
+     */
+    private static <I extends Comparable<I>, T> List<I> stitch(IntervalDomain<I, T> domain, List<I> left, List<I> right, boolean mergeAdjacentIntervals) {
+        if (left.isEmpty() || right.isEmpty()) {
+            return left.isEmpty() ? right : left;
+        }
+        I last = left.getLast();
+        @Nullable T end = domain.end(last);
+        boolean modified = false;
+        int index = 0;
+        while (index < right.size() && domain.shouldMerge(end, domain.start(right.get(index)), mergeAdjacentIntervals)) {
+            if (domain.compareNullAsMax(domain.end(right.get(index)), end) > 0) {
+                end = domain.end(right.get(index));
+                modified = true;
+            }
+            index++;
+        }
+        List<I> result = new ArrayList<>(left.size() + right.size() - index);
+        result.addAll(left);
+        if (modified) {
+            result.set(result.size() - 1, domain.create(domain.start(last), end));
+        }
+        result.addAll(right.subList(index, right.size()));
+        return result;
+    }
+
+    private static final class NormalizeTask<I extends Comparable<I>, T> extends RecursiveTask<List<I>> {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final transient IntervalDomain<I, T> domain;
+        private final transient List<I> sortedIntervals;
+        private final int from;
+        private final int to;
+        private final boolean mergeAdjacentIntervals;
+        private final int chunkSize;
+
+        private NormalizeTask(IntervalDomain<I, T> domain, List<I> sortedIntervals, int from, int to, boolean mergeAdjacentIntervals, int chunkSize) {
+            this.domain = domain;
+            this.sortedIntervals = sortedIntervals;
+            this.from = from;
+            this.to = to;
+            this.mergeAdjacentIntervals = mergeAdjacentIntervals;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected List<I> compute() {
+            if (to - from <= chunkSize) {
+                return IntervalAlgebraUtils.mergeSorted(domain, sortedIntervals.subList(from, to), mergeAdjacentIntervals);
+            }
+            int middle = (from + to) >>> 1;
+            NormalizeTask<I, T> left = new NormalizeTask<>(domain, sortedIntervals, from, middle, mergeAdjacentIntervals, chunkSize);
+            left.fork();
+            List<I> right = new NormalizeTask<>(domain, sortedIntervals, middle, to, mergeAdjacentIntervals, chunkSize).compute();
+            return stitch(domain, left.join(), right, mergeAdjacentIntervals);
+        }
+    }
+
+    private static final class SplitTask<I extends Comparable<I>, T> extends RecursiveTask<List<I>> {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final transient IntervalDomain<I, T> domain;
+        private final transient List<I> sortedIntervals;
+        private final transient List<Integer> chunkBounds;
+        private final int fromChunk;
+        private final int toChunk;
+
+        private SplitTask(IntervalDomain<I, T> domain, List<I> sortedIntervals, List<Integer> chunkBounds, int fromChunk, int toChunk) {
+            this.domain = domain;
+            this.sortedIntervals = sortedIntervals;
+            this.chunkBounds = chunkBounds;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected List<I> compute() {
+            if (toChunk - fromChunk == 1) {
+                return IntervalAlgebraUtils.split(domain, sortedIntervals.subList(chunkBounds.get(fromChunk), chunkBounds.get(toChunk)));
+            }
+            int middle = (fromChunk + toChunk) >>> 1;
+            SplitTask<I, T> left = new SplitTask<>(domain, sortedIntervals, chunkBounds, fromChunk, middle);
+            left.fork();
+            List<I> right = new SplitTask<>(domain, sortedIntervals, chunkBounds, middle, toChunk).compute();
+            List<I> result = new ArrayList<>(left.join());
+            result.addAll(right);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.thanlinardos.spring_enterprise_library.time.utils;
+
+import com.thanlinardos.spring_enterprise_library.time.api.DateTemporal;
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import com.thanlinardos.spring_enterprise_library.time.model.IntervalDomain;
+import com.thanlinardos.spring_enterprise_library.time.model.TemporalJoinRow;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.stream.LongStream;
+
+/**
+ * Sweep-line joins between two collections of temporal entities, replacing nested loops over {@code overlaps} and {@code getOverlap}.
+ * <p>
+ * Both sides are sorted by their interval once and, within each partition of equal join keys, swept together keeping the
+ * currently open elements of each side, so a join takes O((n + m) log(n + m) + k) for k matched pairs. The rows are ordered
+ * by the left elements in their input order, and then by the interval of the right elements.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class TemporalJoinUtils {
+
+    private static final long NO_MATCH = 0xFFFF_FFFFL;
+    private static final Function<Object, Boolean> NO_KEY = element -> Boolean.TRUE;
+
+    /**
+     * Returns a row for every pair of overlapping left and right date temporal entities, with their overlap.
+     *
+     * @param left  the left entities.
+     * @param right the right entities.
+     * @param <L>   the type of the left entities.
+     * @param <R>   the type of the right entities.
+     * @return the joined rows.
+     */
+    public static <L extends DateTemporal, R extends DateTemporal> List<TemporalJoinRow<L, R, Interval>> innerJoin(Collection<L> left, Collection<R> right) {
+        return innerJoin(IntervalDomain.DATES, left, DateTemporal::getInterval, NO_KEY, right, DateTemporal::getInterval, NO_KEY);
+    }
+
+    /**
+     * Returns a row for every pair of overlapping left and right date temporal entities with equal keys, with their overlap.
+     *
+     * @param left     the left entities.
+     * @param leftKey  the function returning the join key of a left entity.
+     * @param right    the right entities.
+     * @param rightKey the function returning the join key of a right entity.
+     * @param <L>      the type of the left entities.
+     * @param <R>      the type of the right entities.
+     * @param <K>      the type of the join key.
+     * @return the joined rows.
+     */
+    public static <L extends DateTemporal, R extends DateTemporal, K> List<TemporalJoinRow<L, R, Interval>> innerJoin(Collection<L> left, Function<? super L, K> leftKey,
+                                                                                                                     Collection<R> right, Function<? super R, K> rightKey) {
+        return innerJoin(IntervalDomain.DATES, left, DateTemporal::getInterval, leftKey, right, DateTemporal::getInterval, rightKey);
+    }
+
+    /**
+     * Same as {@link #innerJoin(Collection, Collection)}, with an additional row for every left entity without any overlapping right entity.
+     *
+     * @param left  the left entities.
+     * @param right the right entities.
+     * @param <L>   the type of the left entities.
+     * @param <R>   the type of the right entities.
+     * @return the joined rows.
+     */
+    public static <L extends DateTemporal, R extends DateTemporal> List<TemporalJoinRow<L, R, Interval>> leftJoin(Collection<L> left, Collection<R> right) {
+        return leftJoin(IntervalDomain.DATES, left, DateTemporal::getInterval, NO_KEY, right, DateTemporal::getInterval, NO_KEY);
+    }
+
+    /**
+     * Same as {@link #innerJoin(Collection, Function, Collection, Function)}, with an additional row for every left entity without
+     * any overlapping right entity of equal key.
+     *
+     * @param left     the left entities.
+     * @param leftKey  the function returning the join key of a left entity.
+     * @param right    the right entities.
+     * @param rightKey the function returning the join key of a right entity.
+     * @param <L>      the type of the left entities.
+     * @param <R>      the type of the right entities.
+     * @param <K>      the type of the join key.
+     * @return the joined rows.
+     */
+    public static <L extends DateTemporal, R extends DateTemporal, K> List<TemporalJoinRow<L, R, Interval>> leftJoin(Collection<L> left, Function<? super L, K> leftKey,
+                                                                                                                    Collection<R> right, Function<? super R, K> rightKey) {
+        return leftJoin(IntervalDomain.DATES, left, DateTemporal::getInterval, leftKey, right, DateTemporal::getInterval, rightKey);
+    }
+
+    /**
+     * Returns a row for every left element with the date temporal entity starting latest on or before its date.
+     *
+     * @param left       the left elements.
+     * @param dateGetter the function returning the date of a left element.
+     * @param right      the right entities.
+     * @param <L>        the type of the left elements.
+     * @param <R>        the type of the right entities.
+     * @return the joined rows, one per left element, in the input order.
+     */
+    public static <L, R extends DateTemporal> List<TemporalJoinRow<L, R, Interval>> asOfJoin(Collection<L> left, Function<? super L, LocalDate> dateGetter, Collection<R> right) {
+        return asOfJoin(IntervalDomain.DATES, left, dateGetter, NO_KEY, right, DateTemporal::getInterval, NO_KEY);
+    }
+
+    /**
+     * Returns a row for every pair of overlapping left and right elements with equal keys, with their overlap.
+     *
+     * @param domain              the domain of the intervals.
+     * @param left                the left elements.
+     * @param leftIntervalGetter  the function returning the interval of a left element.
+     * @param leftKey             the function returning the join key of a left element.
+     * @param right               the right elements.
+     * @param rightIntervalGetter the function returning the interval of a right element.
+     * @param rightKey            the function returning the join key of a right element.
+     * @param <L>                 the type of the left elements.
+     * @param <R>                 the type of the right elements.
+     * @param <I>                 the type of the interval.
+     * @param <T>                 the type of the interval bounds.
+     * @param <K>                 the type of the join key.
+     * @return the joined rows.
+     */
+    public static <L, R, I extends Comparable<I>, T, K> List<TemporalJoinRow<L, R, I>> innerJoin(IntervalDomain<I, T> domain,
+                                                                                                 Collection<L> left, Function<? super L, I> leftIntervalGetter, Function<? super L, K> leftKey,
+                                                                                                 Collection<R> right, Function<? super R, I> rightIntervalGetter, Function<? super R, K> rightKey) {
+        return join(domain, left, leftIntervalGetter, leftKey, right, rightIntervalGetter, rightKey, false);
+    }
+
+    /**
+     * Same as {@link #innerJoin(IntervalDomain, Collection, Function, Function, Collection, Function, Function)}, with an additional row
+     * for every left element without any overlapping right element of equal key.
+     *
+     * @param domain              the domain of the intervals.
+     * @param left                the left elements.
+     * @param leftIntervalGetter  the function returning the interval of a left element.
+     * @param leftKey             the function returning the join key of a left element.
+     * @param right               the right elements.
+     * @param rightIntervalGetter the function returning the interval of a right element.
+     * @param rightKey            the function returning the join key of a right element.
+     * @param <L>                 the type of the left elements.
+     * @param <R>                 the type of the right elements.
+     * @param <I>                 the type of the interval.
+     * @param <T>                 the type of the interval bounds.
+     * @param <K>                 the type of the join key.
+     * @return the joined rows.
+     */
+    public static <L, R, I extends Comparable<I>, T, K> List<TemporalJoinRow<L, R, I>> leftJoin(IntervalDomain<I, T> domain,
+                                                                                                Collection<L> left, Function<? super L, I> leftIntervalGetter, Function<? super L, K> leftKey,
+                                                                                                Collection<R> right, Function<? super R, I> rightIntervalGetter, Function<? super R, K> rightKey) {
+        return join(domain, left, leftIntervalGetter, leftKey, right, rightIntervalGetter, rightKey, true);
+    }
+
+    /**
+     * Returns a row for every left element with the right element of equal key starting latest on or before its point.
+     * Among right elements with the same start, the one with the latest end is picked.
+     *
+     * @param domain              the domain of the intervals.
+     * @param left                the left elements.
+     * @param pointGetter         the function returning the point of a left element, must not return null.
+     * @param leftKey             the function returning the join key of a left element.
+     * @param right               the right elements.
+     * @param rightIntervalGetter the function returning the interval of a right element.
+     * @param rightKey            the function returning the join key of a right element.
+     * @param <L>                 the type of the left elements.
+     * @param <R>                 the type of the right elements.
+     * @param <I>                 the type of the interval.
+     * @param <T>                 the type of the interval bounds.
+     * @param <K>                 the type of the join key.
+     * @return the joined rows, one per left element, in the input order.
+     */
+    public static <L, R, I extends Comparable<I>, T, K> List<TemporalJoinRow<L, R, I>> asOfJoin(IntervalDomain<I, T> domain,
+                                                                                                Collection<L> left, Function<? super L, T> pointGetter, Function<? super L, K> leftKey,
+                                                                                                Collection<R> right, Function<? super R, I> rightIntervalGetter, Function<? super R, K> rightKey) {
+        List<L> leftElements = List.copyOf(left);
+        List<T> points = leftElements.stream().map(pointGetter).toList();
+        List<Integer> leftOrder = sortedIndexes(points, domain.nullAsMinComparator());
+        List<R> rightElements = List.copyOf(right);
+        List<I> rightIntervals = rightElements.stream().map(rightIntervalGetter).toList();
+        List<Integer> rightOrder = sortedIndexes(rightIntervals, Comparator.naturalOrder());
+
+        int[] matches = new int[leftElements.size()];
+        Map<K, List<Integer>> rightPartitions = partition(rightElements, rightOrder, rightKey);
+        partition(leftElements, leftOrder, leftKey).forEach((key, leftPartition) -> {
+            List<Integer> rightPartition = rightPartitions.getOrDefault(key, List.of());
+            int next = 0;
+            int latest = -1;
+            for (int leftIndex : leftPartition) {
+                T point = points.get(leftIndex);
+                while (next < rightPartition.size()
+                        && domain.compareNullAsMin(domain.start(rightIntervals.get(rightPartition.get(next))), point) <= 0) {
+                    latest = rightPartition.get(next++);
+                }
+                matches[leftIndex] = latest;
+            }
+        });
+
+        List<TemporalJoinRow<L, R, I>> rows = new ArrayList<>(leftElements.size());
+        for (int i = 0; i < leftElements.size(); i++) {
+            rows.add(new TemporalJoinRow<>(leftElements.get(i), matches[i] < 0 ? null : rightElements.get(matches[i]), null));
+        }
+        return rows;
+    }
+
+    private static <L, R, I extends Comparable<I>, T, K> List<TemporalJoinRow<L, R, I>> join(IntervalDomain<I, T> domain,
+                                                                                             Collection<L> left, Function<? super L, I> leftIntervalGetter, Function<? super L, K> leftKey,
+                                                                                             Collection<R> right, Function<? super R, I> rightIntervalGetter, Function<? super R, K> rightKey,
+                                                                                             boolean keepUnmatched) {
+        List<L> leftElements = List.copyOf(left);
+        List<I> leftIntervals = leftElements.stream().map(leftIntervalGetter).toList();
+        List<Integer> leftOrder = sortedIndexes(leftIntervals, Comparator.naturalOrder());
+        List<R> rightElements = List.copyOf(right);
+        List<I> rightIntervals = rightElements.stream().map(rightIntervalGetter).toList();
+        List<Integer> rightOrder = sortedIndexes(rightIntervals, Comparator.naturalOrder());
+        int[] rightRanks = new int[rightElements.size()];
+        for (int rank = 0; rank < rightOrder.size(); rank++) {
+            rightRanks[rightOrder.get(rank)] = rank;
+        }
+
+        // each match is encoded as the left index in the high and the right rank in the low half, so sorting orders the rows
+        LongStream.Builder matches = LongStream.builder();
+        boolean[] matched = new boolean[leftElements.size()];
+        Map<K, List<Integer>> rightPartitions = partition(rightElements, rightOrder, rightKey);
+        partition(leftElements, leftOrder, leftKey).forEach((key, leftPartition) -> sweep(domain, leftIntervals, leftPartition,
+                rightIntervals, rightPartitions.getOrDefault(key, List.of()), (leftIndex, rightIndex) -> {
+                    matched[leftIndex] = true;
+                    matches.add(((long) leftIndex << 32) | rightRanks[rightIndex]);
+                }));
+        if (keepUnmatched) {
+            for (int i = 0; i < matched.length; i++) {
+                if (!matched[i]) {
+                    matches.add(((long) i << 32) | NO_MATCH);
+                }
+            }
+        }
+
+        long[] sortedMatches = matches.build().sorted().toArray();
+        List<TemporalJoinRow<L, R, I>> rows = new ArrayList<>(sortedMatches.length);
+        for (long match : sortedMatches) {
+            int leftIndex = (int) (match >>> 32);
+            long rightRank = match & NO_MATCH;
+            if (rightRank == NO_MATCH) {
+                rows.add(new TemporalJoinRow<>(leftElements.get(leftIndex), null, leftIntervals.get(leftIndex)));
+            } else {
+                int rightIndex = rightOrder.get((int) rightRank);
+                I overlap = IntervalAlgebraUtils.getOverlap(domain, leftIntervals.get(leftIndex), rightIntervals.get(rightIndex)).orElseThrow();
+                rows.add(new TemporalJoinRow<>(leftElements.get(leftIndex), rightElements.get(rightIndex), overlap));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Sweeps the two sorted partitions by the start of their intervals, keeping the elements of each side that may still overlap
+     * an element starting later. Each new element is matched with the open elements of the other side, dropping the ones that
+     * ended before it starts, so every overlapping pair is reported exactly once.
+     */
+    private static <I extends Comparable<I>, T> void sweep(IntervalDomain<I, T> domain, List<I> leftIntervals, List<Integer> leftPartition,
+                                                           List<I> rightIntervals, List<Integer> rightPartition, MatchConsumer consumer) {
+        List<Integer> openLeft = new ArrayList<>();
+        List<Integer> openRight = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < leftPartition.size() || j < rightPartition.size()) {
+            if ((i == leftPartition.size() && openLeft.isEmpty()) || (j == rightPartition.size() && openRight.isEmpty())) {
+                // the remaining elements of one side have nothing left to match
+                break;
+            }
+            boolean isLeftNext = j == rightPartition.size()
+                    || (i < leftPartition.size() && domain.compareNullAsMin(domain.start(leftIntervals.get(leftPartition.get(i))), domain.start(rightIntervals.get(rightPartition.get(j)))) <= 0);
+            if (isLeftNext) {
+                int leftIndex = leftPartition.get(i++);
+                matchOpen(domain, leftIntervals.get(leftIndex), rightIntervals, openRight, rightIndex -> consumer.accept(leftIndex, rightIndex));
+                openLeft.add(leftIndex);
+            } else {
+                int rightIndex = rightPartition.get(j++);
+                matchOpen(domain, rightIntervals.get(rightIndex), leftIntervals, openLeft, leftIndex -> consumer.accept(leftIndex, rightIndex));
+                openRight.add(rightIndex);
+            }
+        }
+    }
+
+    private static <I extends Comparable<I>, T> void matchOpen(IntervalDomain<I, T> domain, I interval, List<I> otherIntervals, List<Integer> open,
+                                                               IntConsumer consumer) {
+        T start = domain.start(interval);
+        int k = 0;
+        while (k < open.size()) {
+            int otherIndex = open.get(k);
+            if (domain.shouldMerge(domain.end(otherIntervals.get(otherIndex)), start, false)) {
+                consumer.accept(otherIndex);
+                k++;
+            } else {
+                open.set(k, open.getLast());
+                open.removeLast();
+            }
+        }
+    }
+
+    private static <T> List<Integer> sortedIndexes(List<T> values, Comparator<? super T> comparator) {
+        List<Integer> indexes = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            indexes.add(i);
+        }
+        indexes.sort(Comparator.comparing(values::get, comparator));
+        return indexes;
+    }
+
+    /**
+     * Groups the given indexes by the key of their element, keeping their order within each group.
+     */
+    private static <E, K> Map<K, List<Integer>> partition(List<E> elements, List<Integer> order, Function<? super E, K> keyGetter) {
+        Map<K, List<Integer>> partitions = new HashMap<>();
+        for (int index : order) {
+            partitions.computeIfAbsent(keyGetter.apply(elements.get(index)), key -> new ArrayList<>()).add(index);
+        }
+        return partitions;
+    }
+
+    @FunctionalInterface
+    private interface MatchConsumer {
+        void accept(int leftIndex, int rightIndex);
+    }
+}
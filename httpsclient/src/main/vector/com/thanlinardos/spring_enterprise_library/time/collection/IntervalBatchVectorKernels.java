@@ -0,0 +1,78 @@
+package com.thanlinardos.spring_enterprise_library.time.collection;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import static com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils.OPEN_END;
+import static com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils.OPEN_START;
+
+/**
+ * Java Vector API implementations of the {@link IntervalBatch} filters, only compiled with the {@code vector-api} profile
+ * and loaded when they are enabled.
+ * <p>
+ * Each kernel sets the bits of the matching rows in the given words, one lane mask at a time. The number of lanes is a power
+ * of two of at most 64, so the mask of a chunk always falls within a single word. The remaining rows are evaluated with scalar code.
+ */
+final class IntervalBatchVectorKernels implements IntervalBatchKernels {
+
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    IntervalBatchVectorKernels() {
+    }
+
+    @Override
+    public void overlaps(long[] starts, long[] ends, long rangeStart, long rangeEnd, long[] words) {
+        int upperBound = SPECIES.loopBound(starts.length);
+        int i = 0;
+        for (; i < upperBound; i += SPECIES.length()) {
+            VectorMask<Long> mask = LongVector.fromArray(SPECIES, starts, i).compare(VectorOperators.LE, rangeEnd)
+                    .and(LongVector.fromArray(SPECIES, ends, i).compare(VectorOperators.GE, rangeStart));
+            words[i >>> 6] |= mask.toLong() << i;
+        }
+        for (; i < starts.length; i++) {
+            words[i >>> 6] |= (starts[i] <= rangeEnd & ends[i] >= rangeStart ? 1L : 0L) << i;
+        }
+    }
+
+    @Override
+    public void containedIn(long[] starts, long[] ends, long rangeStart, long rangeEnd, long[] words) {
+        int upperBound = SPECIES.loopBound(starts.length);
+        int i = 0;
+        for (; i < upperBound; i += SPECIES.length()) {
+            LongVector startVector = LongVector.fromArray(SPECIES, starts, i);
+            LongVector endVector = LongVector.fromArray(SPECIES, ends, i);
+            VectorMask<Long> mask = startVector.compare(VectorOperators.GE, rangeStart).or(startVector.compare(VectorOperators.EQ, OPEN_START))
+                    .and(endVector.compare(VectorOperators.LE, rangeEnd).or(endVector.compare(VectorOperators.EQ, OPEN_END)));
+            words[i >>> 6] |= mask.toLong() << i;
+        }
+        for (; i < starts.length; i++) {
+            boolean isMatch = (starts[i] >= rangeStart | starts[i] == OPEN_START) & (ends[i] <= rangeEnd | ends[i] == OPEN_END);
+            words[i >>> 6] |= (isMatch ? 1L : 0L) << i;
+        }
+    }
+
+    @Override
+    public void lessThan(long[] column, long value, long[] words) {
+        compare(column, VectorOperators.LT, value, words);
+        for (int i = SPECIES.loopBound(column.length); i < column.length; i++) {
+            words[i >>> 6] |= (column[i] < value ? 1L : 0L) << i;
+        }
+    }
+
+    @Override
+    public void greaterThan(long[] column, long value, long[] words) {
+        compare(column, VectorOperators.GT, value, words);
+        for (int i = SPECIES.loopBound(column.length); i < column.length; i++) {
+            words[i >>> 6] |= (column[i] > value ? 1L : 0L) << i;
+        }
+    }
+
+    private static void compare(long[] column, VectorOperators.Comparison comparison, long value, long[] words) {
+        int upperBound = SPECIES.loopBound(column.length);
+        for (int i = 0; i < upperBound; i += SPECIES.length()) {
+            words[i >>> 6] |= LongVector.fromArray(SPECIES, column, i).compare(comparison, value).toLong() << i;
+        }
+    }
+}
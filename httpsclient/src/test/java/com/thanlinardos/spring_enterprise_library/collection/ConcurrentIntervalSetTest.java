@@ -0,0 +1,85 @@
+package com.thanlinardos.spring_enterprise_library.collection;
+
+import com.thanlinardos.spring_enterprise_library.annotations.SpringTest;
+import com.thanlinardos.spring_enterprise_library.time.collection.ConcurrentIntervalSet;
+import com.thanlinardos.spring_enterprise_library.time.model.InstantInterval;
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+@SpringTest
+class ConcurrentIntervalSetTest {
+
+    private static final Instant START = Instant.parse("2000-01-01T00:00:00Z");
+    private static final InstantInterval HOUR = new InstantInterval(START, START.plusSeconds(3600));
+
+    @Test
+    void readersSeeConsistentSnapshots() {
+        ConcurrentIntervalSet<InstantInterval, Instant> set = ConcurrentIntervalSet.forInstants();
+        set.add(HOUR);
+
+        CompletableFuture<?> writer = CompletableFuture.runAsync(() -> IntStream.range(0, 20_000).forEach(i -> {
+            InstantInterval second = new InstantInterval(START.plusSeconds(i % 3600), START.plusSeconds(i % 3600));
+            set.remove(second);
+            set.add(second);
+        }));
+        while (!writer.isDone()) {
+            List<InstantInterval> intervals = set.toIntervals();
+            Assertions.assertTrue(intervals.size() <= 2, intervals::toString);
+            Assertions.assertTrue(set.contains(START.plusSeconds(3600)));
+        }
+        writer.join();
+
+        Assertions.assertEquals(List.of(HOUR), set.toIntervals());
+        Assertions.assertFalse(set.add(HOUR));
+    }
+
+    @Test
+    void rangeQueriesDoNotFailOnConcurrentUpdates() {
+        ConcurrentIntervalSet<Interval, LocalDate> set = ConcurrentIntervalSet.forDates();
+        Interval january = Interval.forIsoDates("2000-01-01", "2000-01-31");
+        Interval tail = Interval.forIsoDates("2000-01-11", "2000-01-31");
+        Interval range = Interval.forIsoDates("2000-01-20", "2000-02-20");
+        set.add(january);
+
+        AtomicBoolean isDone = new AtomicBoolean();
+        CompletableFuture<?> writer = CompletableFuture.runAsync(() -> {
+            while (!isDone.get()) {
+                set.remove(tail);
+                set.add(tail);
+            }
+        });
+        try {
+            IntStream.range(0, 500_000).parallel().forEach(i -> {
+                List<Interval> overlaps = set.getOverlaps(range);
+                Assertions.assertTrue(overlaps.isEmpty() || overlaps.equals(List.of(Interval.forIsoDates("2000-01-20", "2000-01-31"))), overlaps::toString);
+                List<Interval> gaps = set.getGaps(range);
+                Assertions.assertTrue(gaps.equals(List.of(range)) || gaps.equals(List.of(Interval.forIsoDates("2000-02-01", "2000-02-20"))), gaps::toString);
+            });
+        } finally {
+            isDone.set(true);
+        }
+        writer.join();
+
+        Assertions.assertEquals(List.of(january), set.toIntervals());
+    }
+
+    @Test
+    void queries() {
+        ConcurrentIntervalSet<InstantInterval, Instant> set = ConcurrentIntervalSet.forInstants();
+        set.add(HOUR);
+        set.remove(new InstantInterval(START.plusSeconds(600), START.plusSeconds(1200)));
+
+        Assertions.assertEquals(2, set.size());
+        Assertions.assertTrue(set.overlaps(new InstantInterval(START.plusSeconds(1000), START.plusSeconds(1300))));
+        Assertions.assertFalse(set.containsInterval(HOUR));
+        Assertions.assertEquals(List.of(new InstantInterval(START.plusSeconds(600), START.plusSeconds(1200))), set.getGaps(HOUR));
+    }
+}
@@ -0,0 +1,91 @@
+package com.thanlinardos.spring_enterprise_library.collection;
+
+import com.thanlinardos.spring_enterprise_library.annotations.SpringTest;
+import com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException;
+import com.thanlinardos.spring_enterprise_library.time.collection.CoverageProfile;
+import com.thanlinardos.spring_enterprise_library.time.model.InstantInterval;
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import com.thanlinardos.spring_enterprise_library.tuple.Pair;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+@SpringTest
+class CoverageProfileTest {
+
+    private static final Interval JAN_2000 = Interval.forIsoDates("2000-01-01", "2000-01-31");
+    private static final Interval JAN_15_FEB_15_2000 = Interval.forIsoDates("2000-01-15", "2000-02-15");
+    private static final Interval JAN_20_25_2000 = Interval.forIsoDates("2000-01-20", "2000-01-25");
+    private static final Interval MAR_2000 = Interval.forIsoDates("2000-03-01", "2000-03-31");
+
+    public static Stream<Arguments> profileParams() {
+        return Stream.of(
+                Arguments.argumentSet("Empty list", Collections.emptyList(), 0, Collections.emptyList(), 0L),
+                Arguments.argumentSet("Disjoint intervals", List.of(MAR_2000, JAN_2000), 1, List.of(
+                        Pair.of(JAN_2000, 1),
+                        Pair.of(MAR_2000, 1)), 62L),
+                Arguments.argumentSet("Nested overlaps", List.of(JAN_2000, JAN_15_FEB_15_2000, JAN_20_25_2000), 3, List.of(
+                        Pair.of(Interval.forIsoDates("2000-01-01", "2000-01-14"), 1),
+                        Pair.of(Interval.forIsoDates("2000-01-15", "2000-01-19"), 2),
+                        Pair.of(JAN_20_25_2000, 3),
+                        Pair.of(Interval.forIsoDates("2000-01-26", "2000-01-31"), 2),
+                        Pair.of(Interval.forIsoDates("2000-02-01", "2000-02-15"), 1)), 46L),
+                Arguments.argumentSet("Equal intervals", List.of(MAR_2000, MAR_2000), 2, List.of(Pair.of(MAR_2000, 2)), 31L),
+                Arguments.argumentSet("Adjacent intervals", List.of(JAN_2000, Interval.forIsoDates("2000-02-01", "2000-02-29")), 1, List.of(
+                        Pair.of(Interval.forIsoDates("2000-01-01", "2000-02-29"), 1)), 60L)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("profileParams")
+    void profile(List<Interval> intervals, int maxDepth, List<Pair<Interval, Integer>> steps, long coveredDays) {
+        CoverageProfile<Interval, LocalDate> profile = CoverageProfile.forDates(intervals);
+        Assertions.assertEquals(maxDepth, profile.getMaxDepth());
+        Assertions.assertEquals(steps, profile.getDepthSteps());
+        Assertions.assertEquals(coveredDays, profile.getCoveredUnits());
+        Assertions.assertEquals(Interval.normalize(intervals), profile.getCoveredAtLeast(1));
+    }
+
+    @Test
+    void coveredAtLeast() {
+        CoverageProfile<Interval, LocalDate> profile = CoverageProfile.forDates(List.of(JAN_2000, JAN_15_FEB_15_2000, JAN_20_25_2000, MAR_2000));
+        Assertions.assertEquals(List.of(Interval.forIsoDates("2000-01-15", "2000-01-31")), profile.getCoveredAtLeast(2));
+        Assertions.assertEquals(List.of(JAN_20_25_2000), profile.getMaxDepthIntervals());
+        Assertions.assertEquals(Collections.emptyList(), profile.getCoveredAtLeast(4));
+        Assertions.assertThrows(CoreException.class, () -> profile.getCoveredAtLeast(0));
+    }
+
+    @Test
+    void depthWithOpenBounds() {
+        CoverageProfile<Interval, LocalDate> profile = CoverageProfile.forDates(List.of(
+                new Interval(null, LocalDate.parse("2000-01-31")), new Interval(LocalDate.parse("2000-01-15"), null)));
+        Assertions.assertEquals(1, profile.getDepth(LocalDate.parse("1900-01-01")));
+        Assertions.assertEquals(2, profile.getDepth(LocalDate.parse("2000-01-20")));
+        Assertions.assertEquals(1, profile.getDepth(LocalDate.parse("2100-01-01")));
+        Assertions.assertEquals(List.of(new Interval(null, null)), profile.getCoveredAtLeast(1));
+        Assertions.assertThrows(CoreException.class, profile::getCoveredUnits);
+    }
+
+    @Test
+    void peakConcurrencyOfSessions() {
+        Instant start = Instant.parse("2000-01-01T00:00:00Z");
+        CoverageProfile<InstantInterval, Instant> profile = CoverageProfile.forInstants(List.of(
+                new InstantInterval(start, start.plusSeconds(60)),
+                new InstantInterval(start.plusSeconds(30), start.plusSeconds(90)),
+                new InstantInterval(start.plusSeconds(60), start.plusSeconds(120))));
+        Assertions.assertEquals(3, profile.getMaxDepth());
+        Assertions.assertEquals(List.of(new InstantInterval(start.plusSeconds(60), start.plusSeconds(60))), profile.getMaxDepthIntervals());
+        Assertions.assertEquals(Duration.ofSeconds(120).plusMillis(1), profile.getCoveredDuration());
+        Assertions.assertEquals(0, profile.getDepth(start.minusMillis(1)));
+        Assertions.assertEquals(3, profile.getDepth(start.plusSeconds(60).plusNanos(500)));
+    }
+}
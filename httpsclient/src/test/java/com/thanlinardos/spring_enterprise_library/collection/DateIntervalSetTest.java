@@ -0,0 +1,86 @@
+package com.thanlinardos.spring_enterprise_library.collection;
+
+import com.thanlinardos.spring_enterprise_library.annotations.SpringTest;
+import com.thanlinardos.spring_enterprise_library.time.collection.DateIntervalSet;
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+@SpringTest
+class DateIntervalSetTest {
+
+    private static final Interval YEAR_2000 = Interval.forIsoDates("2000-01-01", "2000-12-31");
+    private static final Interval YEAR_2001 = Interval.forIsoDates("2001-01-01", "2001-12-31");
+    private static final Interval YEARS_2000_2001 = Interval.forIsoDates("2000-01-01", "2001-12-31");
+    private static final Interval JAN_MAY_2000 = Interval.forIsoDates("2000-01-01", "2000-05-31");
+    private static final Interval MAY_2000 = Interval.forIsoDates("2000-05-01", "2000-05-31");
+    private static final Interval JUN_DEC_2000 = Interval.forIsoDates("2000-06-01", "2000-12-31");
+    private static final Interval OPEN_START = new Interval(null, LocalDate.parse("2000-03-31"));
+    private static final Interval OPEN_END = new Interval(LocalDate.parse("2000-05-01"), null);
+
+    public static Stream<Arguments> ofParams() {
+        return Stream.of(
+                Arguments.argumentSet("Empty list", Collections.emptyList(), Collections.emptyList()),
+                Arguments.argumentSet("Neighboring intervals are merged", List.of(YEAR_2001, YEAR_2000), List.of(YEARS_2000_2001)),
+                Arguments.argumentSet("Contained interval", List.of(MAY_2000, YEAR_2000), List.of(YEAR_2000)),
+                Arguments.argumentSet("Open bounds", List.of(OPEN_END, OPEN_START, YEAR_2001), List.of(OPEN_START, OPEN_END)),
+                Arguments.argumentSet("Unbounded", List.of(OPEN_END, new Interval(null, null), OPEN_START), List.of(new Interval(null, null)))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("ofParams")
+    void of(List<Interval> intervals, List<Interval> expected) {
+        DateIntervalSet set = DateIntervalSet.of(intervals);
+        Assertions.assertEquals(expected, set.toIntervals());
+        Assertions.assertEquals(set, DateIntervalSet.of(set.toIntervals()));
+    }
+
+    public static Stream<Arguments> setOperationParams() {
+        return Stream.of(
+                Arguments.argumentSet("Disjoint sets",
+                        List.of(JAN_MAY_2000), List.of(YEAR_2001),
+                        List.of(JAN_MAY_2000, YEAR_2001), Collections.emptyList(), List.of(JAN_MAY_2000)),
+                Arguments.argumentSet("Subtract from the middle",
+                        List.of(YEAR_2000), List.of(MAY_2000),
+                        List.of(YEAR_2000), List.of(MAY_2000), List.of(Interval.forIsoDates("2000-01-01", "2000-04-30"), JUN_DEC_2000)),
+                Arguments.argumentSet("Open start with open end",
+                        List.of(OPEN_START), List.of(OPEN_END),
+                        List.of(new Interval(null, LocalDate.parse("2000-03-31")), OPEN_END), Collections.emptyList(), List.of(OPEN_START)),
+                Arguments.argumentSet("Open end overlapping closed intervals",
+                        List.of(OPEN_END), List.of(MAY_2000, YEAR_2001),
+                        List.of(OPEN_END), List.of(MAY_2000, YEAR_2001), List.of(JUN_DEC_2000, new Interval(LocalDate.parse("2002-01-01"), null)))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("setOperationParams")
+    void setOperations(List<Interval> first, List<Interval> second, List<Interval> union, List<Interval> intersection, List<Interval> difference) {
+        DateIntervalSet firstSet = DateIntervalSet.of(first);
+        DateIntervalSet secondSet = DateIntervalSet.of(second);
+        Assertions.assertEquals(union, firstSet.union(secondSet).toIntervals());
+        Assertions.assertEquals(intersection, firstSet.intersection(secondSet).toIntervals());
+        Assertions.assertEquals(difference, firstSet.subtract(secondSet).toIntervals());
+        Assertions.assertEquals(!intersection.isEmpty(), firstSet.overlaps(secondSet));
+    }
+
+    @Test
+    void containsAndOverlaps() {
+        DateIntervalSet set = DateIntervalSet.of(OPEN_START, MAY_2000, YEAR_2001);
+        Assertions.assertTrue(set.contains(LocalDate.parse("1900-01-01")));
+        Assertions.assertFalse(set.contains(LocalDate.parse("2000-04-30")));
+        Assertions.assertTrue(set.contains(MAY_2000));
+        Assertions.assertFalse(set.contains(JAN_MAY_2000));
+        Assertions.assertTrue(set.overlaps(JAN_MAY_2000));
+        Assertions.assertFalse(set.overlaps(JUN_DEC_2000));
+        Assertions.assertTrue(set.overlaps(OPEN_END));
+    }
+}
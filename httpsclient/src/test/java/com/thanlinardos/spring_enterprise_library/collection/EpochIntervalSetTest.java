@@ -0,0 +1,62 @@
+package com.thanlinardos.spring_enterprise_library.collection;
+
+import com.thanlinardos.spring_enterprise_library.annotations.SpringTest;
+import com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException;
+import com.thanlinardos.spring_enterprise_library.time.collection.EpochIntervalSet;
+import com.thanlinardos.spring_enterprise_library.time.model.InstantInterval;
+import com.thanlinardos.spring_enterprise_library.time.model.TimeInterval;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@SpringTest
+class EpochIntervalSetTest {
+
+    private static final InstantInterval YEAR_2000 = InstantInterval.forIsoDatesMilliUTC("2000-01-01", "2000-12-31");
+    private static final InstantInterval YEAR_2001 = InstantInterval.forIsoDatesMilliUTC("2001-01-01", "2001-12-31");
+    private static final InstantInterval YEARS_2000_2001 = InstantInterval.forIsoDatesMilliUTC("2000-01-01", "2001-12-31");
+    private static final InstantInterval MAY_2000 = InstantInterval.forIsoDatesMilliUTC("2000-05-01", "2000-05-31");
+    private static final InstantInterval YEAR_3333 = InstantInterval.forIsoDatesMilliUTC("3333-01-01", "3333-12-31");
+    private static final InstantInterval OPEN_END = InstantInterval.fromIsoDateToNullMilliUTC("2000-05-01");
+
+    @Test
+    void roundTripsNormalizedInstantIntervals() {
+        List<InstantInterval> intervals = List.of(YEAR_3333, YEAR_2001, MAY_2000, YEAR_2000);
+        EpochIntervalSet<InstantInterval, Instant> set = EpochIntervalSet.forInstants(intervals);
+        Assertions.assertEquals(TimeUnit.MILLISECONDS, set.getUnit());
+        Assertions.assertEquals(InstantInterval.normalize(intervals), set.toIntervals());
+        Assertions.assertEquals(List.of(YEARS_2000_2001, YEAR_3333), set.toIntervals());
+    }
+
+    @Test
+    void setOperations() {
+        EpochIntervalSet<InstantInterval, Instant> years = EpochIntervalSet.forInstants(List.of(YEAR_2000, YEAR_3333));
+        EpochIntervalSet<InstantInterval, Instant> openEnd = EpochIntervalSet.forInstants(List.of(OPEN_END));
+        Assertions.assertEquals(List.of(InstantInterval.fromIsoDateToNullMilliUTC("2000-01-01")), years.union(openEnd).toIntervals());
+        Assertions.assertEquals(List.of(InstantInterval.forIsoDatesMilliUTC("2000-05-01", "2000-12-31"), YEAR_3333), years.intersection(openEnd).toIntervals());
+        Assertions.assertEquals(List.of(InstantInterval.forIsoDatesMilliUTC("2000-01-01", "2000-04-30")), years.subtract(openEnd).toIntervals());
+        Assertions.assertTrue(years.contains(Instant.parse("2000-12-31T23:59:59.999Z")));
+        Assertions.assertFalse(years.contains(Instant.parse("2001-01-01T00:00:00Z")));
+        Assertions.assertTrue(years.contains(Instant.parse("2000-12-31T23:59:59.999999Z")));
+        Assertions.assertTrue(years.containsInterval(MAY_2000));
+        Assertions.assertFalse(years.overlaps(YEAR_2001));
+    }
+
+    @Test
+    void dateTimeIntervals() {
+        TimeInterval first = TimeInterval.forIsoDateTimes("2000-01-01T00:00:00", "2000-01-01T11:59:59.999");
+        TimeInterval second = TimeInterval.forIsoDateTimes("2000-01-01T12:00:00", "2000-01-01T23:59:59.999");
+        EpochIntervalSet<TimeInterval, LocalDateTime> set = EpochIntervalSet.forDateTimes(List.of(second, first));
+        Assertions.assertEquals(List.of(TimeInterval.forIsoDateTimes("2000-01-01T00:00:00", "2000-01-01T23:59:59.999")), set.toIntervals());
+    }
+
+    @Test
+    void rejectsValuesFinerThanTheUnit() {
+        List<InstantInterval> intervals = List.of(new InstantInterval(Instant.parse("2000-01-01T00:00:00.000000001Z"), null));
+        Assertions.assertThrows(CoreException.class, () -> EpochIntervalSet.forInstants(intervals));
+    }
+}
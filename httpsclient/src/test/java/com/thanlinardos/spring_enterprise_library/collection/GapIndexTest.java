@@ -0,0 +1,75 @@
+package com.thanlinardos.spring_enterprise_library.collection;
+
+import com.thanlinardos.spring_enterprise_library.annotations.SpringTest;
+import com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException;
+import com.thanlinardos.spring_enterprise_library.time.collection.GapIndex;
+import com.thanlinardos.spring_enterprise_library.time.model.InstantInterval;
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@SpringTest
+class GapIndexTest {
+
+    private static final GapIndex<Interval, LocalDate> BOOKINGS = GapIndex.forDates(List.of(
+            Interval.forIsoDates("2000-01-01", "2000-01-05"),
+            Interval.forIsoDates("2000-01-08", "2000-01-10"),
+            Interval.forIsoDates("2000-01-09", "2000-01-12"),
+            Interval.forIsoDates("2000-01-15", "2000-01-20"),
+            Interval.forIsoDates("2000-01-30", "2000-01-31")));
+
+    @Test
+    void gaps() {
+        Assertions.assertEquals(List.of(
+                new Interval(null, LocalDate.parse("1999-12-31")),
+                Interval.forIsoDates("2000-01-06", "2000-01-07"),
+                Interval.forIsoDates("2000-01-13", "2000-01-14"),
+                Interval.forIsoDates("2000-01-21", "2000-01-29"),
+                new Interval(LocalDate.parse("2000-02-01"), null)), BOOKINGS.getGaps());
+        Assertions.assertEquals(List.of(new Interval(null, null)), GapIndex.forDates(List.of()).getGaps());
+    }
+
+    @Test
+    void firstFit() {
+        Assertions.assertEquals(Optional.of(Interval.forIsoDates("2000-01-06", "2000-01-07")), BOOKINGS.firstFit(LocalDate.parse("2000-01-01"), Duration.ofDays(2)));
+        Assertions.assertEquals(Optional.of(Interval.forIsoDates("2000-01-07", "2000-01-07")), BOOKINGS.firstFit(LocalDate.parse("2000-01-07"), Duration.ofDays(1)));
+        Assertions.assertEquals(Optional.of(Interval.forIsoDates("2000-01-21", "2000-01-29")), BOOKINGS.firstFit(LocalDate.parse("2000-01-07"), Duration.ofDays(3)));
+        Assertions.assertEquals(Optional.of(new Interval(LocalDate.parse("2000-02-01"), null)), BOOKINGS.firstFit(LocalDate.parse("2000-01-01"), Duration.ofDays(10)));
+        Assertions.assertEquals(Optional.of(new Interval(null, LocalDate.parse("1999-12-31"))), BOOKINGS.firstFit(null, Duration.ofDays(1000)));
+    }
+
+    @Test
+    void earliestFits() {
+        Assertions.assertEquals(List.of(Interval.forIsoDates("2000-01-13", "2000-01-14"), Interval.forIsoDates("2000-01-21", "2000-01-29")),
+                BOOKINGS.earliestFits(LocalDate.parse("2000-01-10"), Duration.ofDays(2), 2));
+        Assertions.assertEquals(List.of(), BOOKINGS.earliestFits(LocalDate.parse("2000-01-10"), Duration.ofDays(2), 0));
+    }
+
+    @Test
+    void bestFit() {
+        Interval january = Interval.forIsoDates("2000-01-01", "2000-01-31");
+        Assertions.assertEquals(Optional.of(Interval.forIsoDates("2000-01-06", "2000-01-07")), BOOKINGS.bestFit(january, Duration.ofDays(2)));
+        Assertions.assertEquals(Optional.of(Interval.forIsoDates("2000-01-21", "2000-01-29")), BOOKINGS.bestFit(january, Duration.ofDays(3)));
+        Assertions.assertEquals(Optional.of(Interval.forIsoDates("2000-01-21", "2000-01-25")), BOOKINGS.bestFit(Interval.forIsoDates("2000-01-10", "2000-01-25"), Duration.ofDays(3)));
+        Assertions.assertEquals(Optional.empty(), BOOKINGS.bestFit(january, Duration.ofDays(10)));
+    }
+
+    @Test
+    void instants() {
+        Instant start = Instant.parse("2000-01-01T09:00:00Z");
+        GapIndex<InstantInterval, Instant> meetings = GapIndex.forInstants(List.of(
+                new InstantInterval(start, start.plusSeconds(1800).minusMillis(1)),
+                new InstantInterval(start.plusSeconds(2700), start.plusSeconds(3600).minusMillis(1))));
+
+        Assertions.assertEquals(Optional.of(new InstantInterval(start.plusSeconds(1800), start.plusSeconds(2700).minusMillis(1))),
+                meetings.firstFit(start, Duration.ofMinutes(15)));
+        Assertions.assertEquals(Optional.of(new InstantInterval(start.plusSeconds(3600), null)), meetings.firstFit(start, Duration.ofMinutes(16)));
+        Assertions.assertThrows(CoreException.class, () -> meetings.firstFit(start, Duration.ofMinutes(-1)));
+    }
+}
@@ -0,0 +1,99 @@
+package com.thanlinardos.spring_enterprise_library.collection;
+
+import com.thanlinardos.spring_enterprise_library.annotations.SpringTest;
+import com.thanlinardos.spring_enterprise_library.time.api.DateTemporal;
+import com.thanlinardos.spring_enterprise_library.time.collection.IntervalBatch;
+import com.thanlinardos.spring_enterprise_library.time.model.InstantInterval;
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+@SpringTest
+class IntervalBatchTest {
+
+    private static final LocalDate JAN_10 = LocalDate.parse("2000-01-10");
+    private static final LocalDate JAN_20 = LocalDate.parse("2000-01-20");
+    private static final Contract JAN = new Contract("jan", Interval.forIsoDates("2000-01-01", "2000-01-31"));
+    private static final Contract JAN_12_15 = new Contract("jan-12-15", Interval.forIsoDates("2000-01-12", "2000-01-15"));
+    private static final Contract FEB = new Contract("feb", Interval.forIsoDates("2000-02-01", "2000-02-29"));
+    private static final Contract UNTIL_JAN_10 = new Contract("until-jan-10", new Interval(null, JAN_10));
+    private static final Contract FROM_JAN_20 = new Contract("from-jan-20", new Interval(JAN_20, null));
+    private static final IntervalBatch<Contract, Interval, LocalDate> BATCH = IntervalBatch.forDates(List.of(JAN, JAN_12_15, FEB, UNTIL_JAN_10, FROM_JAN_20));
+
+    private record Contract(String name, Interval getInterval) implements DateTemporal {
+    }
+
+    @Test
+    void filters() {
+        Assertions.assertEquals(List.of(JAN, JAN_12_15, UNTIL_JAN_10, FROM_JAN_20), BATCH.select(BATCH.overlaps(JAN_10, JAN_20)));
+        Assertions.assertEquals(List.of(JAN, UNTIL_JAN_10), BATCH.select(BATCH.contains(JAN_10)));
+        Assertions.assertEquals(List.of(JAN_12_15, UNTIL_JAN_10, FROM_JAN_20), BATCH.select(BATCH.containedIn(JAN_10, JAN_20)));
+        Assertions.assertEquals(List.of(JAN, UNTIL_JAN_10), BATCH.select(BATCH.startsBefore(JAN_10)));
+        Assertions.assertEquals(List.of(JAN, FEB, FROM_JAN_20), BATCH.select(BATCH.endsAfter(JAN_20)));
+        Assertions.assertEquals(List.of(JAN, JAN_12_15, FEB, UNTIL_JAN_10, FROM_JAN_20), BATCH.select(BATCH.overlaps(null, null)));
+    }
+
+    @Test
+    void filtersMatchRecordMethods() {
+        List<Contract> contracts = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            LocalDate start = JAN_10.plusDays(i % 37);
+            contracts.add(new Contract(String.valueOf(i), new Interval(i % 11 == 0 ? null : start, i % 13 == 0 ? null : start.plusDays(i % 7))));
+        }
+        IntervalBatch<Contract, Interval, LocalDate> batch = IntervalBatch.forDates(contracts);
+        Interval range = Interval.forIsoDates("2000-01-25", "2000-02-05");
+        BitSet overlaps = batch.overlaps(range.start(), range.end());
+        BitSet containedIn = batch.containedIn(range.start(), range.end());
+        for (int i = 0; i < contracts.size(); i++) {
+            Interval interval = contracts.get(i).getInterval();
+            Assertions.assertEquals(interval.overlaps(range), overlaps.get(i));
+            Assertions.assertEquals(range.contains(interval), containedIn.get(i));
+        }
+        Assertions.assertArrayEquals(overlaps.stream().toArray(), IntervalBatch.toIndices(overlaps));
+    }
+
+    @Test
+    void usesTheVectorKernelsOnlyWhenEnabled() {
+        Assertions.assertEquals(Boolean.getBoolean(IntervalBatch.VECTORIZED_PROPERTY), IntervalBatch.isVectorized());
+    }
+
+    @Test
+    void instantBatch() {
+        Instant start = Instant.parse("2000-01-01T00:00:00Z");
+        List<InstantInterval> sessions = List.of(
+                new InstantInterval(start, start.plusSeconds(60)),
+                new InstantInterval(start.plusSeconds(30), start.plusSeconds(90)),
+                new InstantInterval(start.plusSeconds(90), null));
+        IntervalBatch<InstantInterval, InstantInterval, Instant> batch = IntervalBatch.forInstants(sessions);
+        Assertions.assertArrayEquals(new int[]{0, 1}, IntervalBatch.toIndices(batch.contains(start.plusSeconds(45))));
+        Assertions.assertArrayEquals(new int[]{1, 2}, IntervalBatch.toIndices(batch.endsAfter(start.plusSeconds(60))));
+        Assertions.assertArrayEquals(new int[]{0, 1}, IntervalBatch.toIndices(batch.contains(start.plusSeconds(60).plusNanos(1))));
+        Assertions.assertArrayEquals(new int[]{0, 1, 2}, IntervalBatch.toIndices(batch.startsBefore(start.plusSeconds(90).plusNanos(1))));
+        Assertions.assertArrayEquals(new int[]{0, 1}, IntervalBatch.toIndices(batch.startsBefore(start.plusSeconds(90))));
+    }
+
+    @Test
+    void startsBeforeAndEndsAfterMatchRecordMethodsWithinAUnit() {
+        Instant start = Instant.parse("2000-01-01T00:00:00Z");
+        List<InstantInterval> sessions = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            sessions.add(new InstantInterval(start.plusMillis(i), start.plusMillis(i + 5)));
+        }
+        IntervalBatch<InstantInterval, InstantInterval, Instant> batch = IntervalBatch.forInstants(sessions);
+        for (long nanos = 0; nanos < 30_000_000; nanos += 250_000) {
+            Instant point = start.plusNanos(nanos);
+            BitSet startsBefore = batch.startsBefore(point);
+            BitSet endsAfter = batch.endsAfter(point);
+            for (int i = 0; i < sessions.size(); i++) {
+                Assertions.assertEquals(sessions.get(i).start().isBefore(point), startsBefore.get(i), point + " " + sessions.get(i));
+                Assertions.assertEquals(sessions.get(i).end().isAfter(point), endsAfter.get(i), point + " " + sessions.get(i));
+            }
+        }
+    }
+}
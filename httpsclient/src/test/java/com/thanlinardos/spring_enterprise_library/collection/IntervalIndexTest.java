@@ -0,0 +1,110 @@
+package com.thanlinardos.spring_enterprise_library.collection;
+
+import com.thanlinardos.spring_enterprise_library.annotations.SpringTest;
+import com.thanlinardos.spring_enterprise_library.time.collection.IntervalIndex;
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import com.thanlinardos.spring_enterprise_library.time.model.IntervalDomain;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+@SpringTest
+class IntervalIndexTest {
+
+    private static final Interval YEAR_2000 = Interval.forIsoDates("2000-01-01", "2000-12-31");
+    private static final Interval JAN_MAY_2000 = Interval.forIsoDates("2000-01-01", "2000-05-31");
+    private static final Interval MAY_2000 = Interval.forIsoDates("2000-05-01", "2000-05-31");
+    private static final Interval JUN_JUL_2000 = Interval.forIsoDates("2000-06-01", "2000-07-31");
+    private static final Interval YEAR_2001 = Interval.forIsoDates("2001-01-01", "2001-12-31");
+    private static final Interval OPEN_START = new Interval(null, LocalDate.parse("2000-03-31"));
+    private static final Interval OPEN_END = new Interval(LocalDate.parse("2000-05-01"), null);
+    private static final IntervalIndex<Interval, Interval, LocalDate> INDEX =
+            IntervalIndex.forDates(List.of(YEAR_2001, OPEN_END, JUN_JUL_2000, MAY_2000, YEAR_2000, OPEN_START, JAN_MAY_2000));
+
+    public static Stream<Arguments> stabParams() {
+        return Stream.of(
+                Arguments.argumentSet("Before all closed intervals", LocalDate.parse("1999-01-01"), List.of(OPEN_START)),
+                Arguments.argumentSet("On the first day of the year", LocalDate.parse("2000-01-01"), List.of(OPEN_START, JAN_MAY_2000, YEAR_2000)),
+                Arguments.argumentSet("On a shared last day", LocalDate.parse("2000-05-31"), List.of(JAN_MAY_2000, YEAR_2000, MAY_2000, OPEN_END)),
+                Arguments.argumentSet("Far in the future", LocalDate.parse("3333-01-01"), List.of(OPEN_END))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("stabParams")
+    void stab(LocalDate date, List<Interval> expected) {
+        Assertions.assertEquals(expected, INDEX.stab(date));
+    }
+
+    public static Stream<Arguments> overlappingParams() {
+        return Stream.of(
+                Arguments.argumentSet("Open start interval", new Interval(null, LocalDate.parse("1999-12-31")), List.of(OPEN_START)),
+                Arguments.argumentSet("Neighboring intervals only touch on one side", JUN_JUL_2000, List.of(YEAR_2000, OPEN_END, JUN_JUL_2000)),
+                Arguments.argumentSet("Open end interval", new Interval(LocalDate.parse("2001-06-01"), null), List.of(OPEN_END, YEAR_2001))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("overlappingParams")
+    void overlapping(Interval interval, List<Interval> expected) {
+        Assertions.assertEquals(expected, INDEX.overlapping(interval));
+        Assertions.assertEquals(!expected.isEmpty(), INDEX.anyOverlapping(interval));
+    }
+
+    public static Stream<Arguments> containingParams() {
+        return Stream.of(
+                Arguments.argumentSet("Single month", MAY_2000, List.of(JAN_MAY_2000, YEAR_2000, MAY_2000, OPEN_END)),
+                Arguments.argumentSet("Open end is only contained by an open end", new Interval(LocalDate.parse("2001-01-01"), null), List.of(OPEN_END)),
+                Arguments.argumentSet("Open start is only contained by an open start", new Interval(null, LocalDate.parse("1999-12-31")), List.of(OPEN_START))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("containingParams")
+    void containing(Interval interval, List<Interval> expected) {
+        Assertions.assertEquals(expected, INDEX.containing(interval));
+    }
+
+    public static Stream<Arguments> containedInParams() {
+        return Stream.of(
+                Arguments.argumentSet("Year 2000", YEAR_2000, List.of(JAN_MAY_2000, YEAR_2000, MAY_2000, JUN_JUL_2000)),
+                Arguments.argumentSet("Open end", new Interval(LocalDate.parse("2000-05-01"), null), List.of(MAY_2000, OPEN_END, JUN_JUL_2000, YEAR_2001)),
+                Arguments.argumentSet("Nothing fits", Interval.forIsoDates("1999-01-01", "1999-12-31"), Collections.emptyList())
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("containedInParams")
+    void containedIn(Interval interval, List<Interval> expected) {
+        Assertions.assertEquals(expected, INDEX.containedIn(interval));
+    }
+
+    @Test
+    void overlappingEqualsLinearFilter() {
+        Random random = new Random(1);
+        LocalDate base = LocalDate.parse("2000-01-01");
+        List<Interval> intervals = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            LocalDate start = random.nextInt(20) == 0 ? null : base.plusDays(random.nextInt(1_000));
+            LocalDate end = random.nextInt(20) == 0 ? null : (start == null ? base : start).plusDays(random.nextInt(30));
+            intervals.add(new Interval(start, end));
+        }
+        IntervalIndex<Interval, Interval, LocalDate> index = IntervalIndex.of(IntervalDomain.DATES, intervals, interval -> interval);
+        List<Interval> sortedIntervals = intervals.stream().sorted().toList();
+        for (int i = 0; i < 200; i++) {
+            LocalDate start = base.plusDays(random.nextInt(1_100));
+            Interval query = new Interval(start, start.plusDays(random.nextInt(10)));
+            Assertions.assertEquals(sortedIntervals.stream().filter(query::overlaps).toList(), index.overlapping(query));
+            Assertions.assertEquals(sortedIntervals.stream().filter(interval -> interval.contains(start)).toList(), index.stab(start));
+        }
+    }
+}
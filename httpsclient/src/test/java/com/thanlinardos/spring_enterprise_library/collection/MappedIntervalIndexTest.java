@@ -0,0 +1,94 @@
+package com.thanlinardos.spring_enterprise_library.collection;
+
+import com.thanlinardos.spring_enterprise_library.annotations.SpringTest;
+import com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException;
+import com.thanlinardos.spring_enterprise_library.time.collection.MappedIntervalIndex;
+import com.thanlinardos.spring_enterprise_library.time.model.InstantInterval;
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import com.thanlinardos.spring_enterprise_library.time.model.IntervalDomain;
+import com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+@SpringTest
+class MappedIntervalIndexTest {
+
+    private static final Interval JAN = Interval.forIsoDates("2000-01-01", "2000-01-31");
+    private static final Interval JAN_12_15 = Interval.forIsoDates("2000-01-12", "2000-01-15");
+    private static final Interval FEB = Interval.forIsoDates("2000-02-01", "2000-02-29");
+    private static final Interval UNTIL_JAN_10 = new Interval(null, LocalDate.parse("2000-01-10"));
+    private static final Interval FROM_JAN_20 = new Interval(LocalDate.parse("2000-01-20"), null);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void queries() throws IOException {
+        Path file = directory.resolve("dates.idx");
+        MappedIntervalIndex<Interval, LocalDate> index = MappedIntervalIndex.build(IntervalDomain.DATES, Stream.of(FEB, JAN, FROM_JAN_20, JAN_12_15, UNTIL_JAN_10), file);
+
+        Assertions.assertEquals(5, index.size());
+        Assertions.assertEquals(List.of(UNTIL_JAN_10, JAN, JAN_12_15, FROM_JAN_20, FEB), index.cursor().toList());
+        Assertions.assertEquals(List.of(UNTIL_JAN_10, JAN), index.stab(LocalDate.parse("2000-01-05")).toList());
+        Assertions.assertEquals(List.of(JAN, JAN_12_15), index.overlapping(Interval.forIsoDates("2000-01-11", "2000-01-19")).toList());
+        Assertions.assertEquals(List.of(FROM_JAN_20, FEB), index.overlapping(new Interval(LocalDate.parse("2000-02-01"), null)).toList());
+        Assertions.assertTrue(index.anyOverlapping(new Interval(null, LocalDate.parse("1999-12-31"))));
+
+        MappedIntervalIndex<Interval, LocalDate>.Cursor cursor = index.stab(LocalDate.parse("2000-01-25"));
+        Assertions.assertTrue(cursor.next());
+        Assertions.assertEquals(1, cursor.position());
+        Assertions.assertEquals(JAN.start().toEpochDay(), cursor.start());
+        Assertions.assertTrue(cursor.next());
+        Assertions.assertEquals(FROM_JAN_20, cursor.interval());
+        Assertions.assertEquals(3, cursor.position());
+        Assertions.assertEquals(EpochUtils.OPEN_END, cursor.end());
+        Assertions.assertFalse(cursor.next());
+    }
+
+    @Test
+    void buildWithExternalSortAndReopen() throws IOException {
+        Path file = directory.resolve("instants.idx");
+        Instant start = Instant.parse("2000-01-01T00:00:00Z");
+        List<InstantInterval> sessions = IntStream.range(0, 5000)
+                .map(i -> (i * 7919) % 5000)
+                .mapToObj(i -> new InstantInterval(start.plusSeconds(10L * i), start.plusSeconds(10L * i + 25)))
+                .toList();
+        MappedIntervalIndex.build(IntervalDomain.INSTANTS, sessions.stream(), file, 700);
+
+        MappedIntervalIndex<InstantInterval, Instant> index = MappedIntervalIndex.open(IntervalDomain.INSTANTS, file);
+        Assertions.assertEquals(5000, index.size());
+        Assertions.assertEquals(List.of(
+                new InstantInterval(start.plusSeconds(24_980), start.plusSeconds(25_005)),
+                new InstantInterval(start.plusSeconds(24_990), start.plusSeconds(25_015)),
+                new InstantInterval(start.plusSeconds(25_000), start.plusSeconds(25_025))), index.stab(start.plusSeconds(25_001)).toList());
+        Assertions.assertEquals(index.stab(start.plusSeconds(25_005)).toList(), index.stab(start.plusSeconds(25_005).plusNanos(1)).toList());
+        List<InstantInterval> all = index.cursor().toList();
+        List<InstantInterval> sorted = new ArrayList<>(sessions);
+        sorted.sort(null);
+        Assertions.assertEquals(sorted, all);
+        try (Stream<Path> files = Files.list(directory)) {
+            Assertions.assertEquals(List.of(file), files.toList());
+        }
+    }
+
+    @Test
+    void openWithOtherDomain() throws IOException {
+        Path file = directory.resolve("empty.idx");
+        MappedIntervalIndex<Interval, LocalDate> index = MappedIntervalIndex.build(IntervalDomain.DATES, Stream.empty(), file);
+
+        Assertions.assertTrue(index.isEmpty());
+        Assertions.assertFalse(index.cursor().next());
+        Assertions.assertThrows(CoreException.class, () -> MappedIntervalIndex.open(IntervalDomain.INSTANTS, file));
+    }
+}
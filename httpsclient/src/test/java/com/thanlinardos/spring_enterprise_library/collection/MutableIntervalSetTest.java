@@ -0,0 +1,76 @@
+package com.thanlinardos.spring_enterprise_library.collection;
+
+import com.thanlinardos.spring_enterprise_library.annotations.SpringTest;
+import com.thanlinardos.spring_enterprise_library.time.collection.MutableIntervalSet;
+import com.thanlinardos.spring_enterprise_library.time.model.InstantInterval;
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+@SpringTest
+class MutableIntervalSetTest {
+
+    @Test
+    void addMergesOverlappingAndAdjacentIntervals() {
+        MutableIntervalSet<Interval, LocalDate> set = MutableIntervalSet.forDates();
+
+        Assertions.assertTrue(set.add(Interval.forIsoDates("2000-01-01", "2000-01-05")));
+        Assertions.assertTrue(set.add(Interval.forIsoDates("2000-01-10", "2000-01-15")));
+        Assertions.assertTrue(set.add(Interval.forIsoDates("2000-01-20", "2000-01-25")));
+        Assertions.assertFalse(set.add(Interval.forIsoDates("2000-01-11", "2000-01-12")));
+        Assertions.assertTrue(set.add(Interval.forIsoDates("2000-01-06", "2000-01-12")));
+
+        Assertions.assertEquals(List.of(Interval.forIsoDates("2000-01-01", "2000-01-15"), Interval.forIsoDates("2000-01-20", "2000-01-25")), set.toIntervals());
+        Assertions.assertTrue(set.add(new Interval(LocalDate.parse("2000-01-14"), null)));
+        Assertions.assertEquals(List.of(new Interval(LocalDate.parse("2000-01-01"), null)), set.toIntervals());
+    }
+
+    @Test
+    void removeSplitsIntervals() {
+        MutableIntervalSet<Interval, LocalDate> set = MutableIntervalSet.forDates();
+        set.add(new Interval(null, LocalDate.parse("2000-01-31")));
+
+        Assertions.assertTrue(set.remove(Interval.forIsoDates("2000-01-10", "2000-01-19")));
+        Assertions.assertFalse(set.remove(Interval.forIsoDates("2000-01-12", "2000-01-15")));
+        Assertions.assertTrue(set.remove(new Interval(LocalDate.parse("2000-01-25"), null)));
+
+        Assertions.assertEquals(List.of(new Interval(null, LocalDate.parse("2000-01-09")), Interval.forIsoDates("2000-01-20", "2000-01-24")), set.toIntervals());
+        Assertions.assertEquals(2, set.size());
+    }
+
+    @Test
+    void queries() {
+        MutableIntervalSet<Interval, LocalDate> set = MutableIntervalSet.forDates();
+        set.add(Interval.forIsoDates("2000-01-01", "2000-01-05"));
+        set.add(Interval.forIsoDates("2000-01-10", "2000-01-15"));
+        Interval range = Interval.forIsoDates("2000-01-04", "2000-01-20");
+
+        Assertions.assertTrue(set.contains(LocalDate.parse("2000-01-05")));
+        Assertions.assertFalse(set.contains(LocalDate.parse("2000-01-06")));
+        Assertions.assertTrue(set.containsInterval(Interval.forIsoDates("2000-01-11", "2000-01-15")));
+        Assertions.assertFalse(set.containsInterval(range));
+        Assertions.assertTrue(set.overlaps(range));
+        Assertions.assertFalse(set.overlaps(Interval.forIsoDates("2000-01-06", "2000-01-09")));
+        Assertions.assertEquals(List.of(Interval.forIsoDates("2000-01-04", "2000-01-05"), Interval.forIsoDates("2000-01-10", "2000-01-15")), set.getOverlaps(range));
+        Assertions.assertEquals(List.of(Interval.forIsoDates("2000-01-06", "2000-01-09"), Interval.forIsoDates("2000-01-16", "2000-01-20")), set.getGaps(range));
+        Assertions.assertEquals(List.of(new Interval(null, LocalDate.parse("1999-12-31")), Interval.forIsoDates("2000-01-06", "2000-01-09"),
+                new Interval(LocalDate.parse("2000-01-16"), null)), set.getGaps(new Interval(null, null)));
+    }
+
+    @Test
+    void instants() {
+        Instant start = Instant.parse("2000-01-01T00:00:00Z");
+        MutableIntervalSet<InstantInterval, Instant> set = MutableIntervalSet.forInstants();
+        set.addAll(List.of(new InstantInterval(start, start.plusSeconds(60)), new InstantInterval(start.plusSeconds(30), start.plusSeconds(90))));
+        set.remove(new InstantInterval(start.plusSeconds(40), start.plusSeconds(50)));
+
+        Assertions.assertEquals(List.of(new InstantInterval(start, start.plusSeconds(40).minusMillis(1)),
+                new InstantInterval(start.plusSeconds(50).plusMillis(1), start.plusSeconds(90))), set.toIntervals());
+        Assertions.assertTrue(set.contains(start.plusSeconds(40).minusNanos(1)));
+        Assertions.assertFalse(set.contains(start.plusSeconds(40).plusNanos(1)));
+    }
+}
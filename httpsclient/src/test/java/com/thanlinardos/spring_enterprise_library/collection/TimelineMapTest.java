@@ -0,0 +1,166 @@
+package com.thanlinardos.spring_enterprise_library.collection;
+
+import com.thanlinardos.spring_enterprise_library.annotations.SpringTest;
+import com.thanlinardos.spring_enterprise_library.time.collection.InstantTimelineMap;
+import com.thanlinardos.spring_enterprise_library.time.collection.TimelineMap;
+import com.thanlinardos.spring_enterprise_library.time.model.InstantInterval;
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import com.thanlinardos.spring_enterprise_library.time.model.TimelineChange;
+import com.thanlinardos.spring_enterprise_library.tuple.Pair;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@SpringTest
+class TimelineMapTest {
+
+    private static final Interval YEAR_2000 = Interval.forIsoDates("2000-01-01", "2000-12-31");
+    private static final Interval YEAR_2001 = Interval.forIsoDates("2001-01-01", "2001-12-31");
+    private static final Interval YEARS_2000_2001 = Interval.forIsoDates("2000-01-01", "2001-12-31");
+    private static final Interval JAN_APR_2000 = Interval.forIsoDates("2000-01-01", "2000-04-30");
+    private static final Interval MAY_2000 = Interval.forIsoDates("2000-05-01", "2000-05-31");
+    private static final Interval JUN_DEC_2000 = Interval.forIsoDates("2000-06-01", "2000-12-31");
+    private static final Interval OPEN_START = new Interval(null, LocalDate.parse("1999-12-31"));
+    private static final Interval OPEN_END = new Interval(LocalDate.parse("2000-05-01"), null);
+
+    private record Rate(Interval interval, String value) {
+    }
+
+    public static Stream<Arguments> putParams() {
+        return Stream.of(
+                Arguments.argumentSet("Empty map", Collections.emptyList(), Collections.emptyList()),
+                Arguments.argumentSet("Disjoint intervals",
+                        List.of(new Rate(YEAR_2001, "B"), new Rate(JAN_APR_2000, "A")),
+                        List.of(Pair.of(JAN_APR_2000, "A"), Pair.of(YEAR_2001, "B"))),
+                Arguments.argumentSet("Overwrite the middle",
+                        List.of(new Rate(YEAR_2000, "A"), new Rate(MAY_2000, "B")),
+                        List.of(Pair.of(JAN_APR_2000, "A"), Pair.of(MAY_2000, "B"), Pair.of(JUN_DEC_2000, "A"))),
+                Arguments.argumentSet("Overwrite across segments",
+                        List.of(new Rate(YEAR_2000, "A"), new Rate(YEAR_2001, "B"), new Rate(OPEN_END, "C")),
+                        List.of(Pair.of(JAN_APR_2000, "A"), Pair.of(OPEN_END, "C"))),
+                Arguments.argumentSet("Adjacent equal values are coalesced",
+                        List.of(new Rate(YEAR_2001, "A"), new Rate(YEAR_2000, "A")),
+                        List.of(Pair.of(YEARS_2000_2001, "A"))),
+                Arguments.argumentSet("Coalesced on both sides",
+                        List.of(new Rate(JAN_APR_2000, "A"), new Rate(JUN_DEC_2000, "A"), new Rate(MAY_2000, "A")),
+                        List.of(Pair.of(YEAR_2000, "A"))),
+                Arguments.argumentSet("Open start",
+                        List.of(new Rate(YEAR_2000, "A"), new Rate(OPEN_START, "B")),
+                        List.of(Pair.of(OPEN_START, "B"), Pair.of(YEAR_2000, "A"))),
+                Arguments.argumentSet("Unbounded overwrite",
+                        List.of(new Rate(YEAR_2000, "A"), new Rate(OPEN_START, "B"), new Rate(new Interval(null, null), "C")),
+                        List.of(Pair.of(new Interval(null, null), "C")))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("putParams")
+    void put(List<Rate> rates, List<Pair<Interval, String>> expected) {
+        TimelineMap<String> map = new TimelineMap<>();
+        map.putAll(rates, Rate::interval, Rate::value);
+        Assertions.assertEquals(expected, map.entries());
+        for (Pair<Interval, String> entry : expected) {
+            if (entry.first().start() != null) {
+                Assertions.assertEquals(entry.second(), map.get(entry.first().start()));
+            }
+            if (entry.first().end() != null) {
+                Assertions.assertEquals(entry.second(), map.get(entry.first().end()));
+            }
+        }
+    }
+
+    @Test
+    void get() {
+        TimelineMap<String> map = new TimelineMap<>();
+        map.put(OPEN_START, "A");
+        map.put(MAY_2000, "B");
+        Assertions.assertEquals("A", map.get(LocalDate.parse("1900-01-01")));
+        Assertions.assertNull(map.get(LocalDate.parse("2000-04-30")));
+        Assertions.assertEquals("B", map.get(LocalDate.parse("2000-05-15")));
+        Assertions.assertEquals(Pair.of(MAY_2000, "B"), map.getEntry(LocalDate.parse("2000-05-31")).orElseThrow());
+        Assertions.assertTrue(map.getEntry(LocalDate.parse("2000-06-01")).isEmpty());
+    }
+
+    @Test
+    void remove() {
+        TimelineMap<String> map = new TimelineMap<>();
+        map.put(YEAR_2000, "A");
+        map.remove(MAY_2000);
+        Assertions.assertEquals(List.of(Pair.of(JAN_APR_2000, "A"), Pair.of(JUN_DEC_2000, "A")), map.entries());
+        map.remove(new Interval(null, null));
+        Assertions.assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void rangeViews() {
+        TimelineMap<String> map = new TimelineMap<>();
+        map.put(YEAR_2000, "A");
+        map.put(OPEN_END, "B");
+        Interval range = Interval.forIsoDates("2000-03-01", "2001-06-30");
+        List<Pair<Interval, String>> expected = List.of(
+                Pair.of(Interval.forIsoDates("2000-03-01", "2000-04-30"), "A"),
+                Pair.of(Interval.forIsoDates("2000-05-01", "2001-06-30"), "B"));
+        Assertions.assertEquals(expected, map.entries(range));
+
+        TimelineMap<String> subMap = map.subMap(range);
+        Assertions.assertEquals(expected, subMap.entries());
+        subMap.clear();
+        Assertions.assertEquals(2, map.size());
+    }
+
+    @Test
+    void diff() {
+        TimelineMap<String> older = new TimelineMap<>();
+        older.put(JAN_APR_2000, "A");
+        older.put(MAY_2000, "B");
+        older.put(JUN_DEC_2000, "C");
+        TimelineMap<String> newer = new TimelineMap<>();
+        newer.put(JAN_APR_2000, "A");
+        newer.put(Interval.forIsoDates("2000-05-01", "2000-08-31"), "D");
+        newer.put(YEAR_2001, "A");
+
+        Assertions.assertEquals(List.of(
+                new TimelineChange<>(TimelineChange.Type.CHANGED, MAY_2000, "B", "D"),
+                new TimelineChange<>(TimelineChange.Type.CHANGED, Interval.forIsoDates("2000-06-01", "2000-08-31"), "C", "D"),
+                new TimelineChange<>(TimelineChange.Type.REMOVED, Interval.forIsoDates("2000-09-01", "2000-12-31"), "C", null),
+                new TimelineChange<>(TimelineChange.Type.ADDED, YEAR_2001, null, "A")), older.diff(newer));
+        Assertions.assertEquals(List.of(), newer.diff(newer));
+    }
+
+    @Test
+    void equalMapsHaveEqualHashCodes() {
+        TimelineMap<String> map = new TimelineMap<>();
+        map.put(YEAR_2000, "A");
+        map.put(MAY_2000, "B");
+        TimelineMap<String> other = new TimelineMap<>();
+        other.put(YEAR_2000, "A");
+        other.put(MAY_2000, "B");
+
+        Assertions.assertEquals(map, other);
+        Assertions.assertEquals(map.hashCode(), other.hashCode());
+        Assertions.assertEquals(Set.of(map), Set.of(other));
+    }
+
+    @Test
+    void instants() {
+        Instant start = Instant.parse("2000-01-01T00:00:00Z");
+        InstantTimelineMap<String> map = new InstantTimelineMap<>();
+        map.put(new InstantInterval(start, start.plusSeconds(10)), "A");
+        map.put(new InstantInterval(start.plusSeconds(5), null), "B");
+        map.put(new InstantInterval(start.plusSeconds(5).plusMillis(1), start.plusSeconds(20)), "B");
+        Assertions.assertEquals(List.of(
+                Pair.of(new InstantInterval(start, start.plusSeconds(5).minusMillis(1)), "A"),
+                Pair.of(new InstantInterval(start.plusSeconds(5), null), "B")), map.entries());
+        Assertions.assertEquals("A", map.get(start.plusSeconds(4)));
+        Assertions.assertEquals("B", map.get(start.plusSeconds(3_600)));
+    }
+}
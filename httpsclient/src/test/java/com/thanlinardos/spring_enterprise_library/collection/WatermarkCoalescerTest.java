@@ -0,0 +1,89 @@
+package com.thanlinardos.spring_enterprise_library.collection;
+
+import com.thanlinardos.spring_enterprise_library.annotations.SpringTest;
+import com.thanlinardos.spring_enterprise_library.time.collection.WatermarkCoalescer;
+import com.thanlinardos.spring_enterprise_library.time.model.InstantInterval;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+@SpringTest
+class WatermarkCoalescerTest {
+
+    private static final Instant START = Instant.parse("2000-01-01T00:00:00Z");
+
+    private static InstantInterval seconds(long start, long end) {
+        return new InstantInterval(START.plusSeconds(start), START.plusSeconds(end));
+    }
+
+    @Test
+    void emitsFinalizedIntervals() {
+        WatermarkCoalescer<InstantInterval, Instant> coalescer = WatermarkCoalescer.forInstants();
+        Assertions.assertTrue(coalescer.add(seconds(20, 30)));
+        Assertions.assertTrue(coalescer.add(seconds(0, 10)));
+        Assertions.assertTrue(coalescer.add(seconds(5, 15)));
+
+        Assertions.assertEquals(List.of(seconds(0, 15)), coalescer.advanceWatermark(START.plusSeconds(25)));
+        Assertions.assertEquals(START.plusSeconds(25), coalescer.getWatermark());
+        Assertions.assertFalse(coalescer.add(seconds(24, 40)));
+        Assertions.assertTrue(coalescer.add(seconds(30, 40)));
+        Assertions.assertEquals(List.of(), coalescer.advanceWatermark(START.plusSeconds(40)));
+        Assertions.assertEquals(List.of(), coalescer.advanceWatermark(START.plusSeconds(20)));
+        Assertions.assertTrue(coalescer.add(seconds(40, 50)));
+        Assertions.assertEquals(List.of(seconds(20, 50)), coalescer.advanceWatermark(START.plusSeconds(52)));
+
+        Assertions.assertTrue(coalescer.add(new InstantInterval(START.plusSeconds(60), null)));
+        Assertions.assertEquals(List.of(), coalescer.advanceWatermark(START.plusSeconds(100)));
+        Assertions.assertEquals(List.of(new InstantInterval(START.plusSeconds(60), null)), coalescer.flush());
+        Assertions.assertEquals(0, coalescer.getPendingCount());
+        Assertions.assertEquals(1, coalescer.getLateCount());
+    }
+
+    @Test
+    void watermarksAreRoundedDownToTheUnit() {
+        WatermarkCoalescer<InstantInterval, Instant> coalescer = WatermarkCoalescer.forInstants();
+        Assertions.assertTrue(coalescer.add(seconds(0, 10)));
+
+        Assertions.assertEquals(List.of(seconds(0, 10)), coalescer.advanceWatermark(START.plusSeconds(20).plusNanos(1)));
+        Assertions.assertTrue(coalescer.add(seconds(20, 30)));
+        Assertions.assertEquals(1, coalescer.getPendingCount());
+    }
+
+    @Test
+    void outOfOrderStreamEmitsNormalizedIntervals() {
+        Random random = new Random(7);
+        List<InstantInterval> intervals = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            long start = i * 10L + random.nextInt(10);
+            intervals.add(seconds(start, start + random.nextInt(15)));
+        }
+        List<InstantInterval> arrivals = new ArrayList<>(intervals);
+        for (int i = 0; i + 8 <= arrivals.size(); i += 8) {
+            Collections.shuffle(arrivals.subList(i, i + 8), random);
+        }
+        Instant[] watermarks = new Instant[arrivals.size()];
+        Instant next = START.plusSeconds(1_000_000);
+        for (int i = arrivals.size() - 1; i >= 0; i--) {
+            watermarks[i] = next;
+            next = next.isBefore(arrivals.get(i).start()) ? next : arrivals.get(i).start();
+        }
+
+        WatermarkCoalescer<InstantInterval, Instant> coalescer = WatermarkCoalescer.forInstants();
+        List<InstantInterval> emitted = new ArrayList<>();
+        int maxPending = 0;
+        for (int i = 0; i < arrivals.size(); i++) {
+            Assertions.assertTrue(coalescer.add(arrivals.get(i)));
+            maxPending = Math.max(maxPending, coalescer.getPendingCount());
+            emitted.addAll(coalescer.advanceWatermark(watermarks[i]));
+        }
+        emitted.addAll(coalescer.flush());
+
+        Assertions.assertEquals(InstantInterval.normalize(intervals), emitted);
+        Assertions.assertTrue(maxPending <= 16, () -> "pending " + coalescer);
+    }
+}
@@ -0,0 +1,89 @@
+package com.thanlinardos.spring_enterprise_library.collection;
+
+import com.thanlinardos.spring_enterprise_library.annotations.SpringTest;
+import com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException;
+import com.thanlinardos.spring_enterprise_library.time.collection.WindowAssigner;
+import com.thanlinardos.spring_enterprise_library.time.model.InstantInterval;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@SpringTest
+class WindowAssignerTest {
+
+    private static final Instant START = Instant.parse("2000-01-01T00:00:00Z");
+
+    private static InstantInterval seconds(long start, long end) {
+        return new InstantInterval(START.plusSeconds(start), START.plusSeconds(end).minusMillis(1));
+    }
+
+    @Test
+    void assignsClippedDurations() {
+        WindowAssigner assigner = WindowAssigner.of(Duration.ofSeconds(4), Duration.ofSeconds(2), START);
+        List<String> windows = new ArrayList<>();
+
+        Assertions.assertEquals(4, assigner.assign(seconds(3, 8), (window, duration) -> windows.add(window + "=" + duration)));
+        Assertions.assertEquals(List.of("0=1000", "1=3000", "2=4000", "3=2000"), windows);
+        Assertions.assertEquals(TimeUnit.MILLISECONDS, assigner.getUnit());
+        Assertions.assertEquals(seconds(6, 10), assigner.getWindow(3));
+        Assertions.assertEquals(-1, assigner.getFirstWindow(START));
+        Assertions.assertEquals(0, assigner.getLastWindow(START));
+        Assertions.assertThrows(CoreException.class, () -> assigner.assign(new InstantInterval(START, null), (window, duration) -> {
+        }));
+        Assertions.assertThrows(CoreException.class, () -> WindowAssigner.tumbling(Duration.ZERO));
+    }
+
+    @Test
+    void roundsRawTimestampsDownToTheUnit() {
+        WindowAssigner assigner = WindowAssigner.tumbling(Duration.ofMinutes(1));
+        Instant timestamp = Instant.parse("2026-10-15T10:00:00.000123Z");
+        List<Long> durations = new ArrayList<>();
+
+        Assertions.assertEquals(assigner.getFirstWindow(Instant.parse("2026-10-15T10:00:00Z")), assigner.getFirstWindow(timestamp));
+        Assertions.assertEquals(assigner.getLastWindow(timestamp), assigner.getFirstWindow(timestamp));
+        Assertions.assertEquals(2, assigner.assign(new InstantInterval(timestamp.minusSeconds(30), timestamp.plusSeconds(30)), (window, duration) -> durations.add(duration)));
+        Assertions.assertEquals(List.of(30_000L, 30_001L), durations);
+    }
+
+    @Test
+    void hoppingWindowsSkipTheGaps() {
+        WindowAssigner assigner = WindowAssigner.sliding(Duration.ofSeconds(1), Duration.ofSeconds(3));
+        List<Long> windows = new ArrayList<>();
+
+        Assertions.assertEquals(0, assigner.assign(seconds(1, 3), (window, duration) -> windows.add(window)));
+        Assertions.assertEquals(1, assigner.assign(seconds(1, 4), (window, duration) -> windows.add(window)));
+        Assertions.assertEquals(List.of(START.getEpochSecond() / 3 + 1), windows);
+    }
+
+    @Test
+    void collectsTheTotalsPerWindow() {
+        WindowAssigner assigner = WindowAssigner.tumbling(Duration.ofMinutes(1));
+        Random random = new Random(11);
+        List<InstantInterval> sessions = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            long start = random.nextInt(3_600);
+            sessions.add(seconds(start, start + 1 + random.nextInt(300)));
+        }
+        InstantInterval lastHalfHour = seconds(1_800, 3_600);
+
+        long[] totals = sessions.parallelStream().collect(assigner.toWindowDurations(lastHalfHour));
+
+        Assertions.assertEquals(30, totals.length);
+        long firstWindow = assigner.getFirstWindow(lastHalfHour.start());
+        for (int i = 0; i < totals.length; i++) {
+            InstantInterval window = assigner.getWindow(firstWindow + i);
+            long expected = sessions.stream()
+                    .flatMap(session -> session.getOverlap(window).stream())
+                    .mapToLong(overlap -> Duration.between(overlap.start(), overlap.end()).toMillis() + 1)
+                    .sum();
+            Assertions.assertEquals(expected, totals[i]);
+        }
+        Assertions.assertThrows(CoreException.class, () -> assigner.toWindowDurations(new InstantInterval(null, START)));
+    }
+}
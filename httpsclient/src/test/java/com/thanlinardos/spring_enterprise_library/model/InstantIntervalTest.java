@@ -164,4 +164,12 @@ class InstantIntervalTest {
     void normalize(List<InstantInterval> intervals, boolean mergeAdjacentIntervals, List<InstantInterval> expected) {
         Assertions.assertEquals(expected, InstantInterval.normalize(intervals, mergeAdjacentIntervals));
     }
+
+    @ParameterizedTest
+    @MethodSource("normalizeParams")
+    void normalizePresorted(List<InstantInterval> intervals, boolean mergeAdjacentIntervals, List<InstantInterval> expected) {
+        Assertions.assertEquals(expected, InstantInterval.normalizePresorted(intervals, mergeAdjacentIntervals));
+        Assertions.assertEquals(expected, intervals.stream().collect(InstantInterval.toNormalized(mergeAdjacentIntervals)));
+        Assertions.assertEquals(expected, intervals.stream().sorted().collect(InstantInterval.toNormalized(mergeAdjacentIntervals)));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.thanlinardos.spring_enterprise_library.model;
+
+import com.thanlinardos.spring_enterprise_library.annotations.SpringTest;
+import com.thanlinardos.spring_enterprise_library.time.model.InstantInterval;
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import com.thanlinardos.spring_enterprise_library.time.model.IntervalDomain;
+import com.thanlinardos.spring_enterprise_library.time.model.TimeInterval;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+
+/**
+ * Checks the sweep based {@code split} of the interval records against the previous quadratic implementation.
+ */
+@SpringTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class IntervalSplitSweepTest {
+
+    private static final LocalDate BASE_DATE = LocalDate.of(2000, 1, 1);
+    private static final LocalDateTime BASE_DATE_TIME = BASE_DATE.atStartOfDay();
+    private static final Instant BASE_INSTANT = Instant.parse("2000-01-01T00:00:00Z");
+    private static final long MILLI_IN_NANOS = 1_000_000;
+
+    @Test
+    void splitDatesEqualsQuadraticSplit() {
+        Random random = new Random(1);
+        for (int i = 0; i < 500; i++) {
+            List<Interval> intervals = randomIntervals(random, 1 + random.nextInt(20), 1, BASE_DATE::plusDays, Interval::new);
+            Assertions.assertEquals(quadraticSplit(IntervalDomain.DATES, intervals), Interval.split(intervals), intervals::toString);
+        }
+    }
+
+    @Test
+    void splitDateTimesEqualsQuadraticSplit() {
+        Random random = new Random(2);
+        for (int i = 0; i < 500; i++) {
+            List<TimeInterval> intervals = randomIntervals(random, 1 + random.nextInt(20), MILLI_IN_NANOS, BASE_DATE_TIME::plusNanos, TimeInterval::new);
+            Assertions.assertEquals(quadraticSplit(IntervalDomain.DATE_TIMES, intervals), TimeInterval.split(intervals), intervals::toString);
+        }
+    }
+
+    @Test
+    void splitInstantsEqualsQuadraticSplit() {
+        Random random = new Random(3);
+        for (int i = 0; i < 500; i++) {
+            List<InstantInterval> intervals = randomIntervals(random, 1 + random.nextInt(20), MILLI_IN_NANOS, BASE_INSTANT::plusNanos, InstantInterval::new);
+            Assertions.assertEquals(quadraticSplit(IntervalDomain.INSTANTS, intervals), InstantInterval.split(intervals), intervals::toString);
+        }
+    }
+
+    /**
+     * Creates random intervals on a small grid of the given unit, so that overlapping, adjacent, equal and open-ended intervals are all frequent.
+     */
+    private static <I, T> List<I> randomIntervals(Random random, int size, long unit, LongFunction<T> pointFactory, BiFunction<T, T, I> intervalFactory) {
+        int range = Math.max(40, size * 2);
+        List<I> intervals = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long start = random.nextInt(range);
+            long end = start + random.nextInt(11);
+            T startPoint = random.nextInt(10) == 0 ? null : pointFactory.apply(start * unit);
+            T endPoint = random.nextInt(10) == 0 ? null : pointFactory.apply(end * unit);
+            intervals.add(intervalFactory.apply(startPoint, endPoint));
+        }
+        return intervals;
+    }
+
+    /**
+     * The previous implementation of {@code split}: every candidate bound is tested against every interval.
+     */
+    private static <I extends Comparable<I>, T> List<I> quadraticSplit(IntervalDomain<I, T> domain, Collection<I> intervals) {
+        if (intervals.size() <= 1) {
+            return new ArrayList<>(intervals);
+        }
+        List<T> starts = intervals.stream()
+                .flatMap(interval -> Stream.concat(Stream.of(domain.start(interval)), Stream.ofNullable(domain.next(domain.end(interval)))))
+                .filter(start -> intervals.stream().anyMatch(interval -> isCovered(domain, interval, start, true)))
+                .distinct()
+                .sorted(domain.nullAsMinComparator())
+                .toList();
+        List<T> ends = intervals.stream()
+                .flatMap(interval -> Stream.concat(Stream.of(domain.end(interval)), Stream.ofNullable(domain.previous(domain.start(interval)))))
+                .filter(end -> intervals.stream().anyMatch(interval -> isCovered(domain, interval, end, false)))
+                .distinct()
+                .sorted(domain.nullAsMaxComparator())
+                .toList();
+        Assertions.assertEquals(starts.size(), ends.size());
+        List<I> splitIntervals = new ArrayList<>();
+        for (int i = 0; i < starts.size(); i++) {
+            splitIntervals.add(domain.create(starts.get(i), ends.get(i)));
+        }
+        return splitIntervals;
+    }
+
+    private static <I extends Comparable<I>, T> boolean isCovered(IntervalDomain<I, T> domain, I interval, T point, boolean isStart) {
+        if (point == null) {
+            return Objects.isNull(isStart ? domain.start(interval) : domain.end(interval));
+        }
+        return domain.contains(interval, point);
+    }
+}
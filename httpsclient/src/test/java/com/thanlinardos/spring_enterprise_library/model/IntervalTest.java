@@ -1,16 +1,24 @@
 package com.thanlinardos.spring_enterprise_library.model;
 
 import com.thanlinardos.spring_enterprise_library.annotations.SpringTest;
+import com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException;
 import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import com.thanlinardos.spring_enterprise_library.time.model.IntervalDiff;
+import com.thanlinardos.spring_enterprise_library.time.model.IntervalDomain;
+import com.thanlinardos.spring_enterprise_library.time.utils.LazyIntervalAlgebraUtils;
+import com.thanlinardos.spring_enterprise_library.tuple.Pair;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 @SpringTest
@@ -123,6 +131,7 @@ class IntervalTest {
     void split(String description, Collection<Interval> input, Collection<Interval> expected) {
         Collection<Interval> actual = Interval.split(input);
         Assertions.assertEquals(expected, actual);
+        Assertions.assertEquals(List.copyOf(expected), Interval.streamSplit(input.stream().sorted().toList()).toList());
     }
 
     private static Stream<Arguments> normalizeParams() {
@@ -154,7 +163,10 @@ class IntervalTest {
                         List.of(YEAR_2000, YEAR_2001)),
                 Arguments.argumentSet("Two intervals, overlap (don't merge adjacent intervals)",
                         List.of(YEAR_2000, Interval.forIsoDates("2000-05-01", "2001-05-31")), false,
-                        List.of(Interval.forIsoDates("2000-01-01", "2001-05-31")))
+                        List.of(Interval.forIsoDates("2000-01-01", "2001-05-31"))),
+                Arguments.argumentSet("Two intervals, open start",
+                        List.of(new Interval(null, LocalDate.parse("2000-05-31")), new Interval(null, LocalDate.parse("2000-01-31")), YEAR_2001), true,
+                        List.of(new Interval(null, LocalDate.parse("2000-05-31")), YEAR_2001))
         );
     }
 
@@ -163,4 +175,187 @@ class IntervalTest {
     void normalize(List<Interval> intervals, boolean mergeAdjacentIntervals, List<Interval> expected) {
         Assertions.assertEquals(expected, Interval.normalize(intervals, mergeAdjacentIntervals));
     }
-}
\ No newline at end of file
+
+    @ParameterizedTest
+    @MethodSource("normalizeParams")
+    void normalizePresorted(List<Interval> intervals, boolean mergeAdjacentIntervals, List<Interval> expected) {
+        Assertions.assertEquals(expected, Interval.normalizePresorted(intervals, mergeAdjacentIntervals));
+        Assertions.assertEquals(expected, intervals.stream().collect(Interval.toNormalized(mergeAdjacentIntervals)));
+        Assertions.assertEquals(expected, intervals.stream().sorted().collect(Interval.toNormalized(mergeAdjacentIntervals)));
+        Assertions.assertEquals(expected, Interval.streamNormalized(intervals.stream().sorted().toList(), mergeAdjacentIntervals).toList());
+    }
+
+    public static Stream<Arguments> anyOverlapsParams() {
+        return Stream.of(
+                Arguments.argumentSet("Empty list", Collections.emptyList(), false),
+                Arguments.argumentSet("One interval", List.of(YEAR_2000), false),
+                Arguments.argumentSet("Equal intervals", List.of(YEAR_2000, YEAR_2000), false),
+                Arguments.argumentSet("Neighboring intervals", List.of(YEAR_2001, YEAR_2000), false),
+                Arguments.argumentSet("Overlap on last day", List.of(JAN_MAY_2000, MAY_2000), true),
+                Arguments.argumentSet("Overlap after equal intervals", List.of(YEAR_2000, YEAR_2000, NOV_2000), true),
+                Arguments.argumentSet("Overlap with non-adjacent interval", List.of(JAN_NOV_2000, JAN_2024, MAY_2000, YEAR_3333), true),
+                Arguments.argumentSet("Open end overlaps later interval", List.of(YEAR_3333, OPEN_END), true),
+                Arguments.argumentSet("Open start overlaps earlier interval", List.of(YEAR_2000, new Interval(null, LocalDate.parse("2000-01-01"))), true),
+                Arguments.argumentSet("Open start neighbors interval", List.of(YEAR_2000, new Interval(null, LocalDate.parse("1999-12-31"))), false)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("anyOverlapsParams")
+    void anyOverlaps(List<Interval> intervals, boolean expected) {
+        Assertions.assertEquals(expected, Interval.anyOverlaps(intervals));
+    }
+
+    public static Stream<Arguments> getOverlappingPairsParams() {
+        return Stream.of(
+                Arguments.argumentSet("Empty list", Collections.emptyList(), Collections.emptyList()),
+                Arguments.argumentSet("Equal and neighboring intervals", List.of(YEAR_2000, YEAR_2001, YEAR_2000), Collections.emptyList()),
+                Arguments.argumentSet("Chain of overlaps",
+                        List.of(MAY_2000, YEAR_2000, JAN_MAY_2000, YEAR_3333),
+                        List.of(Pair.of(JAN_MAY_2000, YEAR_2000), Pair.of(JAN_MAY_2000, MAY_2000), Pair.of(YEAR_2000, MAY_2000))),
+                Arguments.argumentSet("Open end overlaps every later interval",
+                        List.of(OPEN_END, YEAR_2001, YEAR_3333, JAN_MAY_2000),
+                        List.of(Pair.of(JAN_MAY_2000, OPEN_END), Pair.of(OPEN_END, YEAR_2001), Pair.of(OPEN_END, YEAR_3333))),
+                Arguments.argumentSet("Each of the equal intervals overlaps the others",
+                        List.of(YEAR_2000, MAY_2000, YEAR_2000, JAN_MAY_2000, YEAR_2000),
+                        List.of(Pair.of(JAN_MAY_2000, YEAR_2000), Pair.of(JAN_MAY_2000, YEAR_2000), Pair.of(JAN_MAY_2000, YEAR_2000),
+                                Pair.of(JAN_MAY_2000, MAY_2000), Pair.of(YEAR_2000, MAY_2000), Pair.of(YEAR_2000, MAY_2000), Pair.of(YEAR_2000, MAY_2000)))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("getOverlappingPairsParams")
+    void getOverlappingPairs(List<Interval> intervals, List<Pair<Interval, Interval>> expected) {
+        Assertions.assertEquals(expected, Interval.getOverlappingPairs(intervals));
+    }
+
+    public static Stream<Arguments> differenceParams() {
+        return Stream.of(
+                Arguments.argumentSet("Nothing to subtract",
+                        List.of(YEAR_2001, YEAR_2000), Collections.emptyList(),
+                        List.of(YEARS_2000_2001), List.of(YEARS_2000_2001)),
+                Arguments.argumentSet("Subtract from the middle",
+                        List.of(YEAR_2000), List.of(MAY_2000),
+                        List.of(Interval.forIsoDates("2000-01-01", "2000-04-30"), Interval.forIsoDates("2000-06-01", "2000-12-31")),
+                        List.of(Interval.forIsoDates("2000-01-01", "2000-04-30"), Interval.forIsoDates("2000-06-01", "2000-12-31"))),
+                Arguments.argumentSet("Partial overlap",
+                        List.of(JAN_MAY_2000), List.of(Interval.forIsoDates("2000-05-01", "2000-07-31")),
+                        List.of(Interval.forIsoDates("2000-01-01", "2000-04-30")),
+                        List.of(Interval.forIsoDates("2000-01-01", "2000-04-30"), JUN_JUL_2000)),
+                Arguments.argumentSet("Open start intervals are merged before subtracting",
+                        List.of(new Interval(null, LocalDate.parse("2000-05-31")), new Interval(null, LocalDate.parse("2000-01-31"))), List.of(FEB_OCT_2000),
+                        List.of(new Interval(null, LocalDate.parse("2000-01-31"))),
+                        List.of(new Interval(null, LocalDate.parse("2000-01-31")), Interval.forIsoDates("2000-06-01", "2000-10-31"))),
+                Arguments.argumentSet("Subtract open end",
+                        List.of(YEAR_2000, YEAR_3333), List.of(OPEN_END),
+                        List.of(Interval.forIsoDates("2000-01-01", "2000-04-30")),
+                        List.of(Interval.forIsoDates("2000-01-01", "2000-04-30"), Interval.forIsoDates("2001-01-01", "3332-12-31"),
+                                new Interval(LocalDate.parse("3334-01-01"), null)))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("differenceParams")
+    void difference(List<Interval> first, List<Interval> second, List<Interval> expectedDifference, List<Interval> expectedSymmetricDifference) {
+        Assertions.assertEquals(expectedDifference, Interval.difference(first, second));
+        Assertions.assertEquals(expectedSymmetricDifference, Interval.symmetricDifference(first, second));
+        Assertions.assertEquals(expectedSymmetricDifference, Interval.symmetricDifference(second, first));
+    }
+
+    public static Stream<Arguments> kWayParams() {
+        return Stream.of(
+                Arguments.argumentSet("Eligibility conditions",
+                        List.of(List.of(YEAR_2000), List.of(NOV_2000, JAN_MAY_2000), List.of(FEB_OCT_2000, new Interval(LocalDate.parse("2000-05-01"), null))),
+                        List.of(Interval.forIsoDates("2000-02-01", "2000-05-31"), NOV_2000),
+                        List.of(new Interval(LocalDate.parse("2000-01-01"), null)),
+                        List.of(YEAR_2000)),
+                Arguments.argumentSet("Adjacent portions are merged",
+                        List.of(List.of(JAN_MAY_2000, JUN_JUL_2000), List.of(APR_MAY_2000, JUN_JUL_2000)),
+                        List.of(Interval.forIsoDates("2000-04-01", "2000-07-31")),
+                        List.of(Interval.forIsoDates("2000-01-01", "2000-07-31")),
+                        List.of(Interval.forIsoDates("2000-04-01", "2000-07-31"))),
+                Arguments.argumentSet("No sides", List.of(), List.of(), List.of(), List.of())
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("kWayParams")
+    void kWay(List<List<Interval>> sides, List<Interval> expectedIntersection, List<Interval> expectedUnion, List<Interval> expectedAtLeastTwo) {
+        Assertions.assertEquals(expectedIntersection, Interval.intersectAll(sides));
+        Assertions.assertEquals(expectedUnion, Interval.unionAll(sides));
+        Assertions.assertEquals(expectedAtLeastTwo, Interval.atLeastK(sides, 2));
+
+        List<List<Interval>> sortedSides = sides.stream().map(side -> side.stream().sorted().toList()).toList();
+        Assertions.assertEquals(expectedIntersection, LazyIntervalAlgebraUtils.intersectAll(IntervalDomain.DATES, sortedSides).toList());
+        Assertions.assertEquals(expectedUnion, LazyIntervalAlgebraUtils.unionAll(IntervalDomain.DATES, sortedSides).toList());
+        Assertions.assertEquals(expectedAtLeastTwo, LazyIntervalAlgebraUtils.atLeastK(IntervalDomain.DATES, sortedSides, 2).toList());
+    }
+
+    public static Stream<Arguments> diffParams() {
+        return Stream.of(
+                Arguments.argumentSet("Unchanged", List.of(JAN_MAY_2000, NOV_2000), List.of(JAN_MAY_2000, NOV_2000), List.of(), List.of()),
+                Arguments.argumentSet("Shifted and extended",
+                        List.of(JAN_MAY_2000, NOV_2000),
+                        List.of(APR_MAY_2000, Interval.forIsoDates("2000-10-01", "2001-12-31")),
+                        List.of(Interval.forIsoDates("2000-10-01", "2000-10-31"), Interval.forIsoDates("2000-12-01", "2001-12-31")),
+                        List.of(Interval.forIsoDates("2000-01-01", "2000-03-31"))),
+                Arguments.argumentSet("Open end",
+                        List.of(YEAR_2000), List.of(OPEN_END),
+                        List.of(new Interval(LocalDate.parse("2001-01-01"), null)),
+                        List.of(Interval.forIsoDates("2000-01-01", "2000-04-30"))),
+                Arguments.argumentSet("Everything replaced", List.of(YEAR_2000), List.of(YEAR_3333), List.of(YEAR_3333), List.of(YEAR_2000))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("diffParams")
+    void diff(List<Interval> oldIntervals, List<Interval> newIntervals, List<Interval> expectedAdded, List<Interval> expectedRemoved) {
+        IntervalDiff<Interval> diff = Interval.diff(oldIntervals, newIntervals);
+        Assertions.assertEquals(expectedAdded, diff.added());
+        Assertions.assertEquals(expectedRemoved, diff.removed());
+        Assertions.assertEquals(expectedAdded.isEmpty() && expectedRemoved.isEmpty(), diff.isEmpty());
+        Assertions.assertThrows(CoreException.class, () -> Interval.diff(List.of(YEAR_2000, MAY_2000), newIntervals));
+    }
+
+    public static Stream<Arguments> subtractParams() {
+        return Stream.of(
+                Arguments.argumentSet("Nothing overlaps", YEAR_2000, List.of(YEAR_3333), List.of(YEAR_2000)),
+                Arguments.argumentSet("Fully subtracted", MAY_2000, List.of(YEAR_2000), Collections.emptyList()),
+                Arguments.argumentSet("Subtract neighboring intervals",
+                        YEAR_2000, List.of(MAY_2000, Interval.forIsoDates("2000-06-01", "2000-06-30")),
+                        List.of(Interval.forIsoDates("2000-01-01", "2000-04-30"), Interval.forIsoDates("2000-07-01", "2000-12-31")))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("subtractParams")
+    void subtract(Interval interval, List<Interval> intervals, List<Interval> expected) {
+        Assertions.assertEquals(expected, interval.subtract(intervals));
+        Assertions.assertEquals(expected, interval.streamSubtract(intervals.stream().sorted().toList()).toList());
+    }
+
+    @ParameterizedTest
+    @MethodSource("subtractParams")
+    void getNotOverlaps(Interval interval, List<Interval> intervals, List<Interval> expected) {
+        Assertions.assertEquals(Interval.difference(intervals, List.of(interval)), interval.getNotOverlaps(intervals));
+        Assertions.assertEquals(expected, Interval.difference(List.of(interval), intervals));
+        Assertions.assertEquals(interval.getNotOverlaps(intervals), interval.streamNotOverlaps(intervals.stream().sorted().toList()).toList());
+    }
+
+    @Test
+    void streamOverlapsReadsOnlyTheNeededIntervals() {
+        Iterable<Interval> months = () -> Stream.iterate(YearMonth.parse("2000-01"), month -> month.plusMonths(1))
+                .map(month -> Interval.forIsoMonth(month.toString()))
+                .iterator();
+
+        Assertions.assertEquals(List.of(Interval.forIsoDates("2000-03-15", "2000-05-31")),
+                Interval.forIsoDates("2000-03-15", "2000-05-31").streamOverlaps(months, true).toList());
+        Iterable<Interval> oddMonths = () -> Stream.iterate(YearMonth.parse("2000-01"), month -> month.plusMonths(2))
+                .map(month -> Interval.forIsoMonth(month.toString()))
+                .iterator();
+        Assertions.assertEquals(Optional.of(Interval.forIsoMonth("2000-04")),
+                Interval.forIsoDates("2000-03-15", "2000-05-31").streamSubtract(oddMonths).findFirst());
+        Assertions.assertEquals(12, Interval.streamSplit(months).limit(12).count());
+        Assertions.assertThrows(CoreException.class, () -> Interval.streamNormalized(List.of(YEAR_2001, YEAR_2000), true).toList());
+    }
+}
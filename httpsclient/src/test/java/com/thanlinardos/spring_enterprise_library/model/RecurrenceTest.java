@@ -0,0 +1,87 @@
+package com.thanlinardos.spring_enterprise_library.model;
+
+import com.thanlinardos.spring_enterprise_library.annotations.SpringTest;
+import com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException;
+import com.thanlinardos.spring_enterprise_library.time.model.InstantInterval;
+import com.thanlinardos.spring_enterprise_library.time.model.IntervalDomain;
+import com.thanlinardos.spring_enterprise_library.time.model.Recurrence;
+import com.thanlinardos.spring_enterprise_library.time.model.TimeInterval;
+import com.thanlinardos.spring_enterprise_library.time.utils.LazyIntervalAlgebraUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@SpringTest
+class RecurrenceTest {
+
+    private static final LocalTime NINE = LocalTime.of(9, 0);
+    private static final LocalTime FIVE_PM = LocalTime.of(17, 0);
+
+    @Test
+    void weekdaysAreCutToTheBounds() {
+        TimeInterval bounds = new TimeInterval(LocalDateTime.parse("2024-03-08T12:00"), LocalDateTime.parse("2024-03-11T10:00"));
+
+        Assertions.assertEquals(List.of(
+                        TimeInterval.forIsoDateTimes("2024-03-08T12:00", "2024-03-08T16:59:59.999"),
+                        TimeInterval.forIsoDateTimes("2024-03-11T09:00", "2024-03-11T10:00")),
+                Recurrence.weekdays(NINE, FIVE_PM).streamTimeIntervals(bounds).toList());
+        Assertions.assertEquals(List.of(), Recurrence.weekdays(NINE, FIVE_PM).except(date -> true).streamTimeIntervals(bounds).toList());
+        Assertions.assertThrows(CoreException.class, () -> Recurrence.daily(NINE, FIVE_PM).streamTimeIntervals(TimeInterval.forIsoDateTimes(null, "2024-03-11T10:00")));
+    }
+
+    @Test
+    void openEndedStreamsStopWhenTheRuleNeverMatchesAgain() {
+        TimeInterval bounds = new TimeInterval(LocalDateTime.parse("2024-03-08T12:00"), null);
+        LocalDate onlyDate = LocalDate.parse("2024-12-31");
+
+        Assertions.assertEquals(Optional.empty(), Recurrence.weekdays(NINE, FIVE_PM).except(date -> true).streamTimeIntervals(bounds).findFirst());
+        Assertions.assertEquals(List.of(TimeInterval.forIsoDateTimes("2024-03-08T12:00", "2024-03-08T16:59:59.999")),
+                Recurrence.weekdays(NINE, FIVE_PM).except(date -> date.isAfter(LocalDate.parse("2024-03-08"))).streamTimeIntervals(bounds).toList());
+        Assertions.assertEquals(1, Recurrence.onDays(onlyDate::equals, NINE, FIVE_PM).streamTimeIntervals(bounds).count());
+    }
+
+    @Test
+    void lastBusinessDayOfMonth() {
+        TimeInterval firstHalf = TimeInterval.forIsoDates("2024-01-01", "2024-06-30");
+
+        Assertions.assertEquals(
+                Stream.of("2024-01-31", "2024-02-29", "2024-03-29", "2024-04-30", "2024-05-31", "2024-06-28").map(LocalDate::parse).toList(),
+                Recurrence.lastBusinessDayOfMonth(LocalTime.MIDNIGHT, LocalTime.MIDNIGHT).streamTimeIntervals(firstHalf)
+                        .map(occurrence -> occurrence.start().toLocalDate())
+                        .toList());
+        Assertions.assertTrue(Recurrence.monthly(31, NINE, FIVE_PM).occursOn(LocalDate.parse("2024-02-29")));
+    }
+
+    @Test
+    void nightsFollowTheZoneRules() {
+        InstantInterval bounds = new InstantInterval(Instant.parse("2024-03-30T12:00:00Z"), Instant.parse("2024-04-01T12:00:00Z"));
+
+        Assertions.assertEquals(List.of(
+                        InstantInterval.forIsoInstants("2024-03-30T21:00:00Z", "2024-03-31T03:59:59.999Z"),
+                        InstantInterval.forIsoInstants("2024-03-31T20:00:00Z", "2024-04-01T03:59:59.999Z")),
+                Recurrence.daily(LocalTime.of(22, 0), LocalTime.of(6, 0)).streamInstantIntervals(bounds, ZoneId.of("Europe/Amsterdam")).toList());
+    }
+
+    @Test
+    void unboundedOccurrencesFeedTheLazyAlgebra() {
+        InstantInterval bounds = new InstantInterval(Instant.parse("2024-01-01T00:00:00Z"), null);
+        Stream<InstantInterval> officeHours = Recurrence.weekdays(NINE, FIVE_PM).streamInstantIntervals(bounds, ZoneOffset.UTC);
+        Stream<InstantInterval> peakHours = Recurrence.daily(LocalTime.of(16, 0), LocalTime.of(18, 0)).streamInstantIntervals(bounds, ZoneOffset.UTC);
+
+        Assertions.assertEquals(List.of(
+                        InstantInterval.forIsoInstants("2024-01-01T16:00:00Z", "2024-01-01T16:59:59.999Z"),
+                        InstantInterval.forIsoInstants("2024-01-02T16:00:00Z", "2024-01-02T16:59:59.999Z")),
+                LazyIntervalAlgebraUtils.intersectAll(IntervalDomain.INSTANTS, List.<Iterable<InstantInterval>>of(officeHours::iterator, peakHours::iterator))
+                        .limit(2)
+                        .toList());
+    }
+}
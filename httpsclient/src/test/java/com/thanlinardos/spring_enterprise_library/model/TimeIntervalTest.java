@@ -170,4 +170,12 @@ class TimeIntervalTest {
     void normalize(List<TimeInterval> intervals, boolean mergeAdjacentIntervals, List<TimeInterval> expected) {
         Assertions.assertEquals(expected, TimeInterval.normalize(intervals, mergeAdjacentIntervals));
     }
+
+    @ParameterizedTest
+    @MethodSource("normalizeParams")
+    void normalizePresorted(List<TimeInterval> intervals, boolean mergeAdjacentIntervals, List<TimeInterval> expected) {
+        Assertions.assertEquals(expected, TimeInterval.normalizePresorted(intervals, mergeAdjacentIntervals));
+        Assertions.assertEquals(expected, intervals.stream().collect(TimeInterval.toNormalized(mergeAdjacentIntervals)));
+        Assertions.assertEquals(expected, intervals.stream().sorted().collect(TimeInterval.toNormalized(mergeAdjacentIntervals)));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.thanlinardos.spring_enterprise_library.utils;
+
+import com.thanlinardos.spring_enterprise_library.annotations.SpringTest;
+import com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException;
+import com.thanlinardos.spring_enterprise_library.time.api.DateTemporal;
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import com.thanlinardos.spring_enterprise_library.time.utils.CalendarBucketUtils;
+import com.thanlinardos.spring_enterprise_library.tuple.Pair;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+@SpringTest
+class CalendarBucketUtilsTest {
+
+    private static final Assignment JAN_FEB = new Assignment(Interval.forIsoDates("2000-01-10", "2000-02-10"));
+    private static final Assignment MAR = new Assignment(Interval.forIsoDates("2000-03-01", "2000-03-31"));
+    private static final Assignment OPEN_END = new Assignment(new Interval(LocalDate.parse("2000-02-20"), null));
+    private static final Assignment BEFORE = new Assignment(new Interval(null, LocalDate.parse("1999-12-31")));
+    private static final List<Assignment> ASSIGNMENTS = List.of(JAN_FEB, MAR, OPEN_END, BEFORE);
+
+    private record Assignment(Interval getInterval) implements DateTemporal {
+    }
+
+    @Test
+    void byMonth() {
+        Map<YearMonth, List<Assignment>> buckets = CalendarBucketUtils.byMonth(ASSIGNMENTS, Interval.forIsoDates("2000-01-15", "2000-04-30"));
+        Assertions.assertEquals(Map.of(
+                YearMonth.parse("2000-01"), List.of(JAN_FEB),
+                YearMonth.parse("2000-02"), List.of(JAN_FEB, OPEN_END),
+                YearMonth.parse("2000-03"), List.of(MAR, OPEN_END),
+                YearMonth.parse("2000-04"), List.of(OPEN_END)
+        ), buckets);
+        Assertions.assertEquals(List.of(YearMonth.parse("2000-01"), YearMonth.parse("2000-02"), YearMonth.parse("2000-03"), YearMonth.parse("2000-04")),
+                List.copyOf(buckets.keySet()));
+    }
+
+    @Test
+    void byMonthClipped() {
+        Map<YearMonth, List<Pair<Assignment, Interval>>> buckets = CalendarBucketUtils.byMonthClipped(ASSIGNMENTS, Interval.forIsoDates("2000-01-15", "2000-02-25"));
+        Assertions.assertEquals(Map.of(
+                YearMonth.parse("2000-01"), List.of(Pair.of(JAN_FEB, Interval.forIsoDates("2000-01-15", "2000-01-31"))),
+                YearMonth.parse("2000-02"), List.of(
+                        Pair.of(JAN_FEB, Interval.forIsoDates("2000-02-01", "2000-02-10")),
+                        Pair.of(OPEN_END, Interval.forIsoDates("2000-02-20", "2000-02-25")))
+        ), buckets);
+    }
+
+    @Test
+    void byQuarter() {
+        Map<Interval, List<Assignment>> buckets = CalendarBucketUtils.byQuarter(ASSIGNMENTS, Interval.forIsoDates("1999-12-01", "2000-06-30"));
+        Assertions.assertEquals(Map.of(
+                Interval.forIsoDates("1999-10-01", "1999-12-31"), List.of(BEFORE),
+                Interval.forIsoDates("2000-01-01", "2000-03-31"), List.of(JAN_FEB, MAR, OPEN_END),
+                Interval.forIsoDates("2000-04-01", "2000-06-30"), List.of(OPEN_END)
+        ), buckets);
+    }
+
+    @Test
+    void byYear() {
+        Map<Year, List<Pair<Assignment, Interval>>> buckets = CalendarBucketUtils.byYearClipped(ASSIGNMENTS, Interval.forIsoDates("1999-01-01", "2001-12-31"));
+        Assertions.assertEquals(Map.of(
+                Year.of(1999), List.of(Pair.of(BEFORE, Interval.forIsoYear(1999))),
+                Year.of(2000), List.of(
+                        Pair.of(JAN_FEB, JAN_FEB.getInterval()),
+                        Pair.of(MAR, MAR.getInterval()),
+                        Pair.of(OPEN_END, Interval.forIsoDates("2000-02-20", "2000-12-31"))),
+                Year.of(2001), List.of(Pair.of(OPEN_END, Interval.forIsoYear(2001)))
+        ), buckets);
+        Assertions.assertEquals(Map.of(Year.of(2002), List.of(OPEN_END)), CalendarBucketUtils.byYear(ASSIGNMENTS, Interval.forIsoDates("2002-06-01", "2002-06-30")));
+    }
+
+    @Test
+    void openRange() {
+        Interval range = new Interval(LocalDate.parse("2000-01-01"), null);
+        Assertions.assertThrows(CoreException.class, () -> CalendarBucketUtils.byMonth(ASSIGNMENTS, range));
+    }
+}
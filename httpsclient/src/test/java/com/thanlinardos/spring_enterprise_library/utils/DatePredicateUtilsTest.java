@@ -0,0 +1,78 @@
+package com.thanlinardos.spring_enterprise_library.utils;
+
+import com.thanlinardos.spring_enterprise_library.annotations.SpringTest;
+import com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException;
+import com.thanlinardos.spring_enterprise_library.objects.utils.PredicateUtils;
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import com.thanlinardos.spring_enterprise_library.time.utils.DatePredicateUtils;
+import com.thanlinardos.spring_enterprise_library.time.utils.DateUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.Stream;
+
+@SpringTest
+class DatePredicateUtilsTest {
+
+    private static final LocalDate JAN_10 = LocalDate.parse("2000-01-10");
+    private static final LocalDate JAN_20 = LocalDate.parse("2000-01-20");
+    private static final List<Interval> INTERVALS = List.of(
+            Interval.forIsoDates("2000-01-01", "2000-01-09"),
+            Interval.forIsoDates("2000-01-01", "2000-01-10"),
+            Interval.forIsoDates("2000-01-10", "2000-01-20"),
+            Interval.forIsoDates("2000-01-12", "2000-01-15"),
+            Interval.forIsoDates("2000-01-20", "2000-02-05"),
+            Interval.forIsoDates("2000-01-21", "2000-01-31"),
+            new Interval(null, JAN_10),
+            new Interval(JAN_20, null),
+            new Interval(null, null));
+
+    public static Stream<Arguments> rangeParams() {
+        return Stream.of(
+                Arguments.argumentSet("Closed range", JAN_10, JAN_20),
+                Arguments.argumentSet("Single day range", JAN_10, JAN_10),
+                Arguments.argumentSet("Open start", null, JAN_20),
+                Arguments.argumentSet("Open end", JAN_10, null),
+                Arguments.argumentSet("Open range", null, null)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("rangeParams")
+    void rangePredicates(LocalDate from, LocalDate to) {
+        Interval range = new Interval(from, to);
+        for (Interval interval : INTERVALS) {
+            Assertions.assertEquals(range.contains(interval), PredicateUtils.<Interval>isContainedIn(from, to).test(interval));
+            Assertions.assertEquals(range.contains(interval), interval.isInRange(from, to));
+            Assertions.assertEquals(interval.overlaps(range), PredicateUtils.<Interval>overlapsInterval(from, to).test(interval));
+            Assertions.assertEquals(interval.overlaps(range), interval.overlapsInterval(from, to));
+            Assertions.assertEquals(DateUtils.isAfterNullAsMax(interval.start(), from), PredicateUtils.<Interval>startsAfter(from).test(interval));
+            Assertions.assertEquals(DateUtils.isBeforeNullAsMin(interval.start(), to), PredicateUtils.<Interval>startsBefore(to).test(interval));
+            Assertions.assertEquals(DateUtils.isBeforeOrEqual(interval.start(), from), PredicateUtils.<Interval>startsBeforeOrOn(from).test(interval));
+        }
+    }
+
+    @Test
+    void calendarPredicates() {
+        Assertions.assertEquals(List.of(INTERVALS.get(4), INTERVALS.get(7), INTERVALS.get(8)),
+                INTERVALS.stream().filter(DatePredicateUtils.overlaps(YearMonth.parse("2000-02"))).toList());
+        Assertions.assertEquals(List.of(INTERVALS.get(6), INTERVALS.get(7), INTERVALS.get(8)),
+                INTERVALS.stream().filter(PredicateUtils.overlapsYear(Year.of(1999)).or(PredicateUtils.overlapsYear(LocalDate.parse("2001-06-01")))).toList());
+        Assertions.assertEquals(List.of(INTERVALS.get(1), INTERVALS.get(2), INTERVALS.get(6), INTERVALS.get(8)),
+                INTERVALS.stream().filter(PredicateUtils.containsDate(JAN_10)).toList());
+    }
+
+    @Test
+    void invalidRange() {
+        Assertions.assertThrows(CoreException.class, () -> PredicateUtils.isInRange(JAN_20, JAN_10));
+        Interval interval = INTERVALS.getFirst();
+        Assertions.assertThrows(CoreException.class, () -> interval.overlapsInterval(JAN_20, JAN_10));
+    }
+}
@@ -0,0 +1,86 @@
+package com.thanlinardos.spring_enterprise_library.utils;
+
+import com.thanlinardos.spring_enterprise_library.annotations.SpringTest;
+import com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException;
+import com.thanlinardos.spring_enterprise_library.time.model.InstantInterval;
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import com.thanlinardos.spring_enterprise_library.time.model.TimeInterval;
+import com.thanlinardos.spring_enterprise_library.time.utils.Interner;
+import com.thanlinardos.spring_enterprise_library.time.utils.IntervalInternUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+@SpringTest
+class InternerTest {
+
+    @Test
+    void weakInternerReturnsCanonicalInstances() {
+        Interner<LocalDate> interner = Interner.weak(date -> 24);
+        LocalDate first = LocalDate.parse("2000-01-01");
+        LocalDate second = LocalDate.parse("2000-01-01");
+
+        Assertions.assertSame(first, interner.intern(first));
+        Assertions.assertSame(first, interner.intern(second));
+        Assertions.assertSame(first, interner.intern(first));
+        Assertions.assertNull(interner.intern(null));
+
+        Assertions.assertEquals(1, interner.size());
+        Assertions.assertEquals(2, interner.getHitCount());
+        Assertions.assertEquals(1, interner.getMissCount());
+        Assertions.assertEquals(2 / 3.0, interner.getHitRate(), 1e-9);
+        Assertions.assertEquals(24, interner.getEstimatedBytesSaved());
+    }
+
+    @Test
+    void boundedInternerKeepsRecentInstances() {
+        Interner<Interval> interner = Interner.bounded(4, interval -> 72);
+        Interval january = interner.intern(Interval.forIsoMonth("2000-01"));
+        IntStream.rangeClosed(2, 12).forEach(month -> interner.intern(Interval.forIsoMonth("2000-%02d".formatted(month))));
+
+        Assertions.assertTrue(interner.size() <= 4);
+        Assertions.assertNotSame(january, interner.intern(Interval.forIsoMonth("2000-01")));
+        Interval december = Interval.forIsoMonth("2000-12");
+        Assertions.assertNotSame(december, interner.intern(december));
+        Assertions.assertThrows(CoreException.class, () -> Interner.bounded(1, interval -> 72));
+    }
+
+    @Test
+    void boundedInternerIsThreadSafe() {
+        Interner<Interval> interner = Interner.bounded(1_000, interval -> 72);
+        CompletableFuture<?>[] workers = IntStream.range(0, 4)
+                .mapToObj(worker -> CompletableFuture.runAsync(() -> IntStream.range(0, 10_000)
+                        .forEach(i -> interner.intern(new Interval(YearMonth.of(2000, 1 + i % 12))))))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(workers).join();
+
+        Assertions.assertEquals(40_000, interner.getHitCount() + interner.getMissCount());
+        Assertions.assertTrue(interner.getMissCount() >= 12);
+        Assertions.assertEquals(12, interner.size());
+        Assertions.assertSame(interner.intern(Interval.forIsoMonth("2000-05")), interner.intern(Interval.forIsoMonth("2000-05")));
+    }
+
+    @Test
+    void factoryMethodsInternWhenEnabled() {
+        Assertions.assertNotSame(Interval.forIsoMonth("2000-01"), Interval.forIsoMonth("2000-01"));
+
+        IntervalInternUtils.enableWeakInterning();
+        try {
+            Interval month = Interval.forIsoMonth("2000-01");
+            Assertions.assertSame(month, Interval.forIsoDates("2000-01-01", "2000-01-31"));
+            Assertions.assertSame(month.start(), new Interval(YearMonth.of(2000, 1)).start());
+            Assertions.assertSame(TimeInterval.forIsoYear(2000), TimeInterval.forIsoYear(2000));
+            Assertions.assertSame(InstantInterval.forIsoMonth("2000-01"), InstantInterval.forIsoMonth("2000-01"));
+            Assertions.assertEquals(1, IntervalInternUtils.getIntervalInterner().getHitCount());
+            Assertions.assertEquals(IntervalInternUtils.RECORD_SIZE + 2 * IntervalInternUtils.TEMPORAL_SIZE,
+                    IntervalInternUtils.getIntervalInterner().getEstimatedBytesSaved());
+        } finally {
+            IntervalInternUtils.disableInterning();
+        }
+        Assertions.assertNotSame(Interval.forIsoMonth("2000-01"), Interval.forIsoMonth("2000-01"));
+    }
+}
@@ -0,0 +1,94 @@
+package com.thanlinardos.spring_enterprise_library.utils;
+
+import com.thanlinardos.spring_enterprise_library.annotations.SpringTest;
+import com.thanlinardos.spring_enterprise_library.error.exceptions.CoreException;
+import com.thanlinardos.spring_enterprise_library.time.model.InstantInterval;
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import com.thanlinardos.spring_enterprise_library.time.model.TimeInterval;
+import com.thanlinardos.spring_enterprise_library.time.utils.EpochUtils;
+import com.thanlinardos.spring_enterprise_library.time.utils.IntervalCodecUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@SpringTest
+class IntervalCodecUtilsTest {
+
+    private static final List<Interval> DATES = List.of(
+            new Interval(null, LocalDate.parse("1999-12-31")),
+            Interval.forIsoDates("2000-01-01", "2000-01-31"),
+            Interval.forIsoDates("2000-03-01", "2000-03-01"),
+            new Interval(LocalDate.parse("2000-06-01"), null));
+
+    @Test
+    void encodeDates() throws IOException {
+        byte[] bytes = IntervalCodecUtils.encodeDates(DATES);
+        Assertions.assertEquals(DATES, IntervalCodecUtils.decodeDates(ByteBuffer.wrap(bytes)));
+        Assertions.assertEquals(DATES, IntervalCodecUtils.decodeDates(new ByteArrayInputStream(bytes)));
+        Assertions.assertTrue(bytes.length < 20, "Encoded " + bytes.length + " bytes");
+    }
+
+    @Test
+    void decodeEpochDays() {
+        long[] bounds = IntervalCodecUtils.decodeEpochDays(ByteBuffer.wrap(IntervalCodecUtils.encodeDates(DATES)));
+        Assertions.assertArrayEquals(new long[]{
+                EpochUtils.OPEN_START, LocalDate.parse("1999-12-31").toEpochDay(),
+                LocalDate.parse("2000-01-01").toEpochDay(), LocalDate.parse("2000-01-31").toEpochDay(),
+                LocalDate.parse("2000-03-01").toEpochDay(), LocalDate.parse("2000-03-01").toEpochDay(),
+                LocalDate.parse("2000-06-01").toEpochDay(), EpochUtils.OPEN_END}, bounds);
+    }
+
+    @Test
+    void encodeDateTimesToStream() throws IOException {
+        List<TimeInterval> intervals = List.of(
+                new TimeInterval(LocalDateTime.parse("2000-01-01T09:00:00.123456789"), LocalDateTime.parse("2000-01-01T17:00:00")),
+                new TimeInterval(LocalDateTime.parse("1900-01-01T00:00:00"), null));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IntervalCodecUtils.encodeDateTimes(intervals, out);
+        Assertions.assertEquals(intervals, IntervalCodecUtils.decodeDateTimes(new ByteArrayInputStream(out.toByteArray())));
+    }
+
+    @Test
+    void encodeInstantsToBuffer() {
+        Instant start = Instant.parse("2000-01-01T00:00:00Z");
+        List<InstantInterval> intervals = List.of(
+                new InstantInterval(start, start.plusMillis(1500)),
+                new InstantInterval(start.plusSeconds(60), start.plusSeconds(120)));
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        IntervalCodecUtils.encodeInstants(intervals, buffer);
+        buffer.flip();
+        Assertions.assertArrayEquals(new long[]{
+                start.toEpochMilli(), start.toEpochMilli() + 1500,
+                start.toEpochMilli() + 60_000, start.toEpochMilli() + 120_000}, IntervalCodecUtils.decodeEpochValues(buffer.duplicate(), TimeUnit.MILLISECONDS));
+        Assertions.assertEquals(intervals, IntervalCodecUtils.decodeInstants(buffer));
+        Assertions.assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void invalidData() {
+        byte[] bytes = IntervalCodecUtils.encodeDates(DATES);
+        Assertions.assertThrows(CoreException.class, () -> IntervalCodecUtils.decodeInstants(ByteBuffer.wrap(bytes)));
+        ByteArrayInputStream truncated = new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 1));
+        Assertions.assertThrows(EOFException.class, () -> IntervalCodecUtils.decodeDates(truncated));
+    }
+
+    @Test
+    void truncatedBuffer() {
+        byte[] bytes = IntervalCodecUtils.encodeDates(DATES);
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+        CoreException exception = Assertions.assertThrows(CoreException.class, () -> IntervalCodecUtils.decodeDates(ByteBuffer.wrap(truncated)));
+        Assertions.assertTrue(exception.getMessage().contains("Unexpected end of encoded intervals."), exception::getMessage);
+        Assertions.assertThrows(CoreException.class, () -> IntervalCodecUtils.decodeEpochDays(ByteBuffer.wrap(truncated)));
+    }
+}
@@ -0,0 +1,106 @@
+package com.thanlinardos.spring_enterprise_library.utils;
+
+import com.thanlinardos.spring_enterprise_library.annotations.SpringTest;
+import com.thanlinardos.spring_enterprise_library.time.model.InstantInterval;
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import com.thanlinardos.spring_enterprise_library.time.model.IntervalDomain;
+import com.thanlinardos.spring_enterprise_library.time.utils.ParallelIntervalAlgebraUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Checks the fork/join interval algebra against the sequential one, on inputs large enough to be processed in several chunks.
+ */
+@SpringTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ParallelIntervalAlgebraUtilsTest {
+
+    private static final LocalDate BASE_DATE = LocalDate.of(2000, 1, 1);
+    private static final Instant BASE_INSTANT = Instant.parse("2000-01-01T00:00:00Z");
+    private static final int SIZE = 20_000;
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterAll
+    void shutdownPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    void normalizeEqualsSequentialNormalize() {
+        Random random = new Random(1);
+        for (int i = 0; i < 10; i++) {
+            List<Interval> intervals = randomDateIntervals(random);
+            boolean mergeAdjacentIntervals = i % 2 == 0;
+            Assertions.assertEquals(Interval.normalize(intervals, mergeAdjacentIntervals),
+                    ParallelIntervalAlgebraUtils.normalize(IntervalDomain.DATES, intervals, mergeAdjacentIntervals, 1, pool));
+        }
+    }
+
+    @Test
+    void splitEqualsSequentialSplit() {
+        Random random = new Random(2);
+        for (int i = 0; i < 10; i++) {
+            List<Interval> intervals = randomDateIntervals(random);
+            Assertions.assertEquals(Interval.split(intervals), ParallelIntervalAlgebraUtils.split(IntervalDomain.DATES, intervals, 1, pool));
+        }
+    }
+
+    @Test
+    void getOverlapsEqualsSequentialGetOverlaps() {
+        Random random = new Random(3);
+        for (int i = 0; i < 10; i++) {
+            List<Interval> intervals = randomDateIntervals(random);
+            Interval interval = new Interval(BASE_DATE.plusDays(random.nextInt(SIZE)), BASE_DATE.plusDays(SIZE + random.nextInt(SIZE)));
+            boolean mergeAdjacentIntervals = i % 2 == 0;
+            Assertions.assertEquals(interval.getOverlaps(intervals, mergeAdjacentIntervals),
+                    ParallelIntervalAlgebraUtils.getOverlaps(IntervalDomain.DATES, interval, intervals, mergeAdjacentIntervals, 1, pool));
+        }
+    }
+
+    @Test
+    void instantsEqualSequential() {
+        Random random = new Random(4);
+        List<InstantInterval> intervals = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            long start = random.nextInt(SIZE * 4);
+            intervals.add(new InstantInterval(BASE_INSTANT.plusMillis(start), BASE_INSTANT.plusMillis(start + random.nextInt(8))));
+        }
+        Assertions.assertEquals(InstantInterval.normalize(intervals, true), InstantInterval.normalizeParallel(intervals, true));
+        Assertions.assertEquals(InstantInterval.split(intervals), InstantInterval.splitParallel(intervals));
+    }
+
+    @Test
+    void belowThresholdUsesSequentialPath() {
+        List<Interval> intervals = List.of(
+                new Interval(BASE_DATE, BASE_DATE.plusDays(5)),
+                new Interval(BASE_DATE.plusDays(6), BASE_DATE.plusDays(8)),
+                new Interval(null, BASE_DATE.plusDays(1)));
+        Assertions.assertEquals(Interval.normalize(intervals, true), Interval.normalizeParallel(intervals, true));
+        Assertions.assertEquals(Interval.split(intervals), Interval.splitParallel(intervals));
+    }
+
+    /**
+     * Creates random date intervals spread over four times their number of days, with a few open bounds,
+     * so that both long connected components and gaps between them occur.
+     */
+    private static List<Interval> randomDateIntervals(Random random) {
+        List<Interval> intervals = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            long start = random.nextInt(SIZE * 4);
+            LocalDate startDate = random.nextInt(5_000) == 0 ? null : BASE_DATE.plusDays(start);
+            LocalDate endDate = random.nextInt(5_000) == 0 ? null : BASE_DATE.plusDays(start + random.nextInt(8));
+            intervals.add(new Interval(startDate, endDate));
+        }
+        return intervals;
+    }
+}
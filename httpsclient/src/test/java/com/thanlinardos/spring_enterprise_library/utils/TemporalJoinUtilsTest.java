@@ -0,0 +1,108 @@
+package com.thanlinardos.spring_enterprise_library.utils;
+
+import com.thanlinardos.spring_enterprise_library.annotations.SpringTest;
+import com.thanlinardos.spring_enterprise_library.time.api.DateTemporal;
+import com.thanlinardos.spring_enterprise_library.time.model.InstantInterval;
+import com.thanlinardos.spring_enterprise_library.time.model.Interval;
+import com.thanlinardos.spring_enterprise_library.time.model.IntervalDomain;
+import com.thanlinardos.spring_enterprise_library.time.model.TemporalJoinRow;
+import com.thanlinardos.spring_enterprise_library.time.utils.TemporalJoinUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+@SpringTest
+class TemporalJoinUtilsTest {
+
+    private static final Contract CONTRACT_A = new Contract("A", Interval.forIsoDates("2000-03-01", "2000-08-31"));
+    private static final Contract CONTRACT_B = new Contract("B", new Interval(LocalDate.parse("2000-11-01"), null));
+    private static final Contract CONTRACT_C = new Contract("A", Interval.forIsoDates("1999-01-01", "1999-06-30"));
+    private static final Price PRICE_1 = new Price("A", Interval.forIsoDates("2000-01-01", "2000-04-30"));
+    private static final Price PRICE_2 = new Price("A", Interval.forIsoDates("2000-05-01", "2000-12-31"));
+    private static final Price PRICE_3 = new Price("B", new Interval(null, LocalDate.parse("2000-12-31")));
+
+    private record Contract(String account, Interval getInterval) implements DateTemporal {
+    }
+
+    private record Price(String account, Interval getInterval) implements DateTemporal {
+    }
+
+    private record Event(String account, LocalDate date) {
+    }
+
+    @Test
+    void innerJoin() {
+        List<TemporalJoinRow<Contract, Price, Interval>> rows = TemporalJoinUtils.innerJoin(List.of(CONTRACT_A, CONTRACT_B, CONTRACT_C), List.of(PRICE_3, PRICE_2, PRICE_1));
+        Assertions.assertEquals(List.of(
+                new TemporalJoinRow<>(CONTRACT_A, PRICE_3, CONTRACT_A.getInterval()),
+                new TemporalJoinRow<>(CONTRACT_A, PRICE_1, Interval.forIsoDates("2000-03-01", "2000-04-30")),
+                new TemporalJoinRow<>(CONTRACT_A, PRICE_2, Interval.forIsoDates("2000-05-01", "2000-08-31")),
+                new TemporalJoinRow<>(CONTRACT_B, PRICE_3, Interval.forIsoDates("2000-11-01", "2000-12-31")),
+                new TemporalJoinRow<>(CONTRACT_B, PRICE_2, Interval.forIsoDates("2000-11-01", "2000-12-31")),
+                new TemporalJoinRow<>(CONTRACT_C, PRICE_3, CONTRACT_C.getInterval())
+        ), rows);
+    }
+
+    @Test
+    void innerJoinWithKey() {
+        List<TemporalJoinRow<Contract, Price, Interval>> rows = TemporalJoinUtils.innerJoin(
+                List.of(CONTRACT_A, CONTRACT_B, CONTRACT_C), Contract::account, List.of(PRICE_3, PRICE_2, PRICE_1), Price::account);
+        Assertions.assertEquals(List.of(
+                new TemporalJoinRow<>(CONTRACT_A, PRICE_1, Interval.forIsoDates("2000-03-01", "2000-04-30")),
+                new TemporalJoinRow<>(CONTRACT_A, PRICE_2, Interval.forIsoDates("2000-05-01", "2000-08-31")),
+                new TemporalJoinRow<>(CONTRACT_B, PRICE_3, Interval.forIsoDates("2000-11-01", "2000-12-31"))
+        ), rows);
+    }
+
+    @Test
+    void leftJoinWithKey() {
+        List<TemporalJoinRow<Contract, Price, Interval>> rows = TemporalJoinUtils.leftJoin(
+                List.of(CONTRACT_C, CONTRACT_B), Contract::account, List.of(PRICE_1, PRICE_2, PRICE_3), Price::account);
+        Assertions.assertEquals(List.of(
+                new TemporalJoinRow<>(CONTRACT_C, null, CONTRACT_C.getInterval()),
+                new TemporalJoinRow<>(CONTRACT_B, PRICE_3, Interval.forIsoDates("2000-11-01", "2000-12-31"))
+        ), rows);
+        Assertions.assertFalse(rows.getFirst().isMatched());
+    }
+
+    @Test
+    void asOfJoin() {
+        List<LocalDate> dates = Arrays.asList(LocalDate.parse("1999-12-31"), LocalDate.parse("2000-05-01"), LocalDate.parse("2001-06-01"));
+        List<TemporalJoinRow<LocalDate, Price, Interval>> rows = TemporalJoinUtils.asOfJoin(dates, Function.identity(), List.of(PRICE_2, PRICE_1));
+        Assertions.assertEquals(List.of(
+                new TemporalJoinRow<>(dates.get(0), null, null),
+                new TemporalJoinRow<>(dates.get(1), PRICE_2, null),
+                new TemporalJoinRow<>(dates.get(2), PRICE_2, null)
+        ), rows);
+    }
+
+    @Test
+    void asOfJoinWithKey() {
+        Event eventA = new Event("A", LocalDate.parse("2000-02-01"));
+        Event eventB = new Event("B", LocalDate.parse("1900-01-01"));
+        Event eventC = new Event("C", LocalDate.parse("2000-02-01"));
+        List<TemporalJoinRow<Event, Price, Interval>> rows = TemporalJoinUtils.asOfJoin(IntervalDomain.DATES,
+                List.of(eventA, eventB, eventC), Event::date, Event::account, List.of(PRICE_1, PRICE_2, PRICE_3), Price::getInterval, Price::account);
+        Assertions.assertEquals(List.of(
+                new TemporalJoinRow<>(eventA, PRICE_1, null),
+                new TemporalJoinRow<>(eventB, PRICE_3, null),
+                new TemporalJoinRow<Event, Price, Interval>(eventC, null, null)
+        ), rows);
+    }
+
+    @Test
+    void innerJoinInstants() {
+        Instant start = Instant.parse("2000-01-01T00:00:00Z");
+        InstantInterval session = new InstantInterval(start, start.plusSeconds(60));
+        InstantInterval adjacent = new InstantInterval(start.plusSeconds(60).plusMillis(1), start.plusSeconds(120));
+        InstantInterval overlapping = new InstantInterval(start.plusSeconds(30), null);
+        List<TemporalJoinRow<InstantInterval, InstantInterval, InstantInterval>> rows = TemporalJoinUtils.innerJoin(IntervalDomain.INSTANTS,
+                List.of(session), Function.identity(), interval -> 0, List.of(adjacent, overlapping), Function.identity(), interval -> 0);
+        Assertions.assertEquals(List.of(new TemporalJoinRow<>(session, overlapping, new InstantInterval(start.plusSeconds(30), start.plusSeconds(60)))), rows);
+    }
+}